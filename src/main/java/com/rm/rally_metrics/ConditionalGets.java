@@ -0,0 +1,170 @@
+package com.rm.rally_metrics;
+
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Conditional-GET support for the read API. Everything it serves is a pure function of the league
+ * snapshot generation (or, for static documents, of the deployed build), so the generation is the
+ * validator: a strong {@code ETag} of {@code "<boot>-<generation>"} plus {@code Last-Modified} set
+ * to when the snapshot was built. A matching {@code If-None-Match} or {@code If-Modified-Since}
+ * gets a bodyless 304 without the body ever being computed.
+ *
+ * <p>The boot stamp keeps tags from two JVM lifetimes (whose generation counters both start at 1)
+ * from colliding; {@link #version} is the same {@code <boot>-<generation>} string for other
+ * generation-stamped output, such as the ids of league update events. {@code Cache-Control} lets browsers reuse a response for
+ * {@code rally.cache.max-age} seconds and shared caches (Vercel, a CDN) for
+ * {@code rally.cache.s-maxage}, serving stale while they revalidate; after that a revalidation is
+ * a cheap 304 until the next sync.
+ */
+@Component
+public class ConditionalGets {
+
+    private static final String BOOT_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private final LeagueSnapshotStore leagueStore;
+    private final Instant bootTime = Instant.now();
+    private final CacheControl cacheControl;
+
+    public ConditionalGets(LeagueSnapshotStore leagueStore,
+                           @Value("${rally.cache.max-age:60}") long maxAgeSeconds,
+                           @Value("${rally.cache.s-maxage:600}") long sharedMaxAgeSeconds,
+                           @Value("${rally.cache.stale-while-revalidate:86400}") long staleSeconds) {
+        this.leagueStore = leagueStore;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .sMaxAge(Duration.ofSeconds(sharedMaxAgeSeconds))
+                .staleWhileRevalidate(Duration.ofSeconds(staleSeconds))
+                .cachePublic();
+    }
+
+    /** {@code <boot>-<generation>}: unique across restarts, unlike the bare generation. */
+    public static String version(long generation) {
+        return BOOT_ID + "-" + generation;
+    }
+
+    /**
+     * The generation in a {@link #version} string minted by this JVM, or -1 for a version from
+     * another boot or one that does not parse.
+     */
+    public static long generationOf(String version) {
+        String prefix = BOOT_ID + "-";
+        if (version == null || !version.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(version.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** A response derived from the current league snapshot. */
+    public <T> ResponseEntity<T> forLeague(WebRequest request, Supplier<T> body) {
+        return forLeague(request, body, b -> true);
+    }
+
+    /**
+     * A response derived from the current league snapshot, sent uncacheable instead when
+     * {@code cacheable} rejects the body (e.g. it carries a degraded, retry-worthy part). The tag
+     * is taken before the body is built, so a body is never older than its tag.
+     */
+    public <T> ResponseEntity<T> forLeague(WebRequest request, Supplier<T> body, Predicate<T> cacheable) {
+        LeagueSnapshot league = leagueStore.current();
+        return conditional(request, version(league.generation()) + encodingSuffix(request),
+                league.builtAt(), body, cacheable);
+    }
+
+    /**
+     * A pre-encoded JSON body for the current league snapshot, sent gzip-encoded when the client
+     * accepts it. Each encoding gets its own tag, as a strong validator must.
+     */
+    public ResponseEntity<byte[]> forLeagueJson(WebRequest request, Function<LeagueSnapshot, EncodedJson> body) {
+        LeagueSnapshot league = leagueStore.current();
+        EncodedJson json = body.apply(league);
+        boolean gzip = json.gzip() != null && EncodedJson.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = "\"" + version(league.generation()) + (gzip ? "-gz" : "") + "\"";
+        if (notModified(request, etag, league.builtAt())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag).lastModified(league.builtAt()).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag).lastModified(league.builtAt()).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(json.gzip());
+        }
+        return ok.body(json.identity());
+    }
+
+    /** A response that only changes with the deployed build (e.g. {@code /api/v1/model/info}). */
+    public <T> ResponseEntity<T> forBuild(WebRequest request, String version, Supplier<T> body) {
+        return conditional(request, BOOT_ID + "-" + version + encodingSuffix(request), bootTime, body, b -> true);
+    }
+
+    private <T> ResponseEntity<T> conditional(WebRequest request, String tag, Instant lastModified,
+                                              Supplier<T> body, Predicate<T> cacheable) {
+        String etag = "\"" + tag + "\"";
+        if (notModified(request, etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag).lastModified(lastModified).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        T value = body.get();
+        if (!cacheable.test(value)) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(value);
+        }
+        return ResponseEntity.ok().eTag(etag).lastModified(lastModified).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT).body(value);
+    }
+
+    /** JSON keeps the bare tag; a binary encoding of the same data is a different representation. */
+    private static String encodingSuffix(WebRequest request) {
+        WireFormats.Encoding encoding = WireFormats.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        return encoding == WireFormats.Encoding.JSON ? "" : "-" + encoding.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * RFC 9110 evaluation: {@code If-None-Match} (weak comparison) decides when present, otherwise
+     * {@code If-Modified-Since} at one-second resolution.
+     */
+    static boolean notModified(WebRequest request, String etag, Instant lastModified) {
+        HttpHeaders headers = new HttpHeaders();
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            for (String candidate : headers.getIfNoneMatch()) {
+                String opaque = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+                if ("*".equals(opaque) || etag.equals(opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+            return lastModified.getEpochSecond() * 1000 <= headers.getIfModifiedSince();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -28,7 +28,9 @@ public class CorsConfig {
                 registry.addMapping("/api/**")
                         .allowedOriginPatterns(allowedOrigins)
                         .allowedMethods("GET", "POST")
-                        .allowedHeaders("Content-Type", "Accept");
+                        .allowedHeaders("Content-Type", "Accept", "If-None-Match", "If-Modified-Since",
+                                "Last-Event-ID")
+                        .exposedHeaders("ETag", "Last-Modified", "Cache-Control", "Content-Disposition");
             }
         };
     }
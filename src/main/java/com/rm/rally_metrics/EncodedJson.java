@@ -0,0 +1,101 @@
+package com.rm.rally_metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response body rendered once, kept as raw bytes plus a gzip variant, so serving it is a
+ * buffer write with no per-request serialization or compression.
+ *
+ * <p>The gzip variant is compressed at the highest level (it is paid for once per sync, not per
+ * request) and dropped when it would not be smaller than the plain bytes.
+ */
+public final class EncodedJson {
+
+    private final byte[] identity;
+    private final byte[] gzip;
+
+    private EncodedJson(byte[] identity, byte[] gzip) {
+        this.identity = identity;
+        this.gzip = gzip;
+    }
+
+    /** Serialize {@code value} with {@code writer} (the app's configured mapper) and compress it. */
+    public static EncodedJson encode(ObjectWriter writer, Object value) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = gzip(json);
+        return new EncodedJson(json, compressed.length < json.length ? compressed : null);
+    }
+
+    /** The uncompressed JSON. Callers must not modify the array. */
+    public byte[] identity() {
+        return identity;
+    }
+
+    /** The gzip-compressed JSON, or {@code null} when compression would not pay. Read-only. */
+    public byte[] gzip() {
+        return gzip;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header admits gzip: a {@code gzip} (or {@code x-gzip})
+     * coding with a non-zero {@code q}, or failing that a {@code *} with a non-zero {@code q}.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQ = -1.0;
+        double anyQ = -1.0;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQ = Math.max(gzipQ, quality(parts));
+            } else if (name.equals("*")) {
+                anyQ = quality(parts);
+            }
+        }
+        return (gzipQ >= 0.0 ? gzipQ : anyQ) > 0.0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim().toLowerCase(Locale.ROOT);
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream zip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            zip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,14 +1,21 @@
 package com.rm.rally_metrics;
 
+import com.rm.rally_metrics.history.HistoryImport;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 @EnableScheduling
 public class RallyMetricsApplication {
 
 	public static void main(String[] args) {
+		// Offline backfill: runs without the server (or its database) and exits.
+		if (args.length > 0 && HistoryImport.COMMAND.equals(args[0])) {
+			System.exit(HistoryImport.run(Arrays.copyOfRange(args, 1, args.length)));
+		}
 		SpringApplication.run(RallyMetricsApplication.class, args);
 	}
 
@@ -1,57 +1,261 @@
 package com.rm.rally_metrics;
 
+import com.rm.rally_metrics.ingest.LoadReport;
+import com.rm.rally_metrics.ingest.StandingsFetcher;
+import com.rm.rally_metrics.ingest.StatsIngest;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.sync.SyncOutcome;
+import com.rm.rally_metrics.sync.SyncRun;
+import com.rm.rally_metrics.sync.SyncRunRepository;
+import com.rm.rally_metrics.sync.SyncStatus;
+import com.rm.rally_metrics.sync.SyncTrigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.InputStreamReader;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Stats sync, from one of two sources ({@code rally.sync.source}):
+ *
+ * <ul>
+ *   <li>{@code selenium} (default) — once a day the Python scraper renders the page in headless
+ *       Chromium and writes the table to stdout as CSV. This works even when the table is only
+ *       rendered client-side.</li>
+ *   <li>{@code http} — {@link StandingsFetcher} polls the standings page every
+ *       {@code rally.sync.interval} and reads the table in the JVM. A poll whose table is unchanged
+ *       stops there, so polling every few minutes on match days costs one HTTP request. Only for a
+ *       page that serves the table in its HTML; otherwise every poll fails.</li>
+ * </ul>
+ *
+ * <p>Either way the raw table is cleaned and copied in-process by {@link StatsIngest}, and a load
+ * that changed any player is then published to the in-memory read path.
+ *
+ * <p>Runs execute one at a time on their own thread rather than the shared scheduler thread, and a
+ * trigger (scheduled or {@linkplain #start manual}) that arrives while one is in progress is skipped.
+ * Every run, skipped ones included, is recorded as a {@link SyncRun}; runs older than
+ * {@code rally.sync.retention} are pruned.
+ */
 @Component
 public class StatsSyncScheduler {
 
+    private static final Logger log = LoggerFactory.getLogger(StatsSyncScheduler.class);
+
     private static final long SCRIPT_TIMEOUT_MINUTES = 10;
 
+    static final String SOURCE_HTTP = "http";
+    static final String SOURCE_SELENIUM = "selenium";
+
+    private final StatsIngest statsIngest;
+    private final StandingsFetcher standingsFetcher;
+    private final LeagueSnapshotStore leagueStore;
+    private final SyncRunRepository syncRuns;
+    private final String source;
+    private final Duration retention;
+    private final Executor runner;
+    private final AtomicReference<SyncRun> running = new AtomicReference<>();
+
+    @Autowired
+    public StatsSyncScheduler(StatsIngest statsIngest, StandingsFetcher standingsFetcher,
+                              LeagueSnapshotStore leagueStore, SyncRunRepository syncRuns,
+                              @Value("${rally.sync.source:selenium}") String source,
+                              @Value("${rally.sync.retention:P90D}") Duration retention) {
+        this(statsIngest, standingsFetcher, leagueStore, syncRuns, source, retention,
+                Executors.newSingleThreadExecutor(r -> {
+                    Thread thread = new Thread(r, "stats-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    StatsSyncScheduler(StatsIngest statsIngest, StandingsFetcher standingsFetcher,
+                       LeagueSnapshotStore leagueStore, SyncRunRepository syncRuns,
+                       String source, Duration retention, Executor runner) {
+        this.statsIngest = statsIngest;
+        this.standingsFetcher = standingsFetcher;
+        this.leagueStore = leagueStore;
+        this.syncRuns = syncRuns;
+        this.source = source;
+        this.retention = retention;
+        this.runner = runner;
+    }
+
+    @Scheduled(fixedDelayString = "${rally.sync.interval:PT5M}", initialDelayString = "${rally.sync.initial-delay:PT1M}")
+    public void pollStandings() {
+        if (SOURCE_HTTP.equals(source)) {
+            start(SyncTrigger.SCHEDULED);
+        }
+    }
+
     @Scheduled(cron = "0 0 8 * * *", zone = "America/Los_Angeles")
-    public void runPythonScript() {
-        String timestamp = ZonedDateTime.now(ZoneId.of("America/Los_Angeles"))
-                .format(DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss z"));
-        System.out.println("===== Scheduled Python Script Triggered at: " + timestamp + " =====");
+    public void syncStats() {
+        if (SOURCE_SELENIUM.equals(source)) {
+            start(SyncTrigger.SCHEDULED);
+        }
+    }
 
+    /**
+     * Start a run of the configured source in the background and return it, or record a skipped
+     * run and return null when another run is still in progress.
+     */
+    public SyncRun start(SyncTrigger trigger) {
+        SyncRun run = new SyncRun(trigger, source, Instant.now());
+        SyncRun busy = running.compareAndExchange(null, run);
+        if (busy != null) {
+            log.warn("{} stats sync skipped; the run started at {} is still in progress.",
+                    trigger, busy.getStartedAt());
+            run.finish(SyncOutcome.SKIPPED, "A run started at " + busy.getStartedAt() + " was still in progress.");
+            record(run);
+            return null;
+        }
         try {
-            String scriptPath = resolveScriptPath();
-            ProcessBuilder pb = new ProcessBuilder("python3", scriptPath);
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    System.out.println("[Python Script] " + line);
+            runner.execute(() -> {
+                try {
+                    execute(run);
+                } finally {
+                    record(run);
+                    running.set(null);
                 }
-            }
+            });
+        } catch (RuntimeException e) {
+            running.set(null);
+            throw e;
+        }
+        return run;
+    }
 
-            boolean finished = process.waitFor(SCRIPT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
-            if (!finished) {
-                process.destroyForcibly();
-                System.err.println("Python script timed out after " + SCRIPT_TIMEOUT_MINUTES + " minutes.");
-            } else if (process.exitValue() != 0) {
-                System.err.println("Python script exited with code " + process.exitValue());
+    /**
+     * The run in progress, the last run that published, and the {@code limit} most recent runs,
+     * optionally only those with {@code outcome}.
+     */
+    public SyncStatus status(int limit, SyncOutcome outcome) {
+        SyncRun current = running.get();
+        SyncStatus.Running inProgress = current == null ? null
+                : new SyncStatus.Running(current.getTrigger(), current.getSource(), current.getStartedAt());
+        List<SyncRun> lastLoad = syncRuns.findByOutcomeOrderByStartedAtDesc(SyncOutcome.LOADED, PageRequest.of(0, 1));
+        List<SyncRun> recent = outcome == null
+                ? syncRuns.findAllByOrderByStartedAtDesc(PageRequest.of(0, limit))
+                : syncRuns.findByOutcomeOrderByStartedAtDesc(outcome, PageRequest.of(0, limit));
+        return new SyncStatus(source, inProgress, lastLoad.isEmpty() ? null : lastLoad.get(0), recent);
+    }
+
+    private void execute(SyncRun run) {
+        try {
+            if (SOURCE_SELENIUM.equals(run.getSource())) {
+                syncFromScraper(run);
             } else {
-                System.out.println("Python script ran successfully.");
+                syncFromPage(run);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Stats sync interrupted.");
+            run.finish(SyncOutcome.FAILED, "Interrupted.");
         } catch (Exception e) {
-            System.err.println("Error running Python script:");
-            e.printStackTrace();
+            log.error("Stats sync failed.", e);
+            run.finish(SyncOutcome.FAILED, e.toString());
+        }
+        if (run.getOutcome() != SyncOutcome.UNCHANGED) {
+            log.info("Stats sync {} in {} ms.", run.getOutcome(), run.getTotalMs());
+        }
+    }
+
+    private void syncFromPage(SyncRun run) throws Exception {
+        StandingsFetcher.Standings standings = standingsFetcher.fetch();
+        run.setFetchMs(standings.fetch().toMillis());
+        run.setParseMs(standings.parse().toMillis());
+        run.setRowsFetched(standings.rows());
+        if (standings.unchanged()) {
+            log.debug("Standings unchanged; nothing to load.");
+            run.finish(SyncOutcome.UNCHANGED, null);
+            return;
         }
+        log.info("Standings changed ({} rows, sha256 {}); loading.", standings.rows(),
+                standings.sha256().substring(0, 12));
+        LoadReport report = statsIngest.ingest(new StringReader(standings.csv()));
+        standingsFetcher.loaded(standings);
+        publish(run, report);
+    }
 
-        System.out.println("===== Python Script Execution Finished =====");
+    private void syncFromScraper(SyncRun run) throws Exception {
+        long started = System.nanoTime();
+        ProcessBuilder pb = new ProcessBuilder("python3", resolveScriptPath());
+        // The scraper logs to stderr; only the CSV arrives on stdout.
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+        Process process = pb.start();
+        // Reading blocks until the scraper closes stdout, so a hung scraper is killed on a timer.
+        process.onExit()
+                .orTimeout(SCRIPT_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .exceptionally(e -> {
+                    log.error("Scraper timed out after {} minutes.", SCRIPT_TIMEOUT_MINUTES);
+                    process.destroyForcibly();
+                    return process;
+                });
+
+        // Take the whole table before touching the database: a scraper that dies partway through
+        // must not leave the rows it already wrote merged into player_statistic.
+        String csv;
+        try (InputStream stdout = process.getInputStream()) {
+            csv = new String(stdout.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        int exit = process.waitFor();
+        run.setFetchMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (exit != 0) {
+            log.error("Scraper exited with code {}; nothing loaded.", exit);
+            run.finish(SyncOutcome.FAILED, "Scraper exited with code " + exit + ".");
+            return;
+        }
+        publish(run, statsIngest.ingest(new StringReader(csv)));
+    }
+
+    private void publish(SyncRun run, LoadReport report) {
+        run.setCopyMs(report.copy().toMillis());
+        run.setMergeMs(report.merge().toMillis());
+        run.setInserted(report.inserted());
+        run.setUpdated(report.updated());
+        run.setUnchanged(report.unchanged());
+        run.setRejected(report.rejected());
+        if (report.loaded() == 0) {
+            log.warn("Standings had no usable rows; keeping the current league.");
+            run.finish(SyncOutcome.EMPTY, null);
+        } else if (!report.hasChanges()) {
+            log.info("No player changed; keeping the current league generation.");
+            run.finish(SyncOutcome.NO_CHANGES, null);
+        } else {
+            // Publish the freshly synced table to the in-memory read path in one swap.
+            long started = System.nanoTime();
+            run.setGeneration(leagueStore.refresh().generation());
+            run.setPublishMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            run.finish(SyncOutcome.LOADED, null);
+        }
+    }
+
+    /** Save the run and prune old ones; failing to record a run never fails the sync itself. */
+    private void record(SyncRun run) {
+        try {
+            syncRuns.save(run);
+            int pruned = syncRuns.deleteStartedBefore(Instant.now().minus(retention));
+            if (pruned > 0) {
+                log.info("Pruned {} sync run(s) older than {}.", pruned, retention);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not record the {} stats sync run: {}", run.getOutcome(), e.toString());
+        }
     }
 
     /**
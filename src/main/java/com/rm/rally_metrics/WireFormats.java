@@ -0,0 +1,71 @@
+package com.rm.rally_metrics;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Binary alternatives to JSON for the bulk endpoints, chosen by {@code Accept}: Jackson Smile
+ * ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}).
+ *
+ * <p>Both converters are built from Boot's {@link Jackson2ObjectMapperBuilder}, so they carry the
+ * same configuration as JSON — snake_case names, modules, inclusion rules — and a client sees the
+ * same field model whichever encoding it asks for. See {@code docs/wire-formats.md} for sizes.
+ */
+@Configuration
+public class WireFormats {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    /** What a request's {@code Accept} header resolves to among the encodings we serve. */
+    public enum Encoding {
+        JSON, SMILE, CBOR
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false)
+                .factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false)
+                .factory(new CBORFactory()).build());
+    }
+
+    /**
+     * The encoding a request negotiates to: the highest-quality {@code Accept} entry that is
+     * Smile or CBOR exactly, falling back to JSON (which is also what wildcards get).
+     */
+    public static Encoding negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return Encoding.JSON;
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return Encoding.JSON;
+        }
+        return types.stream()
+                .filter(t -> t.getQualityValue() > 0.0)
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .findFirst()
+                .map(t -> t.equalsTypeAndSubtype(SMILE) ? Encoding.SMILE
+                        : t.equalsTypeAndSubtype(CBOR) ? Encoding.CBOR : Encoding.JSON)
+                .orElse(Encoding.JSON);
+    }
+}
@@ -10,10 +10,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.anthropic.core.JsonValue.from;
 
@@ -59,17 +63,86 @@ public class ScoutAgent {
 
     private final AnthropicClientProvider clients;
 
-    /** Scouting is stable for a given player over a season; cache successful reports by name. */
-    private final Map<String, ScoutReport> cache = new ConcurrentHashMap<>();
+    /**
+     * Successful reports by name, each with the stats it was written from. An entry only answers
+     * for those exact stats, so a report can never outlive the numbers it describes; syncs also
+     * {@linkplain #evict evict} changed players so stale entries do not linger.
+     */
+    private final Map<String, Scouted> cache = new ConcurrentHashMap<>();
+
+    /** Background scouts in progress, so concurrent batch pages share one call per player. */
+    private final Map<Scouting, CompletableFuture<ScoutReport>> inFlight = new ConcurrentHashMap<>();
+
+    /** Small daemon pool for background scouting; bounded so a big page cannot flood the API. */
+    private final ExecutorService background = Executors.newFixedThreadPool(4, r -> {
+        Thread t = new Thread(r, "scout-background");
+        t.setDaemon(true);
+        return t;
+    });
 
     public ScoutAgent(AnthropicClientProvider clients) {
         this.clients = clients;
     }
 
+    /** A report and the stats it describes. */
+    private record Scouted(PlayerStats stats, ScoutReport report) {
+    }
+
+    /** One player's scout for one set of stats. */
+    private record Scouting(String name, PlayerStats stats) {
+    }
+
+    /**
+     * The cached report for a player with these stats, if one has already been produced. Never
+     * calls the model.
+     */
+    public Optional<ScoutReport> cached(String name, PlayerStats s) {
+        Scouted scouted = cache.get(name);
+        return scouted != null && scouted.stats().equals(s) ? Optional.of(scouted.report()) : Optional.empty();
+    }
+
+    /** Drop the cached reports of these players, e.g. after a sync changed their stats. */
+    public int evict(Collection<String> names) {
+        int evicted = 0;
+        for (String name : names) {
+            if (cache.remove(name) != null) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Scout a player in the background. Completes immediately from the cache; otherwise joins the
+     * player's in-flight scout or starts one. Like {@link #scout}, never completes exceptionally.
+     */
+    public CompletableFuture<ScoutReport> scoutAsync(String name, String team, PlayerStats s) {
+        Optional<ScoutReport> cached = cached(name, s);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        Scouting key = new Scouting(name, s);
+        CompletableFuture<ScoutReport> started = new CompletableFuture<>();
+        CompletableFuture<ScoutReport> running = inFlight.putIfAbsent(key, started);
+        if (running != null) {
+            return running;
+        }
+        background.execute(() -> {
+            ScoutReport report = ScoutReport.unavailable();
+            try {
+                report = scout(name, team, s);
+            } finally {
+                inFlight.remove(key, started);
+                started.complete(report);
+            }
+        });
+        return started;
+    }
+
     public ScoutReport scout(String name, String team, PlayerStats s) {
-        ScoutReport cached = cache.get(name);
-        if (cached != null) {
-            return cached;
+        Optional<ScoutReport> cached = cached(name, s);
+        if (cached.isPresent()) {
+            return cached.get();
         }
         String user = String.format(
                 "Player: %s (Team: %s)%n"
@@ -94,7 +167,7 @@ public class ScoutAgent {
                     StructuredCall.stringList(in, "strengths"),
                     StructuredCall.stringList(in, "weaknesses"),
                     StructuredCall.string(in, "outlook", ""));
-            cache.put(name, report); // only successful reports reach here
+            cache.put(name, new Scouted(s, report)); // only successful reports reach here
             return report;
         } catch (RuntimeException e) {
             log.warn("Scout agent failed for '{}': {}", name, e.toString());
@@ -1,11 +1,26 @@
 package com.rm.rally_metrics.error;
 
+import java.util.List;
+
 /**
  * Thrown when a requested resource (e.g. a player) does not exist.
- * Surfaced as HTTP 404 by {@link GlobalExceptionHandler}.
+ * Surfaced as HTTP 404 by {@link GlobalExceptionHandler}, with any "did you mean" suggestions.
  */
 public class NotFoundException extends RuntimeException {
+
+    private final List<String> suggestions;
+
     public NotFoundException(String message) {
+        this(message, List.of());
+    }
+
+    public NotFoundException(String message, List<String> suggestions) {
         super(message);
+        this.suggestions = List.copyOf(suggestions);
+    }
+
+    /** Close matches the client could retry with, best first; empty when there are none. */
+    public List<String> getSuggestions() {
+        return suggestions;
     }
 }
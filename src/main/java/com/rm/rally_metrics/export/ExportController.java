@@ -0,0 +1,78 @@
+package com.rm.rally_metrics.export;
+
+import com.rm.rally_metrics.ConditionalGets;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.league.MatchupMatrices;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Bulk downloads for analysts and fantasy partners, streamed straight to the response by
+ * {@link LeagueExporter} as CSV (default) or Arrow ({@code format=arrow}). Each download is one
+ * snapshot generation, tagged and revalidated like the rest of the read API.
+ */
+@RestController
+@RequestMapping(path = "api/v1/export")
+public class ExportController {
+
+    private final LeagueSnapshotStore leagueStore;
+    private final MatchupMatrices matchupMatrices;
+    private final LeagueExporter exporter;
+    private final ConditionalGets conditionalGets;
+
+    public ExportController(LeagueSnapshotStore leagueStore, MatchupMatrices matchupMatrices,
+                            LeagueExporter exporter, ConditionalGets conditionalGets) {
+        this.leagueStore = leagueStore;
+        this.matchupMatrices = matchupMatrices;
+        this.exporter = exporter;
+        this.conditionalGets = conditionalGets;
+    }
+
+    @GetMapping("/players")
+    public ResponseEntity<StreamingResponseBody> exportPlayers(
+            @RequestParam(required = false) String format,
+            WebRequest webRequest) {
+
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        LeagueSnapshot league = leagueStore.current();
+        return download(conditionalGets.forLeague(webRequest,
+                () -> out -> exporter.writePlayers(league, exportFormat, out)), "players", league, exportFormat);
+    }
+
+    /** All pairs; {@code keyFactors=true} adds the model's key factors per pair. */
+    @GetMapping("/matchups")
+    public ResponseEntity<StreamingResponseBody> exportMatchups(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean keyFactors,
+            WebRequest webRequest) {
+
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        LeagueSnapshot league = leagueStore.current();
+        return download(conditionalGets.forLeague(webRequest, () -> out -> exporter.writeMatchups(
+                league, matchupMatrices.matrixFor(league), keyFactors, exportFormat, out)),
+                keyFactors ? "matchups-key-factors" : "matchups", league, exportFormat);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(ResponseEntity<StreamingResponseBody> response,
+                                                                  String name, LeagueSnapshot league,
+                                                                  ExportFormat format) {
+        if (response.getBody() == null) {
+            return response; // 304, or a rejected body
+        }
+        String filename = "rally-metrics-" + name + "-" + league.generation() + "." + format.extension();
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(format.mediaType())
+                .body(response.getBody());
+    }
+}
@@ -0,0 +1,44 @@
+package com.rm.rally_metrics.export;
+
+import com.rm.rally_metrics.error.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/** The file formats the export endpoints write, chosen with {@code format=}. */
+public enum ExportFormat {
+    /** RFC 4180 CSV with a header row, UTF-8. */
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    /** Apache Arrow IPC streaming format: one schema message, then record batches. */
+    ARROW("arrows", MediaType.valueOf("application/vnd.apache.arrow.stream"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /** Parse a {@code format=} value; blank means CSV. */
+    public static ExportFormat parse(String format) {
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+        return Arrays.stream(values())
+                .filter(f -> f.name().equalsIgnoreCase(format.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown export format '" + format + "'. Known formats: "
+                        + String.join(", ", Arrays.stream(values()).map(f -> f.name().toLowerCase(Locale.ROOT)).toList()) + "."));
+    }
+}
@@ -0,0 +1,306 @@
+package com.rm.rally_metrics.export;
+
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import com.rm.rally_metrics.league.KeyFactorTable;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.MatchupMatrix;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the league — players with their model rating and draft tier, and every pair's win
+ * probability, moneyline and (optionally) key factors — straight to an output stream as CSV or
+ * Arrow.
+ *
+ * <p>Rows are produced one at a time from a single pinned {@link LeagueSnapshot} and its
+ * {@link MatchupMatrix}, so memory stays constant however large the export: CSV goes through a
+ * fixed-size buffer, and Arrow reuses one {@link VectorSchemaRoot} of {@link #ARROW_BATCH_ROWS}
+ * rows per record batch. Nothing is collected into a list first.
+ *
+ * <p>Player CSV headers are the same names {@link Player} binds with {@code @CsvBindByName}, so an
+ * export can be fed back to the importer; everything else uses the API's snake_case names.
+ */
+@Component
+public class LeagueExporter {
+
+    /** Rows per Arrow record batch: large enough to amortize per-batch metadata, small enough to bound memory. */
+    static final int ARROW_BATCH_ROWS = 8_192;
+
+    private static final long ARROW_MEMORY_LIMIT = 256L * 1024 * 1024;
+    private static final int CSV_BUFFER_CHARS = 64 * 1024;
+
+    private static final String[] PLAYER_HEADERS = {
+            "Name", "Rank", "Team", "Games Won", "Games Lost", "Games Won Percent",
+            "Pts Won", "Pts Lost", "Pts Won Percent", "Skill Rating", "Draft Tier"};
+    private static final String[] PLAYER_COLUMNS = {
+            "name", "rank", "team", "games_won", "games_lost", "games_won_percent",
+            "pts_won", "pts_lost", "pts_won_percent", "skill_rating", "draft_tier"};
+    private static final String[] MATCHUP_COLUMNS = {"player_a", "player_b", "probability_a", "moneyline"};
+
+    private final MatchProbabilityModel probabilityModel;
+
+    public LeagueExporter(MatchProbabilityModel probabilityModel) {
+        this.probabilityModel = probabilityModel;
+    }
+
+    /** Every player in standings order. */
+    public void writePlayers(LeagueSnapshot league, ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.ARROW) {
+            Schema schema = new Schema(List.of(
+                    text("name"), integer("rank"), text("team"), integer("games_won"), integer("games_lost"),
+                    float8("games_won_percent"), integer("pts_won"), integer("pts_lost"), float8("pts_won_percent"),
+                    integer("skill_rating"), text("draft_tier")));
+            try (ArrowTable table = new ArrowTable(schema, out)) {
+                for (int i = 0; i < league.size(); i++) {
+                    Player p = league.player(i);
+                    table.text(0, p.getName());
+                    table.integer(1, p.getRank());
+                    table.text(2, p.getTeam());
+                    table.integer(3, p.getGamesWon());
+                    table.integer(4, p.getGamesLost());
+                    table.float8(5, p.getGamesWonPercent());
+                    table.integer(6, p.getPtsWon());
+                    table.integer(7, p.getPtsLost());
+                    table.float8(8, p.getPtsWonPercent());
+                    table.integer(9, probabilityModel.skillRating(league.skill(i)));
+                    table.text(10, probabilityModel.draftTier(league.skill(i)).name());
+                    table.endRow();
+                }
+                table.finish();
+            }
+            return;
+        }
+        try (ICSVWriter csv = csvWriter(out)) {
+            csv.writeNext(PLAYER_HEADERS, false);
+            String[] row = new String[PLAYER_HEADERS.length];
+            for (int i = 0; i < league.size(); i++) {
+                Player p = league.player(i);
+                row[0] = p.getName();
+                row[1] = str(p.getRank());
+                row[2] = p.getTeam();
+                row[3] = str(p.getGamesWon());
+                row[4] = str(p.getGamesLost());
+                row[5] = str(p.getGamesWonPercent());
+                row[6] = str(p.getPtsWon());
+                row[7] = str(p.getPtsLost());
+                row[8] = str(p.getPtsWonPercent());
+                row[9] = Integer.toString(probabilityModel.skillRating(league.skill(i)));
+                row[10] = probabilityModel.draftTier(league.skill(i)).name();
+                csv.writeNext(row, false);
+            }
+        }
+    }
+
+    /**
+     * Every unordered pair {@code (a, b)}, {@code a} ahead of {@code b} in the standings, with the
+     * chance {@code a} wins and the predicted winner's moneyline. With {@code keyFactors}, each of
+     * the model's key factors adds its two display values and the favored side.
+     */
+    public void writeMatchups(LeagueSnapshot league, MatchupMatrix matrix, boolean keyFactors,
+                              ExportFormat format, OutputStream out) throws IOException {
+        if (league.generation() != matrix.generation()) {
+            throw new IllegalArgumentException("Matrix is for generation " + matrix.generation()
+                    + ", not " + league.generation());
+        }
+        List<String> factorColumns = keyFactors ? factorColumns() : List.of();
+        KeyFactorTable factors = keyFactors ? KeyFactorTable.build(league, probabilityModel) : null;
+        int n = league.size();
+        if (format == ExportFormat.ARROW) {
+            List<Field> fields = new ArrayList<>(List.of(
+                    text(MATCHUP_COLUMNS[0]), text(MATCHUP_COLUMNS[1]), float8(MATCHUP_COLUMNS[2]),
+                    integer(MATCHUP_COLUMNS[3])));
+            factorColumns.forEach(column -> fields.add(text(column)));
+            try (ArrowTable table = new ArrowTable(new Schema(fields), out)) {
+                for (int a = 0; a < n; a++) {
+                    for (int b = a + 1; b < n; b++) {
+                        table.text(0, league.name(a));
+                        table.text(1, league.name(b));
+                        table.float8(2, matrix.probability(a, b));
+                        table.integer(3, matrix.moneyline(a, b));
+                        if (keyFactors) {
+                            int column = MATCHUP_COLUMNS.length;
+                            for (int f = 0; f < MatchProbabilityModel.KEY_FACTORS; f++) {
+                                table.text(column++, factors.display(a, f));
+                                table.text(column++, factors.display(b, f));
+                                table.text(column++, factors.advantage(a, b, f));
+                            }
+                        }
+                        table.endRow();
+                    }
+                }
+                table.finish();
+            }
+            return;
+        }
+        try (ICSVWriter csv = csvWriter(out)) {
+            String[] row = new String[MATCHUP_COLUMNS.length + factorColumns.size()];
+            System.arraycopy(MATCHUP_COLUMNS, 0, row, 0, MATCHUP_COLUMNS.length);
+            for (int k = 0; k < factorColumns.size(); k++) {
+                row[MATCHUP_COLUMNS.length + k] = factorColumns.get(k);
+            }
+            csv.writeNext(row, false);
+            for (int a = 0; a < n; a++) {
+                row[0] = league.name(a);
+                for (int b = a + 1; b < n; b++) {
+                    row[1] = league.name(b);
+                    row[2] = Double.toString(matrix.probability(a, b));
+                    row[3] = Integer.toString(matrix.moneyline(a, b));
+                    if (keyFactors) {
+                        int column = MATCHUP_COLUMNS.length;
+                        for (int f = 0; f < MatchProbabilityModel.KEY_FACTORS; f++) {
+                            row[column++] = factors.display(a, f);
+                            row[column++] = factors.display(b, f);
+                            row[column++] = factors.advantage(a, b, f);
+                        }
+                    }
+                    csv.writeNext(row, false);
+                }
+            }
+        }
+    }
+
+    /** {@code <factor>_a}, {@code <factor>_b}, {@code <factor>_advantage} for each key factor label. */
+    private static List<String> factorColumns() {
+        List<String> columns = new ArrayList<>();
+        for (int f = 0; f < MatchProbabilityModel.KEY_FACTORS; f++) {
+            String slug = slug(MatchProbabilityModel.keyFactorLabel(f));
+            columns.add(slug + "_a");
+            columns.add(slug + "_b");
+            columns.add(slug + "_advantage");
+        }
+        return columns;
+    }
+
+    /** "Point diff / game" becomes {@code point_diff_game}, "Game win %" {@code game_win_pct}. */
+    static String slug(String label) {
+        return label.toLowerCase(Locale.ROOT)
+                .replace("%", "pct")
+                .replaceAll("[^a-z0-9]+", "_")
+                .replaceAll("^_+|_+$", "");
+    }
+
+    private static ICSVWriter csvWriter(OutputStream out) {
+        // The servlet container owns the response stream; closing the CSV writer only flushes it.
+        return new CSVWriter(new BufferedWriter(
+                new OutputStreamWriter(StreamUtils.nonClosing(out), StandardCharsets.UTF_8), CSV_BUFFER_CHARS));
+    }
+
+    private static String str(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static Field text(String name) {
+        return Field.nullable(name, ArrowType.Utf8.INSTANCE);
+    }
+
+    private static Field integer(String name) {
+        return Field.nullable(name, new ArrowType.Int(32, true));
+    }
+
+    private static Field float8(String name) {
+        return Field.nullable(name, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE));
+    }
+
+    /**
+     * One Arrow stream: a reusable batch of {@link #ARROW_BATCH_ROWS} rows, written out as a record
+     * batch each time it fills, over an allocator private to this export.
+     */
+    private static final class ArrowTable implements AutoCloseable {
+
+        private final BufferAllocator allocator;
+        private final VectorSchemaRoot root;
+        private final ArrowStreamWriter writer;
+        private int rows;
+
+        ArrowTable(Schema schema, OutputStream out) throws IOException {
+            this.allocator = new RootAllocator(ARROW_MEMORY_LIMIT);
+            this.root = VectorSchemaRoot.create(schema, allocator);
+            this.writer = new ArrowStreamWriter(root, null, Channels.newChannel(StreamUtils.nonClosing(out)));
+            writer.start();
+            root.allocateNew();
+        }
+
+        void text(int column, String value) {
+            VarCharVector vector = (VarCharVector) root.getVector(column);
+            if (value == null) {
+                vector.setNull(rows);
+            } else {
+                vector.setSafe(rows, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void integer(int column, Integer value) {
+            IntVector vector = (IntVector) root.getVector(column);
+            if (value == null) {
+                vector.setNull(rows);
+            } else {
+                vector.setSafe(rows, value);
+            }
+        }
+
+        void float8(int column, Double value) {
+            Float8Vector vector = (Float8Vector) root.getVector(column);
+            if (value == null) {
+                vector.setNull(rows);
+            } else {
+                vector.setSafe(rows, value);
+            }
+        }
+
+        void endRow() throws IOException {
+            if (++rows == ARROW_BATCH_ROWS) {
+                flush();
+            }
+        }
+
+        /** Write the partial last batch and the end-of-stream marker. */
+        void finish() throws IOException {
+            flush();
+            writer.end();
+        }
+
+        private void flush() throws IOException {
+            if (rows == 0) {
+                return;
+            }
+            root.setRowCount(rows);
+            writer.writeBatch();
+            root.allocateNew();
+            rows = 0;
+        }
+
+        @Override
+        public void close() {
+            try {
+                writer.close();
+            } finally {
+                root.close();
+                allocator.close();
+            }
+        }
+    }
+}
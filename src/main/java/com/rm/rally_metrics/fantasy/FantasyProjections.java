@@ -0,0 +1,78 @@
+package com.rm.rally_metrics.fantasy;
+
+import com.rm.rally_metrics.league.GenerationCache;
+import com.rm.rally_metrics.league.LeagueChangeSet;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotListener;
+import com.rm.rally_metrics.league.MatchupMatrices;
+import com.rm.rally_metrics.league.MatchupMatrix;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-player fantasy projections for each snapshot generation, computed once per sync so the
+ * lineup optimizer never re-derives skill per candidate.
+ *
+ * <p>A player's projection is their expected wins per 100 matches against the rest of the league:
+ * 100 times the mean log5 win probability over every other player, read from the matchup matrix.
+ * Unlike the raw skill it accounts for the strength of the field the player actually faces.
+ */
+@Component
+public class FantasyProjections implements LeagueSnapshotListener {
+
+    private final MatchupMatrices matchupMatrices;
+    private final GenerationCache<Projections> cache = new GenerationCache<>(Projections::generation);
+
+    public FantasyProjections(MatchupMatrices matchupMatrices) {
+        this.matchupMatrices = matchupMatrices;
+    }
+
+    /** Projections for exactly this snapshot's generation, indexed like the snapshot. */
+    public Projections projectionsFor(LeagueSnapshot league) {
+        return cache.get(league, this::build);
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        projectionsFor(changes.next());
+    }
+
+    private Projections build(LeagueSnapshot league) {
+        MatchupMatrix matrix = matchupMatrices.matrixFor(league);
+        int n = league.size();
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (n == 1) {
+                values[i] = 50.0;
+                continue;
+            }
+            double sum = 0.0;
+            for (int j = 0; j < n; j++) {
+                if (j != i) {
+                    sum += matrix.probability(i, j);
+                }
+            }
+            values[i] = 100.0 * sum / (n - 1);
+        }
+        return new Projections(league.generation(), values);
+    }
+
+    /** Projected points per snapshot index for one generation. */
+    public static final class Projections {
+
+        private final long generation;
+        private final double[] values;
+
+        Projections(long generation, double[] values) {
+            this.generation = generation;
+            this.values = values;
+        }
+
+        public long generation() {
+            return generation;
+        }
+
+        public double value(int index) {
+            return values[index];
+        }
+    }
+}
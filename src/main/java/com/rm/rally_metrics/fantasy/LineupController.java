@@ -0,0 +1,25 @@
+package com.rm.rally_metrics.fantasy;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Fantasy tooling built on the model's per-player projections.
+ */
+@RestController
+@RequestMapping(path = "api/v1/fantasy")
+public class LineupController {
+
+    private final LineupService lineupService;
+
+    public LineupController(LineupService lineupService) {
+        this.lineupService = lineupService;
+    }
+
+    @PostMapping("/lineup")
+    public LineupResult optimizeLineup(@RequestBody LineupRequest request) {
+        return lineupService.optimize(request);
+    }
+}
@@ -0,0 +1,250 @@
+package com.rm.rally_metrics.fantasy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.stream.IntStream;
+
+/**
+ * Exact top-K lineup search: fill every position slot with distinct candidates, maximizing total
+ * projection under an optional salary budget and per-team cap.
+ *
+ * <p>Branch and bound over the candidates in descending projection order. A partial lineup is
+ * abandoned once its value plus the best projections still available for its open slots falls
+ * below the K-th best lineup found so far, and because candidates are sorted that bound only
+ * shrinks along a branch, so a failed check ends the whole loop. The search is split by the
+ * lineup's best player, one subtree per candidate, and the subtrees run in parallel sharing the
+ * cutoff. A node limit keeps pathological inputs (e.g. very tight budgets) interactive; when it
+ * is hit the best lineups found are returned flagged as not proven optimal.
+ */
+public final class LineupOptimizer {
+
+    /** Nodes a single optimization may expand before giving up on proving optimality. */
+    static final long DEFAULT_NODE_LIMIT = 20_000_000L;
+
+    /**
+     * One player the optimizer may pick.
+     *
+     * @param id        caller's identifier, echoed back in {@link Lineup#ids()}
+     * @param team      team index, or -1 for no team (never counts toward a cap)
+     * @param positions bit {@code g} set when the player may fill position group {@code g}
+     */
+    public record Candidate(int id, double value, long salary, int team, int positions) {
+    }
+
+    /**
+     * @param ids    the chosen candidates' ids, in slot order
+     * @param groups the position group each chosen candidate fills
+     */
+    public record Lineup(double value, long salary, int[] ids, int[] groups) {
+    }
+
+    /**
+     * @param optimal whether the search ran to completion (the lineups are then the true top K)
+     * @param nodes   search nodes expanded
+     */
+    public record Result(List<Lineup> lineups, boolean optimal, long nodes) {
+    }
+
+    private final Candidate[] sorted;
+    private final double[] prefix;
+    private final int[] capacity;
+    private final int slots;
+    private final int teams;
+    private final long budget;
+    private final int maxPerTeam;
+    private final int alternatives;
+    private final long nodeLimit;
+
+    private final DoubleAccumulator cutoff = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    private LineupOptimizer(List<Candidate> candidates, int[] capacity, long budget, int maxPerTeam,
+                            int alternatives, long nodeLimit) {
+        this.sorted = candidates.stream()
+                .sorted(Comparator.comparingDouble(Candidate::value).reversed().thenComparingInt(Candidate::id))
+                .toArray(Candidate[]::new);
+        this.prefix = new double[sorted.length + 1];
+        for (int i = 0; i < sorted.length; i++) {
+            prefix[i + 1] = prefix[i] + sorted[i].value();
+        }
+        this.capacity = capacity.clone();
+        this.slots = Arrays.stream(capacity).sum();
+        this.teams = candidates.stream().mapToInt(Candidate::team).max().orElse(-1) + 1;
+        this.budget = budget;
+        this.maxPerTeam = maxPerTeam;
+        this.alternatives = alternatives;
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Find the {@code alternatives} best distinct lineups (as sets of players), best first.
+     *
+     * @param capacity   slots per position group
+     * @param budget     salary cap, or {@link Long#MAX_VALUE} for none
+     * @param maxPerTeam most players from one team, or {@link Integer#MAX_VALUE} for none
+     */
+    public static Result optimize(List<Candidate> candidates, int[] capacity, long budget, int maxPerTeam,
+                                  int alternatives, long nodeLimit) {
+        if (capacity.length > Integer.SIZE) {
+            throw new IllegalArgumentException("At most " + Integer.SIZE + " position groups");
+        }
+        return new LineupOptimizer(candidates, capacity, budget, maxPerTeam, alternatives, nodeLimit).run();
+    }
+
+    private Result run() {
+        int last = sorted.length - slots;
+        List<Search> searches = IntStream.rangeClosed(0, last).parallel()
+                .mapToObj(first -> {
+                    Search search = new Search();
+                    search.root(first);
+                    return search;
+                })
+                .toList();
+
+        List<Lineup> merged = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Search search : searches) {
+            nodes.addAndGet(search.pendingNodes);
+            for (Found f : search.best) {
+                if (seen.add(f.key)) {
+                    merged.add(f.lineup());
+                }
+            }
+        }
+        merged.sort(BETTER_FIRST);
+        return new Result(List.copyOf(merged.subList(0, Math.min(alternatives, merged.size()))),
+                !stopped.get(), nodes.get());
+    }
+
+    private static final double BOUND_SLACK = 1e-9;
+
+    private static final Comparator<Lineup> BETTER_FIRST = Comparator
+            .comparingDouble(Lineup::value).reversed()
+            .thenComparingLong(Lineup::salary)
+            .thenComparing((a, b) -> Arrays.compare(sortedCopy(a.ids()), sortedCopy(b.ids())));
+
+    private static int[] sortedCopy(int[] ids) {
+        int[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Best value the open slots could still add starting at sorted position {@code i}, nudged up
+     * so rounding in the prefix sums can never prune a lineup that ties the cutoff.
+     */
+    private double bound(int i, int open) {
+        return prefix[Math.min(sorted.length, i + open)] - prefix[i] + BOUND_SLACK;
+    }
+
+    /** Depth-first search of one subtree, with its own working state and top-K heap. */
+    private final class Search {
+
+        private final int[] caps = capacity.clone();
+        private final int[] teamCount = new int[teams];
+        private final int[] chosen = new int[slots];
+        private final int[] chosenGroup = new int[slots];
+        private final PriorityQueue<Found> best = new PriorityQueue<>(Comparator.comparing(Found::lineup, BETTER_FIRST).reversed());
+        private final Set<String> keys = new HashSet<>();
+        private double localCutoff = Double.NEGATIVE_INFINITY;
+        private long pendingNodes;
+
+        /** Every lineup whose best player is {@code sorted[first]}. */
+        void root(int first) {
+            localCutoff = cutoff.get();
+            if (bound(first, slots) < localCutoff) {
+                return;
+            }
+            tryInclude(first, 0, 0.0, 0L);
+        }
+
+        private void descend(int from, int depth, double value, long salary) {
+            if (depth == slots) {
+                offer(value, salary);
+                return;
+            }
+            int open = slots - depth;
+            for (int i = from; i <= sorted.length - open; i++) {
+                if (stopped.get() || value + bound(i, open) < localCutoff) {
+                    return;
+                }
+                tryInclude(i, depth, value, salary);
+            }
+        }
+
+        private void tryInclude(int i, int depth, double value, long salary) {
+            if ((++pendingNodes & 0xFFF) == 0) {
+                if (nodes.addAndGet(pendingNodes) > nodeLimit) {
+                    stopped.set(true);
+                }
+                pendingNodes = 0;
+                localCutoff = Math.max(localCutoff, cutoff.get());
+            }
+            Candidate c = sorted[i];
+            // salary never exceeds budget, so the difference cannot overflow where the sum could.
+            if (c.salary() > budget - salary) {
+                return;
+            }
+            int team = c.team();
+            if (team >= 0 && teamCount[team] >= maxPerTeam) {
+                return;
+            }
+            for (int g = 0; g < caps.length; g++) {
+                if ((c.positions() >>> g & 1) == 0 || caps[g] == 0) {
+                    continue;
+                }
+                caps[g]--;
+                if (team >= 0) {
+                    teamCount[team]++;
+                }
+                chosen[depth] = i;
+                chosenGroup[depth] = g;
+                descend(i + 1, depth + 1, value + c.value(), salary + c.salary());
+                caps[g]++;
+                if (team >= 0) {
+                    teamCount[team]--;
+                }
+            }
+        }
+
+        private void offer(double value, long salary) {
+            if (value < localCutoff) {
+                return;
+            }
+            int[] ids = new int[slots];
+            for (int k = 0; k < slots; k++) {
+                ids[k] = sorted[chosen[k]].id();
+            }
+            String key = Arrays.toString(sortedCopy(ids));
+            if (keys.contains(key)) {
+                return; // same players, different slot assignment
+            }
+            Found found = new Found(key, new Lineup(value, salary, ids, chosenGroup.clone()));
+            if (best.size() < alternatives) {
+                best.add(found);
+                keys.add(key);
+            } else if (BETTER_FIRST.compare(found.lineup, best.peek().lineup) < 0) {
+                keys.remove(best.poll().key);
+                best.add(found);
+                keys.add(key);
+            }
+            if (best.size() == alternatives) {
+                double kth = best.peek().lineup.value();
+                cutoff.accumulate(kth);
+                localCutoff = Math.max(localCutoff, kth);
+            }
+        }
+    }
+
+    private record Found(String key, Lineup lineup) {
+    }
+}
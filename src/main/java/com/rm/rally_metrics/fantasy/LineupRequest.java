@@ -0,0 +1,33 @@
+package com.rm.rally_metrics.fantasy;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code POST /api/v1/fantasy/lineup}, read snake_case.
+ *
+ * <p>The league data carries no positions or salaries, so the caller supplies them per player.
+ * Omit {@code players} to draft from the whole league with every player eligible for every slot
+ * at no cost.
+ *
+ * @param slots        position name to number of slots, e.g. {@code {"M": 2, "W": 2, "FLEX": 1}};
+ *                     a slot named {@code FLEX} accepts any player
+ * @param players      the draftable pool (optional)
+ * @param budget       total salary cap (optional)
+ * @param maxPerTeam   most players from any one team (optional)
+ * @param alternatives how many lineups to return, best first (default 5)
+ */
+public record LineupRequest(
+        Map<String, Integer> slots,
+        List<Entry> players,
+        Long budget,
+        Integer maxPerTeam,
+        Integer alternatives) {
+
+    /**
+     * @param positions slot names this player may fill; empty or absent means any
+     * @param salary    cost against the budget (default 0)
+     */
+    public record Entry(String name, List<String> positions, Long salary) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.rm.rally_metrics.fantasy;
+
+import java.util.List;
+
+/**
+ * Optimal lineup and ranked alternatives, serialized snake_case. Projected points are a player's
+ * expected wins per 100 matches against the current league (see {@link FantasyProjections}).
+ *
+ * @param optimal false only when the search hit its node limit; the lineups are then the best
+ *                found, not proven best
+ */
+public record LineupResult(
+        long generation,
+        String modelVersion,
+        boolean optimal,
+        List<Lineup> lineups) {
+
+    public record Lineup(int rank, double projectedPoints, long salary, List<Slot> slots) {
+    }
+
+    public record Slot(String position, String name, String team, double projectedPoints, long salary) {
+    }
+}
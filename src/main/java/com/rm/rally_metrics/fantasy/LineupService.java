@@ -0,0 +1,165 @@
+package com.rm.rally_metrics.fantasy;
+
+import com.rm.rally_metrics.error.BadRequestException;
+import com.rm.rally_metrics.error.NotFoundException;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns a lineup request into optimizer candidates (projections from {@link FantasyProjections},
+ * positions and salaries from the caller) and the optimizer's answer back into named lineups.
+ */
+@Component
+public class LineupService {
+
+    private static final Logger log = LoggerFactory.getLogger(LineupService.class);
+
+    /** Slot name that accepts any player. */
+    static final String FLEX = "FLEX";
+
+    static final int MAX_SLOTS = 15;
+    /** Largest salary accepted, so a full lineup's total always fits in a long. */
+    static final long MAX_SALARY = Long.MAX_VALUE / MAX_SLOTS;
+    static final int DEFAULT_ALTERNATIVES = 5;
+    static final int MAX_ALTERNATIVES = 50;
+
+    private final LeagueSnapshotStore leagueStore;
+    private final FantasyProjections fantasyProjections;
+
+    public LineupService(LeagueSnapshotStore leagueStore, FantasyProjections fantasyProjections) {
+        this.leagueStore = leagueStore;
+        this.fantasyProjections = fantasyProjections;
+    }
+
+    public LineupResult optimize(LineupRequest request) {
+        Map<String, Integer> slots = request.slots();
+        if (slots == null || slots.isEmpty()) {
+            throw new BadRequestException("'slots' must name at least one position.");
+        }
+        List<String> groups = new ArrayList<>(slots.keySet());
+        int[] capacity = new int[groups.size()];
+        int flexMask = 0;
+        for (int g = 0; g < capacity.length; g++) {
+            Integer count = slots.get(groups.get(g));
+            if (count == null || count < 1) {
+                throw new BadRequestException("Slot '" + groups.get(g) + "' needs a count of at least 1.");
+            }
+            capacity[g] = count;
+            if (FLEX.equalsIgnoreCase(groups.get(g))) {
+                flexMask |= 1 << g;
+            }
+        }
+        int totalSlots = Arrays.stream(capacity).sum();
+        if (totalSlots > MAX_SLOTS) {
+            throw new BadRequestException("At most " + MAX_SLOTS + " slots per lineup.");
+        }
+        int alternatives = request.alternatives() != null ? request.alternatives() : DEFAULT_ALTERNATIVES;
+        if (alternatives < 1 || alternatives > MAX_ALTERNATIVES) {
+            throw new BadRequestException("'alternatives' must be between 1 and " + MAX_ALTERNATIVES + ".");
+        }
+        if (request.budget() != null && request.budget() < 0) {
+            throw new BadRequestException("'budget' must not be negative.");
+        }
+        if (request.maxPerTeam() != null && request.maxPerTeam() < 1) {
+            throw new BadRequestException("'max_per_team' must be at least 1.");
+        }
+
+        LeagueSnapshot league = leagueStore.current();
+        FantasyProjections.Projections projections = fantasyProjections.projectionsFor(league);
+        int anyPosition = (1 << groups.size()) - 1;
+        Map<String, Integer> teamIds = new HashMap<>();
+        List<LineupOptimizer.Candidate> candidates = new ArrayList<>();
+        Map<Integer, Long> salaries = new HashMap<>();
+        if (request.players() == null) {
+            for (int i = 0; i < league.size(); i++) {
+                candidates.add(new LineupOptimizer.Candidate(i, projections.value(i), 0L,
+                        teamId(teamIds, league.team(i)), anyPosition));
+            }
+        } else {
+            Set<Integer> listed = new HashSet<>();
+            for (LineupRequest.Entry entry : request.players()) {
+                int index = entry == null || entry.name() == null ? -1 : league.indexOf(entry.name());
+                if (index < 0) {
+                    throw new NotFoundException("Player not found: " + (entry == null ? null : entry.name()));
+                }
+                if (!listed.add(index)) {
+                    throw new BadRequestException("Player listed twice: " + entry.name());
+                }
+                long salary = entry.salary() != null ? entry.salary() : 0L;
+                if (salary < 0) {
+                    throw new BadRequestException("Salary must not be negative: " + entry.name());
+                }
+                if (salary > MAX_SALARY) {
+                    throw new BadRequestException("Salary must be at most " + MAX_SALARY + ": " + entry.name());
+                }
+                salaries.put(index, salary);
+                int positions = positionMask(entry.positions(), groups, anyPosition) | flexMask;
+                if (positions != 0) {
+                    candidates.add(new LineupOptimizer.Candidate(index, projections.value(index), salary,
+                            teamId(teamIds, league.team(index)), positions));
+                }
+            }
+        }
+
+        long started = System.nanoTime();
+        LineupOptimizer.Result result = LineupOptimizer.optimize(candidates, capacity,
+                request.budget() != null ? request.budget() : Long.MAX_VALUE,
+                request.maxPerTeam() != null ? request.maxPerTeam() : Integer.MAX_VALUE,
+                alternatives, LineupOptimizer.DEFAULT_NODE_LIMIT);
+        log.info("Optimized {}-slot lineup over {} candidates in {} ms ({} nodes, optimal={}).", totalSlots,
+                candidates.size(), (System.nanoTime() - started) / 1_000_000, result.nodes(), result.optimal());
+
+        List<LineupResult.Lineup> lineups = new ArrayList<>(result.lineups().size());
+        for (LineupOptimizer.Lineup lineup : result.lineups()) {
+            List<LineupResult.Slot> filled = new ArrayList<>(lineup.ids().length);
+            for (int k = 0; k < lineup.ids().length; k++) {
+                int index = lineup.ids()[k];
+                filled.add(new LineupResult.Slot(groups.get(lineup.groups()[k]), league.name(index),
+                        league.team(index), round1(projections.value(index)), salaries.getOrDefault(index, 0L)));
+            }
+            lineups.add(new LineupResult.Lineup(lineups.size() + 1, round1(lineup.value()), lineup.salary(),
+                    List.copyOf(filled)));
+        }
+        return new LineupResult(league.generation(), MatchProbabilityModel.MODEL_VERSION, result.optimal(),
+                List.copyOf(lineups));
+    }
+
+    private static int positionMask(List<String> positions, List<String> groups, int anyPosition) {
+        if (positions == null || positions.isEmpty()) {
+            return anyPosition;
+        }
+        int mask = 0;
+        for (String position : positions) {
+            for (int g = 0; g < groups.size(); g++) {
+                if (groups.get(g).equalsIgnoreCase(position)) {
+                    mask |= 1 << g;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static int teamId(Map<String, Integer> teamIds, String team) {
+        if (team == null || team.isBlank()) {
+            return -1;
+        }
+        return teamIds.computeIfAbsent(team.trim().toLowerCase(Locale.ROOT), k -> teamIds.size());
+    }
+
+    private static double round1(double v) {
+        return Math.round(v * 10.0) / 10.0;
+    }
+}
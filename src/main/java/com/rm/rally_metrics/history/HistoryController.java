@@ -0,0 +1,68 @@
+package com.rm.rally_metrics.history;
+
+import com.rm.rally_metrics.ConditionalGets;
+import com.rm.rally_metrics.error.BadRequestException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+
+/**
+ * Day-by-day history recorded at each sync. A new day is only ever written when a generation is
+ * published, so responses are tagged by generation like the rest of the read API.
+ */
+@RestController
+@RequestMapping(path = "api/v1/history")
+public class HistoryController {
+
+    private static final int DEFAULT_MOVER_DAYS = 7;
+    private static final int MAX_MOVER_DAYS = 366;
+    private static final int DEFAULT_MOVERS = 10;
+    private static final int MAX_MOVERS = 100;
+
+    private final HistoryService historyService;
+    private final ConditionalGets conditionalGets;
+
+    public HistoryController(HistoryService historyService, ConditionalGets conditionalGets) {
+        this.historyService = historyService;
+        this.conditionalGets = conditionalGets;
+    }
+
+    /** The player's rank, counts and model skill per recorded day, optionally within {@code from..to}. */
+    @GetMapping("/player/{playerName:.+}")
+    public ResponseEntity<PlayerHistory> getPlayerHistory(
+            @PathVariable("playerName") String playerName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
+
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'.");
+        }
+        return conditionalGets.forLeague(webRequest, () -> historyService.playerHistory(playerName, from, to));
+    }
+
+    /** Biggest rank gains and losses over the last {@code days} (default 7). */
+    @GetMapping("/movers")
+    public ResponseEntity<RankMovers> getRankMovers(
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+
+        int window = days != null ? days : DEFAULT_MOVER_DAYS;
+        if (window < 1 || window > MAX_MOVER_DAYS) {
+            throw new BadRequestException("'days' must be between 1 and " + MAX_MOVER_DAYS + ".");
+        }
+        int size = limit != null ? limit : DEFAULT_MOVERS;
+        if (size < 1 || size > MAX_MOVERS) {
+            throw new BadRequestException("'limit' must be between 1 and " + MAX_MOVERS + ".");
+        }
+        return conditionalGets.forLeague(webRequest, () -> historyService.rankMovers(window, size));
+    }
+}
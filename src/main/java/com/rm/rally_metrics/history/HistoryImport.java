@@ -0,0 +1,346 @@
+package com.rm.rally_metrics.history;
+
+import com.opencsv.bean.BeanVerifier;
+import com.opencsv.bean.CsvToBean;
+import com.opencsv.bean.CsvToBeanBuilder;
+import com.opencsv.exceptions.CsvConstraintViolationException;
+import com.opencsv.exceptions.CsvException;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Offline backfill of the {@link HistoryStore} from archived standings CSVs — the cleaned shape
+ * the old pipeline wrote to {@code mlp_stats.csv}, bound through {@link Player}'s
+ * {@code @CsvBindByName} columns.
+ *
+ * <p>Every {@code *.csv} under the archive directory is one day: the snapshot date is the
+ * {@code yyyy-MM-dd} in the file name, and the season is the first directory below the archive
+ * root ({@code archive/2024/mlp_stats_2024-06-01.csv}), else the date's year. Files are parsed in
+ * parallel, each row validated, and every problem reported per file with its line. Parsed days are
+ * written in batches, one dictionary write per batch, while the next batch is still parsing. A
+ * day already recorded is skipped unless {@code --replace} is given, so a re-run only fills gaps.
+ *
+ * <p>Run it with the server stopped (the server reads the dictionary and segments at startup):
+ * <pre>
+ *   java -jar rally-metrics.jar import-history &lt;archive-dir&gt; [--history-dir=DIR] [--threads=N]
+ *       [--batch=N] [--replace]
+ * </pre>
+ */
+public final class HistoryImport {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryImport.class);
+
+    /** First program argument that selects this mode instead of starting the server. */
+    public static final String COMMAND = "import-history";
+
+    static final int MAX_ERRORS_PER_FILE = 20;
+    static final int DEFAULT_BATCH = 200;
+
+    private static final Pattern SNAPSHOT_DATE = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})");
+
+    private final HistoryStore store;
+    private final MatchProbabilityModel model;
+    private final int threads;
+    private final int batchSize;
+    private final boolean replace;
+
+    HistoryImport(HistoryStore store, MatchProbabilityModel model, int threads, int batchSize, boolean replace) {
+        this.store = store;
+        this.model = model;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.replace = replace;
+    }
+
+    /** Command-line entry point; returns the process exit code (1 when any file failed). */
+    public static int run(String[] args) {
+        Path archive = null;
+        String historyDir = System.getenv().getOrDefault("RALLY_HISTORY_DIR", "data/history");
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batch = DEFAULT_BATCH;
+        boolean replace = false;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--history-dir=")) {
+                    historyDir = arg.substring("--history-dir=".length());
+                } else if (arg.startsWith("--threads=")) {
+                    threads = positive(arg, "--threads=");
+                } else if (arg.startsWith("--batch=")) {
+                    batch = positive(arg, "--batch=");
+                } else if (arg.equals("--replace")) {
+                    replace = true;
+                } else if (archive == null && !arg.startsWith("--")) {
+                    archive = Path.of(arg);
+                } else {
+                    throw new IllegalArgumentException("Unknown argument: " + arg);
+                }
+            }
+            if (archive == null || !Files.isDirectory(archive)) {
+                throw new IllegalArgumentException("An archive directory is required.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: " + COMMAND
+                    + " <archive-dir> [--history-dir=DIR] [--threads=N] [--batch=N] [--replace]");
+            return 2;
+        }
+
+        try {
+            HistoryImport importer = new HistoryImport(new HistoryStore(Path.of(historyDir)),
+                    new MatchProbabilityModel(), threads, batch, replace);
+            ImportReport report = importer.importDirectory(archive);
+            for (ImportReport.FileReport file : report.files()) {
+                if (!file.errors().isEmpty()) {
+                    log.warn("{} ({}): {} row(s) rejected\n  {}", file.file(), file.status(), file.rejected(),
+                            String.join("\n  ", file.errors()));
+                }
+            }
+            report.files().stream()
+                    .filter(f -> f.status() == ImportReport.Status.IMPORTED)
+                    .collect(Collectors.groupingBy(ImportReport.FileReport::season, TreeMap::new,
+                            Collectors.summingLong(ImportReport.FileReport::imported)))
+                    .forEach((season, rows) -> log.info("Season {}: {} row(s) imported.", season, rows));
+            log.info("History import into {}: {}", historyDir, report.summary());
+            return report.count(ImportReport.Status.FAILED) > 0 ? 1 : 0;
+        } catch (IOException | RuntimeException e) {
+            log.error("History import failed.", e);
+            return 1;
+        }
+    }
+
+    /** Import every archived CSV under {@code root}. */
+    public ImportReport importDirectory(Path root) throws IOException {
+        long started = System.nanoTime();
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv"))
+                    .sorted()
+                    .toList();
+        }
+
+        List<ImportReport.FileReport> reports = new ArrayList<>();
+        List<ArchiveFile> todo = new ArrayList<>();
+        Map<LocalDate, Path> claimed = new HashMap<>();
+        for (Path path : paths) {
+            ArchiveFile file = describe(root, path);
+            if (file.date() == null) {
+                reports.add(failed(file, "no yyyy-MM-dd snapshot date in the file name"));
+            } else if (claimed.containsKey(file.date())) {
+                reports.add(failed(file, "snapshot date " + file.date() + " already taken by " + claimed.get(file.date())));
+            } else {
+                claimed.put(file.date(), path);
+                if (store.contains(file.date()) && !replace) {
+                    reports.add(new ImportReport.FileReport(path, file.season(), file.date(),
+                            ImportReport.Status.SKIPPED, 0, 0, List.of()));
+                } else {
+                    todo.add(file);
+                }
+            }
+        }
+
+        long bytes = 0;
+        long writingNanos = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "history-import");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<CompletableFuture<Parsed>> batch = submit(todo, 0, pool);
+            for (int start = 0; start < todo.size(); start += batchSize) {
+                List<CompletableFuture<Parsed>> next = submit(todo, start + batchSize, pool);
+                TreeMap<LocalDate, LeagueSnapshot> days = new TreeMap<>();
+                List<ImportReport.FileReport> written = new ArrayList<>();
+                for (CompletableFuture<Parsed> future : batch) {
+                    Parsed parsed = future.join();
+                    bytes += parsed.bytes();
+                    ImportReport.FileReport report = parsed.report();
+                    if (report.status() == ImportReport.Status.IMPORTED) {
+                        days.put(report.snapshotDate(), parsed.league());
+                        written.add(report);
+                    } else {
+                        reports.add(report);
+                    }
+                }
+                long writeStarted = System.nanoTime();
+                try {
+                    store.appendAll(days);
+                    reports.addAll(written);
+                } catch (IOException e) {
+                    for (ImportReport.FileReport report : written) {
+                        reports.add(new ImportReport.FileReport(report.file(), report.season(), report.snapshotDate(),
+                                ImportReport.Status.FAILED, 0, report.rejected(), List.of("write failed: " + e)));
+                    }
+                }
+                writingNanos += System.nanoTime() - writeStarted;
+                log.info("History import: {} of {} file(s) done.", Math.min(start + batchSize, todo.size()), todo.size());
+                batch = next;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        reports.sort((a, b) -> a.file().compareTo(b.file()));
+        return new ImportReport(reports, bytes, Duration.ofNanos(System.nanoTime() - started),
+                Duration.ofNanos(writingNanos));
+    }
+
+    private List<CompletableFuture<Parsed>> submit(List<ArchiveFile> files, int start, ExecutorService pool) {
+        List<CompletableFuture<Parsed>> futures = new ArrayList<>();
+        for (int i = start; i < Math.min(start + batchSize, files.size()); i++) {
+            ArchiveFile file = files.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> parse(file), pool));
+        }
+        return futures;
+    }
+
+    /** Parse and validate one file; a file with no valid row fails. */
+    Parsed parse(ArchiveFile file) {
+        List<String> errors = new ArrayList<>();
+        List<Player> players = new ArrayList<>();
+        long bytes = 0;
+        int rejected;
+        try (Reader reader = Files.newBufferedReader(file.path(), StandardCharsets.UTF_8)) {
+            bytes = Files.size(file.path());
+            CsvToBean<Player> csv = new CsvToBeanBuilder<Player>(reader)
+                    .withType(Player.class)
+                    .withVerifier(new RowVerifier())
+                    .withThrowExceptions(false)
+                    .build();
+            // The iterator parses on this thread; files are already parsed in parallel.
+            csv.iterator().forEachRemaining(players::add);
+            List<CsvException> problems = csv.getCapturedExceptions();
+            rejected = problems.size();
+            for (CsvException problem : problems) {
+                if (errors.size() < MAX_ERRORS_PER_FILE) {
+                    errors.add("line " + problem.getLineNumber() + ": " + problem.getMessage());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return new Parsed(failed(file, "unreadable: " + (e.getMessage() != null ? e.getMessage() : e)), null, bytes);
+        }
+        if (players.isEmpty()) {
+            List<String> all = new ArrayList<>(errors);
+            all.add("no valid rows");
+            return new Parsed(new ImportReport.FileReport(file.path(), file.season(), file.date(),
+                    ImportReport.Status.FAILED, 0, rejected, all), null, bytes);
+        }
+        return new Parsed(new ImportReport.FileReport(file.path(), file.season(), file.date(),
+                ImportReport.Status.IMPORTED, players.size(), rejected, errors),
+                LeagueSnapshot.build(0, players, model), bytes);
+    }
+
+    static ArchiveFile describe(Path root, Path path) {
+        Matcher date = SNAPSHOT_DATE.matcher(path.getFileName().toString());
+        LocalDate snapshotDate = null;
+        while (snapshotDate == null && date.find()) {
+            try {
+                snapshotDate = LocalDate.parse(date.group(1));
+            } catch (DateTimeParseException e) {
+                // Not a real date; keep looking.
+            }
+        }
+        Path relative = root.relativize(path);
+        String season = relative.getNameCount() > 1 ? relative.getName(0).toString()
+                : snapshotDate != null ? Integer.toString(snapshotDate.getYear()) : null;
+        return new ArchiveFile(path, season, snapshotDate);
+    }
+
+    private static ImportReport.FileReport failed(ArchiveFile file, String error) {
+        return new ImportReport.FileReport(file.path(), file.season(), file.date(), ImportReport.Status.FAILED,
+                0, 0, List.of(error));
+    }
+
+    private static int positive(String arg, String prefix) {
+        try {
+            int value = Integer.parseInt(arg.substring(prefix.length()));
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+        throw new IllegalArgumentException(prefix + " must be a positive integer.");
+    }
+
+    record ArchiveFile(Path path, String season, LocalDate date) {
+    }
+
+    record Parsed(ImportReport.FileReport report, LeagueSnapshot league, long bytes) {
+    }
+
+    /**
+     * Rejects a row that is incomplete, out of range or repeats a player, with the reason. Called
+     * on the parsing thread only, once per row in file order.
+     */
+    static final class RowVerifier implements BeanVerifier<Player> {
+
+        private final Set<String> seen = new HashSet<>();
+
+        @Override
+        public boolean verifyBean(Player p) throws CsvConstraintViolationException {
+            String problem = problem(p);
+            if (problem != null) {
+                throw new CsvConstraintViolationException(p, problem);
+            }
+            if (!seen.add(p.getName())) {
+                throw new CsvConstraintViolationException(p, "duplicate player '" + p.getName() + "'");
+            }
+            return true;
+        }
+
+        private static String problem(Player p) {
+            if (p.getName() == null || p.getName().isBlank()) {
+                return "missing Name";
+            }
+            if (HistoryStore.spansLines(p.getName())) {
+                return "Name must be on one line";
+            }
+            if (p.getTeam() == null || p.getTeam().isBlank()) {
+                return "missing Team";
+            }
+            if (p.getRank() == null || p.getRank() < 1) {
+                return "Rank must be a positive number";
+            }
+            for (Integer count : new Integer[]{p.getGamesWon(), p.getGamesLost(), p.getPtsWon(), p.getPtsLost()}) {
+                if (count == null || count < 0) {
+                    return "games and points must be present and not negative";
+                }
+            }
+            for (Double percent : new Double[]{p.getGamesWonPercent(), p.getPtsWonPercent()}) {
+                if (percent == null || percent < 0 || percent > 100) {
+                    return "win percents must be present and between 0 and 100";
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.rm.rally_metrics.history;
+
+import java.time.LocalDate;
+
+/**
+ * One player's line on one recorded day, serialized snake_case. Counts are as synced; the skill
+ * is recomputed from them with the running model, so a model change re-scores past days too.
+ *
+ * @param rank        standings rank that day, null when unranked
+ * @param skill       {@code MatchProbabilityModel.skill} in (0,1)
+ * @param skillRating the same skill on the 0-100 display scale
+ */
+public record HistoryPoint(
+        LocalDate date,
+        Integer rank,
+        int gamesWon,
+        int gamesLost,
+        int ptsWon,
+        int ptsLost,
+        double skill,
+        int skillRating) {
+}
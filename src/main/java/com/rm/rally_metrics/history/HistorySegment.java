@@ -0,0 +1,164 @@
+package com.rm.rally_metrics.history;
+
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.prediction.PlayerStats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * One day of league history: an immutable, memory-mapped file of fixed-width {@code int} columns.
+ *
+ * <pre>
+ *   header   magic "RMHS" | version | epoch day | player count n | generation (long)   24 bytes
+ *   columns  player id[n] | rank[n] | games won[n] | games lost[n] | pts won[n] | pts lost[n]
+ * </pre>
+ *
+ * <p>All values are little-endian. Player ids come from the store's name dictionary and are sorted,
+ * so finding a player is a binary search over the id column and two segments can be merge-joined.
+ * A missing rank or count is {@link LeagueSnapshot#NO_VALUE}. Reads are absolute {@code getInt}s
+ * on the mapping, so a segment is safe to share between threads and costs no heap.
+ */
+final class HistorySegment {
+
+    static final int MAGIC = 0x53484D52; // "RMHS" read little-endian
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int COLUMNS = 6;
+
+    private static final int ID = 0;
+    private static final int RANK = 1;
+    private static final int GAMES_WON = 2;
+    private static final int GAMES_LOST = 3;
+    private static final int PTS_WON = 4;
+    private static final int PTS_LOST = 5;
+
+    private final LocalDate day;
+    private final long generation;
+    private final int size;
+    private final ByteBuffer data;
+
+    private HistorySegment(LocalDate day, long generation, int size, ByteBuffer data) {
+        this.day = day;
+        this.generation = generation;
+        this.size = size;
+        this.data = data;
+    }
+
+    /** Map a segment file read-only, checking its header and length. */
+    static HistorySegment open(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a history segment: " + file);
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported history segment version " + data.getInt(4) + ": " + file);
+        }
+        int size = data.getInt(12);
+        if (size < 0 || data.capacity() != HEADER_BYTES + (long) size * COLUMNS * Integer.BYTES) {
+            throw new IOException("Truncated history segment: " + file);
+        }
+        return new HistorySegment(LocalDate.ofEpochDay(data.getInt(8)), data.getLong(16), size, data);
+    }
+
+    /**
+     * Encode one day: {@code ids[i]} is the dictionary id of the league's player {@code i}. The
+     * rows are written in id order.
+     */
+    static ByteBuffer encode(LocalDate day, LeagueSnapshot league, int[] ids) {
+        int n = league.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        java.util.Arrays.sort(order, (a, b) -> Integer.compare(ids[a], ids[b]));
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + n * COLUMNS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putInt((int) day.toEpochDay()).putInt(n).putLong(league.generation());
+        for (int i : order) {
+            out.putInt(ids[i]);
+        }
+        for (int i : order) {
+            Integer rank = league.player(i).getRank();
+            out.putInt(rank == null ? LeagueSnapshot.NO_VALUE : rank);
+        }
+        for (int i : order) {
+            out.putInt(orNoValue(league.player(i).getGamesWon()));
+        }
+        for (int i : order) {
+            out.putInt(orNoValue(league.player(i).getGamesLost()));
+        }
+        for (int i : order) {
+            out.putInt(orNoValue(league.player(i).getPtsWon()));
+        }
+        for (int i : order) {
+            out.putInt(orNoValue(league.player(i).getPtsLost()));
+        }
+        return out.flip();
+    }
+
+    LocalDate day() {
+        return day;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Row of the player with this dictionary id, or {@code -1}. */
+    int find(int playerId) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int id = get(ID, mid);
+            if (id < playerId) {
+                lo = mid + 1;
+            } else if (id > playerId) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    int playerId(int row) {
+        return get(ID, row);
+    }
+
+    /** The stored rank, or {@link LeagueSnapshot#NO_VALUE}. */
+    int rank(int row) {
+        return get(RANK, row);
+    }
+
+    /** The row's counts, missing values read as 0 as the model always has. */
+    PlayerStats stats(int row) {
+        return new PlayerStats(nz(get(GAMES_WON, row)), nz(get(GAMES_LOST, row)),
+                nz(get(PTS_WON, row)), nz(get(PTS_LOST, row)));
+    }
+
+    private int get(int column, int row) {
+        return data.getInt(HEADER_BYTES + (column * size + row) * Integer.BYTES);
+    }
+
+    private static int orNoValue(Integer value) {
+        return value == null ? LeagueSnapshot.NO_VALUE : value;
+    }
+
+    private static int nz(int value) {
+        return value == LeagueSnapshot.NO_VALUE ? 0 : value;
+    }
+}
@@ -0,0 +1,131 @@
+package com.rm.rally_metrics.history;
+
+import com.rm.rally_metrics.error.NotFoundException;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.league.PlayerNameResolvers;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.prediction.PlayerStats;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Trends and rank movement read from the {@link HistoryStore}'s daily segments. Every query is a
+ * scan over memory-mapped columns: a player's series is one binary search per day, and movers are
+ * one merge join of two days' id-sorted columns.
+ */
+@Service
+public class HistoryService {
+
+    private static final Comparator<RankMover> MOST_GAINED = Comparator
+            .comparingInt(RankMover::change).reversed()
+            .thenComparingInt(RankMover::rankNow);
+    private static final Comparator<RankMover> MOST_LOST = Comparator
+            .comparingInt(RankMover::change)
+            .thenComparingInt(RankMover::rankNow);
+
+    private final HistoryStore historyStore;
+    private final LeagueSnapshotStore leagueStore;
+    private final PlayerNameResolvers nameResolvers;
+    private final MatchProbabilityModel probabilityModel;
+
+    public HistoryService(HistoryStore historyStore, LeagueSnapshotStore leagueStore,
+                          PlayerNameResolvers nameResolvers, MatchProbabilityModel probabilityModel) {
+        this.historyStore = historyStore;
+        this.leagueStore = leagueStore;
+        this.nameResolvers = nameResolvers;
+        this.probabilityModel = probabilityModel;
+    }
+
+    /** A player's recorded days between {@code from} and {@code to} inclusive (either may be null). */
+    public PlayerHistory playerHistory(String playerName, LocalDate from, LocalDate to) {
+        String name = resolve(playerName);
+        int id = historyStore.idOf(name);
+        List<HistoryPoint> points = new ArrayList<>();
+        if (id >= 0) {
+            for (HistorySegment segment : historyStore.segments(from, to).values()) {
+                int row = segment.find(id);
+                if (row < 0) {
+                    continue;
+                }
+                int rank = segment.rank(row);
+                PlayerStats stats = segment.stats(row);
+                double skill = probabilityModel.skill(stats);
+                points.add(new HistoryPoint(segment.day(), rank == LeagueSnapshot.NO_VALUE ? null : rank,
+                        stats.gamesWon(), stats.gamesLost(), stats.pointsWon(), stats.pointsLost(),
+                        skill, probabilityModel.skillRating(skill)));
+            }
+        }
+        return new PlayerHistory(name, points);
+    }
+
+    /**
+     * The {@code limit} biggest risers and fallers from {@code days} before the latest recorded
+     * day to that day. The earlier day is the last one recorded on or before that date, else the
+     * oldest recorded day. Players unranked on either day are left out.
+     */
+    public RankMovers rankMovers(int days, int limit) {
+        HistorySegment now = historyStore.latest();
+        if (now == null) {
+            return new RankMovers(null, null, List.of(), List.of());
+        }
+        HistorySegment before = historyStore.onOrBefore(now.day().minusDays(days));
+        if (before == null) {
+            before = historyStore.segments(null, null).firstEntry().getValue();
+        }
+        if (before.day().equals(now.day())) {
+            return new RankMovers(null, null, List.of(), List.of());
+        }
+
+        List<RankMover> risers = new ArrayList<>();
+        List<RankMover> fallers = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < before.size() && j < now.size()) {
+            int idBefore = before.playerId(i);
+            int idNow = now.playerId(j);
+            if (idBefore < idNow) {
+                i++;
+            } else if (idBefore > idNow) {
+                j++;
+            } else {
+                int rankBefore = before.rank(i++);
+                int rankNow = now.rank(j++);
+                if (rankBefore == LeagueSnapshot.NO_VALUE || rankNow == LeagueSnapshot.NO_VALUE
+                        || rankBefore == rankNow) {
+                    continue;
+                }
+                RankMover mover = new RankMover(historyStore.nameOf(idNow), rankBefore, rankNow, rankBefore - rankNow);
+                (mover.change() > 0 ? risers : fallers).add(mover);
+            }
+        }
+        risers.sort(MOST_GAINED);
+        fallers.sort(MOST_LOST);
+        return new RankMovers(before.day(), now.day(),
+                List.copyOf(risers.subList(0, Math.min(limit, risers.size()))),
+                List.copyOf(fallers.subList(0, Math.min(limit, fallers.size()))));
+    }
+
+    /**
+     * A current player resolves the way the rest of the API does (case, accents, aliases, a typo);
+     * a player no longer in the league only by the exact recorded name.
+     */
+    private String resolve(String playerName) {
+        LeagueSnapshot league = leagueStore.current();
+        int index = league.indexOf(playerName);
+        if (index < 0 && playerName != null) {
+            index = nameResolvers.resolverFor(league).resolve(playerName);
+        }
+        if (index >= 0) {
+            return league.name(index);
+        }
+        if (playerName != null && historyStore.idOf(playerName) >= 0) {
+            return playerName;
+        }
+        throw new NotFoundException("Player not found: " + playerName);
+    }
+}
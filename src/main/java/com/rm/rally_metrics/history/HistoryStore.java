@@ -0,0 +1,221 @@
+package com.rm.rally_metrics.history;
+
+import com.rm.rally_metrics.league.LeagueChangeSet;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Append-only daily history of the league, kept on local disk so trends survive the in-place
+ * upsert of {@code player_statistic}.
+ *
+ * <p>Each published generation is written as that day's {@link HistorySegment}
+ * ({@code yyyy-MM-dd.seg}, the day taken in the sync's time zone); a second sync on the same day
+ * replaces the file atomically, so there is one segment per day and a reader never sees a partial
+ * one. Player names are mapped to dense ids by {@code players.txt}, one name per line, which only
+ * ever grows. Segments are memory-mapped once and then read without touching Postgres or the heap.
+ *
+ * <p>Writes happen on the sync thread after publishing; a failed write is logged and loses only
+ * that day.
+ */
+@Component
+public class HistoryStore implements LeagueSnapshotListener {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryStore.class);
+
+    static final String DICTIONARY = "players.txt";
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final ZoneId SYNC_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private final Path dir;
+    private final NavigableMap<LocalDate, HistorySegment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private volatile List<String> names = List.of();
+
+    @Autowired
+    public HistoryStore(@Value("${rally.history.dir:data/history}") String dir) {
+        this(Path.of(dir));
+    }
+
+    HistoryStore(Path dir) {
+        this.dir = dir;
+        try {
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read stats history in " + dir, e);
+        }
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        // Recorded once the generation is live; see onPublished.
+    }
+
+    @Override
+    public void onPublished(LeagueChangeSet changes) {
+        LeagueSnapshot league = changes.next();
+        LocalDate day = LocalDate.ofInstant(league.builtAt(), SYNC_ZONE);
+        long started = System.nanoTime();
+        try {
+            append(day, league);
+            log.info("Recorded stats history for {} ({} players) in {} ms.", day, league.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Could not record stats history for {}: {}", day, e.toString());
+        }
+    }
+
+    /** Write (or replace) the segment for {@code day}. */
+    void append(LocalDate day, LeagueSnapshot league) throws IOException {
+        appendAll(new TreeMap<>(Map.of(day, league)));
+    }
+
+    /**
+     * Write (or replace) one segment per day. New names for all the days are added to the
+     * dictionary in one write before any segment that refers to them.
+     */
+    synchronized void appendAll(SortedMap<LocalDate, LeagueSnapshot> days) throws IOException {
+        Files.createDirectories(dir);
+        Map<String, Integer> added = new LinkedHashMap<>();
+        Map<LocalDate, int[]> idsByDay = new TreeMap<>();
+        for (Map.Entry<LocalDate, LeagueSnapshot> day : days.entrySet()) {
+            LeagueSnapshot league = day.getValue();
+            int[] ids = new int[league.size()];
+            for (int i = 0; i < league.size(); i++) {
+                String name = league.name(i);
+                if (name == null || spansLines(name)) {
+                    throw new IOException("Cannot record a player name that is null or spans lines: " + name);
+                }
+                Integer id = idsByName.get(name);
+                if (id == null) {
+                    id = added.computeIfAbsent(name, n -> names.size() + added.size());
+                }
+                ids[i] = id;
+            }
+            idsByDay.put(day.getKey(), ids);
+        }
+        if (!added.isEmpty()) {
+            Files.write(dir.resolve(DICTIONARY), added.keySet(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+            List<String> grown = new ArrayList<>(names);
+            grown.addAll(added.keySet());
+            idsByName.putAll(added);
+            names = Collections.unmodifiableList(grown);
+        }
+        for (Map.Entry<LocalDate, LeagueSnapshot> day : days.entrySet()) {
+            writeSegment(day.getKey(), HistorySegment.encode(day.getKey(), day.getValue(), idsByDay.get(day.getKey())));
+        }
+    }
+
+    /** The dictionary holds one name per line, so a name with a line break cannot be recorded. */
+    static boolean spansLines(String name) {
+        return name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0;
+    }
+
+    /** Whether a segment for {@code day} has been recorded. */
+    boolean contains(LocalDate day) {
+        return segments.containsKey(day);
+    }
+
+    private void writeSegment(LocalDate day, ByteBuffer bytes) throws IOException {
+        Path file = dir.resolve(day + SEGMENT_SUFFIX);
+        Path tmp = dir.resolve(day + SEGMENT_SUFFIX + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        segments.put(day, HistorySegment.open(file));
+    }
+
+    /** Dictionary id of a player ever recorded, or {@code -1}. */
+    int idOf(String name) {
+        Integer id = idsByName.get(name);
+        return id == null ? -1 : id;
+    }
+
+    String nameOf(int id) {
+        return names.get(id);
+    }
+
+    /** Segments from {@code from} to {@code to} inclusive (either may be null), oldest first. */
+    NavigableMap<LocalDate, HistorySegment> segments(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return segments;
+        }
+        if (from == null) {
+            return segments.headMap(to, true);
+        }
+        if (to == null) {
+            return segments.tailMap(from, true);
+        }
+        return from.isAfter(to) ? Collections.emptyNavigableMap() : segments.subMap(from, true, to, true);
+    }
+
+    /** The last segment on or before {@code day}, or null. */
+    HistorySegment onOrBefore(LocalDate day) {
+        Map.Entry<LocalDate, HistorySegment> entry = segments.floorEntry(day);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /** The newest segment, or null when nothing has been recorded. */
+    HistorySegment latest() {
+        Map.Entry<LocalDate, HistorySegment> entry = segments.lastEntry();
+        return entry == null ? null : entry.getValue();
+    }
+
+    private void load() throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Path dictionary = dir.resolve(DICTIONARY);
+        if (Files.exists(dictionary)) {
+            List<String> lines = Files.readAllLines(dictionary, StandardCharsets.UTF_8);
+            for (int id = 0; id < lines.size(); id++) {
+                idsByName.put(lines.get(id), id);
+            }
+            names = Collections.unmodifiableList(lines);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    HistorySegment segment = HistorySegment.open(file);
+                    segments.put(segment.day(), segment);
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable history segment {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        log.info("Loaded {} day(s) of stats history for {} players from {}.", segments.size(), names.size(), dir);
+    }
+}
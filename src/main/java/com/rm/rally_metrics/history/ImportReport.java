@@ -0,0 +1,66 @@
+package com.rm.rally_metrics.history;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of one {@link HistoryImport} run: a report per archived file plus overall throughput.
+ *
+ * @param files   one entry per file found, in path order
+ * @param bytes   size of the files that were parsed
+ * @param elapsed wall time of the whole run
+ * @param writing time spent writing segments (the rest is listing and parsing)
+ */
+public record ImportReport(List<FileReport> files, long bytes, Duration elapsed, Duration writing) {
+
+    /**
+     * What happened to one file.
+     *
+     * @param status   {@code IMPORTED}, {@code SKIPPED} (the day was already recorded) or
+     *                 {@code FAILED} (nothing written for it)
+     * @param imported rows written
+     * @param rejected rows dropped by parsing or validation
+     * @param errors   the first {@link HistoryImport#MAX_ERRORS_PER_FILE} problems, as
+     *                 {@code "line N: ..."} where the line is known
+     */
+    public record FileReport(Path file, String season, LocalDate snapshotDate, Status status,
+                             int imported, int rejected, List<String> errors) {
+
+        public FileReport {
+            errors = List.copyOf(errors);
+        }
+    }
+
+    public enum Status { IMPORTED, SKIPPED, FAILED }
+
+    public ImportReport {
+        files = List.copyOf(files);
+    }
+
+    public long count(Status status) {
+        return files.stream().filter(f -> f.status() == status).count();
+    }
+
+    public long rowsImported() {
+        return files.stream().mapToLong(FileReport::imported).sum();
+    }
+
+    public long rowsRejected() {
+        return files.stream().mapToLong(FileReport::rejected).sum();
+    }
+
+    /** One line for the log: counts and files, rows and megabytes per second. */
+    public String summary() {
+        double seconds = Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        return String.format(Locale.ROOT,
+                "%d file(s) imported, %d skipped, %d failed; %d row(s) imported, %d rejected "
+                        + "in %.1f s (%.1f files/s, %.0f rows/s, %.1f MB/s; %d ms writing segments)",
+                count(Status.IMPORTED), count(Status.SKIPPED), count(Status.FAILED),
+                rowsImported(), rowsRejected(), seconds,
+                count(Status.IMPORTED) / seconds, rowsImported() / seconds, bytes / seconds / 1e6,
+                writing.toMillis());
+    }
+}
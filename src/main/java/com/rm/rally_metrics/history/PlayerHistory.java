@@ -0,0 +1,7 @@
+package com.rm.rally_metrics.history;
+
+import java.util.List;
+
+/** A player's recorded days, oldest first, from {@code GET /api/v1/history/player/{name}}. */
+public record PlayerHistory(String name, List<HistoryPoint> points) {
+}
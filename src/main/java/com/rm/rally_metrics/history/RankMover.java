@@ -0,0 +1,9 @@
+package com.rm.rally_metrics.history;
+
+/**
+ * A player whose rank moved between two recorded days.
+ *
+ * @param change places gained: positive moved up the standings, negative moved down
+ */
+public record RankMover(String name, int rankBefore, int rankNow, int change) {
+}
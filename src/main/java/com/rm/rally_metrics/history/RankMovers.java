@@ -0,0 +1,14 @@
+package com.rm.rally_metrics.history;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The biggest rank changes from {@code from} to {@code to}, from {@code GET /api/v1/history/movers}.
+ * Both dates are null when fewer than two days have been recorded.
+ *
+ * @param risers  most places gained first
+ * @param fallers most places lost first
+ */
+public record RankMovers(LocalDate from, LocalDate to, List<RankMover> risers, List<RankMover> fallers) {
+}
@@ -0,0 +1,32 @@
+package com.rm.rally_metrics.ingest;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * What one stats load did to {@code player_statistic}.
+ *
+ * @param inserted  players new to the table
+ * @param updated   existing players whose stats differed
+ * @param unchanged players loaded with exactly the stats already stored
+ * @param rejected  rows dropped while parsing, plus earlier duplicates of a name (last one wins)
+ * @param changed   names of every inserted or updated player
+ * @param copy      time spent parsing and streaming rows into the staging table
+ * @param merge     time spent merging the staging table into {@code player_statistic}
+ */
+public record LoadReport(int inserted, int updated, int unchanged, int rejected, Set<String> changed,
+                         Duration copy, Duration merge) {
+
+    public LoadReport {
+        changed = Set.copyOf(changed);
+    }
+
+    /** Rows that reached the table, changed or not. */
+    public int loaded() {
+        return inserted + updated + unchanged;
+    }
+
+    public boolean hasChanges() {
+        return !changed.isEmpty();
+    }
+}
@@ -0,0 +1,167 @@
+package com.rm.rally_metrics.ingest;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.bean.HeaderColumnNameMappingStrategy;
+import com.opencsv.exceptions.CsvException;
+import com.rm.rally_metrics.player.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Turns the raw standings table the scraper emits into {@link Player} rows, one row at a time.
+ *
+ * <p>The raw table has one combined first column ({@code "rank\nname\nteam"}) followed by the
+ * stat columns as the MLP site labels them. Cleaning matches what the Python pipeline did:
+ *
+ * <ul>
+ *   <li>headers lose non-ASCII characters, {@code %} becomes {@code Percent} and words are
+ *       title-cased ({@code "Games Won %"} → {@code "Games Won Percent"}), so they line up with the
+ *       {@code @CsvBindByName} columns on {@link Player};</li>
+ *   <li>names and teams are title-cased and trimmed, a two-letter first name is upper-cased
+ *       ({@code "Jw Johnson"} → {@code "JW Johnson"}) and known team spellings are fixed;</li>
+ *   <li>a row with {@code "-"} in any stat column (no games yet) is dropped, as is any row missing
+ *       a value or holding one that is not a number.</li>
+ * </ul>
+ */
+public final class StandingsCsv {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingsCsv.class);
+
+    /** Team spellings title-casing gets wrong. */
+    private static final Map<String, String> TEAM_NAMES = Map.of(
+            "New Jersey 5S", "New Jersey 5s",
+            "Socal Hard Eights", "SoCal Hard Eights");
+
+    private StandingsCsv() {
+    }
+
+    /**
+     * Read every row of a raw standings table, handing each clean player to {@code sink} as soon as
+     * it is parsed. Returns the number of rows that were dropped.
+     */
+    public static int read(Reader raw, Consumer<Player> sink) throws IOException {
+        try (CSVReader reader = new CSVReader(raw)) {
+            String[] rawHeader = reader.readNext();
+            if (rawHeader == null || rawHeader.length < 2) {
+                throw new IOException("Standings table has no header row.");
+            }
+            String[] header = new String[rawHeader.length + 2];
+            header[0] = "Rank";
+            header[1] = "Name";
+            header[2] = "Team";
+            for (int c = 1; c < rawHeader.length; c++) {
+                header[c + 2] = cleanHeader(rawHeader[c]);
+            }
+            HeaderColumnNameMappingStrategy<Player> strategy = strategyFor(header);
+
+            int skipped = 0;
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                String[] cells = cleanRow(row, rawHeader.length);
+                Player player = cells == null ? null : bind(strategy, cells);
+                if (player == null) {
+                    log.warn("Skipping standings row {} (line {}).", String.join(" | ", row).replace('\n', ' '),
+                            reader.getLinesRead());
+                    skipped++;
+                } else {
+                    sink.accept(player);
+                }
+            }
+            return skipped;
+        } catch (CsvException e) {
+            throw new IOException("Unreadable standings table: " + e.getMessage(), e);
+        }
+    }
+
+    /** The row with its first column split into rank, name and team; null when it must be dropped. */
+    static String[] cleanRow(String[] row, int columns) {
+        if (row.length != columns) {
+            return null;
+        }
+        String[] parts = row[0].split("\n");
+        if (parts.length < 3) {
+            return null;
+        }
+        String[] cells = new String[columns + 2];
+        cells[0] = parts[0].strip();
+        cells[1] = capitalizeInitials(titleCase(parts[1]).strip());
+        String team = titleCase(parts[2]).strip();
+        cells[2] = TEAM_NAMES.getOrDefault(team, team);
+        for (int c = 1; c < columns; c++) {
+            String value = row[c].strip();
+            if (value.isEmpty() || value.equals("-")) {
+                return null;
+            }
+            cells[c + 2] = value;
+        }
+        return cells;
+    }
+
+    static String cleanHeader(String column) {
+        String ascii = column.replace("%", "Percent").replaceAll("[^\\x00-\\x7F]+", "");
+        return titleCase(ascii.strip());
+    }
+
+    /**
+     * Python's {@code str.title()}: a letter is upper-cased when it follows a non-letter and
+     * lower-cased otherwise ({@code "new jersey 5s"} → {@code "New Jersey 5S"}).
+     */
+    static String titleCase(String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        boolean afterLetter = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            boolean letter = Character.isLetter(c);
+            out.append(letter ? (afterLetter ? Character.toLowerCase(c) : Character.toUpperCase(c)) : c);
+            afterLetter = letter;
+        }
+        return out.toString();
+    }
+
+    /** Upper-case a two-letter alphabetic first word, e.g. initials like {@code "Jw"}. */
+    static String capitalizeInitials(String name) {
+        String[] words = name.split("\\s+");
+        if (words[0].length() == 2 && words[0].chars().allMatch(Character::isLetter)) {
+            words[0] = words[0].toUpperCase(Locale.ROOT);
+        }
+        return String.join(" ", words);
+    }
+
+    private static HeaderColumnNameMappingStrategy<Player> strategyFor(String[] header)
+            throws IOException, CsvException {
+        HeaderColumnNameMappingStrategy<Player> strategy = new HeaderColumnNameMappingStrategy<>();
+        strategy.setType(Player.class);
+        StringWriter line = new StringWriter();
+        try (CSVWriter writer = new CSVWriter(line)) {
+            writer.writeNext(header);
+        }
+        try (CSVReader headerReader = new CSVReader(new StringReader(line.toString()))) {
+            strategy.captureHeader(headerReader);
+        }
+        return strategy;
+    }
+
+    /** Bind through the {@code @CsvBindByName} mappings; null if a value does not convert or is missing. */
+    private static Player bind(HeaderColumnNameMappingStrategy<Player> strategy, String[] cells) {
+        Player p;
+        try {
+            p = strategy.populateNewBean(cells);
+        } catch (CsvException | RuntimeException e) {
+            return null;
+        }
+        boolean complete = p.getName() != null && !p.getName().isEmpty() && p.getRank() != null
+                && p.getTeam() != null && p.getGamesWon() != null && p.getGamesLost() != null
+                && p.getGamesWonPercent() != null && p.getPtsWon() != null && p.getPtsLost() != null
+                && p.getPtsWonPercent() != null;
+        return complete ? p : null;
+    }
+}
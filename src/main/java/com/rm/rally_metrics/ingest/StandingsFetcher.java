@@ -0,0 +1,212 @@
+package com.rm.rally_metrics.ingest;
+
+import com.opencsv.CSVWriter;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.Elements;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Fetches the standings page over plain HTTP and reads its table in-process, producing the same
+ * raw CSV the Selenium scraper writes, so {@link StandingsCsv} cleans both the same way.
+ *
+ * <p>Built for frequent polling: the last loaded page's {@code ETag} and {@code Last-Modified} are
+ * sent back, so an unchanged page can be a bodyless 304, and otherwise the table (not the page,
+ * whose markup around it changes on every request) is hashed with SHA-256 and compared with the
+ * last loaded one. Either way {@link #fetch()} flags the table {@code unchanged} and nothing
+ * downstream runs.
+ * A fetch counts as loaded only once the caller says so with {@link #loaded}, so a failed load is
+ * retried on the next poll.
+ */
+@Component
+public class StandingsFetcher {
+
+    static final String DEFAULT_URL =
+            "https://www.majorleaguepickleball.co/events-2025/?division=premier&view=player";
+
+    private final HttpClient http;
+    private final URI url;
+    private final String tableId;
+    private final Duration timeout;
+
+    private volatile Standings lastLoaded;
+
+    public StandingsFetcher(@Value("${rally.sync.url:" + DEFAULT_URL + "}") String url,
+                            @Value("${rally.sync.table-id:standings-table}") String tableId,
+                            @Value("${rally.sync.timeout:PT30S}") Duration timeout) {
+        this.url = URI.create(url);
+        this.tableId = tableId;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * One fetched standings table.
+     *
+     * @param csv          the raw table as CSV, header first; null when the page answered 304
+     * @param rows         data rows in {@code csv}
+     * @param sha256       hex digest of {@code csv}
+     * @param etag         the response's {@code ETag}, or null
+     * @param lastModified the response's {@code Last-Modified}, or null
+     * @param unchanged    true when the table is the same as the last loaded one
+     * @param fetch        time spent on the HTTP exchange
+     * @param parse        time spent reading the table out of the page
+     */
+    public record Standings(String csv, int rows, String sha256, String etag, String lastModified,
+                            boolean unchanged, Duration fetch, Duration parse) {
+    }
+
+    /**
+     * The standings table, flagged {@code unchanged} when it is the same as the last
+     * {@linkplain #loaded loaded} one. Throws when the page cannot be fetched or has no standings
+     * table.
+     */
+    public Standings fetch() throws IOException, InterruptedException {
+        Standings previous = lastLoaded;
+        HttpRequest.Builder request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Accept", "text/html")
+                .header("User-Agent", "rally-metrics-sync")
+                .GET();
+        if (previous != null && previous.etag() != null) {
+            request.header("If-None-Match", previous.etag());
+        }
+        if (previous != null && previous.lastModified() != null) {
+            request.header("If-Modified-Since", previous.lastModified());
+        }
+
+        long started = System.nanoTime();
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        Duration fetch = Duration.ofNanos(System.nanoTime() - started);
+        if (response.statusCode() == 304 && previous != null) {
+            return new Standings(null, previous.rows(), previous.sha256(), previous.etag(), previous.lastModified(),
+                    true, fetch, Duration.ZERO);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Standings page answered HTTP " + response.statusCode() + ": " + url);
+        }
+
+        long parsing = System.nanoTime();
+        Standings standings = parse(response.body(),
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+        boolean unchanged = previous != null && previous.sha256().equals(standings.sha256());
+        standings = new Standings(standings.csv(), standings.rows(), standings.sha256(), standings.etag(),
+                standings.lastModified(), unchanged, fetch, Duration.ofNanos(System.nanoTime() - parsing));
+        if (unchanged) {
+            // Keep the new validators so the next poll can be a 304.
+            lastLoaded = standings;
+        }
+        return standings;
+    }
+
+    /** Record {@code standings} as loaded; later fetches of the same table are skipped. */
+    public void loaded(Standings standings) {
+        lastLoaded = standings;
+    }
+
+    /** Read the standings table out of a page, as the scraper would have written it. */
+    Standings parse(String html, String etag, String lastModified) throws IOException {
+        Document page = Jsoup.parse(html, url.toString());
+        Element table = page.getElementById(tableId);
+        if (table == null) {
+            throw new IOException("No #" + tableId + " table in the page at " + url);
+        }
+        Elements trs = table.select("tr");
+        if (trs.isEmpty()) {
+            throw new IOException("Standings table contained no rows.");
+        }
+
+        List<String> header = new ArrayList<>();
+        for (Element th : trs.get(0).select("th")) {
+            header.add(cellText(th));
+        }
+        StringWriter out = new StringWriter();
+        int rows = 0;
+        try (CSVWriter csv = new CSVWriter(out, CSVWriter.DEFAULT_SEPARATOR, CSVWriter.DEFAULT_QUOTE_CHARACTER,
+                CSVWriter.DEFAULT_ESCAPE_CHARACTER, "\n")) {
+            csv.writeNext(header.toArray(String[]::new));
+            for (int r = 1; r < trs.size(); r++) {
+                Elements tds = trs.get(r).select("td");
+                // Like the scraper: a row that does not line up with the header is not a player.
+                if (tds.size() != header.size()) {
+                    continue;
+                }
+                String[] cells = new String[tds.size()];
+                for (int c = 0; c < cells.length; c++) {
+                    cells[c] = cellText(tds.get(c));
+                }
+                csv.writeNext(cells);
+                rows++;
+            }
+        }
+        String body = out.toString();
+        return new Standings(body, rows, sha256(body), etag, lastModified, false, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * A cell's rendered text: block elements and {@code <br>} start a new line, other whitespace
+     * collapses, and lines are trimmed. The first column stacks rank, name and team in separate
+     * blocks, which {@link StandingsCsv} splits on these line breaks.
+     */
+    static String cellText(Element cell) {
+        StringBuilder text = new StringBuilder();
+        NodeTraversor.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node node, int depth) {
+                if (node instanceof TextNode t) {
+                    text.append(t.text());
+                } else if (depth > 0 && node instanceof Element e && (e.isBlock() || "br".equals(e.normalName()))) {
+                    text.append('\n');
+                }
+            }
+
+            @Override
+            public void tail(Node node, int depth) {
+                if (depth > 0 && node instanceof Element e && e.isBlock()) {
+                    text.append('\n');
+                }
+            }
+        }, cell);
+        StringJoiner lines = new StringJoiner("\n");
+        for (String line : text.toString().split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(line.strip());
+            }
+        }
+        return lines.toString();
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.rm.rally_metrics.ingest;
+
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import com.rm.rally_metrics.player.Player;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Loads a raw standings table into {@code player_statistic} in two set-based steps, in one
+ * transaction:
+ *
+ * <ol>
+ *   <li><b>Copy.</b> Rows are parsed and cleaned by {@link StandingsCsv} as they stream in and
+ *       piped straight into {@code COPY ... FROM STDIN} on an unlogged staging table, so nothing is
+ *       buffered beyond the copy buffer and no WAL is written for rows that turn out unchanged.</li>
+ *   <li><b>Merge.</b> One {@code INSERT ... ON CONFLICT DO UPDATE ... WHERE ... IS DISTINCT FROM}
+ *       statement writes only players that are new or whose stats differ, so unchanged rows and
+ *       their index entries are left alone; {@code RETURNING xmax = 0} tells inserts from
+ *       updates.</li>
+ * </ol>
+ *
+ * <p>If a name appears more than once, its last row wins. The staging table is truncated under an
+ * exclusive lock held until commit, so concurrent loads run one after another. PostgreSQL only.
+ */
+@Component
+public class StatsIngest {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsIngest.class);
+
+    private static final int COPY_BUFFER_BYTES = 1 << 16;
+
+    static final String CREATE_STAGING_SQL = """
+            CREATE UNLOGGED TABLE IF NOT EXISTS player_statistic_staging (
+                LIKE player_statistic,
+                seq BIGINT GENERATED ALWAYS AS IDENTITY)""";
+
+    static final String TRUNCATE_STAGING_SQL = "TRUNCATE player_statistic_staging RESTART IDENTITY";
+
+    static final String COPY_SQL = """
+            COPY player_statistic_staging (
+                name, rank, team,
+                games_won, games_lost, games_won_percent,
+                pts_won, pts_lost, pts_won_percent)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    static final String DISTINCT_STAGED_SQL = "SELECT count(DISTINCT name) FROM player_statistic_staging";
+
+    static final String MERGE_SQL = """
+            WITH incoming AS (
+                SELECT DISTINCT ON (name)
+                       name, rank, team,
+                       games_won, games_lost, games_won_percent,
+                       pts_won, pts_lost, pts_won_percent
+                FROM player_statistic_staging
+                ORDER BY name, seq DESC)
+            INSERT INTO player_statistic AS p (
+                name, rank, team,
+                games_won, games_lost, games_won_percent,
+                pts_won, pts_lost, pts_won_percent)
+            SELECT name, rank, team,
+                   games_won, games_lost, games_won_percent,
+                   pts_won, pts_lost, pts_won_percent
+            FROM incoming
+            ON CONFLICT (name) DO UPDATE SET
+                rank = EXCLUDED.rank,
+                team = EXCLUDED.team,
+                games_won = EXCLUDED.games_won,
+                games_lost = EXCLUDED.games_lost,
+                games_won_percent = EXCLUDED.games_won_percent,
+                pts_won = EXCLUDED.pts_won,
+                pts_lost = EXCLUDED.pts_lost,
+                pts_won_percent = EXCLUDED.pts_won_percent
+            WHERE (p.rank, p.team, p.games_won, p.games_lost, p.games_won_percent,
+                   p.pts_won, p.pts_lost, p.pts_won_percent)
+                  IS DISTINCT FROM
+                  (EXCLUDED.rank, EXCLUDED.team, EXCLUDED.games_won, EXCLUDED.games_lost,
+                   EXCLUDED.games_won_percent, EXCLUDED.pts_won, EXCLUDED.pts_lost, EXCLUDED.pts_won_percent)
+            RETURNING p.name, p.xmax = 0 AS inserted""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatsIngest(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(rollbackFor = IOException.class)
+    public LoadReport ingest(Reader raw) throws IOException {
+        long started = System.nanoTime();
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        jdbcTemplate.execute(TRUNCATE_STAGING_SQL);
+        int[] rejected = new int[1];
+        long staged;
+        try {
+            staged = jdbcTemplate.execute((ConnectionCallback<Long>) c -> copy(c.unwrap(PGConnection.class), raw, rejected));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Integer distinct = jdbcTemplate.queryForObject(DISTINCT_STAGED_SQL, Integer.class);
+        long copied = System.nanoTime();
+
+        Set<String> changed = new HashSet<>();
+        int[] inserted = new int[1];
+        jdbcTemplate.query(MERGE_SQL, rs -> {
+            changed.add(rs.getString("name"));
+            if (rs.getBoolean("inserted")) {
+                inserted[0]++;
+            }
+        });
+        long merged = System.nanoTime();
+
+        LoadReport report = report(rejected[0], staged, distinct == null ? 0 : distinct, changed, inserted[0],
+                Duration.ofNanos(copied - started), Duration.ofNanos(merged - copied));
+        log.info("Stats load: {} inserted, {} updated, {} unchanged, {} rejected (copy {} ms, merge {} ms).",
+                report.inserted(), report.updated(), report.unchanged(), report.rejected(),
+                report.copy().toMillis(), report.merge().toMillis());
+        return report;
+    }
+
+    /**
+     * The load's counts from what the copy and the merge saw. {@code staged} rows hold
+     * {@code distinctNames} names, and only the last row of each name is merged, so every other
+     * staged row is an earlier duplicate and counts as rejected along with {@code parseRejected}.
+     * The merge returns only the names it wrote ({@code inserted} of them new); every other
+     * distinct name was already stored exactly as loaded.
+     */
+    static LoadReport report(int parseRejected, long staged, int distinctNames, Set<String> changed, int inserted,
+                             Duration copy, Duration merge) {
+        return new LoadReport(inserted, changed.size() - inserted, distinctNames - changed.size(),
+                parseRejected + (int) (staged - distinctNames), changed, copy, merge);
+    }
+
+    /** Stream every clean row into the staging table; returns the rows copied. */
+    private static long copy(PGConnection connection, Reader raw, int[] rejected) throws SQLException {
+        PGCopyOutputStream out = new PGCopyOutputStream(connection, COPY_SQL, COPY_BUFFER_BYTES);
+        try {
+            ICSVWriter csv = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)),
+                    ICSVWriter.DEFAULT_SEPARATOR, ICSVWriter.DEFAULT_QUOTE_CHARACTER,
+                    ICSVWriter.DEFAULT_ESCAPE_CHARACTER, "\n");
+            String[] row = new String[9];
+            rejected[0] = StandingsCsv.read(raw, p -> csv.writeNext(copyRow(p, row)));
+            csv.flush();
+            return out.endCopy();
+        } catch (IOException e) {
+            out.cancelCopy();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException | SQLException e) {
+            if (out.isActive()) {
+                out.cancelCopy();
+            }
+            throw e;
+        }
+    }
+
+    private static String[] copyRow(Player p, String[] row) {
+        row[0] = p.getName();
+        row[1] = p.getRank().toString();
+        row[2] = p.getTeam();
+        row[3] = p.getGamesWon().toString();
+        row[4] = p.getGamesLost().toString();
+        row[5] = p.getGamesWonPercent().toString();
+        row[6] = p.getPtsWon().toString();
+        row[7] = p.getPtsLost().toString();
+        row[8] = p.getPtsWonPercent().toString();
+        return row;
+    }
+}
@@ -0,0 +1,47 @@
+package com.rm.rally_metrics.league;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Holds the most recent value derived from a {@link LeagueSnapshot} (an index, a matrix,
+ * aggregates) and hands it out only to readers of that same generation.
+ *
+ * <p>A reader with a snapshot the cache has not seen yet builds the value itself, so a reader
+ * never mixes two generations; a late build for an older snapshot never replaces a newer value.
+ *
+ * @param <T> the derived value
+ */
+public final class GenerationCache<T> {
+
+    private final ToLongFunction<T> generationOf;
+
+    private volatile T latest;
+
+    public GenerationCache(ToLongFunction<T> generationOf) {
+        this.generationOf = generationOf;
+    }
+
+    /** The newest value offered so far, or {@code null}. */
+    public T latest() {
+        return latest;
+    }
+
+    /** The value for exactly this snapshot's generation, building it on a miss. */
+    public T get(LeagueSnapshot league, Function<LeagueSnapshot, T> builder) {
+        T value = latest;
+        if (value != null && generationOf.applyAsLong(value) == league.generation()) {
+            return value;
+        }
+        T built = builder.apply(league);
+        offer(built);
+        return built;
+    }
+
+    /** Publish a freshly built value unless a newer generation is already cached. */
+    public synchronized void offer(T built) {
+        if (latest == null || generationOf.applyAsLong(built) > generationOf.applyAsLong(latest)) {
+            latest = built;
+        }
+    }
+}
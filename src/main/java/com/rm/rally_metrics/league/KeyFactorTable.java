@@ -0,0 +1,71 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.KeyFactor;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.prediction.PlayerStats;
+
+import java.util.List;
+
+/**
+ * Every player's key-factor values for one {@link LeagueSnapshot} generation, computed once per
+ * player rather than once per pair, and formatted the first time a player's factors are shown.
+ * A pair then only compares values and reuses both players' display strings, so pricing or
+ * exporting m pairs formats at most n players' factors instead of m pairs'.
+ *
+ * <p>Safe to share between threads: a display is an immutable string, so two threads formatting
+ * the same one at once only duplicate work.
+ */
+public final class KeyFactorTable {
+
+    private static final int K = MatchProbabilityModel.KEY_FACTORS;
+
+    private final long generation;
+    private final double[] values;
+    private final String[] displays;
+
+    private KeyFactorTable(long generation, double[] values) {
+        this.generation = generation;
+        this.values = values;
+        this.displays = new String[values.length];
+    }
+
+    public static KeyFactorTable build(LeagueSnapshot league, MatchProbabilityModel model) {
+        double[] values = new double[league.size() * K];
+        for (int i = 0; i < league.size(); i++) {
+            PlayerStats stats = league.stats(i);
+            model.keyFactorValues(stats.gamesWon(), stats.gamesLost(), stats.pointsWon(), stats.pointsLost(),
+                    league.skill(i), values, i * K);
+        }
+        return new KeyFactorTable(league.generation(), values);
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /** Key factor {@code factor} of the player at snapshot index {@code player}, as displayed. */
+    public String display(int player, int factor) {
+        int k = player * K + factor;
+        String display = displays[k];
+        if (display == null) {
+            display = MatchProbabilityModel.formatKeyFactor(factor, values[k]);
+            displays[k] = display;
+        }
+        return display;
+    }
+
+    /** Which of the players at {@code a} and {@code b} key factor {@code factor} favors. */
+    public String advantage(int a, int b, int factor) {
+        return MatchProbabilityModel.keyFactorAdvantage(values[a * K + factor], values[b * K + factor]);
+    }
+
+    /** The same breakdown as {@link MatchProbabilityModel#keyFactors} for the pair, from the table. */
+    public List<KeyFactor> factors(int a, int b) {
+        KeyFactor[] factors = new KeyFactor[K];
+        for (int f = 0; f < K; f++) {
+            factors[f] = new KeyFactor(MatchProbabilityModel.keyFactorLabel(f), display(a, f), display(b, f),
+                    advantage(a, b, f));
+        }
+        return List.of(factors);
+    }
+}
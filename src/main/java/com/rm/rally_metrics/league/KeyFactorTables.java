@@ -0,0 +1,28 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the {@link KeyFactorTable} for each new snapshot generation during the sync.
+ */
+@Component
+public class KeyFactorTables implements LeagueSnapshotListener {
+
+    private final MatchProbabilityModel probabilityModel;
+    private final GenerationCache<KeyFactorTable> cache = new GenerationCache<>(KeyFactorTable::generation);
+
+    public KeyFactorTables(MatchProbabilityModel probabilityModel) {
+        this.probabilityModel = probabilityModel;
+    }
+
+    /** The key-factor table for exactly this snapshot's generation. */
+    public KeyFactorTable tableFor(LeagueSnapshot league) {
+        return cache.get(league, l -> KeyFactorTable.build(l, probabilityModel));
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        tableFor(changes.next());
+    }
+}
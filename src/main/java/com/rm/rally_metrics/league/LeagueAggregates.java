@@ -0,0 +1,273 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.DraftTier;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed league distribution statistics for one {@link LeagueSnapshot} generation: running
+ * sums for the means, sorted columns for medians/percentiles and skill-rank order statistics,
+ * per-team totals, and the full {@link DraftTier} list.
+ *
+ * <p>Built in full once ({@link #of}) and then carried forward sync to sync with
+ * {@link #advance}, which only touches the players whose rows changed. Rank and percentile lookups
+ * are binary searches, so a player snapshot costs O(log n) regardless of league size.
+ *
+ * <p>Every running sum is an exact {@code long}: skill ratings are integers, and the percentages
+ * are kept in millionths of a percent. Subtracting a player and adding them back therefore leaves
+ * the sums exactly as a full build would have them, however many syncs they are carried through.
+ */
+public final class LeagueAggregates {
+
+    /** Fixed-point scale of the percentage sums: millionths of a percent. */
+    private static final double PCT_SCALE = 1_000_000.0;
+
+    private final long generation;
+    private final SortedColumn skills;
+    private final SortedColumn winPcts;
+    private final SortedColumn ptWinPcts;
+    private final long skillRatingSum;
+    private final long winPctSum;
+    private final long ptWinPctSum;
+    private final Map<String, TeamTotals> teams;
+    private final LeagueOverview overview;
+
+    private LeagueAggregates(long generation, SortedColumn skills, SortedColumn winPcts, SortedColumn ptWinPcts,
+                             long skillRatingSum, long winPctSum, long ptWinPctSum,
+                             Map<String, TeamTotals> teams, MatchProbabilityModel model) {
+        this.generation = generation;
+        this.skills = skills;
+        this.winPcts = winPcts;
+        this.ptWinPcts = ptWinPcts;
+        this.skillRatingSum = skillRatingSum;
+        this.winPctSum = winPctSum;
+        this.ptWinPctSum = ptWinPctSum;
+        this.teams = teams;
+        this.overview = buildOverview(model);
+    }
+
+    /** Full build from every player in the snapshot. */
+    public static LeagueAggregates of(LeagueSnapshot league, MatchProbabilityModel model) {
+        int n = league.size();
+        double[] skill = new double[n];
+        double[] win = new double[n];
+        double[] pt = new double[n];
+        String[] names = new String[n];
+        long ratingSum = 0;
+        long winSum = 0;
+        long ptSum = 0;
+        Map<String, TeamTotals> teams = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            names[i] = league.name(i);
+            skill[i] = league.skill(i);
+            win[i] = league.gamesWonPercent(i);
+            pt[i] = league.ptsWonPercent(i);
+            ratingSum += rating(skill[i]);
+            winSum += fixed(win[i]);
+            ptSum += fixed(pt[i]);
+            addToTeam(teams, league.team(i), rating(skill[i]), fixed(win[i]), fixed(pt[i]));
+        }
+        return new LeagueAggregates(league.generation(),
+                SortedColumn.of(skill, names), SortedColumn.of(win, names), SortedColumn.of(pt, names),
+                ratingSum, winSum, ptSum, teams, model);
+    }
+
+    /**
+     * Carry these aggregates (built for {@code previous}) forward to {@code next}, updating only the
+     * players that were added, removed, or whose row changed between the two syncs.
+     */
+    public LeagueAggregates advance(LeagueSnapshot previous, LeagueSnapshot next, MatchProbabilityModel model) {
+        return advance(LeagueChangeSet.between(previous, next), model);
+    }
+
+    /** Carry these aggregates forward across one sync's change set. */
+    public LeagueAggregates advance(LeagueChangeSet changes, MatchProbabilityModel model) {
+        LeagueSnapshot previous = changes.previous();
+        LeagueSnapshot next = changes.next();
+        if (previous == null || previous.generation() != generation) {
+            throw new IllegalArgumentException("Aggregates are for generation " + generation + ", not "
+                    + (previous == null ? "a full rebuild" : previous.generation()));
+        }
+        Set<String> removed = new HashSet<>();
+        List<Integer> added = new ArrayList<>();
+        for (LeagueChangeSet.PlayerChange change : changes.removed()) {
+            removed.add(change.name());
+        }
+        for (LeagueChangeSet.PlayerChange change : changes.changed()) {
+            removed.add(change.name());
+            added.add(change.nextIndex());
+        }
+        for (LeagueChangeSet.PlayerChange change : changes.added()) {
+            added.add(change.nextIndex());
+        }
+
+        long ratingSum = skillRatingSum;
+        long winSum = winPctSum;
+        long ptSum = ptWinPctSum;
+        Map<String, TeamTotals> nextTeams = new HashMap<>(teams);
+        for (String name : removed) {
+            int j = previous.indexOf(name);
+            long r = rating(previous.skill(j));
+            ratingSum -= r;
+            long w = fixed(previous.gamesWonPercent(j));
+            long p = fixed(previous.ptsWonPercent(j));
+            winSum -= w;
+            ptSum -= p;
+            removeFromTeam(nextTeams, previous.team(j), r, w, p);
+        }
+        double[] skill = new double[added.size()];
+        double[] win = new double[added.size()];
+        double[] pt = new double[added.size()];
+        String[] names = new String[added.size()];
+        for (int k = 0; k < added.size(); k++) {
+            int i = added.get(k);
+            names[k] = next.name(i);
+            skill[k] = next.skill(i);
+            win[k] = next.gamesWonPercent(i);
+            pt[k] = next.ptsWonPercent(i);
+            ratingSum += rating(skill[k]);
+            winSum += fixed(win[k]);
+            ptSum += fixed(pt[k]);
+            addToTeam(nextTeams, next.team(i), rating(skill[k]), fixed(win[k]), fixed(pt[k]));
+        }
+
+        boolean unchanged = removed.isEmpty() && added.isEmpty();
+        return new LeagueAggregates(next.generation(),
+                unchanged ? skills : skills.withChanges(removed, skill, names),
+                unchanged ? winPcts : winPcts.withChanges(removed, win, names),
+                unchanged ? ptWinPcts : ptWinPcts.withChanges(removed, pt, names),
+                ratingSum, winSum, ptSum, nextTeams, model);
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public int size() {
+        return skills.size();
+    }
+
+    /** League mean of the 0-100 skill rating, rounded as the snapshot displays it. */
+    public int avgSkillRating() {
+        return size() == 0 ? 0 : (int) Math.round((double) skillRatingSum / size());
+    }
+
+    /** League mean game win percent. */
+    public double meanWinPct() {
+        return size() == 0 ? 0.0 : winPctSum / PCT_SCALE / size();
+    }
+
+    /** League mean point win percent. */
+    public double meanPtWinPct() {
+        return size() == 0 ? 0.0 : ptWinPctSum / PCT_SCALE / size();
+    }
+
+    /** 1-based rank of a skill within the league (ties share the better rank). */
+    public int skillRank(double skill) {
+        return skills.countAbove(skill) + 1;
+    }
+
+    /** Share of the rest of the league (0-100) with a strictly lower skill. */
+    public double skillPercentile(double skill) {
+        int n = size();
+        return n <= 1 ? 100.0 : round1(100.0 * skills.countBelow(skill) / (n - 1));
+    }
+
+    /** Name of the player holding the given 1-based skill rank. */
+    public String playerAtSkillRank(int rank) {
+        if (rank < 1 || rank > size()) {
+            throw new IllegalArgumentException("Skill rank out of range: " + rank);
+        }
+        return skills.label(size() - rank);
+    }
+
+    /** The serialized view of these aggregates, built once per generation. */
+    public LeagueOverview overview() {
+        return overview;
+    }
+
+    private LeagueOverview buildOverview(MatchProbabilityModel model) {
+        int n = size();
+        LeagueOverview.Distribution skillRating = distribution(skills, 100.0,
+                n == 0 ? 0.0 : (double) skillRatingSum / n);
+        LeagueOverview.Distribution win = distribution(winPcts, 1.0, meanWinPct());
+        LeagueOverview.Distribution pt = distribution(ptWinPcts, 1.0, meanPtWinPct());
+
+        List<LeagueOverview.TeamAggregate> teamList = new ArrayList<>(teams.size());
+        for (TeamTotals t : teams.values()) {
+            teamList.add(new LeagueOverview.TeamAggregate(t.team(), t.players(),
+                    round1((double) t.skillRatingSum() / t.players()),
+                    round1(t.winPctSum() / PCT_SCALE / t.players()),
+                    round1(t.ptWinPctSum() / PCT_SCALE / t.players())));
+        }
+        teamList.sort(Comparator.comparingDouble(LeagueOverview.TeamAggregate::avgSkillRating).reversed()
+                .thenComparing(LeagueOverview.TeamAggregate::team));
+
+        Map<DraftTier, List<String>> tiers = new EnumMap<>(DraftTier.class);
+        for (DraftTier tier : DraftTier.values()) {
+            tiers.put(tier, new ArrayList<>());
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            tiers.get(model.draftTier(skills.value(k))).add(skills.label(k));
+        }
+        tiers.replaceAll((tier, names) -> Collections.unmodifiableList(names));
+
+        return new LeagueOverview(generation, n, skillRating, win, pt,
+                Collections.unmodifiableList(teamList), Collections.unmodifiableMap(tiers));
+    }
+
+    private static LeagueOverview.Distribution distribution(SortedColumn column, double scale, double mean) {
+        int n = column.size();
+        return new LeagueOverview.Distribution(
+                round1(mean),
+                round1(column.quantile(0.5) * scale),
+                round1(column.quantile(0.1) * scale),
+                round1(column.quantile(0.9) * scale),
+                n == 0 ? 0.0 : round1(column.value(0) * scale),
+                n == 0 ? 0.0 : round1(column.value(n - 1) * scale));
+    }
+
+    private static void addToTeam(Map<String, TeamTotals> teams, String team, long rating, long win, long pt) {
+        if (team != null) {
+            teams.merge(team, new TeamTotals(team, 1, rating, win, pt), TeamTotals::plus);
+        }
+    }
+
+    private static void removeFromTeam(Map<String, TeamTotals> teams, String team, long rating, long win, long pt) {
+        if (team != null) {
+            teams.computeIfPresent(team, (k, t) -> t.players() <= 1 ? null
+                    : new TeamTotals(team, t.players() - 1, t.skillRatingSum() - rating,
+                            t.winPctSum() - win, t.ptWinPctSum() - pt));
+        }
+    }
+
+    private static long rating(double skill) {
+        return Math.round(skill * 100.0);
+    }
+
+    /** A percentage in millionths of a percent, the unit of the running sums. */
+    private static long fixed(double pct) {
+        return Math.round(pct * PCT_SCALE);
+    }
+
+    private static double round1(double v) {
+        return Math.round(v * 10.0) / 10.0;
+    }
+
+    private record TeamTotals(String team, int players, long skillRatingSum, long winPctSum, long ptWinPctSum) {
+
+        TeamTotals plus(TeamTotals other) {
+            return new TeamTotals(team, players + other.players, skillRatingSum + other.skillRatingSum,
+                    winPctSum + other.winPctSum, ptWinPctSum + other.ptWinPctSum);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link LeagueAggregates} for the latest snapshot generation. On each sync it carries
+ * the previous aggregates forward incrementally; a caller holding a snapshot the aggregates have not
+ * seen (e.g. after a failed listener call) gets a full build for that generation instead.
+ */
+@Component
+public class LeagueAggregator implements LeagueSnapshotListener {
+
+    private final MatchProbabilityModel probabilityModel;
+    private final GenerationCache<LeagueAggregates> cache = new GenerationCache<>(LeagueAggregates::generation);
+
+    public LeagueAggregator(MatchProbabilityModel probabilityModel) {
+        this.probabilityModel = probabilityModel;
+    }
+
+    /** Aggregates for exactly this snapshot's generation. */
+    public LeagueAggregates aggregatesFor(LeagueSnapshot league) {
+        return cache.get(league, s -> LeagueAggregates.of(s, probabilityModel));
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        LeagueAggregates a = cache.latest();
+        LeagueSnapshot previous = changes.previous();
+        cache.offer(previous != null && a != null && a.generation() == previous.generation()
+                ? a.advance(changes, probabilityModel)
+                : LeagueAggregates.of(changes.next(), probabilityModel));
+    }
+}
@@ -0,0 +1,98 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.PlayerStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What one sync changed: the players added, removed and changed between two published
+ * {@link LeagueSnapshot} generations, each with its stats before and after. Computed once per sync
+ * by {@link LeagueSnapshotStore} and handed to every {@link LeagueSnapshotListener}, so caches and
+ * precomputed state can update just the affected entries instead of each re-diffing the league.
+ *
+ * <p>A change set with no previous generation is a {@linkplain #fullRebuild() full rebuild}: there
+ * is nothing to diff against, so consumers must recompute everything. That is the first load after
+ * startup, which is also the only way a new schema or model version reaches a running node.
+ *
+ * @param previous the generation being replaced, or {@code null} on a full rebuild
+ * @param next     the generation being published
+ * @param added    players new in {@code next} ({@code before} is null)
+ * @param removed  players gone from {@code next} ({@code after} is null)
+ * @param changed  players in both whose team, rank or stats differ, in {@code next}'s standings order
+ */
+public record LeagueChangeSet(
+        LeagueSnapshot previous,
+        LeagueSnapshot next,
+        List<PlayerChange> added,
+        List<PlayerChange> removed,
+        List<PlayerChange> changed) {
+
+    /**
+     * One player's change. Indices are positions in the respective snapshot, {@code -1} where the
+     * player is absent.
+     */
+    public record PlayerChange(String name, int previousIndex, int nextIndex, PlayerStats before,
+                               PlayerStats after) {
+    }
+
+    public LeagueChangeSet {
+        added = List.copyOf(added);
+        removed = List.copyOf(removed);
+        changed = List.copyOf(changed);
+    }
+
+    /** Everything in {@code next} is new: there is no previous generation to compare with. */
+    public static LeagueChangeSet fullRebuild(LeagueSnapshot next) {
+        return new LeagueChangeSet(null, next, List.of(), List.of(), List.of());
+    }
+
+    /** The changes from {@code previous} (null on first load) to {@code next}. */
+    public static LeagueChangeSet between(LeagueSnapshot previous, LeagueSnapshot next) {
+        if (previous == null) {
+            return fullRebuild(next);
+        }
+        List<PlayerChange> added = new ArrayList<>();
+        List<PlayerChange> changed = new ArrayList<>();
+        for (int i = 0; i < next.size(); i++) {
+            int j = previous.indexOf(next.name(i));
+            if (j < 0) {
+                added.add(new PlayerChange(next.name(i), -1, i, null, next.stats(i)));
+            } else if (!next.sameRow(i, previous, j)) {
+                changed.add(new PlayerChange(next.name(i), j, i, previous.stats(j), next.stats(i)));
+            }
+        }
+        List<PlayerChange> removed = new ArrayList<>();
+        for (int j = 0; j < previous.size(); j++) {
+            if (next.indexOf(previous.name(j)) < 0) {
+                removed.add(new PlayerChange(previous.name(j), j, -1, previous.stats(j), null));
+            }
+        }
+        return new LeagueChangeSet(previous, next, added, removed, changed);
+    }
+
+    public boolean fullRebuild() {
+        return previous == null;
+    }
+
+    /** True when {@code next} holds exactly the same rows as {@code previous}. */
+    public boolean isEmpty() {
+        return !fullRebuild() && added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    /** Number of players added, removed or changed. */
+    public int size() {
+        return added.size() + removed.size() + changed.size();
+    }
+
+    /** Names of every player whose data is new, gone or different, i.e. whose derived state is stale. */
+    public List<String> affectedNames() {
+        List<String> names = new ArrayList<>(size());
+        for (List<PlayerChange> group : List.of(added, removed, changed)) {
+            for (PlayerChange change : group) {
+                names.add(change.name());
+            }
+        }
+        return names;
+    }
+}
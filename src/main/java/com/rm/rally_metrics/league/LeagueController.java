@@ -0,0 +1,69 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.ConditionalGets;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Read-only league-level endpoints, served from the in-memory snapshot and its precomputed
+ * aggregates.
+ */
+@RestController
+@RequestMapping(path = "api/v1/league")
+public class LeagueController {
+
+    private final LeagueSnapshotStore leagueStore;
+    private final LeagueAggregator leagueAggregator;
+    private final MatchupMatrices matchupMatrices;
+    private final LeagueUpdates leagueUpdates;
+    private final ConditionalGets conditionalGets;
+
+    public LeagueController(LeagueSnapshotStore leagueStore, LeagueAggregator leagueAggregator,
+                            MatchupMatrices matchupMatrices, LeagueUpdates leagueUpdates,
+                            ConditionalGets conditionalGets) {
+        this.leagueStore = leagueStore;
+        this.leagueAggregator = leagueAggregator;
+        this.matchupMatrices = matchupMatrices;
+        this.leagueUpdates = leagueUpdates;
+        this.conditionalGets = conditionalGets;
+    }
+
+    @GetMapping("/aggregates")
+    public ResponseEntity<LeagueOverview> getAggregates(WebRequest webRequest) {
+        return conditionalGets.forLeague(webRequest,
+                () -> leagueAggregator.aggregatesFor(leagueStore.current()).overview());
+    }
+
+    /** Every pair's probability and moneyline for the current generation; see {@link MatchupMatrixExport}. */
+    @GetMapping("/matchups")
+    public ResponseEntity<MatchupMatrixExport> getMatchups(WebRequest webRequest) {
+        return conditionalGets.forLeague(webRequest, () -> {
+            LeagueSnapshot league = leagueStore.current();
+            return MatchupMatrixExport.of(league, matchupMatrices.matrixFor(league));
+        });
+    }
+
+    /**
+     * Server-Sent Events stream of {@link LeagueUpdate}s, one per sync. Answers 503 with
+     * {@code Retry-After} when this node already holds its maximum number of streams.
+     */
+    @GetMapping(path = "/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getUpdates(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = leagueUpdates.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(emitter);
+    }
+}
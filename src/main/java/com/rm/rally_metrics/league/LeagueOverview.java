@@ -0,0 +1,38 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.DraftTier;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * League-wide distribution benchmarks for one data generation, served at
+ * {@code GET /api/v1/league/aggregates}. Built once per sync by {@link LeagueAggregates}, so the
+ * endpoint only serializes it.
+ *
+ * <p>Serialized snake_case (e.g. {@code league_size}, {@code skill_rating}, {@code games_won_percent}).
+ * Skill is expressed on the same 0-100 scale as {@code skill_rating} in the player snapshot; the
+ * tier list holds player names best-first within each {@link DraftTier}.
+ */
+public record LeagueOverview(
+        long generation,
+        int leagueSize,
+        Distribution skillRating,
+        Distribution gamesWonPercent,
+        Distribution ptsWonPercent,
+        List<TeamAggregate> teams,
+        Map<DraftTier, List<String>> tiers) {
+
+    /** Summary statistics of one column; p10/p90 and the median are linearly interpolated. */
+    public record Distribution(double mean, double median, double p10, double p90, double min, double max) {
+    }
+
+    /** Per-team means, ordered strongest team (by average skill rating) first. */
+    public record TeamAggregate(
+            String team,
+            int players,
+            double avgSkillRating,
+            double avgWinPct,
+            double avgPtWinPct) {
+    }
+}
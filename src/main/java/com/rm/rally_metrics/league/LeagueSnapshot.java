@@ -0,0 +1,275 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.prediction.PlayerStats;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, in-memory copy of the whole league as of one stats sync, laid out column by column
+ * (struct-of-arrays) so league-wide math runs over contiguous primitive arrays instead of boxed
+ * JPA entities.
+ *
+ * <p>Players are stored in standings order (rank ascending, unranked last, then name) and are
+ * addressed by their position in that order. Nullable entity fields are kept with sentinels —
+ * {@link #NO_VALUE} for ints and {@code NaN} for doubles — so {@link #players()} can reproduce the
+ * original rows exactly, while the model-facing accessors ({@link #stats(int)}) read them as 0 the
+ * same way the service always has.
+ *
+ * <p>A snapshot is never mutated after {@link #build}; {@link LeagueSnapshotStore} publishes a new
+ * one per sync, so a reader holding a reference always sees one consistent generation.
+ */
+public final class LeagueSnapshot {
+
+    /** Sentinel for a null integer column. */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+
+    private static final Comparator<Player> STANDINGS_ORDER = Comparator
+            .comparing(Player::getRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Player::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final long generation;
+    private final Instant builtAt;
+
+    private final String[] names;
+    private final String[] teams;
+    private final int[] ranks;
+    private final int[] gamesWon;
+    private final int[] gamesLost;
+    private final double[] gamesWonPercent;
+    private final int[] ptsWon;
+    private final int[] ptsLost;
+    private final double[] ptsWonPercent;
+    private final double[] skills;
+
+    private final Map<String, Integer> indexByName;
+    private final Map<String, int[]> indicesByTeam;
+    private final List<Player> rows;
+
+    private LeagueSnapshot(long generation, Instant builtAt, int size) {
+        this.generation = generation;
+        this.builtAt = builtAt;
+        this.names = new String[size];
+        this.teams = new String[size];
+        this.ranks = new int[size];
+        this.gamesWon = new int[size];
+        this.gamesLost = new int[size];
+        this.gamesWonPercent = new double[size];
+        this.ptsWon = new int[size];
+        this.ptsLost = new int[size];
+        this.ptsWonPercent = new double[size];
+        this.skills = new double[size];
+        this.indexByName = new HashMap<>(size * 2);
+        this.indicesByTeam = new HashMap<>();
+        this.rows = new ArrayList<>(size);
+    }
+
+    /**
+     * Build a snapshot from freshly loaded rows. The entities are copied, never retained, so later
+     * changes to the persistence context cannot leak into a published snapshot.
+     */
+    public static LeagueSnapshot build(long generation, List<Player> players, MatchProbabilityModel model) {
+        List<Player> ordered = new ArrayList<>(players);
+        ordered.sort(STANDINGS_ORDER);
+
+        LeagueSnapshot s = new LeagueSnapshot(generation, Instant.now(), ordered.size());
+        Map<String, List<Integer>> teamMembers = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            Player p = ordered.get(i);
+            s.names[i] = p.getName();
+            s.teams[i] = p.getTeam();
+            s.ranks[i] = orSentinel(p.getRank());
+            s.gamesWon[i] = orSentinel(p.getGamesWon());
+            s.gamesLost[i] = orSentinel(p.getGamesLost());
+            s.gamesWonPercent[i] = orNaN(p.getGamesWonPercent());
+            s.ptsWon[i] = orSentinel(p.getPtsWon());
+            s.ptsLost[i] = orSentinel(p.getPtsLost());
+            s.ptsWonPercent[i] = orNaN(p.getPtsWonPercent());
+
+            s.indexByName.put(p.getName(), i);
+            if (p.getTeam() != null) {
+                teamMembers.computeIfAbsent(teamKey(p.getTeam()), k -> new ArrayList<>()).add(i);
+            }
+            s.rows.add(s.materialize(i));
+        }
+        teamMembers.forEach((team, members) ->
+                s.indicesByTeam.put(team, members.stream().mapToInt(Integer::intValue).toArray()));
+        model.skills(modelCounts(s.gamesWon), modelCounts(s.gamesLost), modelCounts(s.ptsWon),
+                modelCounts(s.ptsLost), s.skills);
+        return s;
+    }
+
+    /** Monotonically increasing id of the sync that produced this snapshot. */
+    public long generation() {
+        return generation;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /** Position of the player with exactly this name, or -1. */
+    public int indexOf(String name) {
+        Integer i = name == null ? null : indexByName.get(name);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * Position of the first player that comes strictly after ({@code rank}, {@code name}) in
+     * standings order, or {@link #size()} — the keyset seek for cursor pagination. A null rank
+     * sorts after every ranked player, as in the standings.
+     */
+    public int positionAfter(Integer rank, String name) {
+        long rankKey = rank == null ? Long.MAX_VALUE : rank;
+        int lo = 0;
+        int hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            long midRank = ranks[mid] == NO_VALUE ? Long.MAX_VALUE : ranks[mid];
+            int c = Long.compare(midRank, rankKey);
+            if (c == 0) {
+                c = names[mid] == null ? 1 : name == null ? -1 : names[mid].compareTo(name);
+            }
+            if (c <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Positions of every player on the team (case-insensitive), in standings order. */
+    public int[] indicesOfTeam(String team) {
+        int[] members = team == null ? null : indicesByTeam.get(teamKey(team));
+        return members == null ? new int[0] : members.clone();
+    }
+
+    /** All players, in standings order. The rows are shared and must be treated as read-only. */
+    public List<Player> players() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /** Players on the team (case-insensitive), in standings order. Rows are read-only. */
+    public List<Player> playersOnTeam(String team) {
+        int[] members = team == null ? null : indicesByTeam.get(teamKey(team));
+        if (members == null) {
+            return List.of();
+        }
+        List<Player> result = new ArrayList<>(members.length);
+        for (int i : members) {
+            result.add(rows.get(i));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /** The read-only row at a position. */
+    public Player player(int i) {
+        return rows.get(i);
+    }
+
+    public String name(int i) {
+        return names[i];
+    }
+
+    public String team(int i) {
+        return teams[i];
+    }
+
+    /** Model inputs for a player, with missing counts read as 0. */
+    public PlayerStats stats(int i) {
+        return new PlayerStats(nz(gamesWon[i]), nz(gamesLost[i]), nz(ptsWon[i]), nz(ptsLost[i]));
+    }
+
+    /** The model skill in (0,1), precomputed at build time. */
+    public double skill(int i) {
+        return skills[i];
+    }
+
+    /** Game win percent as stored (0 when missing). */
+    public double gamesWonPercent(int i) {
+        return nzd(gamesWonPercent[i]);
+    }
+
+    /** Point win percent as stored (0 when missing). */
+    public double ptsWonPercent(int i) {
+        return nzd(ptsWonPercent[i]);
+    }
+
+    /**
+     * Whether row {@code i} of this snapshot carries exactly the same team, rank and stats as row
+     * {@code j} of {@code other} — i.e. the player did not change between the two syncs.
+     */
+    public boolean sameRow(int i, LeagueSnapshot other, int j) {
+        return Objects.equals(teams[i], other.teams[j])
+                && ranks[i] == other.ranks[j]
+                && gamesWon[i] == other.gamesWon[j]
+                && gamesLost[i] == other.gamesLost[j]
+                && ptsWon[i] == other.ptsWon[j]
+                && ptsLost[i] == other.ptsLost[j]
+                && Double.compare(gamesWonPercent[i], other.gamesWonPercent[j]) == 0
+                && Double.compare(ptsWonPercent[i], other.ptsWonPercent[j]) == 0;
+    }
+
+    private Player materialize(int i) {
+        return new Player(names[i], boxed(ranks[i]), teams[i],
+                boxed(gamesWon[i]), boxed(gamesLost[i]), boxed(gamesWonPercent[i]),
+                boxed(ptsWon[i]), boxed(ptsLost[i]), boxed(ptsWonPercent[i]));
+    }
+
+    /** The case- and padding-insensitive key teams are matched by, as in {@link #playersOnTeam}. */
+    public static String teamKey(String team) {
+        return team.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int orSentinel(Integer value) {
+        return value == null ? NO_VALUE : value;
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static Integer boxed(int value) {
+        return value == NO_VALUE ? null : value;
+    }
+
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /** A count column as the model reads it, missing values as 0 like {@link #stats(int)}. */
+    private static int[] modelCounts(int[] column) {
+        int[] counts = new int[column.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = nz(column[i]);
+        }
+        return counts;
+    }
+
+    private static int nz(int value) {
+        return value == NO_VALUE ? 0 : value;
+    }
+
+    private static double nzd(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    @Override
+    public String toString() {
+        return "LeagueSnapshot[generation=" + generation + ", size=" + size() + "]";
+    }
+}
@@ -0,0 +1,31 @@
+package com.rm.rally_metrics.league;
+
+/**
+ * A component holding state derived from the league (aggregates, indexes, caches) that must follow
+ * each new {@link LeagueSnapshot}.
+ *
+ * <p>{@link LeagueSnapshotStore} calls every listener after building the next snapshot but before
+ * publishing it, so derived state is already warm when readers first see the new generation. A
+ * listener that throws is logged and skipped; it must then rebuild on demand for that generation.
+ *
+ * <p>Each call carries the sync's {@link LeagueChangeSet}. State keyed by player (caches, totals,
+ * per-team renderings) should update only the affected entries and recompute in full only on a
+ * {@linkplain LeagueChangeSet#fullRebuild() full rebuild}; state addressed by standings position
+ * may rebuild whenever the order moved.
+ */
+public interface LeagueSnapshotListener {
+
+    /**
+     * @param changes the diff from the snapshot being replaced ({@link LeagueChangeSet#previous()},
+     *                null on the first load) to the one about to be published ({@link LeagueChangeSet#next()})
+     */
+    void onSnapshot(LeagueChangeSet changes);
+
+    /**
+     * Called once {@code changes.next()} is the published snapshot, for side effects readers must
+     * not see before the data does (e.g. telling clients to refetch). Runs on the sync thread, so
+     * keep it short. Does nothing by default.
+     */
+    default void onPublished(LeagueChangeSet changes) {
+    }
+}
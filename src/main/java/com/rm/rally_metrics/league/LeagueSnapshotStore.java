@@ -0,0 +1,91 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.player.PlayerRepository;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link LeagueSnapshot} and swaps in a new one after each stats sync, so the
+ * player read path never touches the database.
+ *
+ * <p>The snapshot is loaded lazily on first use (so the context starts even before the table has
+ * data) and replaced wholesale by {@link #refresh()}. Publication is a single volatile write of a
+ * fully built, immutable snapshot: readers see either the previous sync or the next one, never a
+ * half-applied mix. Every {@link LeagueSnapshotListener} is brought up to date before the swap
+ * and told once it has happened, each with the same {@link LeagueChangeSet} so none of them has to
+ * diff the league itself.
+ */
+@Component
+public class LeagueSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LeagueSnapshotStore.class);
+
+    private final PlayerRepository playerRepository;
+    private final MatchProbabilityModel probabilityModel;
+    private final List<LeagueSnapshotListener> listeners;
+    private final AtomicLong generations = new AtomicLong();
+
+    private volatile LeagueSnapshot current;
+
+    public LeagueSnapshotStore(PlayerRepository playerRepository,
+                               MatchProbabilityModel probabilityModel,
+                               List<LeagueSnapshotListener> listeners) {
+        this.playerRepository = playerRepository;
+        this.probabilityModel = probabilityModel;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /** The latest published snapshot, loading the first one on demand. */
+    public LeagueSnapshot current() {
+        LeagueSnapshot s = current;
+        if (s == null) {
+            synchronized (this) {
+                s = current;
+                if (s == null) {
+                    s = refresh();
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Reload the league from the database and atomically publish it as the next generation.
+     * Serialized so two concurrent syncs cannot publish out of order.
+     */
+    public synchronized LeagueSnapshot refresh() {
+        long started = System.nanoTime();
+        List<Player> players = playerRepository.findAll();
+        LeagueSnapshot previous = current;
+        LeagueSnapshot next = LeagueSnapshot.build(generations.incrementAndGet(), players, probabilityModel);
+        LeagueChangeSet changes = LeagueChangeSet.between(previous, next);
+        for (LeagueSnapshotListener listener : listeners) {
+            try {
+                listener.onSnapshot(changes);
+            } catch (RuntimeException e) {
+                log.warn("League listener {} failed for generation {}: {}",
+                        listener.getClass().getSimpleName(), next.generation(), e.toString());
+            }
+        }
+        current = next;
+        for (LeagueSnapshotListener listener : listeners) {
+            try {
+                listener.onPublished(changes);
+            } catch (RuntimeException e) {
+                log.warn("League listener {} failed after publishing generation {}: {}",
+                        listener.getClass().getSimpleName(), next.generation(), e.toString());
+            }
+        }
+        log.info("Published league snapshot generation {} ({} players, {}) in {} ms.",
+                next.generation(), next.size(),
+                changes.fullRebuild() ? "full rebuild" : changes.size() + " changed",
+                (System.nanoTime() - started) / 1_000_000);
+        return next;
+    }
+}
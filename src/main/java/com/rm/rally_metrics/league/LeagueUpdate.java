@@ -0,0 +1,78 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.PlayerStats;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The change notice pushed to {@code GET /api/v1/league/updates} subscribers after each sync:
+ * the new generation and, per changed player, what moved. Clients refresh just those rows.
+ *
+ * <p>Serialized snake_case. Deltas are {@code next - previous}, with missing counts read as 0;
+ * {@code rank} is the new rank. When more than {@code maxChanges} players changed (or there is no
+ * previous generation to compare with) the lists are empty and {@code resync} is set: reload
+ * everything instead.
+ *
+ * @param generation  the generation now being served
+ * @param publishedAt when it was built
+ * @param changed     players present in both generations whose row changed, in standings order
+ * @param added       players new in this generation
+ * @param removed     players no longer present
+ * @param resync      whether the lists were omitted and the client should reload in full
+ */
+public record LeagueUpdate(
+        long generation,
+        Instant publishedAt,
+        List<PlayerDelta> changed,
+        List<String> added,
+        List<String> removed,
+        boolean resync) {
+
+    /** One changed player's new rank and the change in each counting stat. */
+    public record PlayerDelta(
+            String name,
+            String team,
+            Integer rank,
+            int gamesWon,
+            int gamesLost,
+            int ptsWon,
+            int ptsLost) {
+    }
+
+    /** A notice telling clients to reload {@code generation} in full. */
+    public static LeagueUpdate resync(long generation, Instant publishedAt) {
+        return new LeagueUpdate(generation, publishedAt, List.of(), List.of(), List.of(), true);
+    }
+
+    /** The notice for moving from {@code previous} (null on first load) to {@code next}. */
+    public static LeagueUpdate between(LeagueSnapshot previous, LeagueSnapshot next, int maxChanges) {
+        return of(LeagueChangeSet.between(previous, next), maxChanges);
+    }
+
+    /** The notice for one sync's change set. */
+    public static LeagueUpdate of(LeagueChangeSet changes, int maxChanges) {
+        LeagueSnapshot next = changes.next();
+        if (changes.fullRebuild() || changes.size() > maxChanges) {
+            return resync(next.generation(), next.builtAt());
+        }
+        List<PlayerDelta> changed = new ArrayList<>(changes.changed().size());
+        for (LeagueChangeSet.PlayerChange change : changes.changed()) {
+            changed.add(delta(change, next));
+        }
+        List<String> added = changes.added().stream().map(LeagueChangeSet.PlayerChange::name).toList();
+        List<String> removed = changes.removed().stream().map(LeagueChangeSet.PlayerChange::name).toList();
+        return new LeagueUpdate(next.generation(), next.builtAt(), List.copyOf(changed), added, removed, false);
+    }
+
+    private static PlayerDelta delta(LeagueChangeSet.PlayerChange change, LeagueSnapshot next) {
+        PlayerStats before = change.before();
+        PlayerStats after = change.after();
+        Player row = next.player(change.nextIndex());
+        return new PlayerDelta(row.getName(), row.getTeam(), row.getRank(),
+                after.gamesWon() - before.gamesWon(), after.gamesLost() - before.gamesLost(),
+                after.pointsWon() - before.pointsWon(), after.pointsLost() - before.pointsLost());
+    }
+}
@@ -0,0 +1,233 @@
+package com.rm.rally_metrics.league;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rm.rally_metrics.ConditionalGets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes a {@link LeagueUpdate} to every connected Server-Sent Events client once a new snapshot
+ * is published, so dashboards stop polling the player list.
+ *
+ * <p>Subscribers are async servlet responses ({@link SseEmitter}): an idle connection holds a
+ * socket and a small object, not a thread, so one node carries thousands. Each notice is
+ * serialized to JSON once and queued per subscriber; a small sender pool drains each queue, one
+ * write at a time per subscriber. A slow client therefore only holds up its own queue (and one
+ * sender thread, until the connector's write timeout fails the write), and a client that falls
+ * {@code rally.updates.max-pending} events behind, or whose write fails, is dropped. The sync never
+ * waits on a client. A comment heartbeat keeps proxies from timing idle streams out and flushes out
+ * dead sockets.
+ *
+ * <p>Event ids are {@link ConditionalGets#version} strings, {@code <boot>-<generation>}. A
+ * reconnecting {@code EventSource} sends {@code Last-Event-ID}. A client exactly one generation
+ * behind is sent the latest notice; a client further behind, or one whose id is from an earlier
+ * boot of the service, is told to resync.
+ */
+@Component
+public class LeagueUpdates implements LeagueSnapshotListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LeagueUpdates.class);
+
+    static final String EVENT_NAME = "league-update";
+
+    private final ObjectWriter writer;
+    private final int maxSubscribers;
+    private final int maxChanges;
+    private final int maxPending;
+    private final long timeoutMillis;
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Executor sender;
+
+    private volatile LeagueUpdate latest;
+
+    @Autowired
+    public LeagueUpdates(ObjectMapper objectMapper,
+                         @Value("${rally.updates.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${rally.updates.max-changes:500}") int maxChanges,
+                         @Value("${rally.updates.max-pending:8}") int maxPending,
+                         @Value("${rally.updates.timeout-ms:1800000}") long timeoutMillis,
+                         @Value("${rally.updates.sender-threads:4}") int senderThreads) {
+        this(objectMapper, maxSubscribers, maxChanges, maxPending, timeoutMillis,
+                Executors.newFixedThreadPool(senderThreads, r -> {
+                    Thread t = new Thread(r, "league-updates");
+                    t.setDaemon(true);
+                    return t;
+                }));
+    }
+
+    LeagueUpdates(ObjectMapper objectMapper, int maxSubscribers, int maxChanges, int maxPending,
+                  long timeoutMillis, Executor sender) {
+        this.writer = objectMapper.writerFor(LeagueUpdate.class);
+        this.maxSubscribers = maxSubscribers;
+        this.maxChanges = maxChanges;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeoutMillis;
+        this.sender = sender;
+    }
+
+    /**
+     * Register a new stream. Returns {@code null} when the node is at capacity, so the caller can
+     * answer 503 and let the client back off.
+     *
+     * @param lastEventId the event id the client last saw, from {@code Last-Event-ID}, or null
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(emitter, lastEventId);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, String lastEventId) {
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.put(emitter, subscriber);
+
+        LeagueUpdate missed = latest;
+        if (lastEventId != null && !lastEventId.isBlank() && missed != null) {
+            long seen = ConditionalGets.generationOf(lastEventId.trim());
+            if (seen < missed.generation()) {
+                // An id from another boot (seen == -1) names a generation of a different counter.
+                LeagueUpdate catchUp = seen == missed.generation() - 1 ? missed
+                        : LeagueUpdate.resync(missed.generation(), missed.publishedAt());
+                subscriber.enqueue(new Pending(ConditionalGets.version(catchUp.generation()), serialize(catchUp)));
+            }
+        }
+    }
+
+    /** Number of open streams on this node. */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        // Notify only once the snapshot is live; see onPublished.
+    }
+
+    @Override
+    public void onPublished(LeagueChangeSet changes) {
+        LeagueUpdate update = LeagueUpdate.of(changes, maxChanges);
+        latest = update;
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Pending event = new Pending(ConditionalGets.version(update.generation()), serialize(update));
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.enqueue(event);
+        }
+        log.info("Queued league generation {} for {} subscriber(s).", update.generation(), subscribers.size());
+    }
+
+    @Scheduled(fixedDelayString = "${rally.updates.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.enqueue(Pending.HEARTBEAT);
+        }
+    }
+
+    private String serialize(LeagueUpdate update) {
+        try {
+            return writer.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        if (subscribers.remove(subscriber.emitter) != null) {
+            try {
+                subscriber.emitter.completeWithError(cause);
+            } catch (RuntimeException ignored) {
+                // Already completed by the container.
+            }
+        }
+    }
+
+    /** One queued event: an update with its id and JSON, or the heartbeat comment. */
+    private record Pending(String id, String data) {
+
+        static final Pending HEARTBEAT = new Pending(null, null);
+
+        /** A fresh builder per send: building one appends to it, so builders cannot be shared. */
+        SseEmitter.SseEventBuilder event() {
+            return id == null ? SseEmitter.event().comment("keep-alive")
+                    : SseEmitter.event().id(id).name(EVENT_NAME).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /** A stream's pending events, drained by at most one sender task at a time. */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Pending event) {
+            if (pending.incrementAndGet() > maxPending) {
+                log.info("Dropping a league update subscriber {} events behind.", maxPending);
+                drop(this, new IOException("Subscriber fell " + maxPending + " events behind."));
+                return;
+            }
+            queue.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    drop(this, new IOException("Could not schedule a send.", e));
+                }
+            }
+        }
+
+        private void drain() {
+            Pending event;
+            while ((event = queue.poll()) != null) {
+                pending.decrementAndGet();
+                try {
+                    emitter.send(event.event());
+                } catch (IOException | IllegalStateException e) {
+                    queue.clear();
+                    drop(this, e);
+                    return;
+                }
+            }
+            draining.set(false);
+            // An event queued after the last poll but before the flag cleared still gets sent.
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
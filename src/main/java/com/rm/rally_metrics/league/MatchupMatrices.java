@@ -0,0 +1,52 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the {@link MatchupMatrix} for each new snapshot generation during the sync, before the
+ * snapshot is published, so matchup reads never pay for the build. When the sync left the standings
+ * order alone, the previous matrix is carried forward and only the changed players' pairs are
+ * recomputed.
+ */
+@Component
+public class MatchupMatrices implements LeagueSnapshotListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchupMatrices.class);
+
+    private final MatchProbabilityModel probabilityModel;
+    private final GenerationCache<MatchupMatrix> cache = new GenerationCache<>(MatchupMatrix::generation);
+
+    public MatchupMatrices(MatchProbabilityModel probabilityModel) {
+        this.probabilityModel = probabilityModel;
+    }
+
+    /** The matrix for exactly this snapshot's generation. */
+    public MatchupMatrix matrixFor(LeagueSnapshot league) {
+        return cache.get(league, this::build);
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        MatchupMatrix latest = cache.latest();
+        MatchupMatrix advanced = latest == null ? null : latest.advance(changes, probabilityModel);
+        if (advanced != null) {
+            cache.offer(advanced);
+            log.info("Carried matchup matrix forward to generation {} ({} players changed).",
+                    advanced.generation(), changes.changed().size());
+            return;
+        }
+        // Another listener may already have asked for this generation's matrix.
+        matrixFor(changes.next());
+    }
+
+    private MatchupMatrix build(LeagueSnapshot league) {
+        long started = System.nanoTime();
+        MatchupMatrix matrix = MatchupMatrix.build(league, probabilityModel);
+        log.info("Built matchup matrix for generation {} ({} pairs) in {} ms.",
+                matrix.generation(), matrix.pairs(), (System.nanoTime() - started) / 1_000_000);
+        return matrix;
+    }
+}
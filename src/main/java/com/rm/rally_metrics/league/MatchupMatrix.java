@@ -0,0 +1,156 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+
+import java.util.stream.IntStream;
+
+/**
+ * Every head-to-head win probability and moneyline for one {@link LeagueSnapshot} generation,
+ * precomputed so a matchup lookup is two array reads.
+ *
+ * <p>A player never plays themselves, so for snapshot indices {@code i < j} the pair lives at
+ * {@code i*n - i*(i+1)/2 + (j-i-1)}, n(n-1)/2 entries in all, stored from {@code i}'s side. The
+ * model is symmetric only up to rounding ({@code 1 - P(B beats A)} can be an ulp off
+ * {@code P(A beats B)}, enough to tip a rounded moneyline), so a lookup from the higher index's
+ * side is recomputed from the skill column instead: one log5, exactly what the scalar model gives
+ * for that order.
+ *
+ * <p>Rows are built in parallel, each by the model's allocation-free
+ * {@link MatchProbabilityModel#matchups pair kernels} over the contiguous skill column.
+ */
+public final class MatchupMatrix {
+
+    /** Largest league whose triangle still fits in one Java array. */
+    static final int MAX_PLAYERS = 46_341;
+
+    private final long generation;
+    private final int size;
+    private final double[] probabilities;
+    private final int[] moneylines;
+    private final double[] skills;
+    private final MatchProbabilityModel model;
+
+    private MatchupMatrix(long generation, int size, double[] probabilities, int[] moneylines,
+                          double[] skills, MatchProbabilityModel model) {
+        this.generation = generation;
+        this.size = size;
+        this.probabilities = probabilities;
+        this.moneylines = moneylines;
+        this.skills = skills;
+        this.model = model;
+    }
+
+    /** Build the full triangle for a snapshot using the model's log5 and vig math. */
+    public static MatchupMatrix build(LeagueSnapshot league, MatchProbabilityModel model) {
+        int n = league.size();
+        if (n > MAX_PLAYERS) {
+            throw new IllegalArgumentException("League too large for a matchup matrix: " + n + " players");
+        }
+        double[] skills = skills(league);
+        double[] p = new double[n * (n - 1) / 2];
+        int[] lines = new int[p.length];
+        IntStream.range(0, n).parallel().forEach(i -> model.matchups(skills[i], skills, i + 1, n, p, lines, offset(n, i)));
+        return new MatchupMatrix(league.generation(), n, p, lines, skills, model);
+    }
+
+    /**
+     * Carry this matrix (built for {@code changes.previous()}) forward to {@code changes.next()}
+     * when the sync left every player at the same standings position: the triangle is copied and
+     * only pairs involving a player whose skill changed are recomputed, O(n) per changed player
+     * instead of O(n²). Returns {@code null} when players were added, removed or reordered, so the
+     * caller builds in full.
+     */
+    public MatchupMatrix advance(LeagueChangeSet changes, MatchProbabilityModel model) {
+        LeagueSnapshot previous = changes.previous();
+        LeagueSnapshot next = changes.next();
+        if (previous == null || previous.generation() != generation
+                || !changes.added().isEmpty() || !changes.removed().isEmpty()) {
+            return null;
+        }
+        for (LeagueChangeSet.PlayerChange change : changes.changed()) {
+            if (change.previousIndex() != change.nextIndex()) {
+                return null;
+            }
+        }
+        double[] p = probabilities.clone();
+        int[] lines = moneylines.clone();
+        MatchupMatrix advanced = new MatchupMatrix(next.generation(), size, p, lines, skills(next), model);
+        for (LeagueChangeSet.PlayerChange change : changes.changed()) {
+            int c = change.nextIndex();
+            if (Double.compare(previous.skill(c), next.skill(c)) == 0) {
+                continue;
+            }
+            for (int other = 0; other < size; other++) {
+                if (other == c) {
+                    continue;
+                }
+                int i = Math.min(c, other);
+                int j = Math.max(c, other);
+                int k = advanced.index(i, j);
+                p[k] = MatchProbabilityModel.log5(next.skill(i), next.skill(j));
+                lines[k] = model.americanOddsWithVig(p[k] >= 0.5 ? p[k] : 1.0 - p[k]);
+            }
+        }
+        return advanced;
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Number of pairs, n(n-1)/2. */
+    public int pairs() {
+        return probabilities.length;
+    }
+
+    /** Probability that the player at snapshot index {@code a} beats the player at index {@code b}. */
+    public double probability(int a, int b) {
+        if (a == b) {
+            return 0.5;
+        }
+        return a < b ? probabilities[index(a, b)] : MatchProbabilityModel.log5(skills[a], skills[b]);
+    }
+
+    /** The predicted winner's vig-adjusted American moneyline for the pair, asked in this order. */
+    public int moneyline(int a, int b) {
+        if (a == b) {
+            throw new IllegalArgumentException("A player has no line against themselves");
+        }
+        if (a < b) {
+            return moneylines[index(a, b)];
+        }
+        double p = MatchProbabilityModel.log5(skills[a], skills[b]);
+        return model.americanOddsWithVig(p >= 0.5 ? p : 1.0 - p);
+    }
+
+    /** The {@code (i, j)} triangle, shared rather than copied; callers must not modify it. */
+    double[] probabilities() {
+        return probabilities;
+    }
+
+    /** The stored moneylines, in the same layout as {@link #probabilities()}; read-only. */
+    int[] moneylines() {
+        return moneylines;
+    }
+
+    private static double[] skills(LeagueSnapshot league) {
+        double[] skills = new double[league.size()];
+        for (int i = 0; i < skills.length; i++) {
+            skills[i] = league.skill(i);
+        }
+        return skills;
+    }
+
+    private int index(int i, int j) {
+        return offset(size, i) + (j - i - 1);
+    }
+
+    /** Position of row {@code i}'s first entry (the pair {@code (i, i+1)}). */
+    private static int offset(int n, int i) {
+        return i * n - i * (i + 1) / 2;
+    }
+}
@@ -0,0 +1,38 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The whole {@link MatchupMatrix} for one generation, served at
+ * {@code GET /api/v1/league/matchups} for clients that price many pairs offline.
+ *
+ * <p>Serialized snake_case. {@code players} lists names in snapshot (standings) order; the two
+ * arrays hold the strict upper triangle row by row, so the pair {@code (i, j)} with {@code i < j}
+ * is at {@code i*n - i*(i+1)/2 + (j-i-1)}. {@code probabilities} is the chance that player
+ * {@code i} beats player {@code j}; {@code moneylines} is the predicted winner's vig-adjusted line.
+ * Being almost all numbers, it is the endpoint that gains most from Smile or CBOR.
+ */
+public record MatchupMatrixExport(
+        long generation,
+        String modelVersion,
+        List<String> players,
+        double[] probabilities,
+        int[] moneylines) {
+
+    /** A view over the matrix's own arrays (not copied), for serialization only. */
+    static MatchupMatrixExport of(LeagueSnapshot league, MatchupMatrix matrix) {
+        if (league.generation() != matrix.generation()) {
+            throw new IllegalArgumentException("Matrix is for generation " + matrix.generation()
+                    + ", not " + league.generation());
+        }
+        List<String> names = new ArrayList<>(league.size());
+        for (int i = 0; i < league.size(); i++) {
+            names.add(league.name(i));
+        }
+        return new MatchupMatrixExport(matrix.generation(), MatchProbabilityModel.MODEL_VERSION, names,
+                matrix.probabilities(), matrix.moneylines());
+    }
+}
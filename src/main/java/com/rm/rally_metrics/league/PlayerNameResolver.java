@@ -0,0 +1,232 @@
+package com.rm.rally_metrics.league;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves what a user typed ("ben johns ", "Anna Leigh Waters" without the accent, a nickname)
+ * to a player of one {@link LeagueSnapshot} generation, or failing that to ranked suggestions.
+ *
+ * <p>Names and configured aliases are normalized once ({@link #normalize}): folded like search
+ * (case, diacritics), punctuation dropped, whitespace collapsed. A normalized hit is a hash
+ * lookup. Otherwise candidates within a small Levenshtein distance {@code k} are found by
+ * bigram counting. One edit destroys at most two of a string's bigrams, so a key within
+ * {@code k} edits shares at least {@code q - 2k} of the query's {@code q} bigrams (counted with
+ * multiplicity). Only keys that pass that count and the length bound get a banded edit-distance
+ * check, which stops as soon as a row exceeds {@code k}.
+ *
+ * <p>The same argument is the negative filter. A query with more than {@code 2k} bigrams that
+ * occur in no key cannot be within {@code k} edits of anything, so it is rejected before any
+ * counting.
+ */
+public final class PlayerNameResolver {
+
+    /** Returned by {@link #resolve} when the query does not pin down one player. */
+    public static final int NOT_FOUND = -1;
+
+    private static final Pattern PUNCTUATION = Pattern.compile("[\\p{P}\\p{S}]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    /** A suggested player: snapshot index and edit distance from the query. */
+    public record Candidate(int index, int distance) {
+    }
+
+    private final long generation;
+    private final Map<String, Integer> exact;
+    private final String[] keys;
+    private final int[] players;
+    private final Map<Long, int[]> postings;
+
+    private PlayerNameResolver(long generation, Map<String, Integer> exact, String[] keys, int[] players,
+                               Map<Long, int[]> postings) {
+        this.generation = generation;
+        this.exact = exact;
+        this.keys = keys;
+        this.players = players;
+        this.postings = postings;
+    }
+
+    /**
+     * @param aliases alternative names mapped to a player's exact name; aliases for players not
+     *                in this snapshot are ignored, and a real name always wins over an alias
+     */
+    public static PlayerNameResolver build(LeagueSnapshot league, Map<String, String> aliases) {
+        Map<String, Integer> exact = new HashMap<>();
+        for (int i = 0; i < league.size(); i++) {
+            String key = normalize(league.name(i));
+            if (!key.isEmpty()) {
+                exact.putIfAbsent(key, i); // same normalized name twice: the better-ranked player
+            }
+        }
+        aliases.forEach((alias, name) -> {
+            int i = league.indexOf(name);
+            String key = normalize(alias);
+            if (i >= 0 && !key.isEmpty()) {
+                exact.putIfAbsent(key, i);
+            }
+        });
+
+        String[] keys = exact.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        int[] players = new int[keys.length];
+        Map<Long, List<Integer>> lists = new HashMap<>();
+        for (int id = 0; id < keys.length; id++) {
+            players[id] = exact.get(keys[id]);
+            for (long gram : bigrams(keys[id])) {
+                lists.computeIfAbsent(gram, g -> new ArrayList<>()).add(id);
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new PlayerNameResolver(league.generation(), exact, keys, players, postings);
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * The snapshot index the query names: an exact normalized name or alias, or else the single
+     * closest name when it is one edit away (for queries of five or more characters). Otherwise
+     * {@link #NOT_FOUND}.
+     */
+    public int resolve(String query) {
+        String key = normalize(query);
+        Integer hit = exact.get(key);
+        if (hit != null) {
+            return hit;
+        }
+        if (key.length() < 5) {
+            return NOT_FOUND;
+        }
+        List<Candidate> close = within(key, 1);
+        return close.size() == 1 ? close.get(0).index() : NOT_FOUND;
+    }
+
+    /**
+     * Players whose name or alias is within a length-scaled edit distance of the query (1 edit up
+     * to 4 characters, 2 up to 8, then 3), closest first, ties by standings, at most {@code limit}.
+     */
+    public List<Candidate> suggest(String query, int limit) {
+        String key = normalize(query);
+        int maxEdits = key.length() <= 4 ? 1 : key.length() <= 8 ? 2 : 3;
+        List<Candidate> found = within(key, maxEdits);
+        return found.size() <= limit ? found : List.copyOf(found.subList(0, limit));
+    }
+
+    /** Folded (see {@link PlayerSearchIndex#fold}), punctuation-free, single-spaced. */
+    public static String normalize(String s) {
+        String folded = PUNCTUATION.matcher(PlayerSearchIndex.fold(s)).replaceAll(" ");
+        return SPACES.matcher(folded).replaceAll(" ").trim();
+    }
+
+    /** Every key within {@code maxEdits}, one candidate per player, closest and best-ranked first. */
+    private List<Candidate> within(String key, int maxEdits) {
+        if (key.isEmpty() || keys.length == 0) {
+            return List.of();
+        }
+        long[] grams = bigrams(key);
+        int required = grams.length - 2 * maxEdits;
+        int[][] lists = new int[grams.length][];
+        int unknown = 0;
+        for (int g = 0; g < grams.length; g++) {
+            lists[g] = postings.get(grams[g]);
+            if (lists[g] == null) {
+                unknown++;
+            }
+        }
+        if (unknown > 2 * maxEdits) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> best = new HashMap<>();
+        if (required <= 0) {
+            // Too short for the bigram bound to exclude anything: check every key of a fitting length.
+            for (int id = 0; id < keys.length; id++) {
+                check(key, id, maxEdits, best);
+            }
+        } else {
+            int[] shared = new int[keys.length];
+            for (int[] ids : lists) {
+                if (ids == null) {
+                    continue;
+                }
+                for (int id : ids) {
+                    if (++shared[id] == required) {
+                        check(key, id, maxEdits, best);
+                    }
+                }
+            }
+        }
+        List<Candidate> found = new ArrayList<>(best.size());
+        best.forEach((player, d) -> found.add(new Candidate(player, d)));
+        found.sort(Comparator.comparingInt(Candidate::distance).thenComparingInt(Candidate::index));
+        return found;
+    }
+
+    private void check(String query, int id, int maxEdits, Map<Integer, Integer> best) {
+        if (Math.abs(keys[id].length() - query.length()) > maxEdits) {
+            return;
+        }
+        int d = boundedLevenshtein(query, keys[id], maxEdits);
+        if (d <= maxEdits) {
+            best.merge(players[id], d, Math::min);
+        }
+    }
+
+    /**
+     * The bigrams of {@code s}, each tagged with how many times it occurred before, so that
+     * counting shared tags counts shared bigrams with multiplicity.
+     */
+    private static long[] bigrams(String s) {
+        long[] grams = new long[Math.max(0, s.length() - 1)];
+        Map<Integer, Integer> seen = new HashMap<>();
+        for (int k = 0; k < grams.length; k++) {
+            int gram = s.charAt(k) << 16 | s.charAt(k + 1);
+            grams[k] = (long) seen.merge(gram, 1, Integer::sum) << 32 | (gram & 0xFFFF_FFFFL);
+        }
+        return grams;
+    }
+
+    /**
+     * Levenshtein distance if it is at most {@code max}, else {@code max + 1}. Only the diagonal
+     * band of width {@code 2*max+1} is filled, and it stops once a whole row exceeds {@code max}.
+     */
+    static int boundedLevenshtein(String a, String b, int max) {
+        int n = b.length();
+        int over = max + 1;
+        int[] prev = new int[n + 1];
+        int[] cur = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            prev[j] = j <= max ? j : over;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(n, i + max);
+            cur[from - 1] = from == 1 && i <= max ? i : over;
+            char ca = a.charAt(i - 1);
+            int rowMin = cur[from - 1];
+            for (int j = from; j <= to; j++) {
+                int substitution = prev[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                int v = Math.min(substitution, Math.min(prev[j], cur[j - 1]) + 1);
+                cur[j] = Math.min(v, over);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (to < n) {
+                cur[to + 1] = over;
+            }
+            if (rowMin > max) {
+                return over;
+            }
+            int[] swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        return prev[n];
+    }
+}
@@ -0,0 +1,58 @@
+package com.rm.rally_metrics.league;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rebuilds the {@link PlayerNameResolver} for each new snapshot generation during the sync.
+ *
+ * <p>Aliases come from {@code rally.players.aliases} (env: {@code RALLY_PLAYERS_ALIASES}), a
+ * comma-separated list of {@code alias=Exact Player Name} pairs, e.g.
+ * {@code ALW=Anna Leigh Waters,Benny=Ben Johns}.
+ */
+@Component
+public class PlayerNameResolvers implements LeagueSnapshotListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerNameResolvers.class);
+
+    private final Map<String, String> aliases;
+    private final GenerationCache<PlayerNameResolver> cache = new GenerationCache<>(PlayerNameResolver::generation);
+
+    public PlayerNameResolvers(@Value("${rally.players.aliases:}") String aliases) {
+        this.aliases = parseAliases(aliases);
+    }
+
+    /** The resolver for exactly this snapshot's generation. */
+    public PlayerNameResolver resolverFor(LeagueSnapshot league) {
+        return cache.get(league, l -> PlayerNameResolver.build(l, aliases));
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        resolverFor(changes.next());
+    }
+
+    static Map<String, String> parseAliases(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return Map.of();
+        }
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String pair : spec.split(",")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0 || eq == pair.length() - 1) {
+                if (!pair.isBlank()) {
+                    log.warn("Ignoring malformed player alias '{}' (expected alias=Player Name).", pair.trim());
+                }
+                continue;
+            }
+            parsed.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+}
@@ -0,0 +1,252 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.DraftTier;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Per-column sorted indexes over one {@link LeagueSnapshot} generation, answering stat screens
+ * ("games won % between 55 and 70, skill rating 80+, sorted by points won % then skill") without
+ * scanning or boxing rows.
+ *
+ * <p>Each {@link Column} keeps its values in ascending order next to the player positions that
+ * hold them, plus every player's dense rank in that order. A range is two binary searches whose
+ * span is set into a {@link BitSet}; ranges, tiers and the team filter are intersected with
+ * {@link BitSet#and}. Matches are sorted by packing the per-key ranks and the standings position
+ * into one {@code long} and sorting primitives, falling back to a comparator over the same ranks
+ * when the keys do not fit in 63 bits.
+ *
+ * <p>Missing values never match a range and sort last in either direction.
+ */
+public final class PlayerScreenIndex {
+
+    /** The screenable columns, under the snake_case names the API uses. */
+    public enum Column {
+        RANK("rank"),
+        GAMES_PLAYED("games_played"),
+        GAMES_WON_PERCENT("games_won_percent"),
+        PTS_WON_PERCENT("pts_won_percent"),
+        SKILL_RATING("skill_rating"),
+        /** {@link DraftTier} ordinal, so {@link DraftTier#STRONG_DRAFT} is 0. */
+        DRAFT_TIER("draft_tier");
+
+        private final String jsonName;
+
+        Column(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        public String jsonName() {
+            return jsonName;
+        }
+    }
+
+    /** Inclusive bounds on one column; use infinities for an open end. */
+    public record Range(Column column, double min, double max) {
+    }
+
+    public record SortKey(Column column, boolean descending) {
+    }
+
+    private final long generation;
+    private final int size;
+    private final ColumnIndex[] columns;
+
+    private PlayerScreenIndex(long generation, int size, ColumnIndex[] columns) {
+        this.generation = generation;
+        this.size = size;
+        this.columns = columns;
+    }
+
+    public static PlayerScreenIndex build(LeagueSnapshot league, MatchProbabilityModel model) {
+        int n = league.size();
+        double[][] raw = new double[Column.values().length][n];
+        for (int i = 0; i < n; i++) {
+            Integer rank = league.player(i).getRank();
+            Double gamesWonPercent = league.player(i).getGamesWonPercent();
+            Double ptsWonPercent = league.player(i).getPtsWonPercent();
+            raw[Column.RANK.ordinal()][i] = rank == null ? Double.NaN : rank;
+            raw[Column.GAMES_PLAYED.ordinal()][i] = league.stats(i).gamesWon() + league.stats(i).gamesLost();
+            raw[Column.GAMES_WON_PERCENT.ordinal()][i] = gamesWonPercent == null ? Double.NaN : gamesWonPercent;
+            raw[Column.PTS_WON_PERCENT.ordinal()][i] = ptsWonPercent == null ? Double.NaN : ptsWonPercent;
+            raw[Column.SKILL_RATING.ordinal()][i] = model.skillRating(league.skill(i));
+            raw[Column.DRAFT_TIER.ordinal()][i] = model.draftTier(league.skill(i)).ordinal();
+        }
+        ColumnIndex[] columns = new ColumnIndex[raw.length];
+        for (int c = 0; c < raw.length; c++) {
+            columns[c] = ColumnIndex.of(raw[c]);
+        }
+        return new PlayerScreenIndex(league.generation(), n, columns);
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Snapshot positions of every player inside all {@code ranges}, in one of {@code tiers} (all
+     * tiers when empty) and among {@code candidates} (everyone when null), ordered by {@code sort}
+     * with standings order breaking ties.
+     */
+    public int[] screen(List<Range> ranges, Set<DraftTier> tiers, int[] candidates, List<SortKey> sort) {
+        BitSet matched = new BitSet(size);
+        if (candidates == null) {
+            matched.set(0, size);
+        } else {
+            for (int i : candidates) {
+                matched.set(i);
+            }
+        }
+        List<Range> narrowestFirst = new ArrayList<>(ranges);
+        narrowestFirst.sort(Comparator.comparingInt(r -> index(r.column()).count(r.min(), r.max())));
+        for (Range range : narrowestFirst) {
+            if (matched.isEmpty()) {
+                break;
+            }
+            matched.and(index(range.column()).between(range.min(), range.max()));
+        }
+        if (!tiers.isEmpty() && !matched.isEmpty()) {
+            BitSet inTiers = new BitSet(size);
+            for (DraftTier tier : tiers) {
+                inTiers.or(index(Column.DRAFT_TIER).between(tier.ordinal(), tier.ordinal()));
+            }
+            matched.and(inTiers);
+        }
+
+        int[] result = matched.stream().toArray(); // standings order
+        return sort.isEmpty() ? result : sorted(result, sort);
+    }
+
+    private int[] sorted(int[] positions, List<SortKey> sort) {
+        int bits = 64 - Long.numberOfLeadingZeros(size);
+        if (bits * (sort.size() + 1) > 63) {
+            Integer[] boxed = Arrays.stream(positions).boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, (a, b) -> {
+                for (SortKey key : sort) {
+                    int c = Integer.compare(sortRank(key, a), sortRank(key, b));
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return Integer.compare(a, b);
+            });
+            return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+        }
+        long[] packed = new long[positions.length];
+        for (int k = 0; k < positions.length; k++) {
+            long key = 0;
+            for (SortKey sortKey : sort) {
+                key = key << bits | sortRank(sortKey, positions[k]);
+            }
+            packed[k] = key << bits | positions[k];
+        }
+        Arrays.sort(packed);
+        long mask = (1L << bits) - 1;
+        int[] result = new int[positions.length];
+        for (int k = 0; k < packed.length; k++) {
+            result[k] = (int) (packed[k] & mask);
+        }
+        return result;
+    }
+
+    /** Ascending rank of a player under one sort key, missing values last either way. */
+    private int sortRank(SortKey key, int position) {
+        ColumnIndex column = index(key.column());
+        int rank = column.denseRank[position];
+        if (rank == ColumnIndex.MISSING) {
+            return column.distinct;
+        }
+        return key.descending() ? column.distinct - 1 - rank : rank;
+    }
+
+    private ColumnIndex index(Column column) {
+        return columns[column.ordinal()];
+    }
+
+    /** One column: values ascending (missing excluded), their positions, and each position's dense rank. */
+    private static final class ColumnIndex {
+
+        static final int MISSING = -1;
+
+        private final double[] values;
+        private final int[] positions;
+        private final int[] denseRank;
+        private final int distinct;
+
+        private ColumnIndex(double[] values, int[] positions, int[] denseRank, int distinct) {
+            this.values = values;
+            this.positions = positions;
+            this.denseRank = denseRank;
+            this.distinct = distinct;
+        }
+
+        static ColumnIndex of(double[] raw) {
+            int[] order = IntStream.range(0, raw.length)
+                    .filter(i -> !Double.isNaN(raw[i]))
+                    .boxed()
+                    .sorted(Comparator.comparingDouble((Integer i) -> raw[i]).thenComparingInt(i -> i))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            double[] values = new double[order.length];
+            int[] denseRank = new int[raw.length];
+            Arrays.fill(denseRank, MISSING);
+            int distinct = 0;
+            for (int k = 0; k < order.length; k++) {
+                values[k] = raw[order[k]];
+                if (k > 0 && values[k] != values[k - 1]) {
+                    distinct++;
+                }
+                denseRank[order[k]] = distinct;
+            }
+            return new ColumnIndex(values, order, denseRank, order.length == 0 ? 0 : distinct + 1);
+        }
+
+        /** Positions with a value in [min, max]. */
+        BitSet between(double min, double max) {
+            BitSet bits = new BitSet(denseRank.length);
+            for (int k = firstAtLeast(min), end = firstAbove(max); k < end; k++) {
+                bits.set(positions[k]);
+            }
+            return bits;
+        }
+
+        int count(double min, double max) {
+            return Math.max(0, firstAbove(max) - firstAtLeast(min));
+        }
+
+        private int firstAtLeast(double v) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < v) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int firstAbove(double v) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] <= v) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the {@link PlayerScreenIndex} for each new snapshot generation during the sync.
+ */
+@Component
+public class PlayerScreenIndexes implements LeagueSnapshotListener {
+
+    private final MatchProbabilityModel probabilityModel;
+    private final GenerationCache<PlayerScreenIndex> cache = new GenerationCache<>(PlayerScreenIndex::generation);
+
+    public PlayerScreenIndexes(MatchProbabilityModel probabilityModel) {
+        this.probabilityModel = probabilityModel;
+    }
+
+    /** The screen index for exactly this snapshot's generation. */
+    public PlayerScreenIndex indexFor(LeagueSnapshot league) {
+        return cache.get(league, l -> PlayerScreenIndex.build(l, probabilityModel));
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        indexFor(changes.next());
+    }
+}
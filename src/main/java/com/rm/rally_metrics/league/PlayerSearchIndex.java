@@ -0,0 +1,188 @@
+package com.rm.rally_metrics.league;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Case- and accent-insensitive substring search over player names and teams for one
+ * {@link LeagueSnapshot} generation.
+ *
+ * <p>Names and teams are folded once (lower case, diacritics stripped) and every trigram of each
+ * is posted to a sorted list of snapshot indices. A query of three or more characters intersects
+ * the postings of its own trigrams, shortest list first, and only checks the few survivors with a
+ * real {@code contains}; shorter queries scan the folded columns directly. Either way the database
+ * is never involved.
+ *
+ * <p>Hits are ranked by how they matched, best first: the name starts with the query, a word of
+ * the name does, the team (or a word of it) does, and finally any other substring. Ties keep
+ * snapshot order, which is by rank.
+ */
+public final class PlayerSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int[] NONE = new int[0];
+
+    /** How a hit matched, best first. */
+    public enum Match {
+        NAME_PREFIX,
+        NAME_WORD_PREFIX,
+        TEAM_PREFIX,
+        NAME_SUBSTRING,
+        TEAM_SUBSTRING
+    }
+
+    /** One search result: a snapshot index and how it matched. */
+    public record Hit(int index, Match match) {
+    }
+
+    private final long generation;
+    private final String[] names;
+    private final String[] teams;
+    private final Map<Long, int[]> postings;
+
+    private PlayerSearchIndex(long generation, String[] names, String[] teams, Map<Long, int[]> postings) {
+        this.generation = generation;
+        this.names = names;
+        this.teams = teams;
+        this.postings = postings;
+    }
+
+    public static PlayerSearchIndex build(LeagueSnapshot league) {
+        int n = league.size();
+        String[] names = new String[n];
+        String[] teams = new String[n];
+        Map<Long, List<Integer>> lists = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            names[i] = fold(league.name(i));
+            teams[i] = fold(league.team(i));
+            post(lists, names[i], i);
+            post(lists, teams[i], i);
+        }
+        Map<Long, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new PlayerSearchIndex(league.generation(), names, teams, postings);
+    }
+
+    /** Lower-case, accent-free, trimmed form used on both sides of every comparison. */
+    public static String fold(String s) {
+        if (s == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(s.trim(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Up to {@code limit} hits for {@code query}, best first. A blank query matches every player,
+     * in rank order.
+     */
+    public List<Hit> search(String query, int limit) {
+        String q = fold(query);
+        List<Hit> hits = new ArrayList<>();
+        if (q.length() < 3) {
+            for (int i = 0; i < names.length; i++) {
+                addIfMatches(hits, i, q);
+            }
+        } else {
+            for (int i : candidates(q)) {
+                addIfMatches(hits, i, q);
+            }
+        }
+        hits.sort(Comparator.comparing(Hit::match).thenComparingInt(Hit::index));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    private void addIfMatches(List<Hit> hits, int i, String q) {
+        Match match = match(names[i], teams[i], q);
+        if (match != null) {
+            hits.add(new Hit(i, match));
+        }
+    }
+
+    private static Match match(String name, String team, String q) {
+        if (name.startsWith(q)) {
+            return Match.NAME_PREFIX;
+        }
+        if (wordStartsWith(name, q)) {
+            return Match.NAME_WORD_PREFIX;
+        }
+        if (team.startsWith(q) || wordStartsWith(team, q)) {
+            return Match.TEAM_PREFIX;
+        }
+        if (name.contains(q)) {
+            return Match.NAME_SUBSTRING;
+        }
+        if (team.contains(q)) {
+            return Match.TEAM_SUBSTRING;
+        }
+        return null;
+    }
+
+    private static boolean wordStartsWith(String field, String q) {
+        for (int at = field.indexOf(' '); at >= 0; at = field.indexOf(' ', at + 1)) {
+            if (field.startsWith(q, at + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Indices whose name or team contains every trigram of {@code q}, ascending. */
+    private int[] candidates(String q) {
+        int grams = q.length() - 2;
+        int[][] lists = new int[grams][];
+        for (int k = 0; k < grams; k++) {
+            int[] ids = postings.get(gram(q, k));
+            if (ids == null) {
+                return NONE;
+            }
+            lists[k] = ids;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(ids -> ids.length));
+        int[] result = lists[0];
+        for (int k = 1; k < lists.length && result.length > 0; k++) {
+            result = intersect(result, lists[k]);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] small, int[] large) {
+        int[] out = new int[small.length];
+        int count = 0;
+        int from = 0;
+        for (int id : small) {
+            int at = Arrays.binarySearch(large, from, large.length, id);
+            if (at >= 0) {
+                out[count++] = id;
+                from = at + 1;
+            } else {
+                from = -at - 1;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    private static void post(Map<Long, List<Integer>> lists, String field, int i) {
+        for (int k = 0; k + 3 <= field.length(); k++) {
+            List<Integer> ids = lists.computeIfAbsent(gram(field, k), g -> new ArrayList<>());
+            if (ids.isEmpty() || ids.get(ids.size() - 1) != i) {
+                ids.add(i);
+            }
+        }
+    }
+
+    private static long gram(String s, int k) {
+        return ((long) s.charAt(k) << 32) | ((long) s.charAt(k + 1) << 16) | s.charAt(k + 2);
+    }
+}
@@ -0,0 +1,22 @@
+package com.rm.rally_metrics.league;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the {@link PlayerSearchIndex} for each new snapshot generation during the sync.
+ */
+@Component
+public class PlayerSearchIndexes implements LeagueSnapshotListener {
+
+    private final GenerationCache<PlayerSearchIndex> cache = new GenerationCache<>(PlayerSearchIndex::generation);
+
+    /** The search index for exactly this snapshot's generation. */
+    public PlayerSearchIndex indexFor(LeagueSnapshot league) {
+        return cache.get(league, PlayerSearchIndex::build);
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        indexFor(changes.next());
+    }
+}
@@ -0,0 +1,150 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.DraftTier;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.prediction.PlayerStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * "Players most like X" over one {@link LeagueSnapshot} generation: exact k-nearest neighbors
+ * in a standardized stat-profile space, for draft replacements.
+ *
+ * <p>Each player is a point of {@link #FEATURES} features: game win rate, Pythagorean point
+ * expectation, point differential per game, sample size ({@code log1p} of games played) and model
+ * skill. Each feature is z-scored across the league so no single unit dominates the Euclidean
+ * distance. The features are stored column by column in contiguous {@code float} arrays, so one
+ * query is a single branch-free pass over the league that the JIT can vectorize, followed by a
+ * bounded top-k selection. At a few thousand players a brute-force pass beats a KD-tree, and it
+ * stays exact with team and tier filters.
+ */
+public final class SimilarPlayerIndex {
+
+    /** Feature count per player. */
+    static final int FEATURES = 5;
+
+    /** A neighbor: snapshot position and Euclidean distance in standardized feature space. */
+    public record Neighbor(int index, double distance) {
+    }
+
+    private final long generation;
+    private final int size;
+    private final float[][] columns;
+    private final byte[] tierOrdinals;
+
+    private SimilarPlayerIndex(long generation, int size, float[][] columns, byte[] tierOrdinals) {
+        this.generation = generation;
+        this.size = size;
+        this.columns = columns;
+        this.tierOrdinals = tierOrdinals;
+    }
+
+    public static SimilarPlayerIndex build(LeagueSnapshot league, MatchProbabilityModel model) {
+        int n = league.size();
+        double[][] raw = new double[FEATURES][n];
+        byte[] tiers = new byte[n];
+        for (int i = 0; i < n; i++) {
+            PlayerStats s = league.stats(i);
+            int games = s.games();
+            raw[0][i] = games == 0 ? 0.0 : (double) s.gamesWon() / games;
+            raw[1][i] = MatchProbabilityModel.pythagoreanExpectation(s);
+            raw[2][i] = games == 0 ? 0.0 : (double) (s.pointsWon() - s.pointsLost()) / games;
+            raw[3][i] = Math.log1p(games);
+            raw[4][i] = league.skill(i);
+            tiers[i] = (byte) model.draftTier(league.skill(i)).ordinal();
+        }
+        float[][] columns = new float[FEATURES][];
+        for (int f = 0; f < FEATURES; f++) {
+            columns[f] = standardize(raw[f]);
+        }
+        return new SimilarPlayerIndex(league.generation(), n, columns, tiers);
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Up to {@code k} players nearest to the player at {@code index} (never the player itself),
+     * closest first and ties in standings order. Restricted to {@code candidates} when non-null
+     * (e.g. one team's positions), and to {@code tiers} when non-empty.
+     */
+    public List<Neighbor> nearest(int index, int k, int[] candidates, Set<DraftTier> tiers) {
+        if (k <= 0) {
+            return List.of();
+        }
+        float[] distances = distancesFrom(index);
+        int tierMask = 0;
+        for (DraftTier tier : tiers) {
+            tierMask |= 1 << tier.ordinal();
+        }
+
+        int[] best = new int[k];
+        float[] bestDistance = new float[k];
+        int found = 0;
+        int count = candidates == null ? size : candidates.length;
+        for (int c = 0; c < count; c++) {
+            int i = candidates == null ? c : candidates[c];
+            if (i == index || (tierMask != 0 && (tierMask & 1 << tierOrdinals[i]) == 0)) {
+                continue;
+            }
+            float d = distances[i];
+            if (found == k && !closer(d, i, bestDistance[k - 1], best[k - 1])) {
+                continue;
+            }
+            int slot = found < k ? found++ : k - 1;
+            while (slot > 0 && closer(d, i, bestDistance[slot - 1], best[slot - 1])) {
+                best[slot] = best[slot - 1];
+                bestDistance[slot] = bestDistance[slot - 1];
+                slot--;
+            }
+            best[slot] = i;
+            bestDistance[slot] = d;
+        }
+
+        List<Neighbor> neighbors = new ArrayList<>(found);
+        for (int r = 0; r < found; r++) {
+            neighbors.add(new Neighbor(best[r], Math.sqrt(bestDistance[r])));
+        }
+        return neighbors;
+    }
+
+    /** Squared distance from one player to every player, one column at a time. */
+    private float[] distancesFrom(int index) {
+        float[] distances = new float[size];
+        for (float[] column : columns) {
+            float q = column[index];
+            for (int i = 0; i < size; i++) {
+                float delta = column[i] - q;
+                distances[i] += delta * delta;
+            }
+        }
+        return distances;
+    }
+
+    private static boolean closer(float d, int i, float otherD, int other) {
+        return d < otherD || (d == otherD && i < other);
+    }
+
+    /** Z-scores; a constant column becomes all zeros rather than NaN. */
+    private static float[] standardize(double[] values) {
+        int n = values.length;
+        double mean = 0.0;
+        for (double v : values) {
+            mean += v;
+        }
+        mean = n == 0 ? 0.0 : mean / n;
+        double variance = 0.0;
+        for (double v : values) {
+            variance += (v - mean) * (v - mean);
+        }
+        double sd = n == 0 ? 0.0 : Math.sqrt(variance / n);
+        float[] z = new float[n];
+        for (int i = 0; i < n; i++) {
+            z[i] = sd == 0.0 ? 0.0f : (float) ((values[i] - mean) / sd);
+        }
+        return z;
+    }
+}
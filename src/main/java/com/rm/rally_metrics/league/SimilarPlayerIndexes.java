@@ -0,0 +1,28 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the {@link SimilarPlayerIndex} for each new snapshot generation during the sync.
+ */
+@Component
+public class SimilarPlayerIndexes implements LeagueSnapshotListener {
+
+    private final MatchProbabilityModel probabilityModel;
+    private final GenerationCache<SimilarPlayerIndex> cache = new GenerationCache<>(SimilarPlayerIndex::generation);
+
+    public SimilarPlayerIndexes(MatchProbabilityModel probabilityModel) {
+        this.probabilityModel = probabilityModel;
+    }
+
+    /** The similarity index for exactly this snapshot's generation. */
+    public SimilarPlayerIndex indexFor(LeagueSnapshot league) {
+        return cache.get(league, l -> SimilarPlayerIndex.build(l, probabilityModel));
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        indexFor(changes.next());
+    }
+}
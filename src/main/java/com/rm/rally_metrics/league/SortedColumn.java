@@ -0,0 +1,136 @@
+package com.rm.rally_metrics.league;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * An immutable, ascending column of player values labelled by player name, answering rank and
+ * percentile questions with a binary search.
+ *
+ * <p>Ties are ordered by name <em>descending</em>, so walking the column from the top down yields
+ * the familiar "best first, then alphabetical" order. {@link #withChanges} rebuilds the column
+ * from a few changed entries with one linear merge instead of re-sorting the whole league.
+ */
+final class SortedColumn {
+
+    private final double[] values;
+    private final String[] labels;
+
+    private SortedColumn(double[] values, String[] labels) {
+        this.values = values;
+        this.labels = labels;
+    }
+
+    static SortedColumn of(double[] values, String[] labels) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> compare(values[x], labels[x], values[y], labels[y]));
+        double[] v = new double[order.length];
+        String[] l = new String[order.length];
+        for (int k = 0; k < order.length; k++) {
+            v[k] = values[order[k]];
+            l[k] = labels[order[k]];
+        }
+        return new SortedColumn(v, l);
+    }
+
+    /**
+     * A copy with every entry labelled in {@code removed} dropped and the given entries added.
+     * Costs one pass over the column plus a sort of the additions.
+     */
+    SortedColumn withChanges(Set<String> removed, double[] addedValues, String[] addedLabels) {
+        SortedColumn added = of(addedValues, addedLabels);
+        double[] v = new double[values.length - countLabelled(removed) + added.size()];
+        String[] l = new String[v.length];
+        int k = 0;
+        int a = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (removed.contains(labels[i])) {
+                continue;
+            }
+            while (a < added.size() && compare(added.values[a], added.labels[a], values[i], labels[i]) < 0) {
+                v[k] = added.values[a];
+                l[k++] = added.labels[a++];
+            }
+            v[k] = values[i];
+            l[k++] = labels[i];
+        }
+        while (a < added.size()) {
+            v[k] = added.values[a];
+            l[k++] = added.labels[a++];
+        }
+        return new SortedColumn(v, l);
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    /** The k-th smallest value (0-based). */
+    double value(int k) {
+        return values[k];
+    }
+
+    /** The label of the k-th smallest value (0-based). */
+    String label(int k) {
+        return labels[k];
+    }
+
+    /** Number of entries strictly below {@code v}. */
+    int countBelow(double v) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < v) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Number of entries strictly above {@code v}. */
+    int countAbove(double v) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= v) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return values.length - lo;
+    }
+
+    /** Linearly interpolated quantile for {@code p} in [0,1]; 0 for an empty column. */
+    double quantile(double p) {
+        if (values.length == 0) {
+            return 0.0;
+        }
+        double h = (values.length - 1) * p;
+        int lo = (int) Math.floor(h);
+        int hi = Math.min(lo + 1, values.length - 1);
+        return values[lo] + (h - lo) * (values[hi] - values[lo]);
+    }
+
+    private int countLabelled(Set<String> removed) {
+        int n = 0;
+        for (String label : labels) {
+            if (removed.contains(label)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static int compare(double va, String la, double vb, String lb) {
+        int c = Double.compare(va, vb);
+        return c != 0 ? c : lb.compareTo(la);
+    }
+}
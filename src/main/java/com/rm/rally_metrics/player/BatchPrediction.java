@@ -0,0 +1,18 @@
+package com.rm.rally_metrics.player;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rm.rally_metrics.ai.MatchPrediction;
+
+/**
+ * One NDJSON line of a batch prediction response. Exactly one of {@code prediction} and
+ * {@code error} is present, so a bad pair (unknown player, missing name), or one whose prediction
+ * failed, is reported in place without failing the rest of the batch.
+ *
+ * @param index      position of the pair in the request
+ * @param prediction the prediction; {@code scouting_*}/{@code reasoning} are null unless the
+ *                   request asked for narratives
+ * @param error      why this pair could not be priced
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchPrediction(int index, String playerA, String playerB, MatchPrediction prediction, String error) {
+}
@@ -0,0 +1,22 @@
+package com.rm.rally_metrics.player;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/v1/player/predict/batch}.
+ *
+ * <p>Read snake_case like every other payload ({@code pairs}, {@code include_narrative}); each pair
+ * takes {@code player_a}/{@code player_b}, or the {@code playerA}/{@code playerB} spelling that
+ * {@code /predict} accepts.
+ *
+ * @param pairs            the matchups to price, answered in the same order
+ * @param includeNarrative whether to run the scout/analyst/critic pipeline per pair (off by
+ *                         default, so bulk callers only get the deterministic numbers)
+ */
+public record BatchPredictionRequest(List<Pair> pairs, boolean includeNarrative) {
+
+    public record Pair(@JsonAlias("playerA") String playerA, @JsonAlias("playerB") String playerB) {
+    }
+}
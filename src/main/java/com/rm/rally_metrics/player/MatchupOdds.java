@@ -0,0 +1,24 @@
+package com.rm.rally_metrics.player;
+
+import com.rm.rally_metrics.prediction.KeyFactor;
+
+import java.util.List;
+
+/**
+ * The deterministic half of a match prediction, served at {@code GET /api/v1/player/matchup}
+ * straight from the precomputed matchup matrix — no scouting, no narrative, no LLM call.
+ *
+ * <p>Serialized snake_case: {@code player_a}, {@code player_b}, {@code winner_name},
+ * {@code win_probability}, {@code moneyline_odds}, {@code confidence}, {@code model_version},
+ * {@code key_factors}. The numbers match those of {@code POST /predict} for the same pair.
+ */
+public record MatchupOdds(
+        String playerA,
+        String playerB,
+        String winnerName,
+        double winProbability,
+        int moneylineOdds,
+        String confidence,
+        String modelVersion,
+        List<KeyFactor> keyFactors) {
+}
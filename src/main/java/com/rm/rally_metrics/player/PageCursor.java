@@ -0,0 +1,33 @@
+package com.rm.rally_metrics.player;
+
+import com.rm.rally_metrics.error.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position for player pagination: the (rank, name) of the last row served. Opaque to
+ * clients (URL-safe Base64), and independent of snapshot positions, so a page boundary stays
+ * correct when a sync adds or removes players between requests.
+ */
+record PageCursor(Integer rank, String name) {
+
+    String encode() {
+        String raw = (rank == null ? "" : rank.toString()) + ":" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("no separator");
+            }
+            String rank = raw.substring(0, colon);
+            return new PageCursor(rank.isEmpty() ? null : Integer.valueOf(rank), raw.substring(colon + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+}
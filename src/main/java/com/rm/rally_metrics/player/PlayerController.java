@@ -1,45 +1,229 @@
 package com.rm.rally_metrics.player;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.rm.rally_metrics.ConditionalGets;
+import com.rm.rally_metrics.WireFormats;
 import com.rm.rally_metrics.ai.MatchPrediction;
+import com.rm.rally_metrics.ai.agents.ScoutReport;
 import com.rm.rally_metrics.error.BadRequestException;
+import com.rm.rally_metrics.prediction.DraftTier;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping(path = "api/v1/player")
 public class PlayerController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SUGGESTIONS = 8;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final PlayerService playerService;
+    private final PlayerListBodies listBodies;
+    private final ConditionalGets conditionalGets;
+    private final ObjectWriter lineWriter;
+    private final ObjectWriter smileWriter;
+    private final ObjectWriter cborWriter;
 
     @Autowired
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, PlayerListBodies listBodies,
+                            ConditionalGets conditionalGets, ObjectMapper objectMapper,
+                            MappingJackson2SmileHttpMessageConverter smileConverter,
+                            MappingJackson2CborHttpMessageConverter cborConverter) {
         this.playerService = playerService;
+        this.listBodies = listBodies;
+        this.conditionalGets = conditionalGets;
+        this.lineWriter = objectMapper.writerFor(BatchPrediction.class);
+        this.smileWriter = sequenceWriter(smileConverter.getObjectMapper());
+        this.cborWriter = sequenceWriter(cborConverter.getObjectMapper());
     }
 
+    /**
+     * At most {@code limit} (default and max 1000) players. When the unfiltered or per-team list
+     * is cut short, a {@code Link: <...>; rel="next"} header points at the {@code /page} request
+     * that carries on after the last player returned. The unfiltered and per-team JSON lists at
+     * the default limit are served pre-encoded (see {@link PlayerListBodies}); searches, other
+     * limits, and Smile/CBOR requests are serialized per request.
+     */
     @GetMapping
-    public List<Player> getPlayers(
+    public ResponseEntity<?> getPlayers(
             @RequestParam(required = false) String team,
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String searchText) {
-
-        if (searchText != null) {
-            return playerService.getPlayersByNameOrTeam(searchText);
-        } else if (team != null) {
-            return playerService.getPlayersFromTeam(team);
-        } else if (name != null) {
-            return playerService.getPlayersByNameOrTeam(name);
+            @RequestParam(required = false) String searchText,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+
+        int size = limit != null ? limit : PlayerService.LIST_MAX_PLAYERS;
+        if (size < 1 || size > PlayerService.LIST_MAX_PLAYERS) {
+            throw new BadRequestException("'limit' must be between 1 and " + PlayerService.LIST_MAX_PLAYERS + ".");
+        }
+        if (searchText != null || (team == null && name != null)) {
+            return conditionalGets.forLeague(webRequest, () -> searchText != null
+                    ? playerService.getPlayersByNameOrTeam(searchText, size)
+                    : playerService.getPlayersByNameOrTeam(name, size));
+        }
+        boolean json = WireFormats.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT)) == WireFormats.Encoding.JSON;
+        ResponseEntity<?> response;
+        if (json && size == PlayerService.LIST_MAX_PLAYERS) {
+            response = conditionalGets.forLeagueJson(webRequest, league -> team != null
+                    ? listBodies.bodiesFor(league).team(team) : listBodies.bodiesFor(league).all());
         } else {
-            return playerService.getPlayers();
+            response = conditionalGets.forLeague(webRequest, () -> team != null
+                    ? playerService.getPlayersFromTeam(team, size) : playerService.getPlayers(size));
+        }
+        return withNextPage(response, team, size);
+    }
+
+    /** Adds the {@code rel="next"} link to {@code /page} when the list stopped at {@code limit}. */
+    private ResponseEntity<?> withNextPage(ResponseEntity<?> response, String team, int limit) {
+        String cursor = playerService.continuationCursor(team, limit);
+        if (cursor == null) {
+            return response;
         }
+        String next = UriComponentsBuilder.fromPath("/api/v1/player/page")
+                .queryParamIfPresent("team", Optional.ofNullable(team))
+                .queryParam("cursor", cursor)
+                .encode().build().toUriString();
+        return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders())
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"").body(response.getBody());
     }
 
+    /**
+     * Keyset-paginated players in standings order. Pass the previous page's {@code next_cursor}
+     * as {@code cursor}; {@code fields} (comma-separated, e.g. {@code name,rank,team}) limits the
+     * columns returned.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PlayerPage> getPlayerPage(
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("'limit' must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        List<PlayerField> columns = PlayerField.parse(fields);
+        return conditionalGets.forLeague(webRequest,
+                () -> playerService.getPlayerPage(team, isBlank(cursor) ? null : cursor, size, columns));
+    }
+
+    /**
+     * Server-side screen over the player table: numeric ranges per column
+     * ({@code games_won_percent=55..70&skill_rating=80..}), {@code draft_tier=STRONG_DRAFT,SOLID},
+     * a multi-key {@code sort=-skill_rating,games_won_percent}, plus {@code team}, {@code limit}
+     * and {@code fields} as on {@code /page}. See {@link PlayerScreenQuery}.
+     */
+    @GetMapping("/screen")
+    public ResponseEntity<PlayerScreen> screenPlayers(
+            @RequestParam Map<String, String> params,
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("'limit' must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        PlayerScreenQuery query = PlayerScreenQuery.parse(params);
+        List<PlayerField> columns = PlayerField.parse(fields);
+        return conditionalGets.forLeague(webRequest,
+                () -> playerService.screenPlayers(isBlank(team) ? null : team, query, size, columns));
+    }
+
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<PlayerSuggestion>> getSuggestions(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+
+        if (isBlank(q)) {
+            throw new BadRequestException("'q' is required.");
+        }
+        int k = limit != null ? limit : DEFAULT_SUGGESTIONS;
+        if (k < 1 || k > MAX_SUGGESTIONS) {
+            throw new BadRequestException("'limit' must be between 1 and " + MAX_SUGGESTIONS + ".");
+        }
+        return conditionalGets.forLeague(webRequest, () -> playerService.getSuggestions(q, k));
+    }
+
+    /**
+     * A summary whose scouting report fell back to {@link ScoutReport#unavailable()} is sent
+     * uncacheable, so a transient agent failure is retried instead of pinned for a whole sync.
+     */
     @GetMapping("/{playerName:.+}/summary")
-    public ResponseEntity<PlayerSnapshot> getPlayerSummary(@PathVariable("playerName") String playerName) {
-        return ResponseEntity.ok(playerService.getSummaryForPlayer(playerName));
+    public ResponseEntity<PlayerSnapshot> getPlayerSummary(@PathVariable("playerName") String playerName,
+                                                           WebRequest webRequest) {
+        return conditionalGets.forLeague(webRequest, () -> playerService.getSummaryForPlayer(playerName),
+                summary -> !ScoutReport.unavailable().equals(summary.scouting()));
+    }
+
+    /**
+     * The {@code k} (default 8, max 50) players with the closest stat profiles, for draft
+     * replacements; {@code team} and {@code tier} (comma-separated draft tiers) narrow the pool.
+     */
+    @GetMapping("/{playerName:.+}/similar")
+    public ResponseEntity<List<SimilarPlayer>> getSimilarPlayers(
+            @PathVariable("playerName") String playerName,
+            @RequestParam(required = false) Integer k,
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String tier,
+            WebRequest webRequest) {
+
+        int size = k != null ? k : DEFAULT_SUGGESTIONS;
+        if (size < 1 || size > MAX_SUGGESTIONS) {
+            throw new BadRequestException("'k' must be between 1 and " + MAX_SUGGESTIONS + ".");
+        }
+        Set<DraftTier> tiers = PlayerScreenQuery.parseTiers(tier);
+        return conditionalGets.forLeague(webRequest,
+                () -> playerService.getSimilarPlayers(playerName, size, isBlank(team) ? null : team, tiers));
+    }
+
+    /**
+     * Snapshots for a whole {@code team} or a comma-separated list of {@code names} in one call,
+     * for pages that expand many rows. Scouting reports not ready yet come back pending, and a
+     * batch with pending reports is not cached.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<PlayerSnapshotBatch> getPlayerSummaries(
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) List<String> names,
+            WebRequest webRequest) {
+
+        boolean byTeam = !isBlank(team);
+        boolean byNames = names != null && names.stream().anyMatch(n -> !isBlank(n));
+        if (byTeam == byNames) {
+            throw new BadRequestException("Exactly one of 'team' or 'names' is required.");
+        }
+        List<String> wanted = byNames ? names.stream().filter(n -> !isBlank(n)).map(String::trim).toList() : null;
+        if (wanted != null && wanted.size() > PlayerService.SUMMARY_BATCH_MAX_NAMES) {
+            throw new BadRequestException("At most " + PlayerService.SUMMARY_BATCH_MAX_NAMES + " names per request.");
+        }
+        return conditionalGets.forLeague(webRequest, () -> playerService.getSummaries(byTeam ? team : null, wanted),
+                batch -> batch.pending() == 0 && batch.snapshots().stream()
+                        .noneMatch(e -> ScoutReport.unavailable().equals(e.snapshot().scouting())));
     }
 
     @PostMapping("/predict")
@@ -55,6 +239,80 @@ public class PlayerController {
         return ResponseEntity.ok(prediction);
     }
 
+    /**
+     * Price many pairs in one call. Results stream back as NDJSON, one {@link BatchPrediction} per
+     * line in request order, flushed chunk by chunk; a bad pair yields an {@code error} line rather
+     * than failing the batch. With {@code Accept: application/x-jackson-smile} or
+     * {@code application/cbor} the same records stream as a sequence of binary values instead.
+     */
+    @PostMapping(path = "/predict/batch",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, WireFormats.SMILE_VALUE, WireFormats.CBOR_VALUE})
+    public ResponseEntity<StreamingResponseBody> getMatchPredictions(@RequestBody BatchPredictionRequest request,
+                                                                     WebRequest webRequest) {
+        List<BatchPredictionRequest.Pair> pairs = request.pairs();
+        if (pairs == null || pairs.isEmpty()) {
+            throw new BadRequestException("'pairs' must contain at least one pair.");
+        }
+        if (pairs.size() > PlayerService.BATCH_MAX_PAIRS) {
+            throw new BadRequestException("At most " + PlayerService.BATCH_MAX_PAIRS + " pairs per batch.");
+        }
+        if (request.includeNarrative() && pairs.size() > PlayerService.BATCH_MAX_NARRATIVE_PAIRS) {
+            throw new BadRequestException("At most " + PlayerService.BATCH_MAX_NARRATIVE_PAIRS
+                    + " pairs per batch when 'include_narrative' is set.");
+        }
+
+        WireFormats.Encoding encoding = WireFormats.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (encoding != WireFormats.Encoding.JSON) {
+            ObjectWriter writer = encoding == WireFormats.Encoding.SMILE ? smileWriter : cborWriter;
+            StreamingResponseBody body = out -> {
+                try (SequenceWriter values = writer.writeValues(out)) {
+                    playerService.predictBatch(pairs, request.includeNarrative(), chunk -> {
+                        try {
+                            values.writeAll(chunk);
+                            values.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(encoding == WireFormats.Encoding.SMILE ? WireFormats.SMILE : WireFormats.CBOR)
+                    .body(body);
+        }
+
+        StreamingResponseBody body = out -> playerService.predictBatch(pairs, request.includeNarrative(), chunk -> {
+            try {
+                for (BatchPrediction line : chunk) {
+                    out.write(lineWriter.writeValueAsBytes(line));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/matchup")
+    public ResponseEntity<MatchupOdds> getMatchupOdds(
+            @RequestParam(required = false) String playerA,
+            @RequestParam(required = false) String playerB,
+            WebRequest webRequest) {
+
+        if (isBlank(playerA) || isBlank(playerB)) {
+            throw new BadRequestException("Both 'playerA' and 'playerB' are required.");
+        }
+
+        return conditionalGets.forLeague(webRequest, () -> playerService.getMatchupOdds(playerA, playerB));
+    }
+
+    /** Root values written back to back into a stream the servlet container owns. */
+    private static ObjectWriter sequenceWriter(ObjectMapper mapper) {
+        return mapper.writerFor(BatchPrediction.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
     private static boolean isBlank(String value) {
         return value == null || value.isBlank();
     }
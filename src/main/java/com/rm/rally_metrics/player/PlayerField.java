@@ -0,0 +1,66 @@
+package com.rm.rally_metrics.player;
+
+import com.rm.rally_metrics.error.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The player columns a client can ask for with {@code fields=}, under the same snake_case names a
+ * full {@link Player} row is serialized with.
+ */
+public enum PlayerField {
+    NAME("name", Player::getName),
+    RANK("rank", Player::getRank),
+    TEAM("team", Player::getTeam),
+    GAMES_WON("games_won", Player::getGamesWon),
+    GAMES_LOST("games_lost", Player::getGamesLost),
+    GAMES_WON_PERCENT("games_won_percent", Player::getGamesWonPercent),
+    PTS_WON("pts_won", Player::getPtsWon),
+    PTS_LOST("pts_lost", Player::getPtsLost),
+    PTS_WON_PERCENT("pts_won_percent", Player::getPtsWonPercent);
+
+    private final String jsonName;
+    private final Function<Player, Object> getter;
+
+    PlayerField(String jsonName, Function<Player, Object> getter) {
+        this.jsonName = jsonName;
+        this.getter = getter;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public Object valueOf(Player player) {
+        return getter.apply(player);
+    }
+
+    /**
+     * Parse a comma-separated {@code fields=} value, keeping the requested order and dropping
+     * repeats. A blank value means every field.
+     */
+    public static List<PlayerField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return List.of(values());
+        }
+        List<PlayerField> parsed = new ArrayList<>();
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            PlayerField field = Arrays.stream(values())
+                    .filter(f -> f.jsonName.equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unknown field '" + name + "'. Known fields: "
+                            + String.join(", ", Arrays.stream(values()).map(PlayerField::jsonName).toList()) + "."));
+            if (!parsed.contains(field)) {
+                parsed.add(field);
+            }
+        }
+        return List.copyOf(parsed);
+    }
+}
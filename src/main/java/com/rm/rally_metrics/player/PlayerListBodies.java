@@ -0,0 +1,155 @@
+package com.rm.rally_metrics.player;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rm.rally_metrics.EncodedJson;
+import com.rm.rally_metrics.league.GenerationCache;
+import com.rm.rally_metrics.league.LeagueChangeSet;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the hottest read responses — the player list and every per-team list — to JSON
+ * (and gzip) once per snapshot generation, so {@code GET /api/v1/player} and
+ * {@code GET /api/v1/player?team=} serve bytes instead of re-serializing the league per request.
+ *
+ * <p>Uses the application's {@link ObjectMapper}, so the bytes are exactly what the message
+ * converter would have written (snake_case included). After a sync only the teams whose players
+ * changed are re-encoded; the rest carry over from the previous generation.
+ */
+@Component
+public class PlayerListBodies implements LeagueSnapshotListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerListBodies.class);
+
+    private final ObjectWriter writer;
+    private final GenerationCache<Bodies> cache = new GenerationCache<>(Bodies::generation);
+
+    public PlayerListBodies(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(new TypeReference<List<Player>>() { });
+    }
+
+    /** The encoded bodies for exactly this snapshot's generation. */
+    public Bodies bodiesFor(LeagueSnapshot league) {
+        return cache.get(league, this::render);
+    }
+
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        Bodies latest = cache.latest();
+        LeagueSnapshot previous = changes.previous();
+        if (previous == null || latest == null || latest.generation() != previous.generation()) {
+            bodiesFor(changes.next());
+            return;
+        }
+        cache.offer(advance(latest, changes));
+    }
+
+    private Bodies render(LeagueSnapshot league) {
+        long started = System.nanoTime();
+        Map<String, EncodedJson> teams = new HashMap<>();
+        for (int i = 0; i < league.size(); i++) {
+            String team = league.team(i);
+            if (team != null) {
+                teams.computeIfAbsent(LeagueSnapshot.teamKey(team),
+                        k -> encode(league.playersOnTeam(team)));
+            }
+        }
+        Bodies bodies = new Bodies(league.generation(), encode(league.players()),
+                EncodedJson.encode(writer, List.of()), teams);
+        log.info("Encoded player list bodies for generation {} ({} teams, {} bytes, {} gzipped) in {} ms.",
+                league.generation(), teams.size(), bodies.all().identity().length,
+                bodies.all().gzip() == null ? bodies.all().identity().length : bodies.all().gzip().length,
+                (System.nanoTime() - started) / 1_000_000);
+        return bodies;
+    }
+
+    /**
+     * The previous generation's bodies with only the teams a changed player left or joined
+     * re-encoded; the full list is re-encoded whenever anything changed.
+     */
+    private Bodies advance(Bodies latest, LeagueChangeSet changes) {
+        LeagueSnapshot previous = changes.previous();
+        LeagueSnapshot next = changes.next();
+        Set<String> stale = new HashSet<>();
+        for (LeagueChangeSet.PlayerChange change : changes.removed()) {
+            addTeam(stale, previous.team(change.previousIndex()));
+        }
+        for (LeagueChangeSet.PlayerChange change : changes.changed()) {
+            addTeam(stale, previous.team(change.previousIndex()));
+            addTeam(stale, next.team(change.nextIndex()));
+        }
+        for (LeagueChangeSet.PlayerChange change : changes.added()) {
+            addTeam(stale, next.team(change.nextIndex()));
+        }
+        Map<String, EncodedJson> teams = new HashMap<>(latest.teams);
+        for (String key : stale) {
+            teams.remove(key);
+        }
+        for (int i = 0; i < next.size(); i++) {
+            String team = next.team(i);
+            if (team != null && stale.contains(LeagueSnapshot.teamKey(team))) {
+                teams.computeIfAbsent(LeagueSnapshot.teamKey(team),
+                        k -> encode(next.playersOnTeam(team)));
+            }
+        }
+        EncodedJson all = changes.isEmpty() ? latest.all : encode(next.players());
+        log.info("Re-encoded player list bodies for generation {} ({} of {} teams changed).",
+                next.generation(), stale.size(), teams.size());
+        return new Bodies(next.generation(), all, latest.none, teams);
+    }
+
+    /** The list as {@code GET /api/v1/player} returns it at the default limit. */
+    private EncodedJson encode(List<Player> players) {
+        return EncodedJson.encode(writer, PlayerService.first(players, PlayerService.LIST_MAX_PLAYERS));
+    }
+
+    private static void addTeam(Set<String> teams, String team) {
+        if (team != null) {
+            teams.add(LeagueSnapshot.teamKey(team));
+        }
+    }
+
+    /** One generation's encoded player lists. */
+    public static final class Bodies {
+
+        private final long generation;
+        private final EncodedJson all;
+        private final EncodedJson none;
+        private final Map<String, EncodedJson> teams;
+
+        private Bodies(long generation, EncodedJson all, EncodedJson none, Map<String, EncodedJson> teams) {
+            this.generation = generation;
+            this.all = all;
+            this.none = none;
+            this.teams = teams;
+        }
+
+        public long generation() {
+            return generation;
+        }
+
+        /** The first {@link PlayerService#LIST_MAX_PLAYERS} players, in standings order. */
+        public EncodedJson all() {
+            return all;
+        }
+
+        /**
+         * The team's first {@link PlayerService#LIST_MAX_PLAYERS} players (case-insensitive), in
+         * standings order; an empty list if unknown.
+         */
+        public EncodedJson team(String team) {
+            return teams.getOrDefault(LeagueSnapshot.teamKey(team), none);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.rm.rally_metrics.player;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of {@code GET /api/v1/player/page}, serialized snake_case.
+ *
+ * @param players    rows in standings order, each holding only the requested fields
+ * @param nextCursor opaque cursor for the following page, or null on the last page
+ * @param generation league snapshot generation the page was read from
+ */
+public record PlayerPage(List<Map<String, Object>> players, String nextCursor, long generation) {
+}
@@ -0,0 +1,15 @@
+package com.rm.rally_metrics.player;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@code GET /api/v1/player/screen}, serialized snake_case.
+ *
+ * @param players    the first {@code limit} matches in the requested order, each holding only the
+ *                   requested fields
+ * @param matched    how many players passed every filter, including those beyond the limit
+ * @param generation league snapshot generation the screen was run against
+ */
+public record PlayerScreen(List<Map<String, Object>> players, int matched, long generation) {
+}
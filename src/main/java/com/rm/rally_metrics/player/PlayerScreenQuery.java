@@ -0,0 +1,114 @@
+package com.rm.rally_metrics.player;
+
+import com.rm.rally_metrics.error.BadRequestException;
+import com.rm.rally_metrics.league.PlayerScreenIndex.Column;
+import com.rm.rally_metrics.league.PlayerScreenIndex.Range;
+import com.rm.rally_metrics.league.PlayerScreenIndex.SortKey;
+import com.rm.rally_metrics.prediction.DraftTier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The filters and ordering of one {@code GET /api/v1/player/screen} request, parsed from its query
+ * parameters:
+ *
+ * <ul>
+ *   <li>a range per column, {@code games_won_percent=55..70}, with either end optional
+ *       ({@code skill_rating=80..}) or a single value for an exact match ({@code rank=1});</li>
+ *   <li>{@code draft_tier=STRONG_DRAFT,SOLID} for any of those tiers;</li>
+ *   <li>{@code sort=-skill_rating,games_won_percent}, ascending unless prefixed with {@code -}.</li>
+ * </ul>
+ */
+record PlayerScreenQuery(List<Range> ranges, Set<DraftTier> tiers, List<SortKey> sort) {
+
+    /** Parameters the controller binds itself; everything else must name a column. */
+    private static final Set<String> RESERVED = Set.of("team", "limit", "fields", "sort");
+
+    static PlayerScreenQuery parse(Map<String, String> params) {
+        List<Range> ranges = new ArrayList<>();
+        Set<DraftTier> tiers = EnumSet.noneOf(DraftTier.class);
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            String name = param.getKey();
+            if (RESERVED.contains(name)) {
+                continue;
+            }
+            Column column = column(name);
+            if (column == Column.DRAFT_TIER) {
+                tiers.addAll(parseTiers(param.getValue()));
+            } else {
+                ranges.add(range(column, param.getValue()));
+            }
+        }
+        return new PlayerScreenQuery(List.copyOf(ranges), tiers, sort(params.get("sort")));
+    }
+
+    private static Range range(Column column, String value) {
+        String v = value == null ? "" : value.trim();
+        int dots = v.indexOf("..");
+        try {
+            if (dots < 0) {
+                double exact = Double.parseDouble(v);
+                return new Range(column, exact, exact);
+            }
+            String min = v.substring(0, dots).trim();
+            String max = v.substring(dots + 2).trim();
+            return new Range(column,
+                    min.isEmpty() ? Double.NEGATIVE_INFINITY : Double.parseDouble(min),
+                    max.isEmpty() ? Double.POSITIVE_INFINITY : Double.parseDouble(max));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("'" + column.jsonName() + "' must be a number or a range like 55..70, not '"
+                    + value + "'.");
+        }
+    }
+
+    /** A comma-separated, case-insensitive list of {@link DraftTier} names; blank means none. */
+    static Set<DraftTier> parseTiers(String value) {
+        Set<DraftTier> tiers = EnumSet.noneOf(DraftTier.class);
+        for (String token : (value == null ? "" : value).split(",")) {
+            String name = token.trim().toUpperCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                tiers.add(DraftTier.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown draft tier '" + token.trim() + "'. Known tiers: "
+                        + String.join(", ", Arrays.stream(DraftTier.values()).map(Enum::name).toList()) + ".");
+            }
+        }
+        return tiers;
+    }
+
+    private static List<SortKey> sort(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        List<SortKey> keys = new ArrayList<>();
+        for (String token : value.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            boolean descending = name.startsWith("-");
+            Column column = column(descending ? name.substring(1) : name);
+            if (keys.stream().noneMatch(k -> k.column() == column)) {
+                keys.add(new SortKey(column, descending));
+            }
+        }
+        return List.copyOf(keys);
+    }
+
+    private static Column column(String name) {
+        return Arrays.stream(Column.values())
+                .filter(c -> c.jsonName().equalsIgnoreCase(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown screen column '" + name + "'. Known columns: "
+                        + String.join(", ", Arrays.stream(Column.values()).map(Column::jsonName).toList()) + "."));
+    }
+}
@@ -7,62 +7,277 @@ import com.rm.rally_metrics.ai.agents.MatchAnalysisOrchestrator;
 import com.rm.rally_metrics.ai.agents.ScoutAgent;
 import com.rm.rally_metrics.ai.agents.ScoutReport;
 import com.rm.rally_metrics.error.NotFoundException;
+import com.rm.rally_metrics.league.KeyFactorTables;
+import com.rm.rally_metrics.league.LeagueAggregates;
+import com.rm.rally_metrics.league.LeagueAggregator;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.league.MatchupMatrices;
+import com.rm.rally_metrics.league.MatchupMatrix;
+import com.rm.rally_metrics.league.PlayerNameResolvers;
+import com.rm.rally_metrics.league.PlayerScreenIndexes;
+import com.rm.rally_metrics.league.PlayerSearchIndex;
+import com.rm.rally_metrics.league.PlayerSearchIndexes;
+import com.rm.rally_metrics.league.SimilarPlayerIndex;
+import com.rm.rally_metrics.league.SimilarPlayerIndexes;
 import com.rm.rally_metrics.prediction.DraftTier;
 import com.rm.rally_metrics.prediction.KeyFactor;
 import com.rm.rally_metrics.prediction.MatchEstimate;
 import com.rm.rally_metrics.prediction.MatchProbabilityModel;
 import com.rm.rally_metrics.prediction.PlayerStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Component
 public class PlayerService {
-    private final PlayerRepository playerRepository;
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerService.class);
+
+    /** Most pairs one batch request may price. */
+    static final int BATCH_MAX_PAIRS = 10_000;
+
+    /** Most pairs one batch may ask narratives for — each runs the full agent pipeline. */
+    static final int BATCH_MAX_NARRATIVE_PAIRS = 20;
+
+    /** Pairs computed (and flushed) together when streaming a batch. */
+    static final int BATCH_CHUNK_SIZE = 256;
+
+    /** Most players one {@code GET /api/v1/player} list returns; {@code /page} walks past it. */
+    static final int LIST_MAX_PLAYERS = 1_000;
+
+    /** Most players one summaries request may name. */
+    static final int SUMMARY_BATCH_MAX_NAMES = 200;
+
+    /** Most "did you mean" names attached to a player-not-found error. */
+    static final int NAME_SUGGESTIONS = 5;
+
+    /** How long a summaries batch waits for uncached scouting reports before marking them pending. */
+    static final long SUMMARY_BATCH_WAIT_MILLIS = 1_500;
+
+    private final LeagueSnapshotStore leagueStore;
+    private final LeagueAggregator leagueAggregator;
+    private final MatchupMatrices matchupMatrices;
+    private final PlayerSearchIndexes searchIndexes;
+    private final PlayerNameResolvers nameResolvers;
+    private final PlayerScreenIndexes screenIndexes;
+    private final SimilarPlayerIndexes similarIndexes;
+    private final KeyFactorTables keyFactorTables;
     private final MatchProbabilityModel probabilityModel;
     private final MatchAnalysisOrchestrator analysisOrchestrator;
     private final ScoutAgent scoutAgent;
 
     @Autowired
-    public PlayerService(PlayerRepository playerRepository,
+    public PlayerService(LeagueSnapshotStore leagueStore,
+                         LeagueAggregator leagueAggregator,
+                         MatchupMatrices matchupMatrices,
+                         PlayerSearchIndexes searchIndexes,
+                         PlayerNameResolvers nameResolvers,
+                         PlayerScreenIndexes screenIndexes,
+                         SimilarPlayerIndexes similarIndexes,
+                         KeyFactorTables keyFactorTables,
                          MatchProbabilityModel probabilityModel,
                          MatchAnalysisOrchestrator analysisOrchestrator,
                          ScoutAgent scoutAgent) {
-        this.playerRepository = playerRepository;
+        this.leagueStore = leagueStore;
+        this.leagueAggregator = leagueAggregator;
+        this.matchupMatrices = matchupMatrices;
+        this.searchIndexes = searchIndexes;
+        this.nameResolvers = nameResolvers;
+        this.screenIndexes = screenIndexes;
+        this.similarIndexes = similarIndexes;
+        this.keyFactorTables = keyFactorTables;
         this.probabilityModel = probabilityModel;
         this.analysisOrchestrator = analysisOrchestrator;
         this.scoutAgent = scoutAgent;
     }
 
-    public List<Player> getPlayers() {
-        return playerRepository.findAll();
+    /** The first {@code limit} players in standings order. */
+    public List<Player> getPlayers(int limit) {
+        return first(leagueStore.current().players(), limit);
+    }
+
+    /** The first {@code limit} players on the team (case-insensitive), in standings order. */
+    public List<Player> getPlayersFromTeam(String teamName, int limit) {
+        return first(leagueStore.current().playersOnTeam(teamName), limit);
+    }
+
+    /**
+     * The {@code /page} cursor that carries on from a standings-ordered list (every player, or the
+     * team's) cut at {@code limit} players, or null when the list already holds them all.
+     */
+    public String continuationCursor(String teamName, int limit) {
+        LeagueSnapshot league = leagueStore.current();
+        int[] positions = teamName == null ? null : league.indicesOfTeam(teamName);
+        int total = positions == null ? league.size() : positions.length;
+        if (total <= limit) {
+            return null;
+        }
+        Player last = league.player(positions == null ? limit - 1 : positions[limit - 1]);
+        return new PageCursor(last.getRank(), last.getName()).encode();
+    }
+
+    static <T> List<T> first(List<T> list, int limit) {
+        return list.size() <= limit ? list : list.subList(0, limit);
+    }
+
+    /**
+     * One page of players in standings order, optionally restricted to a team, holding only the
+     * requested fields. Seeks straight to the cursor's (rank, name) instead of counting an offset.
+     */
+    public PlayerPage getPlayerPage(String team, String cursor, int limit, List<PlayerField> fields) {
+        LeagueSnapshot league = leagueStore.current();
+        int start = 0;
+        if (cursor != null) {
+            PageCursor after = PageCursor.decode(cursor);
+            start = league.positionAfter(after.rank(), after.name());
+        }
+        int[] positions = team == null ? null : league.indicesOfTeam(team);
+        int total = positions == null ? league.size() : positions.length;
+        int from = positions == null ? start : firstAtOrAfter(positions, start);
+
+        int to = Math.min(total, from + limit);
+        List<Map<String, Object>> rows = new ArrayList<>(to - from);
+        for (int k = from; k < to; k++) {
+            rows.add(row(league.player(positions == null ? k : positions[k]), fields));
+        }
+        String next = null;
+        if (to < total && to > from) {
+            Player last = league.player(positions == null ? to - 1 : positions[to - 1]);
+            next = new PageCursor(last.getRank(), last.getName()).encode();
+        }
+        return new PlayerPage(rows, next, league.generation());
+    }
+
+    /**
+     * Players passing every range and tier filter of the screen (and on the team, if given), in the
+     * requested order or else standings order, served from the per-sync sorted column indexes.
+     */
+    public PlayerScreen screenPlayers(String team, PlayerScreenQuery query, int limit, List<PlayerField> fields) {
+        LeagueSnapshot league = leagueStore.current();
+        int[] matched = screenIndexes.indexFor(league).screen(query.ranges(), query.tiers(),
+                team == null ? null : league.indicesOfTeam(team), query.sort());
+        int to = Math.min(limit, matched.length);
+        List<Map<String, Object>> rows = new ArrayList<>(to);
+        for (int k = 0; k < to; k++) {
+            rows.add(row(league.player(matched[k]), fields));
+        }
+        return new PlayerScreen(rows, matched.length, league.generation());
     }
 
-    public List<Player> getPlayersFromTeam(String teamName) {
-        return playerRepository.findByTeamIgnoreCase(teamName);
+    private static Map<String, Object> row(Player player, List<PlayerField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (PlayerField field : fields) {
+            row.put(field.jsonName(), field.valueOf(player));
+        }
+        return row;
     }
 
-    public List<Player> getPlayersByNameOrTeam(String searchText) {
-        return playerRepository.searchByNameOrTeam(searchText.trim());
+    private static int firstAtOrAfter(int[] sortedPositions, int position) {
+        int at = Arrays.binarySearch(sortedPositions, position);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    /**
+     * Case- and accent-insensitive substring search over names and teams, the {@code limit} best
+     * matches first.
+     */
+    public List<Player> getPlayersByNameOrTeam(String searchText, int limit) {
+        LeagueSnapshot league = leagueStore.current();
+        return searchIndexes.indexFor(league).search(searchText, limit).stream()
+                .map(hit -> league.player(hit.index()))
+                .toList();
+    }
+
+    /** The top {@code limit} typeahead suggestions for a partial name or team. */
+    public List<PlayerSuggestion> getSuggestions(String query, int limit) {
+        LeagueSnapshot league = leagueStore.current();
+        List<PlayerSearchIndex.Hit> hits = searchIndexes.indexFor(league).search(query, limit);
+        return hits.stream()
+                .map(hit -> {
+                    Player player = league.player(hit.index());
+                    return new PlayerSuggestion(player.getName(), player.getTeam(), player.getRank(), hit.match());
+                })
+                .toList();
     }
 
     public MatchPrediction getPredictionBetweenPlayers(String playerA, String playerB) {
-        Player p1 = playerRepository.findByName(playerA)
-                .orElseThrow(() -> new NotFoundException("Player not found: " + playerA));
-        Player p2 = playerRepository.findByName(playerB)
-                .orElseThrow(() -> new NotFoundException("Player not found: " + playerB));
+        LeagueSnapshot league = leagueStore.current();
+        return predict(league, require(league, playerA), require(league, playerB), true);
+    }
+
+    /**
+     * Price many pairs against one snapshot, handing results to {@code sink} a chunk at a time and
+     * in request order, so the caller can stream them out without holding the whole response.
+     * Deterministic-only chunks are computed in parallel; with narratives the pairs run one at a
+     * time, since each one already fans out to the agents.
+     */
+    public void predictBatch(List<BatchPredictionRequest.Pair> pairs, boolean includeNarrative,
+                             Consumer<List<BatchPrediction>> sink) {
+        LeagueSnapshot league = leagueStore.current();
+        for (int from = 0; from < pairs.size(); from += BATCH_CHUNK_SIZE) {
+            IntStream chunk = IntStream.range(from, Math.min(pairs.size(), from + BATCH_CHUNK_SIZE));
+            if (!includeNarrative) {
+                chunk = chunk.parallel();
+            }
+            sink.accept(chunk.mapToObj(i -> batchLine(league, i, pairs.get(i), includeNarrative)).toList());
+        }
+    }
+
+    private BatchPrediction batchLine(LeagueSnapshot league, int index, BatchPredictionRequest.Pair pair,
+                                      boolean includeNarrative) {
+        String playerA = pair == null ? null : pair.playerA();
+        String playerB = pair == null ? null : pair.playerB();
+        if (playerA == null || playerA.isBlank() || playerB == null || playerB.isBlank()) {
+            return new BatchPrediction(index, playerA, playerB, null, "Both 'playerA' and 'playerB' are required.");
+        }
+        try {
+            MatchPrediction prediction = predict(league, require(league, playerA), require(league, playerB),
+                    includeNarrative);
+            return new BatchPrediction(index, playerA, playerB, prediction, null);
+        } catch (NotFoundException e) {
+            return new BatchPrediction(index, playerA, playerB, null, e.getMessage());
+        } catch (RuntimeException e) {
+            // Anything else (an agent call, a model bug) costs this line, not the rest of the stream.
+            log.warn("Batch prediction {} ({} vs {}) failed.", index, playerA, playerB, e);
+            return new BatchPrediction(index, playerA, playerB, null, "This pair could not be priced.");
+        }
+    }
+
+    private MatchPrediction predict(LeagueSnapshot league, int a, int b, boolean withNarrative) {
+        Player p1 = league.player(a);
+        Player p2 = league.player(b);
 
-        PlayerStats statsA = toStats(p1);
-        PlayerStats statsB = toStats(p2);
+        PlayerStats statsA = league.stats(a);
+        PlayerStats statsB = league.stats(b);
 
         // All numbers are computed deterministically by the model; the agents only narrate them.
-        MatchEstimate estimate = probabilityModel.estimate(statsA, statsB);
-        List<KeyFactor> keyFactors = probabilityModel.keyFactors(statsA, statsB);
+        MatchEstimate estimate = estimate(league, a, b);
+        List<KeyFactor> keyFactors = keyFactorTables.tableFor(league).factors(a, b);
         Player winner = estimate.winnerIsA() ? p1 : p2;
         String confidence = estimate.confidence().name();
 
+        if (!withNarrative) {
+            return new MatchPrediction(
+                    winner.getName(), estimate.winProbability(), estimate.moneylineOdds(),
+                    confidence, MatchProbabilityModel.MODEL_VERSION, keyFactors, null, null, null);
+        }
+
         MatchAnalysis analysis = analysisOrchestrator.analyze(new MatchAnalysisInput(
                 p1.getName(), p1.getTeam(), statsA,
                 p2.getName(), p2.getTeam(), statsB,
@@ -75,40 +290,181 @@ public class PlayerService {
                 analysis.scoutA(), analysis.scoutB(), analysis.reasoning());
     }
 
+    /**
+     * The deterministic odds for a pair, read from the matchup matrix precomputed at sync time.
+     */
+    public MatchupOdds getMatchupOdds(String playerA, String playerB) {
+        LeagueSnapshot league = leagueStore.current();
+        int a = require(league, playerA);
+        int b = require(league, playerB);
+        MatchEstimate estimate = estimate(league, a, b);
+        return new MatchupOdds(league.name(a), league.name(b),
+                league.name(estimate.winnerIsA() ? a : b), estimate.winProbability(), estimate.moneylineOdds(),
+                estimate.confidence().name(), MatchProbabilityModel.MODEL_VERSION,
+                keyFactorTables.tableFor(league).factors(a, b));
+    }
+
+    /**
+     * The {@code k} players whose stat profiles are closest to the named player's, optionally only
+     * from one team and/or the given draft tiers (all tiers when empty).
+     */
+    public List<SimilarPlayer> getSimilarPlayers(String playerName, int k, String team, Set<DraftTier> tiers) {
+        LeagueSnapshot league = leagueStore.current();
+        int index = require(league, playerName);
+        List<SimilarPlayerIndex.Neighbor> neighbors = similarIndexes.indexFor(league)
+                .nearest(index, k, team == null ? null : league.indicesOfTeam(team), tiers);
+        List<SimilarPlayer> similar = new ArrayList<>(neighbors.size());
+        for (SimilarPlayerIndex.Neighbor neighbor : neighbors) {
+            int i = neighbor.index();
+            double skill = league.skill(i);
+            similar.add(new SimilarPlayer(league.name(i), league.team(i), league.player(i).getRank(),
+                    probabilityModel.skillRating(skill), probabilityModel.draftTier(skill),
+                    Math.round(neighbor.distance() * 1000.0) / 1000.0));
+        }
+        return similar;
+    }
+
     /**
      * Structured player snapshot for the expandable row: a deterministic draft-tier verdict plus
      * the player's scouting report (reused from the same cached/warmed scout the predictor uses,
      * so there is no extra LLM call per view and the two surfaces stay consistent).
      */
     public PlayerSnapshot getSummaryForPlayer(String playerName) {
-        Player player = playerRepository.findByName(playerName)
-                .orElseThrow(() -> new NotFoundException("Player not found: " + playerName));
+        LeagueSnapshot league = leagueStore.current();
+        int index = require(league, playerName);
+        Player player = league.player(index);
 
-        PlayerStats stats = toStats(player);
-        DraftTier tier = probabilityModel.draftTier(stats);
-        int skillRating = probabilityModel.skillRating(stats);
+        // League benchmarks — precomputed once per sync so they're identical on every page.
+        LeagueAggregates aggregates = leagueAggregator.aggregatesFor(league);
 
-        // League benchmarks — computed once from the full field so they're identical on every page.
-        List<Player> league = playerRepository.findAll();
-        int leagueSize = league.size();
-        int avgSkillRating = (int) Math.round(league.stream()
-                .mapToInt(p -> probabilityModel.skillRating(toStats(p))).average().orElse(skillRating));
-        double leagueAvgWinPct = round1(league.stream()
-                .mapToDouble(p -> nzd(p.getGamesWonPercent())).average().orElse(0.0));
-        double leagueAvgPtWinPct = round1(league.stream()
-                .mapToDouble(p -> nzd(p.getPtsWonPercent())).average().orElse(0.0));
+        ScoutReport scouting = scoutAgent.scout(player.getName(), player.getTeam(), league.stats(index));
+        return snapshot(league, aggregates, index, scouting);
+    }
 
-        ScoutReport scouting = scoutAgent.scout(player.getName(), player.getTeam(), stats);
-        return new PlayerSnapshot(tier, skillRating, leagueSize,
-                avgSkillRating, leagueAvgWinPct, leagueAvgPtWinPct, scouting);
+    /**
+     * Snapshots for a whole team, or for the given names, in one pass over one generation. Cached
+     * scouting reports are used as-is; the rest are scouted in parallel in the background and
+     * included if they finish within {@link #SUMMARY_BATCH_WAIT_MILLIS}, otherwise marked pending.
+     * Names that resolve to the same player yield one entry.
+     */
+    public PlayerSnapshotBatch getSummaries(String team, List<String> names) {
+        return getSummaries(team, names, SUMMARY_BATCH_WAIT_MILLIS);
     }
 
-    private static double round1(double v) {
-        return Math.round(v * 10.0) / 10.0;
+    PlayerSnapshotBatch getSummaries(String team, List<String> names, long waitMillis) {
+        LeagueSnapshot league = leagueStore.current();
+        List<String> notFound = new ArrayList<>();
+        int[] indices;
+        if (team != null) {
+            indices = league.indicesOfTeam(team);
+        } else {
+            indices = names.stream().distinct().mapToInt(name -> {
+                int i = resolve(league, name);
+                if (i < 0) {
+                    notFound.add(name);
+                }
+                return i;
+            }).filter(i -> i >= 0).distinct().toArray();
+        }
+
+        List<CompletableFuture<ScoutReport>> reports = new ArrayList<>(indices.length);
+        for (int i : indices) {
+            reports.add(scoutAgent.cached(league.name(i), league.stats(i))
+                    .map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> scoutAgent.scoutAsync(league.name(i), league.team(i), league.stats(i))));
+        }
+        awaitQuietly(reports, waitMillis);
+
+        LeagueAggregates aggregates = leagueAggregator.aggregatesFor(league);
+        List<PlayerSnapshotBatch.Entry> entries = new ArrayList<>(indices.length);
+        int pending = 0;
+        for (int k = 0; k < indices.length; k++) {
+            int i = indices[k];
+            ScoutReport scouting = reports.get(k).getNow(null);
+            if (scouting == null) {
+                pending++;
+            }
+            entries.add(new PlayerSnapshotBatch.Entry(league.name(i), league.team(i),
+                    snapshot(league, aggregates, i, scouting), scouting == null));
+        }
+        return new PlayerSnapshotBatch(league.generation(), entries, notFound, pending);
+    }
+
+    private PlayerSnapshot snapshot(LeagueSnapshot league, LeagueAggregates aggregates, int index,
+                                    ScoutReport scouting) {
+        double skill = league.skill(index);
+        DraftTier tier = probabilityModel.draftTier(skill);
+        int skillRating = probabilityModel.skillRating(skill);
+        return new PlayerSnapshot(tier, skillRating, aggregates.size(),
+                aggregates.avgSkillRating(), round1(aggregates.meanWinPct()), round1(aggregates.meanPtWinPct()),
+                aggregates.skillRank(skill), aggregates.skillPercentile(skill), scouting);
+    }
+
+    private static void awaitQuietly(List<CompletableFuture<ScoutReport>> reports, long waitMillis) {
+        if (waitMillis <= 0 || reports.stream().allMatch(CompletableFuture::isDone)) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(reports.toArray(new CompletableFuture<?>[0]))
+                    .get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Whatever is not done yet is reported as pending.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MatchEstimate estimate(LeagueSnapshot league, int a, int b) {
+        if (a == b) {
+            // Not a real matchup, so it has no matrix entry; keep the model's even-odds answer.
+            return probabilityModel.estimate(league.skill(a), league.skill(b),
+                    probabilityModel.confidence(league.stats(a), league.stats(b)));
+        }
+        MatchupMatrix matrix = matchupMatrices.matrixFor(league);
+        double pAWins = matrix.probability(a, b);
+        boolean winnerIsA = pAWins >= 0.5;
+        return new MatchEstimate(winnerIsA, winnerIsA ? pAWins : 1.0 - pAWins, matrix.moneyline(a, b),
+                probabilityModel.confidence(league.stats(a), league.stats(b)), league.skill(a), league.skill(b));
     }
 
-    private static double nzd(Double value) {
-        return value == null ? 0.0 : value;
+    /**
+     * The player a client named: the exact name, else whatever the per-sync name resolver makes of
+     * it (spacing, case, accents, aliases, a one-letter typo). Not found carries suggestions.
+     */
+    private int require(LeagueSnapshot league, String name) {
+        int index = resolve(league, name);
+        if (index < 0) {
+            throw new NotFoundException("Player not found: " + name, suggestionsFor(league, name));
+        }
+        return index;
+    }
+
+    private int resolve(LeagueSnapshot league, String name) {
+        int index = league.indexOf(name);
+        if (index >= 0 || name == null) {
+            return index;
+        }
+        return nameResolvers.resolverFor(league).resolve(name);
+    }
+
+    /** Close misspellings first; failing those, names or teams that contain the query. */
+    private List<String> suggestionsFor(LeagueSnapshot league, String name) {
+        if (name == null || name.isBlank()) {
+            return List.of();
+        }
+        List<String> close = nameResolvers.resolverFor(league).suggest(name, NAME_SUGGESTIONS).stream()
+                .map(c -> league.name(c.index()))
+                .toList();
+        if (!close.isEmpty()) {
+            return close;
+        }
+        return searchIndexes.indexFor(league).search(name, NAME_SUGGESTIONS).stream()
+                .map(hit -> league.name(hit.index()))
+                .toList();
+    }
+
+    private static double round1(double v) {
+        return Math.round(v * 10.0) / 10.0;
     }
 
     private static String keyFactorsText(List<KeyFactor> factors) {
@@ -117,13 +473,4 @@ public class PlayerService {
                         f.label(), f.displayA(), f.displayB(), f.advantage()))
                 .collect(Collectors.joining("\n"));
     }
-
-    private static PlayerStats toStats(Player p) {
-        return new PlayerStats(nz(p.getGamesWon()), nz(p.getGamesLost()),
-                nz(p.getPtsWon()), nz(p.getPtsLost()));
-    }
-
-    private static int nz(Integer value) {
-        return value == null ? 0 : value;
-    }
 }
@@ -19,12 +19,16 @@ import com.rm.rally_metrics.prediction.DraftTier;
  * <p>League averages ({@code avg_skill_rating}, {@code league_avg_win_pct},
  * {@code league_avg_pt_win_pct}) let the UI show each stat against the field instead of in a
  * vacuum, and are computed the same way regardless of which page requested the snapshot.
+ * {@code skill_rank} and {@code skill_percentile} place the player's model skill within the field
+ * (a player's table {@code rank} is the official standing; these are the model's view).
  *
  * @param skillRating        the player's model skill on a 0-100 scale
  * @param leagueSize         number of players in the league (for "#rank of N" standing)
  * @param avgSkillRating     league mean model skill (0-100), as a benchmark for the gauge
  * @param leagueAvgWinPct    league mean game win % (benchmark for the win-rate bar)
  * @param leagueAvgPtWinPct  league mean point win % (benchmark for the point-win bar)
+ * @param skillRank          1-based rank of the player's model skill in the league
+ * @param skillPercentile    share of the rest of the league (0-100) with a lower model skill
  */
 public record PlayerSnapshot(
         DraftTier draftTier,
@@ -33,5 +37,7 @@ public record PlayerSnapshot(
         int avgSkillRating,
         double leagueAvgWinPct,
         double leagueAvgPtWinPct,
+        int skillRank,
+        double skillPercentile,
         ScoutReport scouting) {
 }
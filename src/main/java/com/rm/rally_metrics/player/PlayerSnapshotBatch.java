@@ -0,0 +1,26 @@
+package com.rm.rally_metrics.player;
+
+import java.util.List;
+
+/**
+ * Every {@link PlayerSnapshot} a team or players page needs, in one response from
+ * {@code GET /api/v1/player/summaries}.
+ *
+ * <p>Serialized snake_case. League benchmarks are shared by every entry (they come from one
+ * generation). A scouting report that was not ready in time is {@code null} with
+ * {@code scouting_pending} set; it keeps being computed in the background, so re-requesting the
+ * batch (or the single summary) shortly after picks it up.
+ *
+ * @param generation the league data generation every entry was computed from
+ * @param snapshots  one entry per player found, in standings order for a team, else request order
+ * @param notFound   requested names with no such player
+ * @param pending    number of entries still waiting on their scouting report
+ */
+public record PlayerSnapshotBatch(long generation, List<Entry> snapshots, List<String> notFound, int pending) {
+
+    /**
+     * @param scoutingPending whether {@code snapshot.scouting} is still being prepared
+     */
+    public record Entry(String name, String team, PlayerSnapshot snapshot, boolean scoutingPending) {
+    }
+}
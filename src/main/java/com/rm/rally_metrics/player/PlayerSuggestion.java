@@ -0,0 +1,12 @@
+package com.rm.rally_metrics.player;
+
+import com.rm.rally_metrics.league.PlayerSearchIndex;
+
+/**
+ * One typeahead suggestion from {@code GET /api/v1/player/typeahead}, serialized snake_case.
+ *
+ * @param match how the query matched ({@code NAME_PREFIX} first, down to {@code TEAM_SUBSTRING}),
+ *              so the UI can highlight the name or the team
+ */
+public record PlayerSuggestion(String name, String team, Integer rank, PlayerSearchIndex.Match match) {
+}
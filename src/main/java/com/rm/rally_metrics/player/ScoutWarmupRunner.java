@@ -1,6 +1,9 @@
 package com.rm.rally_metrics.player;
 
 import com.rm.rally_metrics.ai.agents.ScoutAgent;
+import com.rm.rally_metrics.league.LeagueChangeSet;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotListener;
 import com.rm.rally_metrics.prediction.PlayerStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,14 +17,14 @@ import java.util.List;
 /**
  * Pre-computes each player's scouting report shortly after startup, in the background, so the
  * first match prediction never waits on (or fails) a live scout call. Scouting is stable for a
- * season, so this is computed once and reused (the {@link ScoutAgent} caches by player name); a
- * production deployment would re-run this after each daily stats scrape.
+ * season, so this is computed once and reused (the {@link ScoutAgent} caches by player name).
+ * After each sync only the players the {@link LeagueChangeSet} names are evicted and re-scouted.
  *
  * <p>Skipped when no {@code ANTHROPIC_API_KEY} is configured (e.g. tests), so it never makes a
  * doomed network call at boot.
  */
 @Component
-public class ScoutWarmupRunner implements ApplicationRunner {
+public class ScoutWarmupRunner implements ApplicationRunner, LeagueSnapshotListener {
 
     private static final Logger log = LoggerFactory.getLogger(ScoutWarmupRunner.class);
 
@@ -48,6 +51,33 @@ public class ScoutWarmupRunner implements ApplicationRunner {
         t.start();
     }
 
+    @Override
+    public void onSnapshot(LeagueChangeSet changes) {
+        // Evict once the new stats are live; see onPublished.
+    }
+
+    @Override
+    public void onPublished(LeagueChangeSet changes) {
+        if (changes.fullRebuild() || changes.isEmpty()) {
+            return;
+        }
+        int evicted = scoutAgent.evict(changes.affectedNames());
+        if (!enabled) {
+            return;
+        }
+        LeagueSnapshot next = changes.next();
+        int rescouted = 0;
+        for (List<LeagueChangeSet.PlayerChange> group : List.of(changes.changed(), changes.added())) {
+            for (LeagueChangeSet.PlayerChange change : group) {
+                int i = change.nextIndex();
+                scoutAgent.scoutAsync(next.name(i), next.team(i), next.stats(i));
+                rescouted++;
+            }
+        }
+        log.info("Evicted {} scouting report(s) for generation {}; re-scouting {} in the background.",
+                evicted, next.generation(), rescouted);
+    }
+
     private void warm() {
         try {
             List<Player> players = playerRepository.findAll();
@@ -0,0 +1,18 @@
+package com.rm.rally_metrics.player;
+
+import com.rm.rally_metrics.prediction.DraftTier;
+
+/**
+ * One neighbor from {@code GET /api/v1/player/{name}/similar}, serialized snake_case.
+ *
+ * @param distance Euclidean distance between the two players' standardized stat profiles; 0 is an
+ *                 identical profile, and about 1 is one standard deviation apart on one feature
+ */
+public record SimilarPlayer(
+        String name,
+        String team,
+        Integer rank,
+        int skillRating,
+        DraftTier draftTier,
+        double distance) {
+}
@@ -29,6 +29,12 @@ import java.util.List;
  * numerically stable at the 0-games, 0-points, and equal-skill edges. The exponent and weights
  * are constants here but are exactly the parameters one would fit by logistic regression against
  * historical match outcomes.
+ *
+ * <p>League-wide work uses the primitive kernels — {@link #skills} over int columns and
+ * {@link #matchups} over a skill column — which allocate nothing and run exactly the same
+ * arithmetic as the per-player methods, so their results are bit-identical. Key factors likewise
+ * split into raw {@linkplain #keyFactorValues values} and {@linkplain #formatKeyFactor display
+ * formatting}, so a caller formats a value only when it is shown, and only once per player.
  */
 @Component
 public class MatchProbabilityModel {
@@ -70,22 +76,28 @@ public class MatchProbabilityModel {
      * Estimate the outcome of A vs B. {@code winProbability} always refers to the predicted winner.
      */
     public MatchEstimate estimate(PlayerStats a, PlayerStats b) {
-        double skillA = skill(a);
-        double skillB = skill(b);
+        return estimate(skill(a), skill(b), confidence(a, b));
+    }
 
+    /** Like {@link #estimate(PlayerStats, PlayerStats)}, from skills already computed, e.g. per sync. */
+    public MatchEstimate estimate(double skillA, double skillB, Confidence confidence) {
         double pAWins = log5(skillA, skillB);
         boolean winnerIsA = pAWins >= 0.5;
         double winnerProbability = winnerIsA ? pAWins : 1.0 - pAWins;
 
         int moneyline = americanOddsWithVig(winnerProbability);
-        Confidence confidence = confidence(a, b);
 
         return new MatchEstimate(winnerIsA, winnerProbability, moneyline, confidence, skillA, skillB);
     }
 
     /** The player's skill as a 0-100 rating (for display alongside the draft tier). */
     public int skillRating(PlayerStats s) {
-        return (int) Math.round(skill(s) * 100.0);
+        return skillRating(skill(s));
+    }
+
+    /** The 0-100 rating for an already-computed skill in (0,1). */
+    public int skillRating(double skill) {
+        return (int) Math.round(skill * 100.0);
     }
 
     /**
@@ -93,54 +105,101 @@ public class MatchProbabilityModel {
      * a shrunk game win rate, then regressed toward 0.5 by sample confidence.
      */
     public double skill(PlayerStats s) {
-        double pythagorean = pythagoreanExpectation(s);
-        double gameRate = shrunkGameWinRate(s);
+        return skill(s.gamesWon(), s.gamesLost(), s.pointsWon(), s.pointsLost());
+    }
+
+    /** {@link #skill(PlayerStats)} from the four counts, without a {@link PlayerStats}. */
+    public double skill(int gamesWon, int gamesLost, int pointsWon, int pointsLost) {
+        double pythagorean = pythagoreanExpectation(pointsWon, pointsLost);
+        double gameRate = shrunkGameWinRate(gamesWon, gamesLost);
 
         double blended = WEIGHT_POINTS * pythagorean + WEIGHT_GAMES * gameRate;
 
         // Regress toward 0.5 when the game sample is thin.
-        double confidence = s.games() / (s.games() + CONFIDENCE_HALF_GAMES);
+        int games = gamesWon + gamesLost;
+        double confidence = games / (games + CONFIDENCE_HALF_GAMES);
         double regressed = 0.5 + confidence * (blended - 0.5);
 
         return clamp(regressed, SKILL_EPS, 1.0 - SKILL_EPS);
     }
 
+    /**
+     * Batch {@link #skill(int, int, int, int)}: {@code out[i]} is the skill of the player whose
+     * counts are at index {@code i} of the four columns, for every {@code i < out.length}.
+     * Allocates nothing.
+     */
+    public void skills(int[] gamesWon, int[] gamesLost, int[] pointsWon, int[] pointsLost, double[] out) {
+        int n = out.length;
+        if (gamesWon.length < n || gamesLost.length < n || pointsWon.length < n || pointsLost.length < n) {
+            throw new IllegalArgumentException("Every stat column needs at least " + n + " values");
+        }
+        for (int i = 0; i < n; i++) {
+            out[i] = skill(gamesWon[i], gamesLost[i], pointsWon[i], pointsLost[i]);
+        }
+    }
+
     /** Point-based expected win rate. Returns 0.5 when no points or an even split. */
-    private static double pythagoreanExpectation(PlayerStats s) {
-        if (s.points() == 0) {
+    public static double pythagoreanExpectation(PlayerStats s) {
+        return pythagoreanExpectation(s.pointsWon(), s.pointsLost());
+    }
+
+    private static double pythagoreanExpectation(int pointsWon, int pointsLost) {
+        if (pointsWon + pointsLost == 0) {
             return 0.5;
         }
-        double won = Math.pow(Math.max(s.pointsWon(), 0), PYTHAGOREAN_EXPONENT);
-        double lost = Math.pow(Math.max(s.pointsLost(), 0), PYTHAGOREAN_EXPONENT);
+        double won = Math.pow(Math.max(pointsWon, 0), PYTHAGOREAN_EXPONENT);
+        double lost = Math.pow(Math.max(pointsLost, 0), PYTHAGOREAN_EXPONENT);
         double denom = won + lost;
         return denom == 0.0 ? 0.5 : won / denom;
     }
 
     /** Game win rate shrunk toward 0.5 with a Beta pseudo-count. Returns 0.5 when no games. */
-    private static double shrunkGameWinRate(PlayerStats s) {
-        int games = s.games();
+    private static double shrunkGameWinRate(int gamesWon, int gamesLost) {
+        int games = gamesWon + gamesLost;
         if (games == 0) {
             return 0.5;
         }
-        return (s.gamesWon() + 0.5 * GAME_PRIOR_PSEUDOCOUNT) / (games + GAME_PRIOR_PSEUDOCOUNT);
+        return (gamesWon + 0.5 * GAME_PRIOR_PSEUDOCOUNT) / (games + GAME_PRIOR_PSEUDOCOUNT);
     }
 
     /**
      * Log5 head-to-head probability that a skill-{@code a} player beats a skill-{@code b} player.
      * Symmetric, monotonic, and equal to 0.5 when {@code a == b}.
      */
-    static double log5(double a, double b) {
+    public static double log5(double a, double b) {
         double num = a * (1.0 - b);
         double denom = num + b * (1.0 - a);
         return denom == 0.0 ? 0.5 : num / denom;
     }
 
+    /**
+     * Pair kernel: for each {@code j} in {@code [from, to)}, the chance a skill-{@code skillA}
+     * player beats the one at {@code skills[j]} goes to {@code probabilities[offset + j - from]},
+     * and the predicted winner's {@link #americanOddsWithVig moneyline} to the same index of
+     * {@code moneylines}. Allocates nothing, and matches {@link #log5} and
+     * {@link #americanOddsWithVig} exactly.
+     *
+     * <p>The log5 pass is a branch-free loop over the contiguous skill column, which the JIT
+     * unrolls and vectorizes; the moneyline pass (clamps, rounding) runs separately so it does not
+     * stop that.
+     */
+    public void matchups(double skillA, double[] skills, int from, int to,
+                         double[] probabilities, int[] moneylines, int offset) {
+        for (int j = from, k = offset; j < to; j++, k++) {
+            probabilities[k] = log5(skillA, skills[j]);
+        }
+        for (int k = offset, end = offset + to - from; k < end; k++) {
+            double p = probabilities[k];
+            moneylines[k] = americanOddsWithVig(p >= 0.5 ? p : 1.0 - p);
+        }
+    }
+
     /** Largest implied probability a line is allowed to show (≈ -9900), as real books cap. */
     static final double MAX_IMPLIED = 0.99;
     static final double MIN_IMPLIED = 0.01;
 
     /** Convert the winner's fair probability into vig-adjusted American moneyline odds. */
-    int americanOddsWithVig(double fairWinnerProbability) {
+    public int americanOddsWithVig(double fairWinnerProbability) {
         // Apply the book's overround, then clamp to a realistic line range so odds stay finite.
         double implied = clamp(fairWinnerProbability * (1.0 + VIG), MIN_IMPLIED, MAX_IMPLIED);
         if (implied >= 0.5) {
@@ -154,7 +213,11 @@ public class MatchProbabilityModel {
      * Same skill estimate the head-to-head model uses — the verdict is grounded, not LLM-guessed.
      */
     public DraftTier draftTier(PlayerStats s) {
-        double skill = skill(s);
+        return draftTier(skill(s));
+    }
+
+    /** Draft tier for an already-computed skill in (0,1), e.g. one precomputed per sync. */
+    public DraftTier draftTier(double skill) {
         if (skill >= TIER_STRONG_DRAFT) {
             return DraftTier.STRONG_DRAFT;
         }
@@ -168,7 +231,7 @@ public class MatchProbabilityModel {
     }
 
     /** Confidence label from the smaller player's game sample. */
-    Confidence confidence(PlayerStats a, PlayerStats b) {
+    public Confidence confidence(PlayerStats a, PlayerStats b) {
         int minGames = Math.min(a.games(), b.games());
         if (minGames < CONFIDENCE_LOW_BELOW) {
             return Confidence.LOW;
@@ -179,32 +242,68 @@ public class MatchProbabilityModel {
         return Confidence.HIGH;
     }
 
+    /** Number of key factors per matchup, in {@link #keyFactors} order. */
+    public static final int KEY_FACTORS = 5;
+
+    private static final int FACTOR_GAME_WIN = 0;
+    private static final int FACTOR_POINT_WIN = 1;
+    private static final int FACTOR_POINT_DIFF = 2;
+    private static final int FACTOR_SKILL = 3;
+    private static final int FACTOR_SAMPLE = 4;
+
+    private static final String[] KEY_FACTOR_LABELS =
+            {"Game win %", "Point win %", "Point diff / game", "Model skill", "Sample (games)"};
+
     /**
      * The deterministic model-explanation breakdown: the per-feature comparison that drives the
      * probability. Each player's value is pre-formatted; {@code advantage} marks the favored side.
      */
     public List<KeyFactor> keyFactors(PlayerStats a, PlayerStats b) {
-        return List.of(
-                factor("Game win %", rate(a.gamesWon(), a.games()), rate(b.gamesWon(), b.games())),
-                factor("Point win %", rate(a.pointsWon(), a.points()), rate(b.pointsWon(), b.points())),
-                factor("Point diff / game", diffPerGame(a), diffPerGame(b)),
-                factor("Model skill", skill(a), skill(b)),
-                factor("Sample (games)", a.games(), b.games()));
+        double[] values = new double[2 * KEY_FACTORS];
+        keyFactorValues(a.gamesWon(), a.gamesLost(), a.pointsWon(), a.pointsLost(), skill(a), values, 0);
+        keyFactorValues(b.gamesWon(), b.gamesLost(), b.pointsWon(), b.pointsLost(), skill(b), values, KEY_FACTORS);
+        KeyFactor[] factors = new KeyFactor[KEY_FACTORS];
+        for (int f = 0; f < KEY_FACTORS; f++) {
+            double valueA = values[f];
+            double valueB = values[KEY_FACTORS + f];
+            factors[f] = new KeyFactor(keyFactorLabel(f), formatKeyFactor(f, valueA), formatKeyFactor(f, valueB),
+                    keyFactorAdvantage(valueA, valueB));
+        }
+        return List.of(factors);
     }
 
-    private static KeyFactor factor(String label, double valueA, double valueB) {
-        boolean isPercentLike = !label.startsWith("Point diff") && !label.startsWith("Sample");
-        boolean isSample = label.startsWith("Sample");
-        String da = isSample ? String.valueOf((int) valueA)
-                : isPercentLike ? percent(valueA) : signed(valueA);
-        String db = isSample ? String.valueOf((int) valueB)
-                : isPercentLike ? percent(valueB) : signed(valueB);
-        String advantage = advantage(valueA, valueB);
-        return new KeyFactor(label, da, db, advantage);
+    /**
+     * One player's raw key-factor values, in {@link #keyFactors} order, into
+     * {@code out[offset .. offset + KEY_FACTORS)}; {@code skill} is the player's
+     * {@link #skill(int, int, int, int)}. Nothing is formatted and nothing is allocated, so a
+     * caller scoring many pairs computes these once per player.
+     */
+    public void keyFactorValues(int gamesWon, int gamesLost, int pointsWon, int pointsLost, double skill,
+                                double[] out, int offset) {
+        int games = gamesWon + gamesLost;
+        out[offset + FACTOR_GAME_WIN] = rate(gamesWon, games);
+        out[offset + FACTOR_POINT_WIN] = rate(pointsWon, pointsWon + pointsLost);
+        out[offset + FACTOR_POINT_DIFF] = games == 0 ? 0.0 : (double) (pointsWon - pointsLost) / games;
+        out[offset + FACTOR_SKILL] = skill;
+        out[offset + FACTOR_SAMPLE] = games;
+    }
+
+    /** The display label of key factor {@code factor}. */
+    public static String keyFactorLabel(int factor) {
+        return KEY_FACTOR_LABELS[factor];
+    }
+
+    /** How key factor {@code factor}'s raw {@code value} is shown: a percentage, a signed number or a count. */
+    public static String formatKeyFactor(int factor, double value) {
+        return switch (factor) {
+            case FACTOR_POINT_DIFF -> signed(value);
+            case FACTOR_SAMPLE -> String.valueOf((int) value);
+            default -> percent(value);
+        };
     }
 
     /** "A" / "B" / "EVEN" — higher value favored, with a small tolerance for ties. */
-    private static String advantage(double a, double b) {
+    public static String keyFactorAdvantage(double a, double b) {
         double tol = 1e-9 + 1e-3 * Math.max(Math.abs(a), Math.abs(b));
         if (Math.abs(a - b) <= tol) {
             return "EVEN";
@@ -216,10 +315,6 @@ public class MatchProbabilityModel {
         return total == 0 ? 0.0 : (double) won / total;
     }
 
-    private static double diffPerGame(PlayerStats s) {
-        return s.games() == 0 ? 0.0 : (double) (s.pointsWon() - s.pointsLost()) / s.games();
-    }
-
     private static String percent(double v) {
         return String.format("%.1f%%", v * 100.0);
     }
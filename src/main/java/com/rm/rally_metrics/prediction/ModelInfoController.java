@@ -1,8 +1,11 @@
 package com.rm.rally_metrics.prediction;
 
+import com.rm.rally_metrics.ConditionalGets;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -10,13 +13,26 @@ import java.util.List;
  * Exposes a transparent, read-only description of the prediction methodology at
  * {@code GET /api/v1/model/info}. Static content kept in lock-step with
  * {@link MatchProbabilityModel} (it reuses the model's version + constants where they are public).
+ * Built once and revalidated by model version, so repeat visits get a 304.
  */
 @RestController
 @RequestMapping("/api/v1/model")
 public class ModelInfoController {
 
+    private static final ModelInfo INFO = describe();
+
+    private final ConditionalGets conditionalGets;
+
+    public ModelInfoController(ConditionalGets conditionalGets) {
+        this.conditionalGets = conditionalGets;
+    }
+
     @GetMapping("/info")
-    public ModelInfo info() {
+    public ResponseEntity<ModelInfo> info(WebRequest webRequest) {
+        return conditionalGets.forBuild(webRequest, MatchProbabilityModel.MODEL_VERSION, () -> INFO);
+    }
+
+    private static ModelInfo describe() {
         return new ModelInfo(
                 MatchProbabilityModel.MODEL_VERSION,
                 "Rally Metrics Match Model",
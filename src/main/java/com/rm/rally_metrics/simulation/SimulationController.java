@@ -0,0 +1,25 @@
+package com.rm.rally_metrics.simulation;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Event-level odds: title, advancement and expected finish for a bracket or round-robin field.
+ */
+@RestController
+@RequestMapping(path = "api/v1/simulation")
+public class SimulationController {
+
+    private final SimulationService simulationService;
+
+    public SimulationController(SimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    @PostMapping
+    public SimulationResult simulate(@RequestBody SimulationRequest request) {
+        return simulationService.simulate(request);
+    }
+}
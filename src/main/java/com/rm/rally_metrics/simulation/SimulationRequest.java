@@ -0,0 +1,24 @@
+package com.rm.rally_metrics.simulation;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/v1/simulation}, read snake_case. Only {@code format} and
+ * {@code players} are required.
+ *
+ * @param players     the field by exact name; for a bracket this is also the seeding, best first
+ * @param simulations number of simulated events (default 100,000)
+ * @param seed        RNG seed; the same seed and field always reproduce the same odds. A random
+ *                    seed is chosen (and echoed back) when absent
+ * @param advancing   how many players "advance" (top of a round-robin, or the last N left in a
+ *                    bracket; default 4)
+ * @param legs        round-robin only: how many times each pair meets (default 1)
+ */
+public record SimulationRequest(
+        TournamentFormat format,
+        List<String> players,
+        Integer simulations,
+        Long seed,
+        Integer advancing,
+        Integer legs) {
+}
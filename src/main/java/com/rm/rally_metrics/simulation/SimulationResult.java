@@ -0,0 +1,51 @@
+package com.rm.rally_metrics.simulation;
+
+import java.util.List;
+
+/**
+ * Outcome odds for a simulated event, serialized snake_case. Players are listed best title odds
+ * first; teams aggregate their players in the field.
+ *
+ * @param generation league snapshot generation the win probabilities came from
+ * @param seed       the seed actually used, so the run can be reproduced exactly
+ */
+public record SimulationResult(
+        TournamentFormat format,
+        long simulations,
+        long seed,
+        long generation,
+        String modelVersion,
+        List<PlayerOdds> players,
+        List<TeamOdds> teams) {
+
+    /**
+     * @param titleOdds       probability of winning the event
+     * @param advancementOdds probability of being among the {@code advancing} players
+     * @param expectedFinish  mean finishing position (1 = champion)
+     * @param expectedWins    mean matches won
+     * @param roundOdds       bracket only: probability of getting through each round, first round
+     *                        first (the last entry equals {@code title_odds}); empty for a round-robin
+     */
+    public record PlayerOdds(
+            String name,
+            String team,
+            double titleOdds,
+            double advancementOdds,
+            double expectedFinish,
+            double expectedWins,
+            List<Double> roundOdds) {
+    }
+
+    /**
+     * @param titleOdds         probability that one of the team's players wins the event
+     * @param expectedAdvancing mean number of the team's players who advance
+     * @param expectedFinish    mean over events of the best place any of the team's players reached
+     */
+    public record TeamOdds(
+            String team,
+            int players,
+            double titleOdds,
+            double expectedAdvancing,
+            double expectedFinish) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.rm.rally_metrics.simulation;
+
+import com.rm.rally_metrics.error.BadRequestException;
+import com.rm.rally_metrics.error.NotFoundException;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.league.MatchupMatrices;
+import com.rm.rally_metrics.league.MatchupMatrix;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Resolves an event's field against the current league snapshot, takes each pair's log5 win
+ * probability from the precomputed matchup matrix, and plays the event out with
+ * {@link TournamentSimulator}.
+ *
+ * <p>Simulations run on a fixed pool of one thread per core, so concurrent requests queue for the
+ * same cores instead of taking over the common fork-join pool, and each request's total work
+ * (simulations × matches per event) is capped.
+ */
+@Component
+public class SimulationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulationService.class);
+
+    static final int DEFAULT_SIMULATIONS = 100_000;
+    static final int MAX_SIMULATIONS = 2_000_000;
+    static final int MAX_PLAYERS = 256;
+    static final int DEFAULT_ADVANCING = 4;
+    static final int MAX_LEGS = 10;
+
+    /** Most matches one request may play in total, about a few seconds across the pool. */
+    static final long MAX_MATCHES = 1_000_000_000L;
+
+    private final LeagueSnapshotStore leagueStore;
+    private final MatchupMatrices matchupMatrices;
+    private final Executor executor;
+
+    @Autowired
+    public SimulationService(LeagueSnapshotStore leagueStore, MatchupMatrices matchupMatrices) {
+        this(leagueStore, matchupMatrices,
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                    Thread t = new Thread(r, "simulation");
+                    t.setDaemon(true);
+                    return t;
+                }));
+    }
+
+    SimulationService(LeagueSnapshotStore leagueStore, MatchupMatrices matchupMatrices, Executor executor) {
+        this.leagueStore = leagueStore;
+        this.matchupMatrices = matchupMatrices;
+        this.executor = executor;
+    }
+
+    public SimulationResult simulate(SimulationRequest request) {
+        if (request.format() == null) {
+            throw new BadRequestException("'format' is required (BRACKET or ROUND_ROBIN).");
+        }
+        List<String> names = request.players();
+        if (names == null || names.size() < 2 || names.size() > MAX_PLAYERS) {
+            throw new BadRequestException("'players' must list between 2 and " + MAX_PLAYERS + " players.");
+        }
+        if (new HashSet<>(names).size() != names.size()) {
+            throw new BadRequestException("'players' must not repeat a player.");
+        }
+        int simulations = orDefault(request.simulations(), DEFAULT_SIMULATIONS);
+        if (simulations < 1 || simulations > MAX_SIMULATIONS) {
+            throw new BadRequestException("'simulations' must be between 1 and " + MAX_SIMULATIONS + ".");
+        }
+        int advancing = orDefault(request.advancing(), DEFAULT_ADVANCING);
+        if (advancing < 1) {
+            throw new BadRequestException("'advancing' must be at least 1.");
+        }
+        int legs = orDefault(request.legs(), 1);
+        if (legs < 1 || legs > MAX_LEGS) {
+            throw new BadRequestException("'legs' must be between 1 and " + MAX_LEGS + ".");
+        }
+        long matches = simulations * TournamentSimulator.matchesPerEvent(request.format(), names.size(), legs);
+        if (matches > MAX_MATCHES) {
+            throw new BadRequestException("This event would play " + matches + " matches in total; at most "
+                    + MAX_MATCHES + " are allowed. Lower 'simulations'"
+                    + (request.format() == TournamentFormat.ROUND_ROBIN ? ", 'legs' or 'players'." : " or 'players'."));
+        }
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+
+        LeagueSnapshot league = leagueStore.current();
+        int n = names.size();
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            index[i] = league.indexOf(names.get(i));
+            if (index[i] < 0) {
+                throw new NotFoundException("Player not found: " + names.get(i));
+            }
+        }
+        List<String> teamNames = new ArrayList<>();
+        Map<String, Integer> teamIndex = new LinkedHashMap<>();
+        int[] teamOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            String team = league.team(index[i]);
+            teamOf[i] = team == null ? -1 : teamIndex.computeIfAbsent(team, k -> {
+                teamNames.add(k);
+                return teamNames.size() - 1;
+            });
+        }
+        MatchupMatrix matrix = matchupMatrices.matrixFor(league);
+        double[] p = new double[n * n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                p[a * n + b] = a == b ? 0.5 : matrix.probability(index[a], index[b]);
+            }
+        }
+
+        long started = System.nanoTime();
+        TournamentSimulator simulator = new TournamentSimulator(p, n, teamOf, teamNames.size(), executor);
+        TournamentSimulator.Tally tally = request.format() == TournamentFormat.BRACKET
+                ? simulator.bracket(TournamentSimulator.seededBracket(n), advancing, simulations, seed)
+                : simulator.roundRobin(legs, advancing, simulations, seed);
+        log.info("Simulated {} {} events over {} players in {} ms.", simulations, request.format(), n,
+                (System.nanoTime() - started) / 1_000_000);
+
+        List<SimulationResult.TeamOdds> teams = new ArrayList<>(teamNames.size());
+        for (int t = 0; t < teamNames.size(); t++) {
+            int members = 0;
+            double titleOdds = 0;
+            double expectedAdvancing = 0;
+            for (int i = 0; i < n; i++) {
+                if (teamOf[i] == t) {
+                    members++;
+                    titleOdds += tally.titleOdds(i);
+                    expectedAdvancing += tally.advancementOdds(i);
+                }
+            }
+            teams.add(new SimulationResult.TeamOdds(teamNames.get(t), members, titleOdds, expectedAdvancing,
+                    tally.teamExpectedFinish(t)));
+        }
+        teams.sort(Comparator.comparingDouble(SimulationResult.TeamOdds::titleOdds).reversed()
+                .thenComparing(SimulationResult.TeamOdds::team));
+
+        List<SimulationResult.PlayerOdds> players = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<Double> rounds = new ArrayList<>(tally.rounds());
+            for (int r = 1; r <= tally.rounds(); r++) {
+                rounds.add(tally.roundOdds(r, i));
+            }
+            players.add(new SimulationResult.PlayerOdds(league.name(index[i]), league.team(index[i]),
+                    tally.titleOdds(i), tally.advancementOdds(i), tally.expectedFinish(i), tally.expectedWins(i),
+                    List.copyOf(rounds)));
+        }
+        players.sort(Comparator.comparingDouble(SimulationResult.PlayerOdds::titleOdds).reversed()
+                .thenComparingDouble(SimulationResult.PlayerOdds::expectedFinish));
+
+        return new SimulationResult(request.format(), tally.simulations(), seed, league.generation(),
+                MatchProbabilityModel.MODEL_VERSION, List.copyOf(players), List.copyOf(teams));
+    }
+
+    private static int orDefault(Integer value, int fallback) {
+        return value != null ? value : fallback;
+    }
+}
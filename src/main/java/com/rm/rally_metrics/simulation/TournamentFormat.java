@@ -0,0 +1,9 @@
+package com.rm.rally_metrics.simulation;
+
+/** Event structures the simulator can play out. */
+public enum TournamentFormat {
+    /** Single elimination, seeded in request order, padded with byes to a power of two. */
+    BRACKET,
+    /** Every pair meets a fixed number of times; standings by wins, ties broken at random. */
+    ROUND_ROBIN
+}
@@ -0,0 +1,340 @@
+package com.rm.rally_metrics.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Monte Carlo engine for whole events (single-elimination brackets and round-robins) over a fixed
+ * field, given every head-to-head win probability.
+ *
+ * <p>Simulations are split into fixed-size chunks, and each chunk gets its own
+ * {@link SplittableRandom} split off the seed up front, in chunk order. A run is therefore
+ * reproducible from its seed regardless of how many cores execute the chunks or in which order
+ * they finish, and tallies are integer counts, so merging them is exact. Each chunk allocates its
+ * working arrays once; the per-simulation loop allocates nothing. Chunks run on the executor the
+ * simulator is given.
+ *
+ * <p>Players may be grouped into teams; a team's finish in one event is the best place any of its
+ * players reached, averaged over the run.
+ */
+public final class TournamentSimulator {
+
+    /** Simulations per independently seeded chunk (the unit of parallelism). */
+    static final int CHUNK_SIMULATIONS = 16_384;
+
+    private final int n;
+    private final double[] winProbability;
+    private final int[] teamOf;
+    private final int teams;
+    private final Executor executor;
+
+    /** A field without teams whose chunks run on the calling thread. */
+    public TournamentSimulator(double[] winProbability, int n) {
+        this(winProbability, n, noTeams(n), 0, Runnable::run);
+    }
+
+    /**
+     * @param winProbability row-major {@code n x n}: entry {@code a*n + b} is P(a beats b)
+     * @param n              number of players in the field
+     * @param teamOf         each player's team, {@code 0..teams-1}, or -1 for none
+     * @param teams          number of teams
+     * @param executor       runs the chunks
+     */
+    public TournamentSimulator(double[] winProbability, int n, int[] teamOf, int teams, Executor executor) {
+        if (winProbability.length != n * n) {
+            throw new IllegalArgumentException("Expected " + n * n + " probabilities, got " + winProbability.length);
+        }
+        if (teamOf.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " team indexes, got " + teamOf.length);
+        }
+        this.n = n;
+        this.winProbability = winProbability;
+        this.teamOf = teamOf;
+        this.teams = teams;
+        this.executor = executor;
+    }
+
+    private static int[] noTeams(int n) {
+        int[] teamOf = new int[n];
+        Arrays.fill(teamOf, -1);
+        return teamOf;
+    }
+
+    /** Matches one event plays: every non-bye bracket match, or every leg of every round-robin pair. */
+    public static long matchesPerEvent(TournamentFormat format, int players, int legs) {
+        return format == TournamentFormat.BRACKET ? players - 1 : (long) legs * players * (players - 1) / 2;
+    }
+
+    /**
+     * Standard bracket slots for {@code players} entrants seeded 0 (best) upward: seed 1 meets the
+     * lowest seed, the top two seeds can only meet in the final, and the field is padded with byes
+     * ({@code -1}) to a power of two, byes going to the top seeds.
+     */
+    public static int[] seededBracket(int players) {
+        int size = Integer.highestOneBit(Math.max(players, 1));
+        if (size < players) {
+            size <<= 1;
+        }
+        int[] order = {1};
+        while (order.length < size) {
+            int m = order.length * 2;
+            int[] next = new int[m];
+            for (int k = 0; k < order.length; k++) {
+                next[2 * k] = order[k];
+                next[2 * k + 1] = m + 1 - order[k];
+            }
+            order = next;
+        }
+        int[] slots = new int[size];
+        for (int k = 0; k < size; k++) {
+            slots[k] = order[k] <= players ? order[k] - 1 : -1;
+        }
+        return slots;
+    }
+
+    /**
+     * Simulate a single-elimination bracket.
+     *
+     * @param slots     first-round slots (power-of-two length), player index or -1 for a bye
+     * @param advancing a player "advances" by reaching the round with at most this many players left
+     */
+    public Tally bracket(int[] slots, int advancing, int simulations, long seed) {
+        int size = slots.length;
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Bracket size must be a power of two: " + size);
+        }
+        int rounds = Integer.numberOfTrailingZeros(size);
+        return run(simulations, seed, rounds, (tally, rng, count) -> {
+            int[] work = new int[size];
+            int[] teamBest = new int[teams];
+            for (int s = 0; s < count; s++) {
+                System.arraycopy(slots, 0, work, 0, size);
+                Arrays.fill(teamBest, Integer.MAX_VALUE);
+                int alive = size;
+                if (alive <= advancing) {
+                    markAdvanced(tally, work, alive);
+                }
+                for (int round = 1; round <= rounds; round++) {
+                    int matches = alive >> 1;
+                    for (int k = 0; k < matches; k++) {
+                        int a = work[2 * k];
+                        int b = work[2 * k + 1];
+                        int winner = play(a, b, rng);
+                        int loser = winner == a ? b : a;
+                        if (loser >= 0) {
+                            finish(tally, teamBest, loser, matches + 1);
+                            tally.wins[winner]++;
+                        }
+                        work[k] = winner;
+                    }
+                    alive = matches;
+                    for (int k = 0; k < alive; k++) {
+                        if (work[k] >= 0) {
+                            tally.reached[(round - 1) * n + work[k]]++;
+                        }
+                    }
+                    if (alive <= advancing && alive * 2 > advancing) {
+                        markAdvanced(tally, work, alive);
+                    }
+                }
+                tally.titles[work[0]]++;
+                finish(tally, teamBest, work[0], 1);
+                tally.addTeamFinishes(teamBest);
+            }
+        });
+    }
+
+    /**
+     * Simulate a round-robin in which every pair meets {@code legs} times. Standings are by wins,
+     * ties broken at random; a player "advances" by finishing in the top {@code advancing}.
+     */
+    public Tally roundRobin(int legs, int advancing, int simulations, long seed) {
+        return run(simulations, seed, 0, (tally, rng, count) -> {
+            int[] wins = new int[n];
+            long[] standings = new long[n];
+            int[] teamBest = new int[teams];
+            for (int s = 0; s < count; s++) {
+                Arrays.fill(wins, 0);
+                Arrays.fill(teamBest, Integer.MAX_VALUE);
+                for (int a = 0; a < n; a++) {
+                    int row = a * n;
+                    for (int b = a + 1; b < n; b++) {
+                        double p = winProbability[row + b];
+                        for (int leg = 0; leg < legs; leg++) {
+                            if (rng.nextDouble() < p) {
+                                wins[a]++;
+                            } else {
+                                wins[b]++;
+                            }
+                        }
+                    }
+                }
+                // Sort key: wins, then a random tiebreak, then the player index to recover who it is.
+                for (int a = 0; a < n; a++) {
+                    standings[a] = ((long) wins[a] << 40) | ((long) (rng.nextInt() >>> 8) << 16) | a;
+                }
+                Arrays.sort(standings);
+                for (int k = 0; k < n; k++) {
+                    int a = (int) (standings[k] & 0xFFFF);
+                    int place = n - k;
+                    finish(tally, teamBest, a, place);
+                    tally.wins[a] += wins[a];
+                    if (place == 1) {
+                        tally.titles[a]++;
+                    }
+                    if (place <= advancing) {
+                        tally.advanced[a]++;
+                    }
+                }
+                tally.addTeamFinishes(teamBest);
+            }
+        });
+    }
+
+    private int play(int a, int b, SplittableRandom rng) {
+        if (b < 0) {
+            return a;
+        }
+        if (a < 0) {
+            return b;
+        }
+        return rng.nextDouble() < winProbability[a * n + b] ? a : b;
+    }
+
+    private void finish(Tally tally, int[] teamBest, int player, int place) {
+        tally.finishSum[player] += place;
+        int team = teamOf[player];
+        if (team >= 0 && place < teamBest[team]) {
+            teamBest[team] = place;
+        }
+    }
+
+    private static void markAdvanced(Tally tally, int[] work, int alive) {
+        for (int k = 0; k < alive; k++) {
+            if (work[k] >= 0) {
+                tally.advanced[work[k]]++;
+            }
+        }
+    }
+
+    private Tally run(int simulations, long seed, int rounds, ChunkBody body) {
+        if (simulations < 1) {
+            throw new IllegalArgumentException("At least one simulation is required");
+        }
+        int chunks = (simulations + CHUNK_SIMULATIONS - 1) / CHUNK_SIMULATIONS;
+        SplittableRandom root = new SplittableRandom(seed);
+        List<SplittableRandom> streams = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            streams.add(root.split());
+        }
+        List<CompletableFuture<Tally>> parts = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            SplittableRandom rng = streams.get(c);
+            int count = Math.min(CHUNK_SIMULATIONS, simulations - c * CHUNK_SIMULATIONS);
+            parts.add(CompletableFuture.supplyAsync(() -> {
+                Tally tally = new Tally(n, teams, rounds, count);
+                body.simulate(tally, rng, count);
+                return tally;
+            }, executor));
+        }
+        Tally total = new Tally(n, teams, rounds, 0);
+        for (CompletableFuture<Tally> part : parts) {
+            total.add(part.join());
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface ChunkBody {
+        void simulate(Tally tally, SplittableRandom rng, int count);
+    }
+
+    /** Integer counts accumulated over a run; every odds figure is a count over {@link #simulations()}. */
+    public static final class Tally {
+
+        private final int n;
+        private final int rounds;
+        private long simulations;
+        private final long[] titles;
+        private final long[] advanced;
+        private final long[] finishSum;
+        private final long[] wins;
+        private final long[] reached;
+        private final long[] teamFinishSum;
+
+        Tally(int n, int teams, int rounds, long simulations) {
+            this.n = n;
+            this.rounds = rounds;
+            this.simulations = simulations;
+            this.titles = new long[n];
+            this.advanced = new long[n];
+            this.finishSum = new long[n];
+            this.wins = new long[n];
+            this.reached = new long[rounds * n];
+            this.teamFinishSum = new long[teams];
+        }
+
+        private void addTeamFinishes(int[] teamBest) {
+            for (int t = 0; t < teamBest.length; t++) {
+                teamFinishSum[t] += teamBest[t];
+            }
+        }
+
+        private void add(Tally other) {
+            simulations += other.simulations;
+            for (int i = 0; i < n; i++) {
+                titles[i] += other.titles[i];
+                advanced[i] += other.advanced[i];
+                finishSum[i] += other.finishSum[i];
+                wins[i] += other.wins[i];
+            }
+            for (int k = 0; k < reached.length; k++) {
+                reached[k] += other.reached[k];
+            }
+            for (int t = 0; t < teamFinishSum.length; t++) {
+                teamFinishSum[t] += other.teamFinishSum[t];
+            }
+        }
+
+        public long simulations() {
+            return simulations;
+        }
+
+        /** Number of bracket rounds (0 for a round-robin). */
+        public int rounds() {
+            return rounds;
+        }
+
+        public double titleOdds(int player) {
+            return (double) titles[player] / simulations;
+        }
+
+        public double advancementOdds(int player) {
+            return (double) advanced[player] / simulations;
+        }
+
+        /** Mean finishing position (1 = champion; bracket losers share the best place of their round). */
+        public double expectedFinish(int player) {
+            return (double) finishSum[player] / simulations;
+        }
+
+        /** Mean over events of the best finishing position among the team's players. */
+        public double teamExpectedFinish(int team) {
+            return (double) teamFinishSum[team] / simulations;
+        }
+
+        /** Mean number of matches won per event (byes excluded). */
+        public double expectedWins(int player) {
+            return (double) wins[player] / simulations;
+        }
+
+        /** Probability of getting through bracket round {@code round} (1..{@link #rounds()}), byes included. */
+        public double roundOdds(int round, int player) {
+            return (double) reached[(round - 1) * n + player] / simulations;
+        }
+    }
+}
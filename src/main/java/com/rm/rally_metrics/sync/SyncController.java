@@ -0,0 +1,73 @@
+package com.rm.rally_metrics.sync;
+
+import com.rm.rally_metrics.StatsSyncScheduler;
+import com.rm.rally_metrics.error.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * Stats sync runs: their recorded history, and a manual trigger. The trigger is off unless
+ * {@code rally.sync.trigger-token} is set, and then requires it in {@code X-Sync-Token}.
+ */
+@RestController
+@RequestMapping(path = "api/v1/sync")
+public class SyncController {
+
+    static final String TOKEN_HEADER = "X-Sync-Token";
+
+    private static final int DEFAULT_RUNS = 20;
+    private static final int MAX_RUNS = 500;
+
+    private final StatsSyncScheduler syncScheduler;
+    private final byte[] triggerToken;
+
+    public SyncController(StatsSyncScheduler syncScheduler,
+                          @Value("${rally.sync.trigger-token:}") String triggerToken) {
+        this.syncScheduler = syncScheduler;
+        this.triggerToken = triggerToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** The run in progress, the last run that loaded, and the {@code limit} (default 20) latest runs. */
+    @GetMapping("/status")
+    public ResponseEntity<SyncStatus> getStatus(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) SyncOutcome outcome) {
+
+        int size = limit != null ? limit : DEFAULT_RUNS;
+        if (size < 1 || size > MAX_RUNS) {
+            throw new BadRequestException("'limit' must be between 1 and " + MAX_RUNS + ".");
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(syncScheduler.status(size, outcome));
+    }
+
+    /** Start a run now: 202 with the run, or 409 while another run is in progress. */
+    @PostMapping("/run")
+    public ResponseEntity<?> runNow(@RequestHeader(name = TOKEN_HEADER, required = false) String token) {
+        if (triggerToken.length == 0) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Manual sync is disabled; set rally.sync.trigger-token to enable it."));
+        }
+        if (token == null || !MessageDigest.isEqual(triggerToken, token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Invalid " + TOKEN_HEADER + "."));
+        }
+        SyncRun run = syncScheduler.start(SyncTrigger.MANUAL);
+        if (run == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "A stats sync is already running."));
+        }
+        return ResponseEntity.accepted()
+                .body(new SyncStatus.Running(run.getTrigger(), run.getSource(), run.getStartedAt()));
+    }
+}
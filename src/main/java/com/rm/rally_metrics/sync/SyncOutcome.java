@@ -0,0 +1,17 @@
+package com.rm.rally_metrics.sync;
+
+/** How a stats sync run ended. */
+public enum SyncOutcome {
+    /** Players changed and a new league generation was published. */
+    LOADED,
+    /** Rows were loaded but every player was already up to date; nothing was published. */
+    NO_CHANGES,
+    /** The standings table was the same as the last load (or a 304), so nothing was loaded. */
+    UNCHANGED,
+    /** The source had no usable rows; the current league was kept. */
+    EMPTY,
+    /** The run threw or the scraper failed; see the run's error. */
+    FAILED,
+    /** Not run, because another run was still in progress. */
+    SKIPPED
+}
@@ -0,0 +1,227 @@
+package com.rm.rally_metrics.sync;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * One stats sync run: when it ran, how long each stage took, what it loaded and how it ended.
+ * Stage durations are null for stages the run never reached.
+ *
+ * <p>Stages: {@code fetch} (the HTTP exchange, or the whole scraper process in {@code selenium}
+ * mode), {@code parse} (reading the table out of the page),
+ * {@code copy} (cleaning rows and streaming them into the staging table), {@code merge} (into
+ * {@code player_statistic}) and {@code publish} (building and swapping in the league snapshot).
+ */
+@Entity
+@Table(name = "sync_run", indexes = @Index(name = "sync_run_started_at_idx", columnList = "started_at"))
+public class SyncRun {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "triggered_by", length = 16)
+    private SyncTrigger trigger;
+
+    @Column(name = "source", length = 16)
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome", length = 16)
+    private SyncOutcome outcome;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "total_ms")
+    private Long totalMs;
+
+    @Column(name = "fetch_ms")
+    private Long fetchMs;
+
+    @Column(name = "parse_ms")
+    private Long parseMs;
+
+    @Column(name = "copy_ms")
+    private Long copyMs;
+
+    @Column(name = "merge_ms")
+    private Long mergeMs;
+
+    @Column(name = "publish_ms")
+    private Long publishMs;
+
+    @Column(name = "rows_fetched")
+    private Integer rowsFetched;
+
+    @Column(name = "inserted")
+    private Integer inserted;
+
+    @Column(name = "updated")
+    private Integer updated;
+
+    @Column(name = "unchanged")
+    private Integer unchanged;
+
+    @Column(name = "rejected")
+    private Integer rejected;
+
+    @Column(name = "generation")
+    private Long generation;
+
+    @Column(name = "error", length = MAX_ERROR_LENGTH)
+    private String error;
+
+    public SyncRun() {}
+
+    public SyncRun(SyncTrigger trigger, String source, Instant startedAt) {
+        this.trigger = trigger;
+        this.source = source;
+        this.startedAt = startedAt;
+    }
+
+    /** Close the run now with {@code outcome}; {@code error} may be null. */
+    public void finish(SyncOutcome outcome, String error) {
+        this.outcome = outcome;
+        this.finishedAt = Instant.now();
+        this.totalMs = Duration.between(startedAt, finishedAt).toMillis();
+        this.error = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public SyncTrigger getTrigger() {
+        return trigger;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public SyncOutcome getOutcome() {
+        return outcome;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Long getTotalMs() {
+        return totalMs;
+    }
+
+    public Long getFetchMs() {
+        return fetchMs;
+    }
+
+    public void setFetchMs(Long fetchMs) {
+        this.fetchMs = fetchMs;
+    }
+
+    public Long getParseMs() {
+        return parseMs;
+    }
+
+    public void setParseMs(Long parseMs) {
+        this.parseMs = parseMs;
+    }
+
+    public Long getCopyMs() {
+        return copyMs;
+    }
+
+    public void setCopyMs(Long copyMs) {
+        this.copyMs = copyMs;
+    }
+
+    public Long getMergeMs() {
+        return mergeMs;
+    }
+
+    public void setMergeMs(Long mergeMs) {
+        this.mergeMs = mergeMs;
+    }
+
+    public Long getPublishMs() {
+        return publishMs;
+    }
+
+    public void setPublishMs(Long publishMs) {
+        this.publishMs = publishMs;
+    }
+
+    public Integer getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public void setRowsFetched(Integer rowsFetched) {
+        this.rowsFetched = rowsFetched;
+    }
+
+    public Integer getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(Integer inserted) {
+        this.inserted = inserted;
+    }
+
+    public Integer getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(Integer updated) {
+        this.updated = updated;
+    }
+
+    public Integer getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(Integer unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public Integer getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Integer rejected) {
+        this.rejected = rejected;
+    }
+
+    public Long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(Long generation) {
+        this.generation = generation;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rm.rally_metrics.sync;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SyncRunRepository extends JpaRepository<SyncRun, Long> {
+
+    /** Most recent runs first. */
+    List<SyncRun> findAllByOrderByStartedAtDesc(Pageable page);
+
+    /** Most recent runs with this outcome first. */
+    List<SyncRun> findByOutcomeOrderByStartedAtDesc(SyncOutcome outcome, Pageable page);
+
+    /** Drop runs started before {@code cutoff}; returns how many were removed. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SyncRun r WHERE r.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,19 @@
+package com.rm.rally_metrics.sync;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * {@code GET /api/v1/sync/status}, serialized snake_case.
+ *
+ * @param source   the configured sync source ({@code http} or {@code selenium})
+ * @param running  the run in progress, or null
+ * @param lastLoad the most recent run that published new stats, or null
+ * @param recent   the most recent recorded runs, newest first
+ */
+public record SyncStatus(String source, Running running, SyncRun lastLoad, List<SyncRun> recent) {
+
+    /** A run still in progress. */
+    public record Running(SyncTrigger trigger, String source, Instant startedAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.rm.rally_metrics.sync;
+
+/** What started a stats sync run. */
+public enum SyncTrigger {
+    SCHEDULED,
+    MANUAL
+}
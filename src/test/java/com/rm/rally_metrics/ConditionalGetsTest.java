@@ -0,0 +1,138 @@
+package com.rm.rally_metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.player.PlayerRepository;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConditionalGetsTest {
+
+    private static final Player BEN = new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+
+    private LeagueSnapshotStore store;
+    private ConditionalGets conditionalGets;
+
+    @BeforeEach
+    void setUp() {
+        PlayerRepository repository = mock(PlayerRepository.class);
+        when(repository.findAll()).thenReturn(List.of(BEN));
+        store = new LeagueSnapshotStore(repository, new MatchProbabilityModel(), List.of());
+        conditionalGets = new ConditionalGets(store, 60, 600, 86400);
+    }
+
+    private static WebRequest get(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/player");
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    @Test
+    void firstRequest_carriesValidatorsAndCachePolicy() {
+        ResponseEntity<String> response = conditionalGets.forLeague(get(null, null), () -> "body");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("body");
+        assertThat(response.getHeaders().getETag()).endsWith("-" + store.current().generation() + "\"");
+        assertThat(response.getHeaders().getLastModified())
+                .isEqualTo(store.current().builtAt().getEpochSecond() * 1000);
+        assertThat(response.getHeaders().getCacheControl())
+                .contains("max-age=60", "s-maxage=600", "stale-while-revalidate=86400", "public");
+    }
+
+    @Test
+    void matchingIfNoneMatch_is304_withoutBuildingTheBody() {
+        String etag = conditionalGets.forLeague(get(null, null), () -> "body").getHeaders().getETag();
+        AtomicInteger builds = new AtomicInteger();
+
+        ResponseEntity<String> response = conditionalGets.forLeague(
+                get(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag), () -> "body" + builds.incrementAndGet());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(builds).hasValue(0);
+    }
+
+    @Test
+    void ifModifiedSince_isHonoured_whenNoEtagIsSent() {
+        long lastModified = conditionalGets.forLeague(get(null, null), () -> "body").getHeaders().getLastModified();
+        WebRequest revalidation = get(HttpHeaders.IF_MODIFIED_SINCE,
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(lastModified).atZone(ZoneOffset.UTC)));
+
+        assertThat(conditionalGets.forLeague(revalidation, () -> "body").getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void aNewGeneration_invalidatesTheOldTag() {
+        String etag = conditionalGets.forLeague(get(null, null), () -> "body").getHeaders().getETag();
+        store.refresh();
+
+        ResponseEntity<String> response = conditionalGets.forLeague(get(HttpHeaders.IF_NONE_MATCH, etag), () -> "fresh");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("fresh");
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void rejectedBody_isSentUncacheable_withoutValidators() {
+        ResponseEntity<String> response = conditionalGets.forLeague(get(null, null), () -> "degraded",
+                body -> !body.equals("degraded"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNull();
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-store");
+    }
+
+    @Test
+    void encodedJson_negotiatesGzip_withADistinctTagPerEncoding() {
+        EncodedJson json = EncodedJson.encode(new ObjectMapper().writer(), Collections.nCopies(100, "Ben Johns"));
+
+        ResponseEntity<byte[]> plain = conditionalGets.forLeagueJson(get(null, null), league -> json);
+        ResponseEntity<byte[]> gzipped = conditionalGets.forLeagueJson(
+                get(HttpHeaders.ACCEPT_ENCODING, "gzip, br"), league -> json);
+
+        assertThat(plain.getBody()).isSameAs(json.identity());
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzipped.getBody()).isSameAs(json.gzip());
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzipped.getHeaders().getETag()).isNotEqualTo(plain.getHeaders().getETag());
+        assertThat(conditionalGets.forLeagueJson(
+                get(HttpHeaders.IF_NONE_MATCH, plain.getHeaders().getETag()), league -> json).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void buildResponses_areTaggedByVersion() {
+        String v1 = conditionalGets.forBuild(get(null, null), "v1", () -> "info").getHeaders().getETag();
+        String v2 = conditionalGets.forBuild(get(null, null), "v2", () -> "info").getHeaders().getETag();
+
+        assertThat(v1).isNotEqualTo(v2);
+        assertThat(conditionalGets.forBuild(get(HttpHeaders.IF_NONE_MATCH, v1), "v1", () -> "info").getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+}
@@ -0,0 +1,49 @@
+package com.rm.rally_metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedJsonTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    @Test
+    void encode_rendersWithTheGivenMapper_andGzipRoundTrips() throws IOException {
+        List<Map<String, Object>> rows = Collections.nCopies(200, Map.of("name", "Ben Johns", "rank", 1));
+
+        EncodedJson json = EncodedJson.encode(mapper.writer(), rows);
+
+        assertThat(json.identity()).isEqualTo(mapper.writeValueAsBytes(rows));
+        assertThat(json.gzip()).isNotNull();
+        assertThat(json.gzip().length).isLessThan(json.identity().length);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(json.gzip())).readAllBytes())
+                .isEqualTo(json.identity());
+    }
+
+    @Test
+    void encode_dropsGzip_whenItWouldNotBeSmaller() {
+        assertThat(EncodedJson.encode(mapper.writer(), List.of()).gzip()).isNull();
+    }
+
+    @Test
+    void acceptsGzip_followsAcceptEncodingQualities() {
+        assertThat(EncodedJson.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(EncodedJson.acceptsGzip("x-gzip;q=0.5")).isTrue();
+        assertThat(EncodedJson.acceptsGzip("*")).isTrue();
+        assertThat(EncodedJson.acceptsGzip(null)).isFalse();
+        assertThat(EncodedJson.acceptsGzip("identity")).isFalse();
+        assertThat(EncodedJson.acceptsGzip("br, gzip;q=0")).isFalse();
+        assertThat(EncodedJson.acceptsGzip("gzip;q=0, *")).isFalse(); // an explicit refusal beats the wildcard
+    }
+}
@@ -0,0 +1,140 @@
+package com.rm.rally_metrics;
+
+import com.rm.rally_metrics.ingest.LoadReport;
+import com.rm.rally_metrics.ingest.StandingsFetcher;
+import com.rm.rally_metrics.ingest.StatsIngest;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.player.PlayerRepository;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.sync.SyncOutcome;
+import com.rm.rally_metrics.sync.SyncRun;
+import com.rm.rally_metrics.sync.SyncRunRepository;
+import com.rm.rally_metrics.sync.SyncTrigger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** {@link StatsSyncScheduler} with its runs queued on a hand-driven executor. */
+class StatsSyncSchedulerTest {
+
+    private static final String CSV = "Player,Games Won\nBen Johns,42\n";
+
+    private StatsIngest statsIngest;
+    private StandingsFetcher fetcher;
+    private SyncRunRepository syncRuns;
+    private final List<Runnable> queued = new ArrayList<>();
+    private StatsSyncScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        statsIngest = mock(StatsIngest.class);
+        fetcher = mock(StandingsFetcher.class);
+        syncRuns = mock(SyncRunRepository.class);
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        when(playerRepository.findAll()).thenReturn(
+                List.of(new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3)));
+        LeagueSnapshotStore leagueStore = new LeagueSnapshotStore(playerRepository, new MatchProbabilityModel(), List.of());
+        scheduler = new StatsSyncScheduler(statsIngest, fetcher, leagueStore, syncRuns,
+                StatsSyncScheduler.SOURCE_HTTP, Duration.ofDays(90), queued::add);
+    }
+
+    private static StandingsFetcher.Standings standings(boolean unchanged) {
+        return new StandingsFetcher.Standings(unchanged ? null : CSV, 1, "ab".repeat(32), null, null,
+                unchanged, Duration.ofMillis(120), Duration.ofMillis(8));
+    }
+
+    private SyncRun recorded() {
+        ArgumentCaptor<SyncRun> run = ArgumentCaptor.forClass(SyncRun.class);
+        verify(syncRuns).save(run.capture());
+        return run.getValue();
+    }
+
+    @Test
+    void run_recordsStageTimingsAndCounts_andPublishes() throws Exception {
+        StandingsFetcher.Standings standings = standings(false);
+        when(fetcher.fetch()).thenReturn(standings);
+        when(statsIngest.ingest(any(Reader.class))).thenReturn(new LoadReport(1, 2, 3, 4, Set.of("Ben Johns"),
+                Duration.ofMillis(30), Duration.ofMillis(15)));
+
+        SyncRun started = scheduler.start(SyncTrigger.MANUAL);
+        queued.remove(0).run();
+
+        SyncRun run = recorded();
+        assertThat(run).isSameAs(started);
+        assertThat(run.getTrigger()).isEqualTo(SyncTrigger.MANUAL);
+        assertThat(run.getOutcome()).isEqualTo(SyncOutcome.LOADED);
+        assertThat(run.getFetchMs()).isEqualTo(120);
+        assertThat(run.getParseMs()).isEqualTo(8);
+        assertThat(run.getCopyMs()).isEqualTo(30);
+        assertThat(run.getMergeMs()).isEqualTo(15);
+        assertThat(run.getPublishMs()).isNotNull();
+        assertThat(run.getRowsFetched()).isEqualTo(1);
+        assertThat(List.of(run.getInserted(), run.getUpdated(), run.getUnchanged(), run.getRejected()))
+                .containsExactly(1, 2, 3, 4);
+        assertThat(run.getGeneration()).isEqualTo(1);
+        assertThat(run.getFinishedAt()).isNotNull();
+        verify(fetcher).loaded(standings);
+        verify(syncRuns).deleteStartedBefore(any());
+    }
+
+    @Test
+    void run_stopsAtAnUnchangedTable() throws Exception {
+        when(fetcher.fetch()).thenReturn(standings(true));
+
+        scheduler.pollStandings();
+        queued.remove(0).run();
+
+        SyncRun run = recorded();
+        assertThat(run.getTrigger()).isEqualTo(SyncTrigger.SCHEDULED);
+        assertThat(run.getOutcome()).isEqualTo(SyncOutcome.UNCHANGED);
+        assertThat(run.getCopyMs()).isNull();
+        verify(statsIngest, never()).ingest(any(Reader.class));
+    }
+
+    @Test
+    void run_recordsTheFailure() throws Exception {
+        when(fetcher.fetch()).thenThrow(new IOException("Standings page answered HTTP 503"));
+
+        scheduler.start(SyncTrigger.SCHEDULED);
+        queued.remove(0).run();
+
+        SyncRun run = recorded();
+        assertThat(run.getOutcome()).isEqualTo(SyncOutcome.FAILED);
+        assertThat(run.getError()).contains("HTTP 503");
+    }
+
+    @Test
+    void start_skipsWhileARunIsInProgress_andAllowsOneAfterward() throws Exception {
+        when(fetcher.fetch()).thenReturn(standings(true));
+
+        assertThat(scheduler.start(SyncTrigger.SCHEDULED)).isNotNull();
+        assertThat(scheduler.status(5, null).running()).isNotNull();
+        assertThat(scheduler.start(SyncTrigger.MANUAL)).isNull();
+        assertThat(queued).hasSize(1);
+
+        SyncRun skipped = recorded();
+        assertThat(skipped.getOutcome()).isEqualTo(SyncOutcome.SKIPPED);
+        assertThat(skipped.getTrigger()).isEqualTo(SyncTrigger.MANUAL);
+
+        queued.remove(0).run();
+        assertThat(scheduler.status(5, null).running()).isNull();
+        assertThat(scheduler.start(SyncTrigger.MANUAL)).isNotNull();
+        verify(syncRuns, times(2)).save(any());
+    }
+}
@@ -0,0 +1,85 @@
+package com.rm.rally_metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.rm.rally_metrics.ai.MatchPrediction;
+import com.rm.rally_metrics.ai.agents.ScoutReport;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.player.PlayerSnapshot;
+import com.rm.rally_metrics.prediction.DraftTier;
+import com.rm.rally_metrics.prediction.KeyFactor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatsTest {
+
+    private static final Player BEN = new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+    private static final Player SPARSE = new Player("New Player", null, "NJ Fives", null, null, null, null, null, null);
+
+    private final Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+    private final ObjectMapper json = builder.build();
+    private final WireFormats formats = new WireFormats();
+    private final ObjectMapper smile = formats.smileHttpMessageConverter(builder).getObjectMapper();
+    private final ObjectMapper cbor = formats.cborHttpMessageConverter(builder).getObjectMapper();
+
+    @Test
+    void converters_useTheirBinaryFactories() {
+        assertThat(smile.getFactory()).isInstanceOf(SmileFactory.class);
+        assertThat(cbor.getFactory()).isInstanceOf(CBORFactory.class);
+    }
+
+    @Test
+    void players_roundTripWithIdenticalContent() throws IOException {
+        assertSameContent(List.of(BEN, SPARSE));
+        assertThat(json.readTree(json.writeValueAsBytes(BEN)).has("games_won_percent")).isTrue();
+    }
+
+    @Test
+    void predictions_roundTripWithIdenticalContent() throws IOException {
+        ScoutReport scout = new ScoutReport("Aggressor", List.of("power"), List.of("nerves"), "draft");
+        assertSameContent(new MatchPrediction("Ben Johns", 0.7312, -285, "HIGH", "v2",
+                List.of(new KeyFactor("Point win %", "60.3%", "51.5%", "A")), scout, ScoutReport.unavailable(),
+                "Ben controls the rallies."));
+    }
+
+    @Test
+    void snapshots_roundTripWithIdenticalContent() throws IOException {
+        assertSameContent(new PlayerSnapshot(DraftTier.STRONG_DRAFT, 88, 120, 50, 51.2, 50.4, 1, 100.0, null));
+    }
+
+    @Test
+    void numericArrays_roundTripBitForBit_andShrink() throws IOException {
+        double[] probabilities = {0.5000000000000001, 0.1, 1.0 / 3.0, 0.9999999999999999};
+        byte[] asJson = json.writeValueAsBytes(probabilities);
+
+        assertThat(smile.readValue(smile.writeValueAsBytes(probabilities), double[].class)).isEqualTo(probabilities);
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(probabilities), double[].class)).isEqualTo(probabilities);
+        assertThat(cbor.writeValueAsBytes(probabilities).length).isLessThan(asJson.length);
+    }
+
+    @Test
+    void negotiate_picksTheHighestQualityBinaryTypeOrJson() {
+        assertThat(WireFormats.negotiate(null)).isEqualTo(WireFormats.Encoding.JSON);
+        assertThat(WireFormats.negotiate("*/*")).isEqualTo(WireFormats.Encoding.JSON);
+        assertThat(WireFormats.negotiate("application/cbor")).isEqualTo(WireFormats.Encoding.CBOR);
+        assertThat(WireFormats.negotiate("application/json;q=0.5, application/x-jackson-smile"))
+                .isEqualTo(WireFormats.Encoding.SMILE);
+        assertThat(WireFormats.negotiate("application/cbor;q=0, application/json")).isEqualTo(WireFormats.Encoding.JSON);
+        assertThat(WireFormats.negotiate("not a media type")).isEqualTo(WireFormats.Encoding.JSON);
+    }
+
+    private void assertSameContent(Object value) throws IOException {
+        JsonNode expected = json.readTree(json.writeValueAsBytes(value));
+        assertThat(smile.readTree(smile.writeValueAsBytes(value))).isEqualTo(expected);
+        assertThat(cbor.readTree(cbor.writeValueAsBytes(value))).isEqualTo(expected);
+    }
+}
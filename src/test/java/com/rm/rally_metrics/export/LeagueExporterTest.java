@@ -0,0 +1,130 @@
+package com.rm.rally_metrics.export;
+
+import com.opencsv.CSVReader;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.MatchupMatrix;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.KeyFactor;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeagueExporterTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+    private final LeagueExporter exporter = new LeagueExporter(model);
+
+    private final LeagueSnapshot league = LeagueSnapshot.build(1, List.of(
+            new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3),
+            new Player("Jorja \"JJ\" Johnson", 6, "Orlando, Squeeze", 28, 24, 53.8, 690, 670, 50.7),
+            new Player("New Player", null, "NJ Fives", null, null, null, null, null, null)), model);
+
+    private List<String[]> csv(ByteArrayOutputStream out) throws Exception {
+        try (CSVReader reader = new CSVReader(new StringReader(out.toString(StandardCharsets.UTF_8)))) {
+            return reader.readAll();
+        }
+    }
+
+    @Test
+    void playersCsv_usesTheImportHeaders_quotesWhenNeeded_andLeavesNullsEmpty() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.writePlayers(league, ExportFormat.CSV, out);
+
+        List<String[]> rows = csv(out);
+        assertThat(rows.get(0)).containsExactly("Name", "Rank", "Team", "Games Won", "Games Lost",
+                "Games Won Percent", "Pts Won", "Pts Lost", "Pts Won Percent", "Skill Rating", "Draft Tier");
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(1)).containsExactly("Ben Johns", "1", "Dallas Flash", "42", "10", "80.8", "820", "540",
+                "60.3", String.valueOf(model.skillRating(league.skill(0))), model.draftTier(league.skill(0)).name());
+        assertThat(rows.get(2)[0]).isEqualTo("Jorja \"JJ\" Johnson");
+        assertThat(rows.get(2)[2]).isEqualTo("Orlando, Squeeze");
+        assertThat(rows.get(3)[1]).isEmpty();
+        assertThat(rows.get(3)[5]).isEmpty();
+    }
+
+    @Test
+    void matchupsCsv_coversEveryPairOnce_withKeyFactorsOnRequest() throws Exception {
+        MatchupMatrix matrix = MatchupMatrix.build(league, model);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream withFactors = new ByteArrayOutputStream();
+        exporter.writeMatchups(league, matrix, false, ExportFormat.CSV, plain);
+        exporter.writeMatchups(league, matrix, true, ExportFormat.CSV, withFactors);
+
+        List<String[]> rows = csv(plain);
+        assertThat(rows.get(0)).containsExactly("player_a", "player_b", "probability_a", "moneyline");
+        assertThat(rows).hasSize(1 + 3);
+        assertThat(rows.get(1)).containsExactly("Ben Johns", "Jorja \"JJ\" Johnson",
+                Double.toString(matrix.probability(0, 1)), Integer.toString(matrix.moneyline(0, 1)));
+
+        List<String[]> factorRows = csv(withFactors);
+        assertThat(factorRows.get(0)).hasSize(4 + 3 * 5)
+                .contains("game_win_pct_a", "point_diff_game_b", "sample_games_advantage");
+        assertThat(factorRows.get(1)).containsSequence("80.8%", "53.8%", "A");
+        int row = 1;
+        for (int i = 0; i < league.size(); i++) {
+            for (int j = i + 1; j < league.size(); j++, row++) {
+                List<String> expected = new ArrayList<>();
+                for (KeyFactor factor : model.keyFactors(league.stats(i), league.stats(j))) {
+                    expected.addAll(List.of(factor.displayA(), factor.displayB(), factor.advantage()));
+                }
+                assertThat(Arrays.asList(factorRows.get(row)).subList(4, 4 + 3 * 5)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void arrow_roundTripsThroughTheStreamReader_acrossBatches() throws Exception {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < LeagueExporter.ARROW_BATCH_ROWS + 10; i++) {
+            players.add(new Player("P" + i, i % 3 == 0 ? null : i + 1, "Team", 10, 10, 50.0, 200, 200, 50.0));
+        }
+        LeagueSnapshot big = LeagueSnapshot.build(1, players, model);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.writePlayers(big, ExportFormat.ARROW, out);
+
+        int rows = 0;
+        int batches = 0;
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertThat(root.getSchema().getFields()).extracting(f -> f.getName())
+                    .startsWith("name", "rank", "team");
+            while (reader.loadNextBatch()) {
+                VarCharVector names = (VarCharVector) root.getVector("name");
+                IntVector ranks = (IntVector) root.getVector("rank");
+                Float8Vector winPct = (Float8Vector) root.getVector("games_won_percent");
+                for (int k = 0; k < root.getRowCount(); k++, rows++) {
+                    Player expected = big.player(rows);
+                    assertThat(new String(names.get(k), StandardCharsets.UTF_8)).isEqualTo(expected.getName());
+                    assertThat(ranks.isNull(k)).isEqualTo(expected.getRank() == null);
+                    assertThat(winPct.get(k)).isEqualTo(50.0);
+                }
+                batches++;
+            }
+        }
+        assertThat(rows).isEqualTo(big.size());
+        assertThat(batches).isEqualTo(2);
+    }
+
+    @Test
+    void slug_turnsFactorLabelsIntoColumnNames() {
+        assertThat(LeagueExporter.slug("Game win %")).isEqualTo("game_win_pct");
+        assertThat(LeagueExporter.slug("Point diff / game")).isEqualTo("point_diff_game");
+        assertThat(LeagueExporter.slug("Sample (games)")).isEqualTo("sample_games");
+    }
+}
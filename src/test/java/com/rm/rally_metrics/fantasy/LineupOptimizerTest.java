@@ -0,0 +1,137 @@
+package com.rm.rally_metrics.fantasy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LineupOptimizerTest {
+
+    private static final int M = 1;
+    private static final int W = 2;
+
+    private static LineupOptimizer.Result optimize(List<LineupOptimizer.Candidate> pool, int[] capacity,
+                                                   long budget, int maxPerTeam, int alternatives) {
+        return LineupOptimizer.optimize(pool, capacity, budget, maxPerTeam, alternatives,
+                LineupOptimizer.DEFAULT_NODE_LIMIT);
+    }
+
+    @Test
+    void picksTheBestPlayerForEachPositionSlot() {
+        List<LineupOptimizer.Candidate> pool = List.of(
+                new LineupOptimizer.Candidate(0, 90, 0, -1, M),
+                new LineupOptimizer.Candidate(1, 80, 0, -1, M),
+                new LineupOptimizer.Candidate(2, 70, 0, -1, M),
+                new LineupOptimizer.Candidate(3, 60, 0, -1, W),
+                new LineupOptimizer.Candidate(4, 50, 0, -1, W));
+
+        LineupOptimizer.Result result = optimize(pool, new int[]{1, 1}, Long.MAX_VALUE, Integer.MAX_VALUE, 3);
+
+        assertThat(result.optimal()).isTrue();
+        assertThat(result.lineups()).extracting(LineupOptimizer.Lineup::value).containsExactly(150.0, 140.0, 140.0);
+        LineupOptimizer.Lineup best = result.lineups().get(0);
+        assertThat(best.ids()).containsExactly(0, 3);
+        assertThat(best.groups()).containsExactly(0, 1);
+    }
+
+    @Test
+    void respectsBudgetAndTeamCap() {
+        List<LineupOptimizer.Candidate> pool = List.of(
+                new LineupOptimizer.Candidate(0, 90, 500, 0, M | W),
+                new LineupOptimizer.Candidate(1, 85, 100, 0, M | W),
+                new LineupOptimizer.Candidate(2, 80, 100, 0, M | W),
+                new LineupOptimizer.Candidate(3, 40, 100, 1, M | W));
+
+        LineupOptimizer.Result capped = optimize(pool, new int[]{2}, Long.MAX_VALUE, 1, 1);
+        assertThat(capped.lineups().get(0).ids()).containsExactlyInAnyOrder(0, 3);
+
+        LineupOptimizer.Result budgeted = optimize(pool, new int[]{2}, 300, Integer.MAX_VALUE, 1);
+        assertThat(budgeted.lineups().get(0).ids()).containsExactlyInAnyOrder(1, 2);
+        assertThat(budgeted.lineups().get(0).salary()).isEqualTo(200);
+    }
+
+    @Test
+    void hugeSalaries_doNotOverflowPastTheBudget() {
+        long half = Long.MAX_VALUE / 2 + 1;
+        List<LineupOptimizer.Candidate> pool = List.of(
+                new LineupOptimizer.Candidate(0, 90, half, -1, M),
+                new LineupOptimizer.Candidate(1, 80, half, -1, M),
+                new LineupOptimizer.Candidate(2, 10, 1, -1, M));
+
+        LineupOptimizer.Result result = optimize(pool, new int[]{2}, Long.MAX_VALUE, Integer.MAX_VALUE, 3);
+
+        assertThat(result.lineups()).extracting(LineupOptimizer.Lineup::ids)
+                .containsExactlyInAnyOrder(new int[]{0, 2}, new int[]{1, 2});
+        assertThat(result.lineups()).allSatisfy(lineup -> assertThat(lineup.salary()).isPositive());
+    }
+
+    @Test
+    void multiPositionPlayers_doNotProduceDuplicateAlternatives() {
+        List<LineupOptimizer.Candidate> pool = List.of(
+                new LineupOptimizer.Candidate(0, 90, 0, -1, M | W),
+                new LineupOptimizer.Candidate(1, 80, 0, -1, M | W),
+                new LineupOptimizer.Candidate(2, 70, 0, -1, M | W));
+
+        LineupOptimizer.Result result = optimize(pool, new int[]{1, 1}, Long.MAX_VALUE, Integer.MAX_VALUE, 10);
+
+        assertThat(result.lineups()).extracting(LineupOptimizer.Lineup::value).containsExactly(170.0, 160.0, 150.0);
+    }
+
+    @Test
+    void topK_matchesExhaustiveSearch() {
+        Random random = new Random(3);
+        List<LineupOptimizer.Candidate> pool = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            pool.add(new LineupOptimizer.Candidate(i, 30 + 40 * random.nextDouble(), 1000 + random.nextInt(9000),
+                    random.nextInt(5), 1 << (i % 3)));
+        }
+        int[] capacity = {2, 2, 1};
+
+        List<Double> expected = exhaustive(pool, capacity, 20_000, 2);
+        LineupOptimizer.Result result = optimize(pool, capacity, 20_000, 2, 5);
+
+        assertThat(result.optimal()).isTrue();
+        assertThat(result.lineups()).hasSize(5);
+        for (int k = 0; k < 5; k++) {
+            assertThat(result.lineups().get(k).value()).isCloseTo(expected.get(k), within(1e-9));
+        }
+    }
+
+    /** Values of every feasible lineup, best first (single-position players, so no duplicates). */
+    private static List<Double> exhaustive(List<LineupOptimizer.Candidate> pool, int[] capacity, long budget,
+                                           int maxPerTeam) {
+        int slots = Arrays.stream(capacity).sum();
+        List<Double> values = new ArrayList<>();
+        for (int set = 0; set < 1 << pool.size(); set++) {
+            if (Integer.bitCount(set) != slots) {
+                continue;
+            }
+            int[] caps = capacity.clone();
+            int[] teams = new int[5];
+            long salary = 0;
+            double value = 0;
+            boolean ok = true;
+            for (int i = 0; i < pool.size() && ok; i++) {
+                if ((set >>> i & 1) == 0) {
+                    continue;
+                }
+                LineupOptimizer.Candidate c = pool.get(i);
+                int g = Integer.numberOfTrailingZeros(c.positions());
+                ok = caps[g]-- > 0 && ++teams[c.team()] <= maxPerTeam;
+                salary += c.salary();
+                value += c.value();
+            }
+            if (ok && salary <= budget) {
+                values.add(value);
+            }
+        }
+        values.sort(Comparator.reverseOrder());
+        return values;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rm.rally_metrics.history;
+
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryImportTest {
+
+    private static final String HEADER =
+            "Name,Rank,Team,Games Won,Games Lost,Games Won Percent,Pts Won,Pts Lost,Pts Won Percent\n";
+
+    @TempDir
+    Path archive;
+
+    @TempDir
+    Path history;
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private HistoryImport importer() {
+        return new HistoryImport(new HistoryStore(history), model, 2, 1, false);
+    }
+
+    private void write(String file, String rows) throws Exception {
+        Path path = archive.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, HEADER + rows);
+    }
+
+    @Test
+    void importDirectory_writesOneDayPerFile_taggedBySeasonAndDate() throws Exception {
+        write("2024/mlp_stats_2024-06-01.csv", """
+                Ben Johns,1,Dallas Flash,40,10,80.0,800,530,60.2
+                JW Johnson,2,Orlando Squeeze,30,22,57.7,700,660,51.5
+                """);
+        write("2025/mlp_stats_2025-05-03.csv", """
+                JW Johnson,1,Orlando Squeeze,3,1,75.0,60,41,59.4
+                """);
+
+        ImportReport report = importer().importDirectory(archive);
+
+        assertThat(report.count(ImportReport.Status.IMPORTED)).isEqualTo(2);
+        assertThat(report.rowsImported()).isEqualTo(3);
+        assertThat(report.files()).extracting(ImportReport.FileReport::season).containsExactly("2024", "2025");
+        assertThat(report.files()).extracting(ImportReport.FileReport::snapshotDate)
+                .containsExactly(LocalDate.of(2024, 6, 1), LocalDate.of(2025, 5, 3));
+
+        HistoryStore reopened = new HistoryStore(history);
+        assertThat(reopened.segments(null, null).keySet())
+                .containsExactly(LocalDate.of(2024, 6, 1), LocalDate.of(2025, 5, 3));
+        HistorySegment first = reopened.onOrBefore(LocalDate.of(2024, 6, 1));
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.rank(first.find(reopened.idOf("JW Johnson")))).isEqualTo(2);
+    }
+
+    @Test
+    void importDirectory_reportsRejectedRowsPerFileWithTheirLines() throws Exception {
+        write("2024/mlp_stats_2024-06-08.csv", """
+                Ben Johns,2,Dallas Flash,42,12,77.8,840,570,59.6
+                JW Johnson,abc,Orlando Squeeze,31,25,55.4,730,700,51.0
+                Ben Johns,3,Dallas Flash,1,1,50.0,1,1,50.0
+                Anna Bright,4,LA Mad Drops,1,2,150.0,3,4,40.0
+                """);
+
+        ImportReport.FileReport file = importer().importDirectory(archive).files().get(0);
+
+        assertThat(file.status()).isEqualTo(ImportReport.Status.IMPORTED);
+        assertThat(file.imported()).isEqualTo(1);
+        assertThat(file.rejected()).isEqualTo(3);
+        assertThat(file.errors()).hasSize(3);
+        assertThat(file.errors().get(0)).startsWith("line 3:");
+        assertThat(file.errors().get(1)).isEqualTo("line 4: duplicate player 'Ben Johns'");
+        assertThat(file.errors().get(2)).startsWith("line 5:").contains("between 0 and 100");
+    }
+
+    @Test
+    void importDirectory_failsFilesWithoutADateOrValidRows() throws Exception {
+        write("notes.csv", "Ben Johns,1,Dallas Flash,40,10,80.0,800,530,60.2\n");
+        write("2024/mlp_stats_2024-06-15.csv", "Ben Johns,-,Dallas Flash,-,-,-,-,-,-\n");
+
+        ImportReport report = importer().importDirectory(archive);
+
+        assertThat(report.count(ImportReport.Status.FAILED)).isEqualTo(2);
+        assertThat(report.files()).allSatisfy(f -> assertThat(f.errors()).isNotEmpty());
+        assertThat(new HistoryStore(history).latest()).isNull();
+    }
+
+    @Test
+    void importDirectory_skipsDaysAlreadyRecorded() throws Exception {
+        write("2024/mlp_stats_2024-06-01.csv", "Ben Johns,1,Dallas Flash,40,10,80.0,800,530,60.2\n");
+        importer().importDirectory(archive);
+
+        ImportReport again = importer().importDirectory(archive);
+
+        assertThat(again.count(ImportReport.Status.SKIPPED)).isEqualTo(1);
+        assertThat(again.rowsImported()).isZero();
+    }
+}
@@ -0,0 +1,151 @@
+package com.rm.rally_metrics.history;
+
+import com.rm.rally_metrics.error.NotFoundException;
+import com.rm.rally_metrics.league.LeagueSnapshot;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.league.PlayerNameResolvers;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.player.PlayerRepository;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.prediction.PlayerStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link HistoryService} over a real {@link HistoryStore} in a temporary directory, so every read
+ * goes through segments written and memory-mapped from disk.
+ */
+class HistoryServiceTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 3, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2025, 3, 8);
+
+    private static final Player BEN_1 = new Player("Ben Johns", 1, "Dallas Flash", 40, 10, 80.0, 800, 530, 60.2);
+    private static final Player JW_1 = new Player("JW Johnson", 2, "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+    private static final Player JORJA_1 = new Player("Jorja Johnson", 3, "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7);
+    private static final Player ANNA_1 = new Player("Anna Bright", null, "LA Mad Drops", null, null, null, null, null, null);
+
+    private static final Player BEN_2 = new Player("Ben Johns", 2, "Dallas Flash", 42, 12, 77.8, 840, 570, 59.6);
+    private static final Player JW_2 = new Player("JW Johnson", 3, "Orlando Squeeze", 31, 25, 55.4, 730, 700, 51.0);
+    private static final Player JORJA_2 = new Player("Jorja Johnson", 1, "Orlando Squeeze", 33, 24, 57.9, 760, 690, 52.4);
+    private static final Player TYSON = new Player("Tyson McGuffin", 4, "LA Mad Drops", 3, 1, 75.0, 50, 40, 55.6);
+
+    @TempDir
+    Path dir;
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+    private PlayerRepository playerRepository;
+    private LeagueSnapshotStore leagueStore;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository = mock(PlayerRepository.class);
+        when(playerRepository.findAll()).thenReturn(List.of(BEN_2, JW_2, JORJA_2, TYSON));
+        leagueStore = new LeagueSnapshotStore(playerRepository, model, List.of());
+    }
+
+    private HistoryService service(HistoryStore store) {
+        return new HistoryService(store, leagueStore, new PlayerNameResolvers("Benny=Ben Johns"), model);
+    }
+
+    private void recordTwoDays(HistoryStore store) throws Exception {
+        store.append(DAY_1, LeagueSnapshot.build(1, List.of(BEN_1, JW_1, JORJA_1, ANNA_1), model));
+        store.append(DAY_2, LeagueSnapshot.build(2, List.of(BEN_2, JW_2, JORJA_2, TYSON), model));
+    }
+
+    @Test
+    void playerHistory_readsEachRecordedDay_afterReopeningTheStore() throws Exception {
+        recordTwoDays(new HistoryStore(dir));
+
+        PlayerHistory history = service(new HistoryStore(dir)).playerHistory("Ben Johns", null, null);
+
+        assertThat(history.name()).isEqualTo("Ben Johns");
+        assertThat(history.points()).extracting(HistoryPoint::date).containsExactly(DAY_1, DAY_2);
+        HistoryPoint first = history.points().get(0);
+        assertThat(first.rank()).isEqualTo(1);
+        assertThat(List.of(first.gamesWon(), first.gamesLost(), first.ptsWon(), first.ptsLost()))
+                .containsExactly(40, 10, 800, 530);
+        double skill = model.skill(new PlayerStats(40, 10, 800, 530));
+        assertThat(first.skill()).isEqualTo(skill);
+        assertThat(first.skillRating()).isEqualTo(model.skillRating(skill));
+        assertThat(history.points().get(1).rank()).isEqualTo(2);
+    }
+
+    @Test
+    void playerHistory_resolvesAliases_andFiltersByDate() throws Exception {
+        HistoryStore store = new HistoryStore(dir);
+        recordTwoDays(store);
+
+        PlayerHistory history = service(store).playerHistory("benny", DAY_2, null);
+
+        assertThat(history.name()).isEqualTo("Ben Johns");
+        assertThat(history.points()).extracting(HistoryPoint::date).containsExactly(DAY_2);
+    }
+
+    @Test
+    void playerHistory_findsFormerPlayersByExactName_andKeepsMissingValues() throws Exception {
+        HistoryStore store = new HistoryStore(dir);
+        recordTwoDays(store);
+
+        PlayerHistory history = service(store).playerHistory("Anna Bright", null, null);
+
+        assertThat(history.points()).hasSize(1);
+        assertThat(history.points().get(0).rank()).isNull();
+        assertThat(history.points().get(0).gamesWon()).isZero();
+        assertThatThrownBy(() -> service(store).playerHistory("Nobody Here", null, null))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void appendingTheSameDayAgain_replacesThatDay() throws Exception {
+        HistoryStore store = new HistoryStore(dir);
+        store.append(DAY_1, LeagueSnapshot.build(1, List.of(BEN_1), model));
+        store.append(DAY_1, LeagueSnapshot.build(2, List.of(BEN_2), model));
+
+        PlayerHistory history = service(new HistoryStore(dir)).playerHistory("Ben Johns", null, null);
+
+        assertThat(history.points()).singleElement().satisfies(p -> assertThat(p.rank()).isEqualTo(2));
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(f -> f.getFileName().toString()))
+                    .containsExactlyInAnyOrder("players.txt", "2025-03-01.seg");
+        }
+    }
+
+    @Test
+    void rankMovers_comparesTheLatestDayWithTheWindowStart() throws Exception {
+        HistoryStore store = new HistoryStore(dir);
+        recordTwoDays(store);
+
+        RankMovers movers = service(store).rankMovers(7, 10);
+
+        assertThat(movers.from()).isEqualTo(DAY_1);
+        assertThat(movers.to()).isEqualTo(DAY_2);
+        assertThat(movers.risers()).containsExactly(new RankMover("Jorja Johnson", 3, 1, 2));
+        assertThat(movers.fallers()).containsExactly(
+                new RankMover("Ben Johns", 1, 2, -1),
+                new RankMover("JW Johnson", 2, 3, -1));
+    }
+
+    @Test
+    void rankMovers_isEmpty_untilTwoDaysAreRecorded() throws Exception {
+        HistoryStore store = new HistoryStore(dir);
+        assertThat(service(store).rankMovers(7, 10).risers()).isEmpty();
+
+        store.append(DAY_1, LeagueSnapshot.build(1, List.of(BEN_1, JW_1), model));
+
+        RankMovers movers = service(store).rankMovers(7, 10);
+        assertThat(movers.from()).isNull();
+        assertThat(movers.fallers()).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package com.rm.rally_metrics.ingest;
+
+import com.rm.rally_metrics.player.Player;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StandingsCsvTest {
+
+    private static final String HEADER = "Player,Games Won,Games Lost,Games Won %,Pts Won,Pts Lost,Pts Won %\n";
+
+    private List<Player> read(String csv, int expectedSkipped) throws Exception {
+        List<Player> players = new ArrayList<>();
+        int skipped = StandingsCsv.read(new StringReader(csv), players::add);
+        assertThat(skipped).isEqualTo(expectedSkipped);
+        return players;
+    }
+
+    @Test
+    void read_splitsTheCombinedColumn_andBindsTheCleanedHeaders() throws Exception {
+        List<Player> players = read(HEADER
+                + "\"1\nBEN JOHNS\nDALLAS FLASH\",42,10,80.8,820,540,60.3\n", 0);
+
+        assertThat(players).hasSize(1);
+        Player p = players.get(0);
+        assertThat(p.getName()).isEqualTo("Ben Johns");
+        assertThat(p.getRank()).isEqualTo(1);
+        assertThat(p.getTeam()).isEqualTo("Dallas Flash");
+        assertThat(p.getGamesWon()).isEqualTo(42);
+        assertThat(p.getGamesLost()).isEqualTo(10);
+        assertThat(p.getGamesWonPercent()).isEqualTo(80.8);
+        assertThat(p.getPtsWon()).isEqualTo(820);
+        assertThat(p.getPtsLost()).isEqualTo(540);
+        assertThat(p.getPtsWonPercent()).isEqualTo(60.3);
+    }
+
+    @Test
+    void read_normalizesInitialsAndTeamSpellings() throws Exception {
+        List<Player> players = read(HEADER
+                + "\"5\njw johnson\nnew jersey 5s\",30,22,57.7,700,660,51.5\n"
+                + "\"9\nanna bright\nsocal hard eights\",20,20,50.0,600,600,50.0\n", 0);
+
+        assertThat(players).extracting(Player::getName).containsExactly("JW Johnson", "Anna Bright");
+        assertThat(players).extracting(Player::getTeam).containsExactly("New Jersey 5s", "SoCal Hard Eights");
+    }
+
+    @Test
+    void read_dropsDashRows_badNumbers_andMalformedRows() throws Exception {
+        List<Player> players = read(HEADER
+                + "\"7\nNew Guy\nDallas Flash\",-,-,-,-,-,-\n"
+                + "\"8\nBad Number\nDallas Flash\",abc,1,1.0,1,1,1.0\n"
+                + "\"9\nNo Team\",1,1,50.0,1,1,50.0\n"
+                + "\"10\nToo Few\nDallas Flash\",1,1\n"
+                + "\"11\nKept\nDallas Flash\",1,1,50.0,10,10,50.0\n", 4);
+
+        assertThat(players).extracting(Player::getName).containsExactly("Kept");
+    }
+
+    @Test
+    void read_rejectsATableWithoutHeaders() {
+        assertThatThrownBy(() -> StandingsCsv.read(new StringReader(""), p -> { }))
+                .hasMessageContaining("no header");
+    }
+
+    @Test
+    void cleaning_matchesPythonTitleCaseRules() {
+        assertThat(StandingsCsv.titleCase("new jersey 5s")).isEqualTo("New Jersey 5S");
+        assertThat(StandingsCsv.titleCase("o'neil")).isEqualTo("O'Neil");
+        assertThat(StandingsCsv.cleanHeader(" PTS WON % ")).isEqualTo("Pts Won Percent");
+        assertThat(StandingsCsv.cleanHeader("Games Won ▲")).isEqualTo("Games Won");
+        assertThat(StandingsCsv.capitalizeInitials("Jw Johnson")).isEqualTo("JW Johnson");
+        assertThat(StandingsCsv.capitalizeInitials("Al")).isEqualTo("AL");
+    }
+}
@@ -0,0 +1,132 @@
+package com.rm.rally_metrics.ingest;
+
+import com.rm.rally_metrics.player.Player;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** {@link StandingsFetcher} against a local fixture server standing in for the standings page. */
+class StandingsFetcherTest {
+
+    private static final String HEADER = "<tr><th>Player</th><th>Games Won</th><th>Games Lost</th>"
+            + "<th>Games Won %</th><th>Pts Won</th><th>Pts Lost</th><th>Pts Won %</th></tr>";
+    private static final String BEN = "<tr><td><div>1</div><div><a href=\"#\">BEN JOHNS</a></div>"
+            + "<div><span>Dallas</span> <span>Flash</span></div></td>"
+            + "<td>42</td><td>10</td><td>80.8</td><td>820</td><td>540</td><td>60.3</td></tr>";
+    private static final String JW = "<tr><td>5<br>jw johnson<br>new jersey 5s</td>"
+            + "<td>30</td><td>22</td><td>57.7</td><td>700</td><td>660</td><td>51.5</td></tr>";
+
+    private HttpServer server;
+    private final AtomicReference<String> page = new AtomicReference<>();
+    private final AtomicReference<String> etag = new AtomicReference<>();
+    private final List<String> ifNoneMatch = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/standings", exchange -> {
+            String sent = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(sent);
+            if (etag.get() != null) {
+                exchange.getResponseHeaders().add("ETag", etag.get());
+                if (etag.get().equals(sent)) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+            }
+            byte[] body = page.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private StandingsFetcher fetcher() {
+        return new StandingsFetcher("http://127.0.0.1:" + server.getAddress().getPort() + "/standings",
+                "standings-table", Duration.ofSeconds(5));
+    }
+
+    private static String html(String banner, String... rows) {
+        return "<html><body><p>" + banner + "</p><table id=\"standings-table\">" + HEADER
+                + String.join("", rows) + "</table></body></html>";
+    }
+
+    @Test
+    void fetch_readsTheTableAsTheScraperWould() throws Exception {
+        page.set(html("Updated 08:00", BEN, JW, "<tr><td colspan=\"7\">Ad</td></tr>"));
+
+        StandingsFetcher.Standings standings = fetcher().fetch();
+
+        assertThat(standings.rows()).isEqualTo(2);
+        List<Player> players = new ArrayList<>();
+        assertThat(StandingsCsv.read(new StringReader(standings.csv()), players::add)).isZero();
+        assertThat(players).extracting(Player::getName).containsExactly("Ben Johns", "JW Johnson");
+        assertThat(players).extracting(Player::getTeam).containsExactly("Dallas Flash", "New Jersey 5s");
+        assertThat(players.get(0).getPtsWonPercent()).isEqualTo(60.3);
+    }
+
+    @Test
+    void fetch_skipsAnUnchangedTable_evenWhenThePageAroundItChanged() throws Exception {
+        StandingsFetcher fetcher = fetcher();
+        page.set(html("Updated 08:00", BEN, JW));
+        fetcher.loaded(fetcher.fetch());
+
+        page.set(html("Updated 08:05", BEN, JW));
+        assertThat(fetcher.fetch().unchanged()).isTrue();
+
+        page.set(html("Updated 08:10", BEN));
+        assertThat(fetcher.fetch().unchanged()).isFalse();
+    }
+
+    @Test
+    void fetch_refetchesUntilTheTableIsLoaded() throws Exception {
+        StandingsFetcher fetcher = fetcher();
+        page.set(html("", BEN));
+
+        assertThat(fetcher.fetch().unchanged()).isFalse();
+        assertThat(fetcher.fetch().unchanged()).isFalse();
+    }
+
+    @Test
+    void fetch_sendsTheLoadedETag_andTreatsNotModifiedAsUnchanged() throws Exception {
+        StandingsFetcher fetcher = fetcher();
+        page.set(html("", BEN));
+        etag.set("\"v1\"");
+        fetcher.loaded(fetcher.fetch());
+
+        assertThat(fetcher.fetch().unchanged()).isTrue();
+        assertThat(ifNoneMatch).containsExactly(null, "\"v1\"");
+    }
+
+    @Test
+    void fetch_failsWhenThePageHasNoStandingsTable() {
+        page.set("<html><body><div id=\"app\"></div></body></html>");
+
+        assertThatThrownBy(() -> fetcher().fetch())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("#standings-table");
+    }
+}
@@ -0,0 +1,133 @@
+package com.rm.rally_metrics.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.StringReader;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatsIngestTest {
+
+    private static final String HEADER = "Player,Games Won,Games Lost,Games Won %,Pts Won,Pts Lost,Pts Won %\n";
+
+    private static String row(int rank, String name, int gamesWon, int gamesLost) {
+        return "\"" + rank + "\n" + name + "\nDallas Flash\"," + gamesWon + "," + gamesLost + ",50.0,800,600,57.1\n";
+    }
+
+    private static LoadReport report(int parseRejected, long staged, int distinctNames, Set<String> changed,
+                                     int inserted) {
+        return StatsIngest.report(parseRejected, staged, distinctNames, changed, inserted, Duration.ZERO, Duration.ZERO);
+    }
+
+    @Test
+    void report_countsEarlierDuplicatesAsRejected_andUnreturnedNamesAsUnchanged() {
+        // 7 rows staged over 4 names (3 earlier duplicates); the parser already dropped 2 rows.
+        LoadReport report = report(2, 7, 4, Set.of("Ben Johns", "Anna Leigh Waters"), 1);
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.updated()).isEqualTo(1);
+        assertThat(report.unchanged()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(5);
+        assertThat(report.loaded()).isEqualTo(4);
+        assertThat(report.hasChanges()).isTrue();
+    }
+
+    @Test
+    void report_ofAnUnchangedOrEmptyTable_hasNoChanges() {
+        LoadReport unchanged = report(0, 3, 3, Set.of(), 0);
+        assertThat(unchanged.unchanged()).isEqualTo(3);
+        assertThat(unchanged.rejected()).isZero();
+        assertThat(unchanged.hasChanges()).isFalse();
+
+        LoadReport empty = report(4, 0, 0, Set.of(), 0);
+        assertThat(empty.loaded()).isZero();
+        assertThat(empty.rejected()).isEqualTo(4);
+    }
+
+    @Test
+    void ingest_tellsInsertsFromUpdatesByTheMergeFlag() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(4L);
+        when(jdbcTemplate.queryForObject(StatsIngest.DISTINCT_STAGED_SQL, Integer.class)).thenReturn(3);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(mergeRow("Ben Johns", true));
+            handler.processRow(mergeRow("Anna Leigh Waters", false));
+            return null;
+        }).when(jdbcTemplate).query(eq(StatsIngest.MERGE_SQL), any(RowCallbackHandler.class));
+
+        LoadReport report = new StatsIngest(jdbcTemplate).ingest(new StringReader(""));
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.updated()).isEqualTo(1);
+        assertThat(report.unchanged()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.changed()).containsExactlyInAnyOrder("Ben Johns", "Anna Leigh Waters");
+    }
+
+    private static ResultSet mergeRow(String name, boolean inserted) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("name")).thenReturn(name);
+        when(rs.getBoolean("inserted")).thenReturn(inserted);
+        return rs;
+    }
+
+    /**
+     * The copy and merge against a real PostgreSQL, in a throwaway schema. Runs only when
+     * {@code RALLY_TEST_POSTGRES_URL} holds a JDBC URL (with credentials) for a scratch database.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "RALLY_TEST_POSTGRES_URL", matches = ".+")
+    void ingest_onPostgres_writesOnlyChangedRows_andTheLastDuplicateWins() throws Exception {
+        try (SingleConnectionDataSource dataSource =
+                     new SingleConnectionDataSource(System.getenv("RALLY_TEST_POSTGRES_URL"), true)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE SCHEMA stats_ingest_test");
+            try {
+                jdbcTemplate.execute("SET search_path TO stats_ingest_test");
+                jdbcTemplate.execute("""
+                        CREATE TABLE player_statistic (
+                            name VARCHAR(255) PRIMARY KEY, rank INTEGER, team VARCHAR(255),
+                            games_won INTEGER, games_lost INTEGER, games_won_percent DOUBLE PRECISION,
+                            pts_won INTEGER, pts_lost INTEGER, pts_won_percent DOUBLE PRECISION)""");
+                StatsIngest ingest = new StatsIngest(jdbcTemplate);
+
+                LoadReport first = ingest.ingest(new StringReader(HEADER
+                        + row(1, "Ben Johns", 42, 10) + row(2, "Anna Leigh Waters", 40, 12)));
+                assertThat(first.inserted()).isEqualTo(2);
+                assertThat(first.loaded()).isEqualTo(2);
+
+                LoadReport second = ingest.ingest(new StringReader(HEADER
+                        + row(1, "Ben Johns", 42, 10)
+                        + row(2, "Anna Leigh Waters", 41, 12)
+                        + "\"3\nNew Guy\nDallas Flash\",-,-,-,-,-,-\n"
+                        + row(2, "Anna Leigh Waters", 43, 12)
+                        + row(4, "Tyson McGuffin", 30, 20)));
+
+                assertThat(second.inserted()).isEqualTo(1);
+                assertThat(second.updated()).isEqualTo(1);
+                assertThat(second.unchanged()).isEqualTo(1);
+                assertThat(second.rejected()).isEqualTo(2);
+                assertThat(second.changed()).containsExactlyInAnyOrder("Anna Leigh Waters", "Tyson McGuffin");
+                assertThat(jdbcTemplate.queryForObject(
+                        "SELECT games_won FROM player_statistic WHERE name = 'Anna Leigh Waters'", Integer.class))
+                        .isEqualTo(43);
+            } finally {
+                jdbcTemplate.execute("DROP SCHEMA stats_ingest_test CASCADE");
+            }
+        }
+    }
+}
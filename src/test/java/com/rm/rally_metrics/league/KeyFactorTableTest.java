@@ -0,0 +1,49 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyFactorTableTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private LeagueSnapshot randomLeague(int size, long seed) {
+        Random random = new Random(seed);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            players.add(new Player("P" + i, i + 1, "T" + (i % 4), random.nextInt(50), random.nextInt(50), null,
+                    random.nextInt(800), random.nextInt(800), null));
+        }
+        return LeagueSnapshot.build(7, players, model);
+    }
+
+    @Test
+    void factors_matchTheScalarBreakdown_inBothOrders() {
+        LeagueSnapshot league = randomLeague(12, 5);
+        KeyFactorTable table = KeyFactorTable.build(league, model);
+
+        assertThat(table.generation()).isEqualTo(7);
+        for (int a = 0; a < league.size(); a++) {
+            for (int b = 0; b < league.size(); b++) {
+                if (a != b) {
+                    assertThat(table.factors(a, b)).isEqualTo(model.keyFactors(league.stats(a), league.stats(b)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void display_isFormattedOnce_andReused() {
+        KeyFactorTable table = KeyFactorTable.build(randomLeague(3, 1), model);
+
+        assertThat(table.display(2, 0)).isSameAs(table.display(2, 0));
+        assertThat(table.factors(0, 2).get(0).displayB()).isSameAs(table.factors(1, 2).get(0).displayB());
+    }
+}
@@ -0,0 +1,106 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.DraftTier;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeagueAggregatesTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private static Player player(String name, String team, int gw, int gl, double gwp, int pw, int pl, double pwp) {
+        return new Player(name, 1, team, gw, gl, gwp, pw, pl, pwp);
+    }
+
+    private static final Player BEN = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+    private static final Player MID = player("Mid Player", "NJ Fives", 26, 26, 50.0, 600, 600, 50.0);
+    private static final Player LOW = player("Low Player", "Chicago Slice", 14, 38, 26.9, 480, 720, 40.0);
+    private static final Player JW = player("JW Johnson", "NJ Fives", 30, 22, 57.7, 700, 660, 51.5);
+
+    private LeagueSnapshot snapshot(long generation, Player... players) {
+        return LeagueSnapshot.build(generation, List.of(players), model);
+    }
+
+    @Test
+    void of_computesMeansMediansAndOrderStatistics() {
+        LeagueSnapshot league = snapshot(1, BEN, MID, LOW);
+        LeagueAggregates a = LeagueAggregates.of(league, model);
+
+        assertThat(a.size()).isEqualTo(3);
+        assertThat(a.meanWinPct()).isCloseTo((80.8 + 50.0 + 26.9) / 3, Offset.offset(1e-9));
+        assertThat(a.overview().gamesWonPercent().median()).isEqualTo(50.0);
+        assertThat(a.overview().gamesWonPercent().min()).isEqualTo(26.9);
+        assertThat(a.overview().gamesWonPercent().max()).isEqualTo(80.8);
+
+        assertThat(a.skillRank(league.skill(league.indexOf("Ben Johns")))).isEqualTo(1);
+        assertThat(a.skillRank(league.skill(league.indexOf("Low Player")))).isEqualTo(3);
+        assertThat(a.skillPercentile(league.skill(league.indexOf("Mid Player")))).isEqualTo(50.0);
+        assertThat(a.playerAtSkillRank(1)).isEqualTo("Ben Johns");
+        assertThatThrownBy(() -> a.playerAtSkillRank(4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void overview_groupsTeamsAndListsEveryTierBestFirst() {
+        LeagueOverview o = LeagueAggregates.of(snapshot(1, BEN, MID, LOW, JW), model).overview();
+
+        assertThat(o.teams()).extracting(LeagueOverview.TeamAggregate::team).first().isEqualTo("Dallas Flash");
+        assertThat(o.teams()).filteredOn(t -> t.team().equals("NJ Fives"))
+                .singleElement().extracting(LeagueOverview.TeamAggregate::players).isEqualTo(2);
+        assertThat(o.tiers()).containsOnlyKeys(DraftTier.values());
+        assertThat(o.tiers().get(DraftTier.STRONG_DRAFT)).containsExactly("Ben Johns");
+        assertThat(o.tiers().values().stream().mapToInt(List::size).sum()).isEqualTo(4);
+    }
+
+    @Test
+    void advance_matchesAFullRebuild_afterAddsRemovalsAndChanges() {
+        LeagueSnapshot before = snapshot(1, BEN, MID, LOW);
+        Player improvedLow = player("Low Player", "Chicago Slice", 30, 38, 44.1, 900, 720, 55.6);
+        LeagueSnapshot after = snapshot(2, BEN, improvedLow, JW); // MID removed, JW added, LOW changed
+
+        LeagueAggregates incremental = LeagueAggregates.of(before, model).advance(before, after, model);
+        LeagueAggregates full = LeagueAggregates.of(after, model);
+
+        assertThat(incremental.generation()).isEqualTo(2);
+        assertThat(incremental.overview()).isEqualTo(full.overview());
+        assertThat(incremental.avgSkillRating()).isEqualTo(full.avgSkillRating());
+        for (int i = 0; i < after.size(); i++) {
+            assertThat(incremental.skillRank(after.skill(i))).isEqualTo(full.skillRank(after.skill(i)));
+        }
+    }
+
+    @Test
+    void advance_keepsTheMeansExact_acrossManySyncs() {
+        LeagueSnapshot league = snapshot(1, BEN, MID, LOW, JW);
+        LeagueAggregates carried = LeagueAggregates.of(league, model);
+        for (int generation = 2; generation <= 200; generation++) {
+            double gwp = 10.0 + (generation * 7.31) % 80.0;
+            double pwp = 30.0 + (generation * 3.17) % 40.0;
+            Player mid = player("Mid Player", "NJ Fives", 26 + generation, 26, gwp, 600, 600, pwp);
+            LeagueSnapshot next = snapshot(generation, BEN, mid, LOW, JW);
+            carried = carried.advance(league, next, model);
+            league = next;
+        }
+        LeagueAggregates full = LeagueAggregates.of(league, model);
+
+        assertThat(carried.meanWinPct()).isEqualTo(full.meanWinPct());
+        assertThat(carried.meanPtWinPct()).isEqualTo(full.meanPtWinPct());
+        assertThat(carried.overview()).isEqualTo(full.overview());
+    }
+
+    @Test
+    void advance_rejectsAggregatesFromAnotherGeneration() {
+        LeagueSnapshot first = snapshot(1, BEN);
+        LeagueSnapshot second = snapshot(2, BEN);
+        LeagueAggregates a = LeagueAggregates.of(first, model);
+
+        assertThatThrownBy(() -> a.advance(second, snapshot(3, BEN), model))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
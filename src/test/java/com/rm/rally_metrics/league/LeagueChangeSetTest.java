@@ -0,0 +1,62 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.prediction.PlayerStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeagueChangeSetTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private static final Player BEN = new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+    private static final Player JW = new Player("JW Johnson", 5, "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+    private static final Player JORJA = new Player("Jorja Johnson", 6, "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7);
+
+    @Test
+    void between_carriesStatsBeforeAndAfter_forEachKindOfChange() {
+        LeagueSnapshot previous = LeagueSnapshot.build(1, List.of(BEN, JW), model);
+        Player jwAfter = new Player("JW Johnson", 4, "Orlando Squeeze", 32, 23, 58.2, 745, 690, 51.9);
+        LeagueSnapshot next = LeagueSnapshot.build(2, List.of(jwAfter, JORJA), model);
+
+        LeagueChangeSet changes = LeagueChangeSet.between(previous, next);
+
+        assertThat(changes.fullRebuild()).isFalse();
+        assertThat(changes.isEmpty()).isFalse();
+        assertThat(changes.size()).isEqualTo(3);
+        assertThat(changes.changed()).containsExactly(new LeagueChangeSet.PlayerChange("JW Johnson", 1, 0,
+                new PlayerStats(30, 22, 700, 660), new PlayerStats(32, 23, 745, 690)));
+        assertThat(changes.added()).containsExactly(new LeagueChangeSet.PlayerChange("Jorja Johnson", -1, 1,
+                null, new PlayerStats(28, 24, 690, 670)));
+        assertThat(changes.removed()).containsExactly(new LeagueChangeSet.PlayerChange("Ben Johns", 0, -1,
+                new PlayerStats(42, 10, 820, 540), null));
+        assertThat(changes.affectedNames()).containsExactlyInAnyOrder("JW Johnson", "Jorja Johnson", "Ben Johns");
+    }
+
+    @Test
+    void between_isEmpty_whenEveryRowIsTheSame() {
+        LeagueSnapshot previous = LeagueSnapshot.build(1, List.of(BEN, JW), model);
+        LeagueSnapshot next = LeagueSnapshot.build(2, List.of(JW, BEN), model);
+
+        LeagueChangeSet changes = LeagueChangeSet.between(previous, next);
+
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(changes.affectedNames()).isEmpty();
+    }
+
+    @Test
+    void firstLoad_isAFullRebuild_andNeverEmpty() {
+        LeagueSnapshot next = LeagueSnapshot.build(1, List.of(BEN), model);
+
+        LeagueChangeSet changes = LeagueChangeSet.between(null, next);
+
+        assertThat(changes.fullRebuild()).isTrue();
+        assertThat(changes.isEmpty()).isFalse();
+        assertThat(changes.previous()).isNull();
+        assertThat(changes.next()).isSameAs(next);
+    }
+}
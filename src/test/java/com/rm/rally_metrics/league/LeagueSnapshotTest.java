@@ -0,0 +1,118 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.player.PlayerRepository;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.prediction.PlayerStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeagueSnapshotTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private static final Player BEN = new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+    private static final Player JORJA = new Player("Jorja Johnson", 6, "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7);
+    private static final Player JW = new Player("JW Johnson", 5, "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+
+    @Test
+    void build_ordersByRank_andIndexesByNameAndTeam() {
+        LeagueSnapshot s = LeagueSnapshot.build(1, List.of(JORJA, BEN, JW), model);
+
+        assertThat(s.players()).extracting(Player::getName)
+                .containsExactly("Ben Johns", "JW Johnson", "Jorja Johnson");
+        assertThat(s.indexOf("JW Johnson")).isEqualTo(1);
+        assertThat(s.indexOf("jw johnson")).isEqualTo(-1); // exact, like findByName
+        assertThat(s.playersOnTeam("ORLANDO squeeze")).extracting(Player::getName)
+                .containsExactly("JW Johnson", "Jorja Johnson");
+        assertThat(s.playersOnTeam("Nowhere")).isEmpty();
+    }
+
+    @Test
+    void build_precomputesModelSkill_andCopiesRowsFaithfully() {
+        LeagueSnapshot s = LeagueSnapshot.build(1, List.of(BEN), model);
+
+        assertThat(s.skill(0)).isEqualTo(model.skill(new PlayerStats(42, 10, 820, 540)));
+        Player row = s.player(0);
+        assertThat(row).isNotSameAs(BEN);
+        assertThat(row.getGamesWonPercent()).isEqualTo(80.8);
+        assertThat(row.getPtsLost()).isEqualTo(540);
+    }
+
+    @Test
+    void build_keepsNullsInRows_butReadsThemAsZeroForTheModel() {
+        Player sparse = new Player("New Player", null, "NJ Fives", null, null, null, null, null, null);
+        LeagueSnapshot s = LeagueSnapshot.build(1, List.of(sparse, BEN), model);
+
+        int i = s.indexOf("New Player");
+        assertThat(i).isEqualTo(1); // unranked sorts last
+        assertThat(s.player(i).getRank()).isNull();
+        assertThat(s.player(i).getGamesWon()).isNull();
+        assertThat(s.stats(i)).isEqualTo(new PlayerStats(0, 0, 0, 0));
+        assertThat(s.gamesWonPercent(i)).isZero();
+    }
+
+    @Test
+    void positionAfter_seeksPastAKeyInStandingsOrder() {
+        Player unranked = new Player("Unranked", null, "NJ Fives", null, null, null, null, null, null);
+        LeagueSnapshot s = LeagueSnapshot.build(1, List.of(JORJA, BEN, JW, unranked), model);
+
+        assertThat(s.positionAfter(1, "Ben Johns")).isEqualTo(1);
+        assertThat(s.positionAfter(5, "JW Johnson")).isEqualTo(2);
+        assertThat(s.positionAfter(5, "Gone Player")).isEqualTo(1); // removed since: lands on the next key
+        assertThat(s.positionAfter(6, "Jorja Johnson")).isEqualTo(3);
+        assertThat(s.positionAfter(null, "Unranked")).isEqualTo(4);
+        assertThat(s.positionAfter(0, "")).isZero();
+    }
+
+    @Test
+    void store_loadsLazilyOnce_andRefreshPublishesANewGeneration() {
+        PlayerRepository repository = mock(PlayerRepository.class);
+        when(repository.findAll()).thenReturn(List.of(BEN), List.of(BEN, JW));
+        LeagueSnapshotStore store = new LeagueSnapshotStore(repository, model, List.of());
+
+        LeagueSnapshot first = store.current();
+        assertThat(store.current()).isSameAs(first);
+        verify(repository, times(1)).findAll();
+
+        LeagueSnapshot second = store.refresh();
+        assertThat(second.generation()).isGreaterThan(first.generation());
+        assertThat(store.current()).isSameAs(second);
+        assertThat(first.size()).isEqualTo(1); // the old generation is untouched
+        assertThat(second.size()).isEqualTo(2);
+    }
+
+    @Test
+    void store_tellsListenersOnceTheNewGenerationIsLive() {
+        PlayerRepository repository = mock(PlayerRepository.class);
+        when(repository.findAll()).thenReturn(List.of(BEN));
+        List<Long> seen = new ArrayList<>();
+        LeagueSnapshotStore[] store = new LeagueSnapshotStore[1];
+        LeagueSnapshotListener listener = new LeagueSnapshotListener() {
+            @Override
+            public void onSnapshot(LeagueChangeSet changes) {
+                seen.add(-changes.next().generation());
+            }
+
+            @Override
+            public void onPublished(LeagueChangeSet changes) {
+                assertThat(store[0].current()).isSameAs(changes.next());
+                seen.add(changes.next().generation());
+            }
+        };
+        store[0] = new LeagueSnapshotStore(repository, model, List.of(listener));
+
+        store[0].current();
+        store[0].refresh();
+
+        assertThat(seen).containsExactly(-1L, 1L, -2L, 2L);
+    }
+}
@@ -0,0 +1,62 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeagueUpdateTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private static final Player BEN = new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+    private static final Player JW = new Player("JW Johnson", 5, "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+    private static final Player JORJA = new Player("Jorja Johnson", 6, "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7);
+
+    @Test
+    void between_listsChangedPlayersWithDeltas_andAddedAndRemoved() {
+        LeagueSnapshot previous = LeagueSnapshot.build(1, List.of(BEN, JW), model);
+        Player jwAfter = new Player("JW Johnson", 4, "Orlando Squeeze", 32, 23, 58.2, 745, 690, 51.9);
+        LeagueSnapshot next = LeagueSnapshot.build(2, List.of(BEN, jwAfter, JORJA), model);
+
+        LeagueUpdate update = LeagueUpdate.between(previous, next, 10);
+
+        assertThat(update.generation()).isEqualTo(2);
+        assertThat(update.resync()).isFalse();
+        assertThat(update.changed()).containsExactly(
+                new LeagueUpdate.PlayerDelta("JW Johnson", "Orlando Squeeze", 4, 2, 1, 45, 30));
+        assertThat(update.added()).containsExactly("Jorja Johnson");
+        assertThat(update.removed()).isEmpty();
+
+        LeagueUpdate back = LeagueUpdate.between(next, previous, 10);
+        assertThat(back.removed()).containsExactly("Jorja Johnson");
+    }
+
+    @Test
+    void between_asksForAResync_onFirstLoadOrTooManyChanges() {
+        LeagueSnapshot previous = LeagueSnapshot.build(1, List.of(BEN), model);
+        LeagueSnapshot next = LeagueSnapshot.build(2, List.of(JW, JORJA), model);
+
+        assertThat(LeagueUpdate.between(null, next, 10).resync()).isTrue();
+        LeagueUpdate tooMany = LeagueUpdate.between(previous, next, 2);
+        assertThat(tooMany.resync()).isTrue();
+        assertThat(tooMany.changed()).isEmpty();
+        assertThat(tooMany.generation()).isEqualTo(2);
+    }
+
+    @Test
+    void between_isEmpty_whenNothingChanged() {
+        LeagueSnapshot previous = LeagueSnapshot.build(1, List.of(BEN, JW), model);
+        LeagueSnapshot next = LeagueSnapshot.build(2, List.of(JW, BEN), model);
+
+        LeagueUpdate update = LeagueUpdate.between(previous, next, 10);
+
+        assertThat(update.changed()).isEmpty();
+        assertThat(update.added()).isEmpty();
+        assertThat(update.removed()).isEmpty();
+        assertThat(update.resync()).isFalse();
+    }
+}
@@ -0,0 +1,114 @@
+package com.rm.rally_metrics.league;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rm.rally_metrics.ConditionalGets;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeagueUpdatesTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    private static final Player BEN = new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /** Records each event as its wire text; optionally blocks every send until released. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            events.add(builder.build().stream().map(d -> d.getData().toString()).collect(Collectors.joining()));
+        }
+    }
+
+    private LeagueChangeSet sync(int generation) {
+        Player ben = new Player("Ben Johns", 1, "Dallas Flash", 42 + generation, 10, 80.8, 820, 540, 60.3);
+        return LeagueChangeSet.between(LeagueSnapshot.build(generation - 1, List.of(BEN), model),
+                LeagueSnapshot.build(generation, List.of(ben), model));
+    }
+
+    private static void awaitEvents(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.events.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(emitter.events).hasSize(count);
+    }
+
+    @Test
+    void aSlowClient_delaysOnlyItself_andIsDroppedOnceTooFarBehind() throws Exception {
+        LeagueUpdates updates = new LeagueUpdates(mapper, 100, 500, 2, 60_000, pool);
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stuck);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        updates.register(slow, null);
+        updates.register(fast, null);
+
+        for (int generation = 2; generation <= 5; generation++) {
+            updates.onPublished(sync(generation));
+            awaitEvents(fast, generation - 1);
+        }
+
+        assertThat(fast.events.get(3)).contains("id:" + ConditionalGets.version(5));
+        assertThat(updates.subscriberCount()).isEqualTo(1);
+        stuck.countDown();
+    }
+
+    @Test
+    void reconnect_oneGenerationBehind_getsTheUpdate_otherwiseAResync() throws Exception {
+        LeagueUpdates updates = new LeagueUpdates(mapper, 100, 500, 8, 60_000, pool);
+        updates.onPublished(sync(3));
+
+        RecordingEmitter behindByOne = new RecordingEmitter(null);
+        RecordingEmitter behindByTwo = new RecordingEmitter(null);
+        RecordingEmitter otherBoot = new RecordingEmitter(null);
+        RecordingEmitter current = new RecordingEmitter(null);
+        updates.register(behindByOne, ConditionalGets.version(2));
+        updates.register(behindByTwo, ConditionalGets.version(1));
+        updates.register(otherBoot, "0-2");
+        updates.register(current, ConditionalGets.version(3));
+
+        awaitEvents(behindByOne, 1);
+        awaitEvents(behindByTwo, 1);
+        awaitEvents(otherBoot, 1);
+        assertThat(behindByOne.events.get(0)).contains("id:" + ConditionalGets.version(3), "\"resync\":false");
+        assertThat(behindByTwo.events.get(0)).contains("\"resync\":true");
+        assertThat(otherBoot.events.get(0)).contains("id:" + ConditionalGets.version(3), "\"resync\":true");
+        assertThat(current.events).isEmpty();
+    }
+}
@@ -0,0 +1,129 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchEstimate;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MatchupMatrixTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private LeagueSnapshot randomLeague(int n, long seed) {
+        Random r = new Random(seed);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int gw = r.nextInt(60);
+            int gl = r.nextInt(60);
+            int pw = r.nextInt(1500);
+            int pl = r.nextInt(1500);
+            players.add(new Player("Player " + i, i + 1, "Team " + (i % 7), gw, gl, 0.0, pw, pl, 0.0));
+        }
+        return LeagueSnapshot.build(1, players, model);
+    }
+
+    @Test
+    void pairs_countsEachUnorderedPairOnce() {
+        assertThat(MatchupMatrix.build(randomLeague(40, 1), model).pairs()).isEqualTo(40 * 39 / 2);
+        assertThat(MatchupMatrix.build(randomLeague(1, 1), model).pairs()).isZero();
+        assertThat(MatchupMatrix.build(randomLeague(0, 1), model).pairs()).isZero();
+    }
+
+    @Test
+    void everyPair_matchesTheModelEstimate_inBothOrders() {
+        LeagueSnapshot league = randomLeague(60, 7);
+        MatchupMatrix matrix = MatchupMatrix.build(league, model);
+
+        for (int a = 0; a < league.size(); a++) {
+            for (int b = 0; b < league.size(); b++) {
+                if (a == b) {
+                    continue;
+                }
+                // Bit for bit what the scalar model says for this order, not 1 - the other order.
+                MatchEstimate e = model.estimate(league.stats(a), league.stats(b));
+                double pA = matrix.probability(a, b);
+                assertThat(pA).isEqualTo(MatchProbabilityModel.log5(league.skill(a), league.skill(b)));
+                assertThat(pA >= 0.5).isEqualTo(e.winnerIsA());
+                assertThat(e.winnerIsA() ? pA : 1.0 - pA).isEqualTo(e.winProbability());
+                assertThat(matrix.moneyline(a, b)).isEqualTo(e.moneylineOdds());
+                assertThat(matrix.probability(a, b) + matrix.probability(b, a)).isCloseTo(1.0, within(1e-15));
+            }
+        }
+    }
+
+    @Test
+    void parallelBuild_isDeterministic() {
+        LeagueSnapshot league = randomLeague(200, 3);
+        MatchupMatrix first = MatchupMatrix.build(league, model);
+        MatchupMatrix second = MatchupMatrix.build(league, model);
+
+        for (int a = 0; a < league.size(); a++) {
+            for (int b = a + 1; b < league.size(); b++) {
+                assertThat(second.probability(a, b)).isEqualTo(first.probability(a, b));
+                assertThat(second.moneyline(a, b)).isEqualTo(first.moneyline(a, b));
+            }
+        }
+    }
+
+    @Test
+    void matrices_followTheSnapshotGeneration() {
+        MatchupMatrices matrices = new MatchupMatrices(model);
+        LeagueSnapshot first = randomLeague(5, 1);
+        LeagueSnapshot second = LeagueSnapshot.build(2, first.players(), model);
+
+        matrices.onSnapshot(LeagueChangeSet.between(null, first));
+        MatchupMatrix m1 = matrices.matrixFor(first);
+        assertThat(matrices.matrixFor(first)).isSameAs(m1);
+        matrices.onSnapshot(LeagueChangeSet.between(first, second));
+        assertThat(matrices.matrixFor(second).generation()).isEqualTo(2);
+        // A late reader still holding the old snapshot gets a matrix for that snapshot.
+        assertThat(matrices.matrixFor(first).generation()).isEqualTo(1);
+        assertThat(matrices.matrixFor(second).generation()).isEqualTo(2);
+    }
+
+    @Test
+    void advance_recomputesOnlyChangedPlayers_andMatchesAFullBuild() {
+        LeagueSnapshot first = randomLeague(50, 11);
+        List<Player> players = new ArrayList<>(first.players());
+        Player p7 = players.get(7);
+        players.set(7, new Player(p7.getName(), p7.getRank(), p7.getTeam(), p7.getGamesWon() + 5,
+                p7.getGamesLost(), 0.0, p7.getPtsWon() + 40, p7.getPtsLost(), 0.0));
+        LeagueSnapshot second = LeagueSnapshot.build(2, players, model);
+
+        MatchupMatrix advanced = MatchupMatrix.build(first, model).advance(LeagueChangeSet.between(first, second), model);
+        MatchupMatrix full = MatchupMatrix.build(second, model);
+
+        assertThat(advanced.generation()).isEqualTo(2);
+        for (int a = 0; a < second.size(); a++) {
+            for (int b = a + 1; b < second.size(); b++) {
+                assertThat(advanced.probability(a, b)).isEqualTo(full.probability(a, b));
+                assertThat(advanced.moneyline(a, b)).isEqualTo(full.moneyline(a, b));
+                assertThat(advanced.probability(b, a)).isEqualTo(full.probability(b, a));
+                assertThat(advanced.moneyline(b, a)).isEqualTo(full.moneyline(b, a));
+            }
+        }
+    }
+
+    @Test
+    void advance_declinesWhenTheStandingsOrderMoved() {
+        LeagueSnapshot first = randomLeague(10, 5);
+        List<Player> players = new ArrayList<>(first.players());
+        Player p3 = players.get(3);
+        players.set(3, new Player(p3.getName(), 99, p3.getTeam(), p3.getGamesWon(), p3.getGamesLost(), 0.0,
+                p3.getPtsWon(), p3.getPtsLost(), 0.0));
+        LeagueSnapshot reordered = LeagueSnapshot.build(2, players, model);
+        LeagueSnapshot grown = LeagueSnapshot.build(3, randomLeague(11, 5).players(), model);
+
+        MatchupMatrix matrix = MatchupMatrix.build(first, model);
+        assertThat(matrix.advance(LeagueChangeSet.between(first, reordered), model)).isNull();
+        assertThat(matrix.advance(LeagueChangeSet.between(first, grown), model)).isNull();
+        assertThat(matrix.advance(LeagueChangeSet.fullRebuild(first), model)).isNull();
+    }
+}
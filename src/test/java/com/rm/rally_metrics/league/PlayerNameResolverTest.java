@@ -0,0 +1,130 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerNameResolverTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private static Player player(String name, int rank) {
+        return new Player(name, rank, "Team", 10, 10, 50.0, 200, 200, 50.0);
+    }
+
+    private final LeagueSnapshot league = LeagueSnapshot.build(1, List.of(
+            player("Ben Johns", 1),
+            player("Anna Leigh Waters", 2),
+            player("Collin Johns", 3),
+            player("José Pérez", 4)), model);
+
+    private String name(int index) {
+        return index < 0 ? null : league.name(index);
+    }
+
+    @Test
+    void resolve_ignoresSpacingCaseAccentsAndPunctuation() {
+        PlayerNameResolver resolver = PlayerNameResolver.build(league, Map.of());
+
+        assertThat(name(resolver.resolve("  ben   JOHNS "))).isEqualTo("Ben Johns");
+        assertThat(name(resolver.resolve("Ánna Leigh-Waters"))).isEqualTo("Anna Leigh Waters");
+        assertThat(name(resolver.resolve("jose perez"))).isEqualTo("José Pérez");
+        assertThat(PlayerNameResolver.normalize(" O'Neil--Smith ")).isEqualTo("o neil smith");
+    }
+
+    @Test
+    void resolve_acceptsAliases_butARealNameWins() {
+        PlayerNameResolver resolver = PlayerNameResolver.build(league,
+                Map.of("Benny", "Ben Johns", "ALW", "Anna Leigh Waters", "Collin Johns", "Ben Johns",
+                        "Ghost", "Nobody"));
+
+        assertThat(name(resolver.resolve("benny"))).isEqualTo("Ben Johns");
+        assertThat(name(resolver.resolve("alw"))).isEqualTo("Anna Leigh Waters");
+        assertThat(name(resolver.resolve("Collin Johns"))).isEqualTo("Collin Johns");
+        assertThat(resolver.resolve("Ghost")).isEqualTo(PlayerNameResolver.NOT_FOUND);
+    }
+
+    @Test
+    void resolve_fixesOneTypo_onlyWhenUnambiguous() {
+        PlayerNameResolver resolver = PlayerNameResolver.build(league, Map.of());
+
+        assertThat(name(resolver.resolve("Anna Leigh Watters"))).isEqualTo("Anna Leigh Waters");
+        assertThat(name(resolver.resolve("ben john"))).isEqualTo("Ben Johns");
+        assertThat(resolver.resolve("Bon Jahns")).isEqualTo(PlayerNameResolver.NOT_FOUND); // two edits
+        assertThat(resolver.resolve("bem")).isEqualTo(PlayerNameResolver.NOT_FOUND);       // too short to guess
+    }
+
+    @Test
+    void suggest_ranksByDistanceThenStandings() {
+        PlayerNameResolver resolver = PlayerNameResolver.build(league, Map.of());
+
+        assertThat(resolver.suggest("Bon Jahns", 5)).extracting(c -> name(c.index()))
+                .containsExactly("Ben Johns");
+        assertThat(resolver.suggest("Bon Jahns", 5)).extracting(PlayerNameResolver.Candidate::distance)
+                .containsExactly(2);
+        assertThat(resolver.suggest("zzqx vvvv", 5)).isEmpty();
+        assertThat(resolver.suggest("", 5)).isEmpty();
+    }
+
+    @Test
+    void suggest_matchesABruteForceScan() {
+        Random random = new Random(7);
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < 400) {
+            names.add(word(random, 3 + random.nextInt(4)) + " " + word(random, 3 + random.nextInt(6)));
+        }
+        List<Player> players = new ArrayList<>();
+        for (String name : names) {
+            players.add(player(name, players.size() + 1));
+        }
+        LeagueSnapshot big = LeagueSnapshot.build(1, players, model);
+        PlayerNameResolver resolver = PlayerNameResolver.build(big, Map.of());
+
+        for (int q = 0; q < 200; q++) {
+            String name = big.name(random.nextInt(big.size()));
+            StringBuilder typo = new StringBuilder(name);
+            for (int edits = random.nextInt(3); edits > 0; edits--) {
+                typo.setCharAt(random.nextInt(typo.length()), (char) ('a' + random.nextInt(6)));
+            }
+            String key = PlayerNameResolver.normalize(typo.toString());
+            int maxEdits = key.length() <= 4 ? 1 : key.length() <= 8 ? 2 : 3;
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < big.size(); i++) {
+                String other = PlayerNameResolver.normalize(big.name(i));
+                if (PlayerNameResolver.boundedLevenshtein(key, other, 99) <= maxEdits) {
+                    expected.add(i);
+                }
+            }
+            assertThat(resolver.suggest(typo.toString(), Integer.MAX_VALUE))
+                    .extracting(PlayerNameResolver.Candidate::index)
+                    .as(typo.toString())
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void boundedLevenshtein_capsAtMaxPlusOne() {
+        assertThat(PlayerNameResolver.boundedLevenshtein("kitten", "sitting", 5)).isEqualTo(3);
+        assertThat(PlayerNameResolver.boundedLevenshtein("kitten", "sitting", 2)).isEqualTo(3);
+        assertThat(PlayerNameResolver.boundedLevenshtein("", "abc", 3)).isEqualTo(3);
+        assertThat(PlayerNameResolver.boundedLevenshtein("abc", "abc", 0)).isZero();
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < length; k++) {
+            sb.append((char) ('a' + random.nextInt(6)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.league.PlayerScreenIndex.Column;
+import com.rm.rally_metrics.league.PlayerScreenIndex.Range;
+import com.rm.rally_metrics.league.PlayerScreenIndex.SortKey;
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.DraftTier;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerScreenIndexTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private static Player player(String name, Integer rank, Integer won, Integer lost, Double winPct) {
+        return new Player(name, rank, "Team", won, lost, winPct, 200, 200, 50.0);
+    }
+
+    @Test
+    void ranges_areInclusive_andNeverMatchMissingValues() {
+        LeagueSnapshot league = LeagueSnapshot.build(1, List.of(
+                player("A", 1, 10, 10, 50.0),
+                player("B", 2, 12, 8, 60.0),
+                player("C", 3, 14, 6, 70.0),
+                player("D", null, null, null, null)), model);
+        PlayerScreenIndex index = PlayerScreenIndex.build(league, model);
+
+        assertThat(index.screen(List.of(new Range(Column.GAMES_WON_PERCENT, 50.0, 60.0)), Set.of(), null, List.of()))
+                .containsExactly(0, 1);
+        assertThat(index.screen(List.of(new Range(Column.GAMES_WON_PERCENT,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY)), Set.of(), null, List.of()))
+                .containsExactly(0, 1, 2);
+        assertThat(index.screen(List.of(new Range(Column.GAMES_PLAYED, 0, 0)), Set.of(), null, List.of()))
+                .containsExactly(3); // missing counts read as 0, like the model
+        assertThat(index.screen(List.of(new Range(Column.RANK, 3, 1)), Set.of(), null, List.of())).isEmpty();
+        assertThat(index.screen(List.of(), Set.of(), new int[]{2, 0}, List.of())).containsExactly(0, 2);
+    }
+
+    @Test
+    void sort_breaksTiesByTheNextKeyThenStandings_withMissingValuesLast() {
+        LeagueSnapshot league = LeagueSnapshot.build(1, List.of(
+                player("A", 1, 10, 10, 50.0),
+                player("B", 2, 14, 6, 70.0),
+                player("C", 3, 12, 8, 50.0),
+                player("D", null, null, null, null)), model);
+        PlayerScreenIndex index = PlayerScreenIndex.build(league, model);
+
+        assertThat(index.screen(List.of(), Set.of(), null,
+                List.of(new SortKey(Column.GAMES_WON_PERCENT, true)))).containsExactly(1, 0, 2, 3);
+        assertThat(index.screen(List.of(), Set.of(), null,
+                List.of(new SortKey(Column.GAMES_WON_PERCENT, false)))).containsExactly(0, 2, 1, 3);
+        assertThat(index.screen(List.of(), Set.of(), null, List.of(
+                new SortKey(Column.GAMES_WON_PERCENT, false), new SortKey(Column.RANK, true))))
+                .containsExactly(2, 0, 1, 3);
+    }
+
+    @Test
+    void screen_matchesABruteForceScan() {
+        Random random = new Random(11);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int won = random.nextInt(40);
+            int lost = random.nextInt(40);
+            Double pct = i % 17 == 0 ? null : Math.round(1000.0 * won / Math.max(1, won + lost)) / 10.0;
+            players.add(new Player("P" + i, i % 9 == 0 ? null : i + 1, "Team", won, lost, pct,
+                    random.nextInt(600), random.nextInt(600), Math.round(random.nextDouble() * 1000) / 10.0));
+        }
+        LeagueSnapshot league = LeagueSnapshot.build(1, players, model);
+        PlayerScreenIndex index = PlayerScreenIndex.build(league, model);
+        Set<DraftTier> tiers = EnumSet.of(DraftTier.SOLID, DraftTier.FLEX);
+
+        int[] screened = index.screen(
+                List.of(new Range(Column.GAMES_WON_PERCENT, 40, 70), new Range(Column.GAMES_PLAYED, 30, 1_000)),
+                tiers, null,
+                List.of(new SortKey(Column.SKILL_RATING, true), new SortKey(Column.PTS_WON_PERCENT, false)));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < league.size(); i++) {
+            Double pct = league.player(i).getGamesWonPercent();
+            int played = league.stats(i).gamesWon() + league.stats(i).gamesLost();
+            if (pct != null && pct >= 40 && pct <= 70 && played >= 30
+                    && tiers.contains(model.draftTier(league.skill(i)))) {
+                expected.add(i);
+            }
+        }
+        expected.sort(Comparator.comparingInt((Integer i) -> -model.skillRating(league.skill(i)))
+                .thenComparingDouble(i -> league.player(i).getPtsWonPercent())
+                .thenComparingInt(i -> i));
+        assertThat(expected).isNotEmpty();
+        assertThat(screened).containsExactly(expected.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
@@ -0,0 +1,94 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerSearchIndexTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private static Player player(String name, int rank, String team) {
+        return new Player(name, rank, team, 10, 10, 50.0, 200, 200, 50.0);
+    }
+
+    private List<String> names(PlayerSearchIndex index, LeagueSnapshot league, String query) {
+        return index.search(query, Integer.MAX_VALUE).stream().map(hit -> league.name(hit.index())).toList();
+    }
+
+    @Test
+    void search_isCaseAndAccentInsensitive() {
+        LeagueSnapshot league = LeagueSnapshot.build(1, List.of(
+                player("José Pérez", 3, "Miami Pickleball Club"),
+                player("Zoë Ångström", 4, "Mesa Miners")), model);
+        PlayerSearchIndex index = PlayerSearchIndex.build(league);
+
+        assertThat(names(index, league, "JOSE PEREZ")).containsExactly("José Pérez");
+        assertThat(names(index, league, "pér")).containsExactly("José Pérez");
+        assertThat(names(index, league, "angst")).containsExactly("Zoë Ångström");
+        assertThat(PlayerSearchIndex.fold("  Zoë ")).isEqualTo("zoe");
+    }
+
+    @Test
+    void search_ranksPrefixMatchesBeforeSubstrings_thenByRank() {
+        LeagueSnapshot league = LeagueSnapshot.build(1, List.of(
+                player("Anna Bright", 1, "Texas Ranchers"),
+                player("Brianna Annson", 2, "Columbus Sliders"),
+                player("Hanna Smith", 3, "Annapolis Aces"),
+                player("Annabel Lee", 9, "Bay Area Breakers")), model);
+        PlayerSearchIndex index = PlayerSearchIndex.build(league);
+
+        List<PlayerSearchIndex.Hit> hits = index.search("ann", 10);
+
+        assertThat(hits).extracting(hit -> league.name(hit.index()))
+                .containsExactly("Anna Bright", "Annabel Lee", "Brianna Annson", "Hanna Smith");
+        assertThat(hits).extracting(PlayerSearchIndex.Hit::match).containsExactly(
+                PlayerSearchIndex.Match.NAME_PREFIX, PlayerSearchIndex.Match.NAME_PREFIX,
+                PlayerSearchIndex.Match.NAME_WORD_PREFIX, PlayerSearchIndex.Match.TEAM_PREFIX);
+        assertThat(index.search("ann", 1)).hasSize(1);
+    }
+
+    @Test
+    void search_shortAndBlankQueries() {
+        LeagueSnapshot league = LeagueSnapshot.build(1, List.of(
+                player("Ben Johns", 1, "Dallas Flash"),
+                player("JW Johnson", 5, "Orlando Squeeze")), model);
+        PlayerSearchIndex index = PlayerSearchIndex.build(league);
+
+        assertThat(names(index, league, "jw")).containsExactly("JW Johnson");
+        assertThat(names(index, league, "  ")).containsExactly("Ben Johns", "JW Johnson");
+        assertThat(names(index, league, "xyz")).isEmpty();
+    }
+
+    @Test
+    void trigramSearch_agreesWithAPlainContainsScan() {
+        Random random = new Random(11);
+        String letters = "abcdeilnorst ";
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int k = 0; k < 12; k++) {
+                name.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            players.add(player(name.toString().trim() + " " + i, i + 1, "Team " + (i % 9)));
+        }
+        LeagueSnapshot league = LeagueSnapshot.build(1, players, model);
+        PlayerSearchIndex index = PlayerSearchIndex.build(league);
+
+        for (String query : List.of("ano", "lie", "st", "team 4", "e r", "tsa")) {
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < league.size(); i++) {
+                if (league.name(i).contains(query) || league.team(i).toLowerCase().contains(query)) {
+                    expected.add(league.name(i));
+                }
+            }
+            assertThat(names(index, league, query)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.rm.rally_metrics.league;
+
+import com.rm.rally_metrics.player.Player;
+import com.rm.rally_metrics.prediction.DraftTier;
+import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SimilarPlayerIndexTest {
+
+    private final MatchProbabilityModel model = new MatchProbabilityModel();
+
+    private static Player player(String name, int rank, String team, int gw, int gl, int pw, int pl) {
+        return new Player(name, rank, team, gw, gl, null, pw, pl, null);
+    }
+
+    private List<Player> randomLeague(int size, long seed) {
+        Random random = new Random(seed);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            players.add(player("P" + i, i + 1, "T" + (i % 8), random.nextInt(50), random.nextInt(50),
+                    random.nextInt(800), random.nextInt(800)));
+        }
+        return players;
+    }
+
+    @Test
+    void nearest_excludesThePlayer_andOrdersByDistance() {
+        LeagueSnapshot league = LeagueSnapshot.build(1, List.of(
+                player("A", 1, "X", 40, 10, 800, 500),
+                player("A twin", 2, "Y", 40, 10, 800, 500),
+                player("Close", 3, "X", 38, 12, 790, 520),
+                player("Far", 4, "Y", 5, 45, 400, 800)), model);
+        SimilarPlayerIndex index = SimilarPlayerIndex.build(league, model);
+
+        List<SimilarPlayerIndex.Neighbor> nearest = index.nearest(0, 10, null, Set.of());
+        assertThat(nearest).extracting(SimilarPlayerIndex.Neighbor::index).containsExactly(1, 2, 3);
+        assertThat(nearest.get(0).distance()).isZero();
+        assertThat(nearest.get(1).distance()).isLessThan(nearest.get(2).distance());
+        assertThat(index.nearest(0, 0, null, Set.of())).isEmpty();
+    }
+
+    @Test
+    void nearest_matchesAnExactScan_underTeamAndTierFilters() {
+        LeagueSnapshot league = LeagueSnapshot.build(1, randomLeague(600, 5), model);
+        SimilarPlayerIndex index = SimilarPlayerIndex.build(league, model);
+        int[] team = league.indicesOfTeam("T3");
+        Set<DraftTier> tiers = EnumSet.of(DraftTier.SOLID, DraftTier.FLEX);
+
+        for (int query = 0; query < league.size(); query += 37) {
+            List<SimilarPlayerIndex.Neighbor> all = index.nearest(query, league.size(), null, Set.of());
+            assertThat(all).hasSize(league.size() - 1);
+            for (int r = 1; r < all.size(); r++) {
+                assertThat(all.get(r).distance()).isGreaterThanOrEqualTo(all.get(r - 1).distance());
+            }
+
+            List<SimilarPlayerIndex.Neighbor> top = index.nearest(query, 5, team, tiers);
+            List<Integer> expected = all.stream()
+                    .map(SimilarPlayerIndex.Neighbor::index)
+                    .filter(i -> league.team(i).equals("T3") && tiers.contains(model.draftTier(league.skill(i))))
+                    .limit(5)
+                    .toList();
+            assertThat(top).extracting(SimilarPlayerIndex.Neighbor::index).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void distance_isStandardizedEuclidean() {
+        LeagueSnapshot league = LeagueSnapshot.build(1, randomLeague(200, 9), model);
+        SimilarPlayerIndex index = SimilarPlayerIndex.build(league, model);
+
+        double[][] z = new double[SimilarPlayerIndex.FEATURES][league.size()];
+        for (int i = 0; i < league.size(); i++) {
+            var s = league.stats(i);
+            z[0][i] = s.games() == 0 ? 0 : (double) s.gamesWon() / s.games();
+            z[1][i] = MatchProbabilityModel.pythagoreanExpectation(s);
+            z[2][i] = s.games() == 0 ? 0 : (double) (s.pointsWon() - s.pointsLost()) / s.games();
+            z[3][i] = Math.log1p(s.games());
+            z[4][i] = league.skill(i);
+        }
+        for (double[] column : z) {
+            double mean = java.util.Arrays.stream(column).average().orElse(0);
+            double sd = Math.sqrt(java.util.Arrays.stream(column).map(v -> (v - mean) * (v - mean)).average().orElse(0));
+            for (int i = 0; i < column.length; i++) {
+                column[i] = (column[i] - mean) / sd;
+            }
+        }
+
+        SimilarPlayerIndex.Neighbor first = index.nearest(0, 1, null, Set.of()).get(0);
+        double expected = 0;
+        for (double[] column : z) {
+            expected += (column[first.index()] - column[0]) * (column[first.index()] - column[0]);
+        }
+        assertThat(first.distance()).isCloseTo(Math.sqrt(expected), within(1e-4));
+    }
+}
@@ -24,24 +24,16 @@ class PlayerRepositoryTest {
     }
 
     @Test
-    void findByTeamIgnoreCase_isCaseInsensitive() {
-        List<Player> result = repository.findByTeamIgnoreCase("orlando squeeze");
-        assertThat(result).hasSize(2)
-                .extracting(Player::getName)
-                .containsExactlyInAnyOrder("Jorja Johnson", "JW Johnson");
+    void findByName_matchesTheExactName() {
+        assertThat(repository.findByName("JW Johnson")).get()
+                .extracting(Player::getTeam).isEqualTo("Orlando Squeeze");
+        assertThat(repository.findByName("jw johnson")).isEmpty();
     }
 
     @Test
-    void searchByNameOrTeam_matchesNameSubstringCaseInsensitive() {
-        List<Player> byName = repository.searchByNameOrTeam("johns");
-        // matches "Ben Johns", "Jorja Johnson", "JW Johnson"
-        assertThat(byName).extracting(Player::getName)
+    void findAll_returnsEverySavedPlayer() {
+        List<Player> all = repository.findAll();
+        assertThat(all).extracting(Player::getName)
                 .containsExactlyInAnyOrder("Ben Johns", "Jorja Johnson", "JW Johnson");
     }
-
-    @Test
-    void searchByNameOrTeam_matchesTeamSubstring() {
-        List<Player> byTeam = repository.searchByNameOrTeam("dallas");
-        assertThat(byTeam).extracting(Player::getName).containsExactly("Ben Johns");
-    }
 }
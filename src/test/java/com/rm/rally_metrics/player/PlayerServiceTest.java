@@ -6,28 +6,48 @@ import com.rm.rally_metrics.ai.agents.MatchAnalysisInput;
 import com.rm.rally_metrics.ai.agents.MatchAnalysisOrchestrator;
 import com.rm.rally_metrics.ai.agents.ScoutAgent;
 import com.rm.rally_metrics.ai.agents.ScoutReport;
+import com.rm.rally_metrics.error.BadRequestException;
 import com.rm.rally_metrics.error.NotFoundException;
+import com.rm.rally_metrics.league.KeyFactorTables;
+import com.rm.rally_metrics.league.LeagueAggregator;
+import com.rm.rally_metrics.league.LeagueSnapshotStore;
+import com.rm.rally_metrics.league.MatchupMatrices;
+import com.rm.rally_metrics.league.PlayerNameResolvers;
+import com.rm.rally_metrics.league.PlayerScreenIndexes;
+import com.rm.rally_metrics.league.PlayerSearchIndexes;
+import com.rm.rally_metrics.league.SimilarPlayerIndexes;
 import com.rm.rally_metrics.prediction.DraftTier;
+import com.rm.rally_metrics.prediction.MatchEstimate;
 import com.rm.rally_metrics.prediction.MatchProbabilityModel;
+import com.rm.rally_metrics.prediction.PlayerStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * Wiring-focused tests for {@link PlayerService}: repository, the multi-agent orchestrator, and the
- * scout agent are mocked; the probability model is real (its rigor is covered by
+ * scout agent are mocked; the league snapshot is built from the mocked repository by a real
+ * {@link LeagueSnapshotStore}; the probability model is real (its rigor is covered by
  * {@link com.rm.rally_metrics.prediction.MatchProbabilityModelTest}).
  */
 class PlayerServiceTest {
@@ -36,6 +56,7 @@ class PlayerServiceTest {
     private MatchAnalysisOrchestrator orchestrator;
     private ScoutAgent scoutAgent;
     private PlayerService playerService;
+    private MatchProbabilityModel model;
 
     private static final ScoutReport SCOUT_A = new ScoutReport("Aggressor", List.of("power"), List.of("nerves"), "draft");
     private static final ScoutReport SCOUT_B = new ScoutReport("Grinder", List.of("consistency"), List.of("ceiling"), "flex");
@@ -45,7 +66,15 @@ class PlayerServiceTest {
         playerRepository = mock(PlayerRepository.class);
         orchestrator = mock(MatchAnalysisOrchestrator.class);
         scoutAgent = mock(ScoutAgent.class);
-        playerService = new PlayerService(playerRepository, new MatchProbabilityModel(), orchestrator, scoutAgent);
+        model = new MatchProbabilityModel();
+        LeagueAggregator aggregator = new LeagueAggregator(model);
+        MatchupMatrices matrices = new MatchupMatrices(model);
+        PlayerSearchIndexes searchIndexes = new PlayerSearchIndexes();
+        LeagueSnapshotStore store = new LeagueSnapshotStore(playerRepository, model,
+                List.of(aggregator, matrices, searchIndexes));
+        playerService = new PlayerService(store, aggregator, matrices, searchIndexes,
+                new PlayerNameResolvers("Benny=Ben Johns"), new PlayerScreenIndexes(model),
+                new SimilarPlayerIndexes(model), new KeyFactorTables(model), model, orchestrator, scoutAgent);
     }
 
     private Player player(String name, String team, int gw, int gl, double gwp, int pw, int pl, double pwp) {
@@ -56,8 +85,7 @@ class PlayerServiceTest {
     void prediction_combinesDeterministicModelWithMultiAgentNarrative() {
         Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 0.808, 820, 540, 0.603);
         Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 0.577, 700, 660, 0.515);
-        when(playerRepository.findByName("Ben Johns")).thenReturn(Optional.of(ben));
-        when(playerRepository.findByName("JW Johnson")).thenReturn(Optional.of(jw));
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw));
         when(orchestrator.analyze(any()))
                 .thenReturn(new MatchAnalysis("multi-agent reasoning", SCOUT_A, SCOUT_B));
 
@@ -82,19 +110,104 @@ class PlayerServiceTest {
 
     @Test
     void prediction_throwsNotFoundWhenPlayerMissing() {
-        when(playerRepository.findByName("Ghost")).thenReturn(Optional.empty());
+        when(playerRepository.findAll()).thenReturn(List.of());
 
         assertThatThrownBy(() -> playerService.getPredictionBetweenPlayers("Ghost", "Anyone"))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Ghost");
     }
 
+    @Test
+    void matchupOdds_matchTheModelWithoutCallingTheAgents() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw));
+
+        MatchupOdds odds = playerService.getMatchupOdds("JW Johnson", "Ben Johns");
+        MatchEstimate expected = model.estimate(new PlayerStats(30, 22, 700, 660), new PlayerStats(42, 10, 820, 540));
+
+        assertThat(odds.playerA()).isEqualTo("JW Johnson");
+        assertThat(odds.winnerName()).isEqualTo("Ben Johns");
+        assertThat(odds.winProbability()).isCloseTo(expected.winProbability(), within(1e-12));
+        assertThat(odds.moneylineOdds()).isEqualTo(expected.moneylineOdds());
+        assertThat(odds.confidence()).isEqualTo(expected.confidence().name());
+        assertThat(odds.keyFactors()).hasSize(5);
+        verify(orchestrator, never()).analyze(any());
+        verify(scoutAgent, never()).scout(anyString(), anyString(), any());
+    }
+
+    @Test
+    void batch_streamsDeterministicResultsInOrder_withErrorsInPlace() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw));
+        List<BatchPredictionRequest.Pair> pairs = new ArrayList<>();
+        for (int i = 0; i < PlayerService.BATCH_CHUNK_SIZE + 10; i++) {
+            pairs.add(i % 2 == 0
+                    ? new BatchPredictionRequest.Pair("Ben Johns", "JW Johnson")
+                    : new BatchPredictionRequest.Pair("JW Johnson", "Ghost"));
+        }
+        pairs.add(new BatchPredictionRequest.Pair("Ben Johns", " "));
+        List<List<BatchPrediction>> chunks = new ArrayList<>();
+
+        playerService.predictBatch(pairs, false, chunks::add);
+
+        assertThat(chunks).hasSize(2);
+        List<BatchPrediction> lines = chunks.stream().flatMap(List::stream).toList();
+        assertThat(lines).extracting(BatchPrediction::index)
+                .containsExactlyElementsOf(IntStream.range(0, pairs.size()).boxed().toList());
+        assertThat(lines.get(0).prediction().winnerName()).isEqualTo("Ben Johns");
+        assertThat(lines.get(0).prediction().reasoning()).isNull();
+        assertThat(lines.get(0).error()).isNull();
+        assertThat(lines.get(1).prediction()).isNull();
+        assertThat(lines.get(1).error()).contains("Ghost");
+        assertThat(lines.get(lines.size() - 1).error()).contains("required");
+        verify(orchestrator, never()).analyze(any());
+        verify(playerRepository, times(1)).findAll();
+    }
+
+    @Test
+    void batch_withNarrative_runsTheAgentsPerPair() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw));
+        when(orchestrator.analyze(any()))
+                .thenReturn(new MatchAnalysis("multi-agent reasoning", SCOUT_A, SCOUT_B));
+        List<BatchPrediction> lines = new ArrayList<>();
+
+        playerService.predictBatch(List.of(new BatchPredictionRequest.Pair("Ben Johns", "JW Johnson")), true,
+                lines::addAll);
+
+        assertThat(lines).singleElement()
+                .extracting(line -> line.prediction().reasoning()).isEqualTo("multi-agent reasoning");
+        verify(orchestrator, times(1)).analyze(any());
+    }
+
+    @Test
+    void batch_reportsAFailedPairInPlace_andKeepsStreaming() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw));
+        when(orchestrator.analyze(any()))
+                .thenThrow(new IllegalStateException("agent response did not parse"))
+                .thenReturn(new MatchAnalysis("multi-agent reasoning", SCOUT_A, SCOUT_B));
+        List<BatchPrediction> lines = new ArrayList<>();
+
+        playerService.predictBatch(List.of(new BatchPredictionRequest.Pair("Ben Johns", "JW Johnson"),
+                new BatchPredictionRequest.Pair("JW Johnson", "Ben Johns")), true, lines::addAll);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).prediction()).isNull();
+        assertThat(lines.get(0).error()).isEqualTo("This pair could not be priced.");
+        assertThat(lines.get(1).error()).isNull();
+        assertThat(lines.get(1).prediction().reasoning()).isEqualTo("multi-agent reasoning");
+    }
+
     @Test
     void summary_returnsTierRatingLeagueBenchmarksAndCachedScoutingReport() {
         Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
         Player mid = player("Mid Player", "NJ Fives", 26, 26, 50.0, 600, 600, 50.0);
         Player low = player("Low Player", "Chicago Slice", 14, 38, 26.9, 480, 720, 40.0);
-        when(playerRepository.findByName("Ben Johns")).thenReturn(Optional.of(ben));
         when(playerRepository.findAll()).thenReturn(List.of(ben, mid, low));
         when(scoutAgent.scout(eq("Ben Johns"), anyString(), any())).thenReturn(SCOUT_A);
 
@@ -108,13 +221,247 @@ class PlayerServiceTest {
         // Ben (80.8% win) sits above the league average win rate.
         assertThat(snapshot.leagueAvgWinPct()).isGreaterThan(0.0).isLessThan(ben.getGamesWonPercent());
         assertThat(snapshot.leagueAvgPtWinPct()).isGreaterThan(0.0);
+        assertThat(snapshot.skillRank()).isEqualTo(1);
+        assertThat(snapshot.skillPercentile()).isEqualTo(100.0);
         assertThat(snapshot.scouting()).isEqualTo(SCOUT_A);
         verify(scoutAgent).scout(eq("Ben Johns"), anyString(), any());
     }
 
+    @Test
+    void summaries_forATeam_useCachedReports_andMarkSlowScoutsPending() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+        Player jorja = player("Jorja Johnson", "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw, jorja));
+        when(scoutAgent.cached(eq("JW Johnson"), any())).thenReturn(Optional.of(SCOUT_A));
+        when(scoutAgent.scoutAsync(eq("Jorja Johnson"), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        PlayerSnapshotBatch batch = playerService.getSummaries("orlando squeeze", null, 0);
+
+        assertThat(batch.snapshots()).extracting(PlayerSnapshotBatch.Entry::name)
+                .containsExactly("JW Johnson", "Jorja Johnson");
+        assertThat(batch.pending()).isEqualTo(1);
+        PlayerSnapshotBatch.Entry jwEntry = batch.snapshots().get(0);
+        assertThat(jwEntry.scoutingPending()).isFalse();
+        assertThat(jwEntry.snapshot().scouting()).isEqualTo(SCOUT_A);
+        assertThat(jwEntry.snapshot().skillRank()).isEqualTo(2);
+        PlayerSnapshotBatch.Entry jorjaEntry = batch.snapshots().get(1);
+        assertThat(jorjaEntry.scoutingPending()).isTrue();
+        assertThat(jorjaEntry.snapshot().scouting()).isNull();
+        assertThat(jorjaEntry.snapshot().leagueSize()).isEqualTo(3);
+        verify(scoutAgent, never()).scout(anyString(), anyString(), any());
+        verify(scoutAgent, never()).scoutAsync(eq("JW Johnson"), anyString(), any());
+    }
+
+    @Test
+    void summaries_byName_waitForQuickScouts_andListUnknownNames() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw));
+        when(scoutAgent.scoutAsync(eq("JW Johnson"), anyString(), any()))
+                .thenReturn(CompletableFuture.supplyAsync(() -> SCOUT_B));
+        when(scoutAgent.scoutAsync(eq("Ben Johns"), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(SCOUT_A));
+
+        PlayerSnapshotBatch batch = playerService.getSummaries(null,
+                List.of("JW Johnson", "Ghost", "Ben Johns", "JW Johnson"), 5_000);
+
+        assertThat(batch.snapshots()).extracting(PlayerSnapshotBatch.Entry::name)
+                .containsExactly("JW Johnson", "Ben Johns");
+        assertThat(batch.snapshots()).extracting(e -> e.snapshot().scouting()).containsExactly(SCOUT_B, SCOUT_A);
+        assertThat(batch.notFound()).containsExactly("Ghost");
+        assertThat(batch.pending()).isZero();
+    }
+
+    @Test
+    void summaries_byName_listEachPlayerOnce_howeverTheNameIsSpelled() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        when(playerRepository.findAll()).thenReturn(List.of(ben));
+        when(scoutAgent.scoutAsync(eq("Ben Johns"), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(SCOUT_A));
+
+        PlayerSnapshotBatch batch = playerService.getSummaries(null, List.of("Ben Johns", "ben johns", "Benny"), 0);
+
+        assertThat(batch.snapshots()).extracting(PlayerSnapshotBatch.Entry::name).containsExactly("Ben Johns");
+        assertThat(batch.notFound()).isEmpty();
+        verify(scoutAgent, times(1)).scoutAsync(eq("Ben Johns"), anyString(), any());
+    }
+
+    @Test
+    void reads_areServedFromOneSnapshotWithoutFurtherQueries() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw));
+        when(scoutAgent.scout(anyString(), anyString(), any())).thenReturn(SCOUT_A);
+
+        assertThat(playerService.getPlayers(PlayerService.LIST_MAX_PLAYERS)).extracting(Player::getName)
+                .containsExactlyInAnyOrder("Ben Johns", "JW Johnson");
+        assertThat(playerService.getPlayers(1)).extracting(Player::getName).containsExactly("Ben Johns");
+        assertThat(playerService.getPlayersFromTeam("orlando squeeze", PlayerService.LIST_MAX_PLAYERS))
+                .extracting(Player::getName).containsExactly("JW Johnson");
+        playerService.getSummaryForPlayer("JW Johnson");
+
+        verify(playerRepository, times(1)).findAll();
+        verify(playerRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void search_isServedFromTheIndex_prefixMatchesFirst() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player jw = player("JW Johnson", "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5);
+        Player jorja = new Player("Jorja Johnson", 6, "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, jw, jorja));
+
+        // All three match on a word of the name, so rank order decides.
+        assertThat(playerService.getPlayersByNameOrTeam(" JOHNS ", PlayerService.LIST_MAX_PLAYERS))
+                .extracting(Player::getName).containsExactly("Ben Johns", "JW Johnson", "Jorja Johnson");
+        assertThat(playerService.getPlayersByNameOrTeam("orlando", PlayerService.LIST_MAX_PLAYERS))
+                .extracting(Player::getName).containsExactly("JW Johnson", "Jorja Johnson");
+        assertThat(playerService.getPlayersByNameOrTeam("orlando", 1)).extracting(Player::getName)
+                .containsExactly("JW Johnson");
+        // A name that starts with the query beats a better-ranked word match.
+        assertThat(playerService.getSuggestions("jo", 2)).extracting(PlayerSuggestion::name)
+                .containsExactly("Jorja Johnson", "Ben Johns");
+        verify(playerRepository, times(1)).findAll();
+    }
+
+    @Test
+    void page_walksTheStandingsByCursor_withOnlyTheRequestedFields() {
+        when(playerRepository.findAll()).thenReturn(List.of(
+                new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3),
+                new Player("JW Johnson", 5, "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5),
+                new Player("Jorja Johnson", 6, "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7),
+                new Player("New Player", null, "Orlando Squeeze", null, null, null, null, null, null)));
+        List<PlayerField> fields = PlayerField.parse("name, rank");
+
+        PlayerPage first = playerService.getPlayerPage(null, null, 3, fields);
+        assertThat(first.players()).extracting(row -> row.get("name"))
+                .containsExactly("Ben Johns", "JW Johnson", "Jorja Johnson");
+        assertThat(first.players().get(0)).containsOnlyKeys("name", "rank");
+        assertThat(first.nextCursor()).isNotNull();
+
+        PlayerPage second = playerService.getPlayerPage(null, first.nextCursor(), 3, fields);
+        assertThat(second.players()).extracting(row -> row.get("name")).containsExactly("New Player");
+        assertThat(second.players().get(0)).containsEntry("rank", null);
+        assertThat(second.nextCursor()).isNull();
+
+        PlayerPage team = playerService.getPlayerPage("orlando squeeze", first.nextCursor(), 10,
+                PlayerField.parse(null));
+        assertThat(team.players()).extracting(row -> row.get("name")).containsExactly("New Player");
+        assertThat(team.players().get(0)).containsKeys("games_won", "pts_won_percent");
+    }
+
+    @Test
+    void continuationCursor_picksUpAListCutAtItsLimit_onThePageEndpoint() {
+        when(playerRepository.findAll()).thenReturn(List.of(
+                new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3),
+                new Player("JW Johnson", 5, "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5),
+                new Player("Jorja Johnson", 6, "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7)));
+        List<PlayerField> fields = PlayerField.parse("name");
+
+        String all = playerService.continuationCursor(null, 2);
+        assertThat(playerService.getPlayerPage(null, all, 10, fields).players()).extracting(row -> row.get("name"))
+                .containsExactly("Jorja Johnson");
+        String team = playerService.continuationCursor("orlando squeeze", 1);
+        assertThat(playerService.getPlayerPage("orlando squeeze", team, 10, fields).players())
+                .extracting(row -> row.get("name")).containsExactly("Jorja Johnson");
+        assertThat(playerService.continuationCursor(null, 3)).isNull();
+        assertThat(playerService.continuationCursor("orlando squeeze", 2)).isNull();
+        assertThat(playerService.continuationCursor("nobody", 1)).isNull();
+    }
+
+    @Test
+    void page_rejectsUnknownFieldsAndBadCursors() {
+        when(playerRepository.findAll()).thenReturn(List.of());
+
+        assertThatThrownBy(() -> PlayerField.parse("name,salary"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("salary");
+        assertThatThrownBy(() -> playerService.getPlayerPage(null, "not a cursor!", 10, PlayerField.parse(null)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void screen_filtersByRangesAndTiers_andSortsByManyKeys() {
+        when(playerRepository.findAll()).thenReturn(List.of(
+                new Player("Ben Johns", 1, "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3),
+                new Player("JW Johnson", 5, "Orlando Squeeze", 30, 22, 57.7, 700, 660, 51.5),
+                new Player("Jorja Johnson", 6, "Orlando Squeeze", 28, 24, 53.8, 690, 670, 50.7),
+                new Player("Twin Johnson", 7, "Orlando Squeeze", 28, 24, 53.8, 700, 660, 51.5),
+                new Player("New Player", null, "Orlando Squeeze", null, null, null, null, null, null)));
+        List<PlayerField> fields = PlayerField.parse("name");
+
+        PlayerScreen screen = playerService.screenPlayers(null, PlayerScreenQuery.parse(Map.of(
+                "games_won_percent", "50..60", "games_played", "52", "sort", "-games_won_percent,pts_won_percent")),
+                1, fields);
+        assertThat(screen.matched()).isEqualTo(3);
+        assertThat(screen.players()).extracting(row -> row.get("name")).containsExactly("JW Johnson");
+
+        assertThat(playerService.screenPlayers("orlando squeeze", PlayerScreenQuery.parse(Map.of(
+                "sort", "games_won_percent,-pts_won_percent")), 10, fields).players())
+                .extracting(row -> row.get("name"))
+                .containsExactly("Twin Johnson", "Jorja Johnson", "JW Johnson", "New Player"); // missing sorts last
+
+        DraftTier benTier = model.draftTier(new PlayerStats(42, 10, 820, 540));
+        assertThat(playerService.screenPlayers(null, PlayerScreenQuery.parse(Map.of(
+                "draft_tier", benTier.name().toLowerCase(), "rank", "..3")), 10, fields).players())
+                .extracting(row -> row.get("name"))
+                .containsExactly("Ben Johns");
+
+        assertThatThrownBy(() -> PlayerScreenQuery.parse(Map.of("salary", "1..2")))
+                .isInstanceOf(BadRequestException.class).hasMessageContaining("salary");
+        assertThatThrownBy(() -> PlayerScreenQuery.parse(Map.of("skill_rating", "high")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PlayerScreenQuery.parse(Map.of("draft_tier", "BENCH")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void similar_ranksByStatProfile_andHonoursTeamAndTierFilters() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player twin = player("Ben Twin", "Orlando Squeeze", 41, 11, 78.8, 815, 545, 59.9);
+        Player mid = player("Mid Player", "Dallas Flash", 26, 26, 50.0, 600, 600, 50.0);
+        Player weak = player("Weak Player", "Orlando Squeeze", 10, 42, 19.2, 500, 800, 38.5);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, twin, mid, weak));
+
+        assertThat(playerService.getSimilarPlayers("Ben Johns", 3, null, Set.of()))
+                .extracting(SimilarPlayer::name)
+                .containsExactly("Ben Twin", "Mid Player", "Weak Player");
+        assertThat(playerService.getSimilarPlayers("ben johns", 3, "dallas flash", Set.of()))
+                .extracting(SimilarPlayer::name)
+                .containsExactly("Mid Player");
+        DraftTier weakTier = model.draftTier(new PlayerStats(10, 42, 500, 800));
+        assertThat(playerService.getSimilarPlayers("Ben Johns", 3, null, Set.of(weakTier)))
+                .extracting(SimilarPlayer::name)
+                .contains("Weak Player")
+                .doesNotContain("Ben Twin");
+        assertThatThrownBy(() -> playerService.getSimilarPlayers("Nobody At All", 3, null, Set.of()))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void lookups_resolveSloppyNamesAndAliases_andSuggestOnMisses() {
+        Player ben = player("Ben Johns", "Dallas Flash", 42, 10, 80.8, 820, 540, 60.3);
+        Player anna = player("Anna Leigh Waters", "St. Louis Shock", 44, 8, 84.6, 850, 520, 62.0);
+        when(playerRepository.findAll()).thenReturn(List.of(ben, anna));
+        when(scoutAgent.scout(anyString(), anyString(), any())).thenReturn(SCOUT_A);
+
+        assertThat(playerService.getMatchupOdds("  ben   JOHNS ", "Ánna Leigh-Waters").playerA()).isEqualTo("Ben Johns");
+        assertThat(playerService.getMatchupOdds("Benny", "Anna Leigh Watters").playerB()).isEqualTo("Anna Leigh Waters");
+        assertThat(playerService.getSummaryForPlayer("ben john").scouting()).isEqualTo(SCOUT_A);
+
+        assertThatThrownBy(() -> playerService.getSummaryForPlayer("Bon Jahns"))
+                .isInstanceOf(NotFoundException.class)
+                .satisfies(e -> assertThat(((NotFoundException) e).getSuggestions()).containsExactly("Ben Johns"));
+        assertThatThrownBy(() -> playerService.getSummaryForPlayer("Waters"))
+                .satisfies(e -> assertThat(((NotFoundException) e).getSuggestions())
+                        .containsExactly("Anna Leigh Waters"));
+        verify(playerRepository, never()).findByName(anyString());
+    }
+
     @Test
     void summary_throwsNotFoundWhenPlayerMissing() {
-        when(playerRepository.findByName("Ghost")).thenReturn(Optional.empty());
+        when(playerRepository.findAll()).thenReturn(List.of());
 
         assertThatThrownBy(() -> playerService.getSummaryForPlayer("Ghost"))
                 .isInstanceOf(NotFoundException.class);
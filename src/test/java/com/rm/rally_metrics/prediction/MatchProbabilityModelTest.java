@@ -3,9 +3,11 @@ package com.rm.rally_metrics.prediction;
 import org.junit.jupiter.api.Test;
 import org.assertj.core.data.Offset;
 
+import java.lang.management.ManagementFactory;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Property-based rigor tests for {@link MatchProbabilityModel}. These are the checks a quant
@@ -56,6 +58,14 @@ class MatchProbabilityModelTest {
 
     // ---- skill: shrinkage + regression -------------------------------------
 
+    @Test
+    void pythagorean_isPointShareSquared_andHalfWithoutPoints() {
+        // 300^2 / (300^2 + 100^2) = 0.9
+        assertThat(MatchProbabilityModel.pythagoreanExpectation(stats(5, 5, 300, 100))).isCloseTo(0.9, EPS);
+        assertThat(MatchProbabilityModel.pythagoreanExpectation(stats(0, 0, 0, 0))).isCloseTo(0.5, EPS);
+        assertThat(MatchProbabilityModel.pythagoreanExpectation(stats(3, 3, 200, 200))).isCloseTo(0.5, EPS);
+    }
+
     @Test
     void skill_smallSampleRegressesTowardMeanMoreThanLargeSample() {
         // Same win ratios (2:1 games, 2:1 points) but very different sample sizes.
@@ -201,6 +211,122 @@ class MatchProbabilityModelTest {
         return factors.stream().filter(k -> k.label().equals(label)).findFirst().orElseThrow();
     }
 
+    @Test
+    void keyFactors_formatPercentagesSignedDiffsAndCounts() {
+        List<KeyFactor> f = model.keyFactors(stats(42, 10, 820, 540), stats(30, 22, 700, 660));
+        assertThat(f).extracting(KeyFactor::displayA).containsExactly("80.8%", "60.3%", "+5.4", "69.2%", "52");
+        assertThat(f).extracting(KeyFactor::displayB).containsExactly("57.7%", "51.5%", "+0.8", "53.7%", "52");
+        assertThat(byLabel(f, "Sample (games)").advantage()).isEqualTo("EVEN");
+    }
+
+    @Test
+    void keyFactorValues_formatToTheSameKeyFactors() {
+        PlayerStats a = stats(42, 10, 820, 540);
+        PlayerStats b = stats(0, 0, 0, 0);
+        double[] values = new double[2 * MatchProbabilityModel.KEY_FACTORS];
+        model.keyFactorValues(42, 10, 820, 540, model.skill(a), values, 0);
+        model.keyFactorValues(0, 0, 0, 0, model.skill(b), values, MatchProbabilityModel.KEY_FACTORS);
+
+        List<KeyFactor> expected = model.keyFactors(a, b);
+        for (int f = 0; f < MatchProbabilityModel.KEY_FACTORS; f++) {
+            double valueA = values[f];
+            double valueB = values[MatchProbabilityModel.KEY_FACTORS + f];
+            assertThat(new KeyFactor(MatchProbabilityModel.keyFactorLabel(f),
+                    MatchProbabilityModel.formatKeyFactor(f, valueA), MatchProbabilityModel.formatKeyFactor(f, valueB),
+                    MatchProbabilityModel.keyFactorAdvantage(valueA, valueB))).isEqualTo(expected.get(f));
+        }
+    }
+
+    // ---- batch kernels -----------------------------------------------------
+
+    /** Counts covering the edges: no games, no points, negative points, lopsided and large samples. */
+    private static final int[][] LEAGUE = {
+            {0, 0, 0, 0}, {3, 0, 0, 0}, {0, 0, 40, 12}, {2, 2, -5, 30}, {100, 0, 1000, 0},
+            {0, 100, 0, 1000}, {42, 10, 820, 540}, {30, 22, 700, 660}, {25, 25, 500, 500},
+            {4, 2, 66, 33}, {40, 20, 660, 330}, {1, 79, 1999, 3}, {46_000, 45_000, 900_000, 880_000}};
+
+    private static int[] column(int c) {
+        int[] values = new int[LEAGUE.length];
+        for (int i = 0; i < LEAGUE.length; i++) {
+            values[i] = LEAGUE[i][c];
+        }
+        return values;
+    }
+
+    private double[] leagueSkills() {
+        double[] skills = new double[LEAGUE.length];
+        model.skills(column(0), column(1), column(2), column(3), skills);
+        return skills;
+    }
+
+    @Test
+    void skills_batchIsBitIdenticalToTheScalarSkill() {
+        double[] skills = leagueSkills();
+        for (int i = 0; i < LEAGUE.length; i++) {
+            int[] c = LEAGUE[i];
+            double scalar = model.skill(stats(c[0], c[1], c[2], c[3]));
+            assertThat(Double.doubleToRawLongBits(skills[i])).as("player %d", i)
+                    .isEqualTo(Double.doubleToRawLongBits(scalar));
+            assertThat(Double.doubleToRawLongBits(model.skill(c[0], c[1], c[2], c[3])))
+                    .isEqualTo(Double.doubleToRawLongBits(scalar));
+        }
+    }
+
+    @Test
+    void skills_rejectsColumnsShorterThanTheOutput() {
+        int[] one = {1};
+        assertThatThrownBy(() -> model.skills(one, one, one, one, new double[2]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void matchups_areBitIdenticalToLog5AndTheMoneyline() {
+        double[] skills = leagueSkills();
+        int n = skills.length;
+        int offset = 3;
+        for (int i = 0; i < n; i++) {
+            double[] p = new double[offset + n];
+            int[] lines = new int[offset + n];
+            model.matchups(skills[i], skills, i + 1, n, p, lines, offset);
+            for (int j = i + 1; j < n; j++) {
+                int k = offset + j - i - 1;
+                double expected = MatchProbabilityModel.log5(skills[i], skills[j]);
+                assertThat(Double.doubleToRawLongBits(p[k])).isEqualTo(Double.doubleToRawLongBits(expected));
+                assertThat(lines[k]).isEqualTo(model.americanOddsWithVig(expected >= 0.5 ? expected : 1.0 - expected));
+            }
+            assertThat(p).startsWith(0.0, 0.0, 0.0);
+        }
+    }
+
+    @Test
+    void estimate_fromPrecomputedSkillsMatchesTheStatsPath() {
+        PlayerStats a = stats(42, 10, 820, 540);
+        PlayerStats b = stats(30, 22, 700, 660);
+        assertThat(model.estimate(model.skill(a), model.skill(b), model.confidence(a, b)))
+                .isEqualTo(model.estimate(a, b));
+    }
+
+    @Test
+    void kernels_allocateNothingOnceWarm() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int[] gw = column(0), gl = column(1), pw = column(2), pl = column(3);
+        double[] skills = new double[LEAGUE.length];
+        double[] p = new double[LEAGUE.length];
+        int[] lines = new int[LEAGUE.length];
+        double[] factors = new double[MatchProbabilityModel.KEY_FACTORS];
+
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            model.skills(gw, gl, pw, pl, skills);
+            model.matchups(skills[0], skills, 1, skills.length, p, lines, 0);
+            model.keyFactorValues(42, 10, 820, 540, skills[0], factors, 0);
+            allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        assertThat(allocated).isZero();
+    }
+
     // ---- draft tier (deterministic verdict) --------------------------------
 
     @Test
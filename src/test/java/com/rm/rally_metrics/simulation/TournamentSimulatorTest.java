@@ -0,0 +1,143 @@
+package com.rm.rally_metrics.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TournamentSimulatorTest {
+
+    /** Log5 probabilities for a field whose skill falls off with seed. */
+    private static double[] winProbabilities(int n) {
+        double[] skill = new double[n];
+        for (int i = 0; i < n; i++) {
+            skill[i] = 0.75 - 0.03 * i;
+        }
+        double[] p = new double[n * n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                double num = skill[a] * (1.0 - skill[b]);
+                p[a * n + b] = num / (num + skill[b] * (1.0 - skill[a]));
+            }
+        }
+        return p;
+    }
+
+    private static TournamentSimulator field(int n) {
+        return new TournamentSimulator(winProbabilities(n), n);
+    }
+
+    @Test
+    void seededBracket_keepsTopSeedsApart_andGivesThemTheByes() {
+        assertThat(TournamentSimulator.seededBracket(8)).containsExactly(0, 7, 3, 4, 1, 6, 2, 5);
+        assertThat(TournamentSimulator.seededBracket(5)).containsExactly(0, -1, 3, 4, 1, -1, 2, -1);
+        assertThat(TournamentSimulator.seededBracket(2)).containsExactly(0, 1);
+    }
+
+    @Test
+    void twoPlayerBracket_titleOddsConvergeToTheMatchProbability() {
+        TournamentSimulator.Tally t = new TournamentSimulator(new double[]{0.5, 0.7, 0.3, 0.5}, 2)
+                .bracket(TournamentSimulator.seededBracket(2), 1, 200_000, 5L);
+
+        assertThat(t.titleOdds(0)).isCloseTo(0.7, within(0.005));
+        assertThat(t.roundOdds(1, 0)).isEqualTo(t.titleOdds(0));
+        assertThat(t.expectedFinish(0) + t.expectedFinish(1)).isCloseTo(3.0, within(1e-9));
+    }
+
+    @Test
+    void bracket_oddsAreConsistent_andFavorTheStrongest() {
+        int n = 16;
+        TournamentSimulator.Tally t = field(n).bracket(TournamentSimulator.seededBracket(n), 4, 100_000, 1L);
+
+        double titles = 0;
+        double advanced = 0;
+        double finishes = 0;
+        for (int i = 0; i < n; i++) {
+            titles += t.titleOdds(i);
+            advanced += t.advancementOdds(i);
+            finishes += t.expectedFinish(i);
+            assertThat(t.roundOdds(4, i)).isEqualTo(t.titleOdds(i));
+            assertThat(t.advancementOdds(i)).isEqualTo(t.roundOdds(2, i)); // last four = through round 2
+        }
+        assertThat(titles).isCloseTo(1.0, within(1e-9));
+        assertThat(advanced).isCloseTo(4.0, within(1e-9));
+        // Places 1, 2, 3-4, 5-8 and 9-16 share the best place of their round.
+        assertThat(finishes).isCloseTo(1 + 2 + 2 * 3 + 4 * 5 + 8 * 9, within(1e-6));
+        assertThat(t.titleOdds(0)).isGreaterThan(t.titleOdds(1)).isGreaterThan(t.titleOdds(15));
+    }
+
+    @Test
+    void roundRobin_oddsAreConsistent() {
+        int n = 6;
+        TournamentSimulator.Tally t = field(n).roundRobin(2, 2, 50_000, 9L);
+
+        double titles = 0;
+        double wins = 0;
+        for (int i = 0; i < n; i++) {
+            titles += t.titleOdds(i);
+            wins += t.expectedWins(i);
+        }
+        assertThat(titles).isCloseTo(1.0, within(1e-9));
+        assertThat(wins).isCloseTo(2.0 * n * (n - 1) / 2, within(1e-9));
+        assertThat(t.rounds()).isZero();
+        assertThat(t.expectedFinish(0)).isLessThan(t.expectedFinish(n - 1));
+    }
+
+    @Test
+    void sameSeed_reproducesTheRunExactly_acrossChunks() {
+        int sims = TournamentSimulator.CHUNK_SIMULATIONS * 3 + 17;
+        TournamentSimulator sim = field(8);
+
+        TournamentSimulator.Tally first = sim.roundRobin(1, 3, sims, 42L);
+        TournamentSimulator.Tally second = sim.roundRobin(1, 3, sims, 42L);
+        TournamentSimulator.Tally other = sim.roundRobin(1, 3, sims, 43L);
+
+        assertThat(first.simulations()).isEqualTo(sims);
+        for (int i = 0; i < 8; i++) {
+            assertThat(second.titleOdds(i)).isEqualTo(first.titleOdds(i));
+            assertThat(second.expectedFinish(i)).isEqualTo(first.expectedFinish(i));
+        }
+        assertThat(other.titleOdds(0)).isNotEqualTo(first.titleOdds(0));
+    }
+
+    @Test
+    void teamFinish_isTheBestMembersPlacePerEvent_notTheBestMembersMean() {
+        // Two coin-flip players on one team: the team finishes 1st in every two-player bracket,
+        // while each player's own expected finish is 1.5.
+        TournamentSimulator.Tally t = new TournamentSimulator(new double[]{0.5, 0.5, 0.5, 0.5}, 2,
+                new int[]{0, 0}, 1, Runnable::run).bracket(TournamentSimulator.seededBracket(2), 1, 10_000, 3L);
+
+        assertThat(t.teamExpectedFinish(0)).isEqualTo(1.0);
+        assertThat(t.expectedFinish(0)).isCloseTo(1.5, within(0.05));
+    }
+
+    @Test
+    void poolExecutor_reproducesTheCallingThreadRun() {
+        int n = 8;
+        int sims = TournamentSimulator.CHUNK_SIMULATIONS * 2 + 5;
+        TournamentSimulator.Tally inline = field(n).roundRobin(1, 3, sims, 7L);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            TournamentSimulator pooled = new TournamentSimulator(winProbabilities(n), n,
+                    new int[]{0, 0, 1, 1, 2, 2, 3, -1}, 4, pool);
+            TournamentSimulator.Tally parallel = pooled.roundRobin(1, 3, sims, 7L);
+            for (int i = 0; i < n; i++) {
+                assertThat(parallel.titleOdds(i)).isEqualTo(inline.titleOdds(i));
+                assertThat(parallel.expectedFinish(i)).isEqualTo(inline.expectedFinish(i));
+            }
+            assertThat(parallel.teamExpectedFinish(0))
+                    .isLessThanOrEqualTo(Math.min(parallel.expectedFinish(0), parallel.expectedFinish(1)));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void matchesPerEvent_countsBracketMatchesAndRoundRobinLegs() {
+        assertThat(TournamentSimulator.matchesPerEvent(TournamentFormat.BRACKET, 5, 1)).isEqualTo(4);
+        assertThat(TournamentSimulator.matchesPerEvent(TournamentFormat.ROUND_ROBIN, 256, 10)).isEqualTo(326_400);
+    }
+}